@@ -24,6 +24,7 @@ import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.partition.PartitionRuntime;
+import io.siddhi.core.query.OnDemandQueryCursor;
 import io.siddhi.core.query.QueryRuntime;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
@@ -122,6 +123,38 @@ public interface SiddhiAppRuntime {
 
     Event[] query(String onDemandQuery);
 
+    /**
+     * Executes a parameterized on-demand query, where the values referred with {@code param('name')} functions in
+     * the query are bound from the given map. The query plan is reused for all executions having the same query
+     * text and parameter types.
+     *
+     * @param onDemandQuery the on-demand query string
+     * @param parameters    values bound to the parameters of the query
+     * @return resulting events
+     */
+    Event[] query(String onDemandQuery, Map<String, Object> parameters);
+
+    /**
+     * Executes an on-demand query returning a cursor that fetches the results in batches as they are consumed, so
+     * that large results need not be held in memory at once. The cursor should be closed after use.
+     *
+     * @param onDemandQuery the on-demand query string
+     * @param batchSize     maximum number of results fetched at a time
+     * @return cursor over the results
+     */
+    OnDemandQueryCursor queryCursor(String onDemandQuery, int batchSize);
+
+    /**
+     * Executes a parameterized on-demand query returning a cursor that fetches the results in batches as they are
+     * consumed. The cursor should be closed after use.
+     *
+     * @param onDemandQuery the on-demand query string
+     * @param parameters    values bound to the parameters of the query
+     * @param batchSize     maximum number of results fetched at a time
+     * @return cursor over the results
+     */
+    OnDemandQueryCursor queryCursor(String onDemandQuery, Map<String, Object> parameters, int batchSize);
+
     @Deprecated
     Event[] query(StoreQuery storeQuery);
 
@@ -190,4 +223,11 @@ public interface SiddhiAppRuntime {
      */
     void enablePlayBack(boolean playBackEnabled, Long idleTime, Long incrementInMilliseconds);
 
+    /**
+     * Get the time taken by each startup phase of the Siddhi App, such as compilation and query creation.
+     *
+     * @return Map of phase name to the time taken in nanoseconds, in the order the phases were completed.
+     */
+    Map<String, Long> getStartupPhaseTimes();
+
 }
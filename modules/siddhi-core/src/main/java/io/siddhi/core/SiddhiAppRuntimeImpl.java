@@ -31,7 +31,8 @@ import io.siddhi.core.exception.QueryNotExistException;
 import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.partition.PartitionRuntime;
 import io.siddhi.core.partition.PartitionRuntimeImpl;
-import io.siddhi.core.query.OnDemandQueryRuntime;
+import io.siddhi.core.query.OnDemandQueryCursor;
+import io.siddhi.core.query.OnDemandQueryService;
 import io.siddhi.core.query.QueryRuntime;
 import io.siddhi.core.query.QueryRuntimeImpl;
 import io.siddhi.core.query.input.stream.StreamRuntime;
@@ -56,7 +57,6 @@ import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.StringUtil;
 import io.siddhi.core.util.extension.holder.ExternalReferencedHolder;
-import io.siddhi.core.util.parser.OnDemandQueryParser;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.persistence.util.PersistenceHelper;
 import io.siddhi.core.util.snapshot.PersistenceReference;
@@ -75,7 +75,7 @@ import io.siddhi.query.api.definition.WindowDefinition;
 import io.siddhi.query.api.exception.SiddhiAppContextException;
 import io.siddhi.query.api.execution.query.OnDemandQuery;
 import io.siddhi.query.api.execution.query.StoreQuery;
-import io.siddhi.query.compiler.SiddhiCompiler;
+import io.siddhi.query.compiler.exception.SiddhiParserException;
 import org.apache.log4j.Logger;
 
 import java.beans.ExceptionListener;
@@ -83,7 +83,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -122,8 +121,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     private Map<String, Table> tableMap = new ConcurrentHashMap<String, Table>(); // Contains event tables.
     private Map<String, PartitionRuntime> partitionMap =
             new ConcurrentHashMap<String, PartitionRuntime>(); // Contains partitions.
-    private LinkedHashMap<OnDemandQuery, OnDemandQueryRuntime> onDemandQueryRuntimeMap =
-            new LinkedHashMap<>(); // Contains partitions.
+    private OnDemandQueryService onDemandQueryService;
     private ConcurrentMap<String, Trigger> triggerMap;
     private SiddhiAppContext siddhiAppContext;
     private Map<String, SiddhiAppRuntime> siddhiAppRuntimeMap;
@@ -169,6 +167,8 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
         this.triggerMap = triggerMap;
         this.siddhiAppContext = siddhiAppContext;
         this.siddhiAppRuntimeMap = siddhiAppRuntimeMap;
+        this.onDemandQueryService = new OnDemandQueryService(siddhiAppContext, tableMap, windowMap,
+                aggregationMap);
         if (siddhiAppContext.getStatisticsManager() != null) {
             monitorQueryMemoryUsage();
             monitorBufferedEvents();
@@ -182,9 +182,24 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
         }
         for (Map.Entry<String, List<Source>> sourceEntries : sourceMap.entrySet()) {
             InputHandler inputHandler = getInputHandler(sourceEntries.getKey());
-            for (Source source : sourceEntries.getValue()) {
+            List<Source> sources = sourceEntries.getValue();
+            for (Source source : sources) {
                 source.getMapper().setInputHandler(inputHandler);
             }
+            StreamJunction streamJunction = streamJunctionMap.get(sourceEntries.getKey());
+            if (streamJunction != null) {
+                streamJunction.addBackpressureListener(new StreamJunction.BackpressureListener() {
+                    @Override
+                    public void onHighWatermark(String streamId) {
+                        sources.forEach(Source::requestPause);
+                    }
+
+                    @Override
+                    public void onLowWatermark(String streamId) {
+                        sources.forEach(Source::releasePause);
+                    }
+                });
+            }
         }
     }
 
@@ -276,6 +291,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
             throw new QueryNotExistException("No query found with name: " + queryName);
         }
         callback.setQuery(queryRuntime.getQuery());
+        callback.setOutputStreamDefinition(((QueryRuntimeImpl) queryRuntime).getOutputStreamDefinition());
         ((QueryRuntimeImpl) queryRuntime).addCallback(callback);
     }
 
@@ -302,16 +318,57 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     }
 
     public Event[] query(String onDemandQuery) {
+        return query(onDemandQuery, Collections.emptyMap());
+    }
+
+    public Event[] query(String onDemandQuery, Map<String, Object> parameters) {
         if (this.running) {
-            return query(SiddhiCompiler.parseOnDemandQuery(onDemandQuery), onDemandQuery);
+            return query(null, onDemandQuery, parameters == null ? Collections.emptyMap() : parameters);
         }
         throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut down, " +
                 "the on demand query '" + onDemandQuery + "' cannot be executed.");
     }
 
+    public OnDemandQueryCursor queryCursor(String onDemandQuery, int batchSize) {
+        return queryCursor(onDemandQuery, Collections.emptyMap(), batchSize);
+    }
+
+    public OnDemandQueryCursor queryCursor(String onDemandQuery, Map<String, Object> parameters, int batchSize) {
+        if (!this.running) {
+            throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut " +
+                    "down, the on demand query '" + onDemandQuery + "' cannot be executed.");
+        }
+        if (batchSize <= 0) {
+            throw new OnDemandQueryCreationException("Batch size of the on demand query cursor should be positive, " +
+                    "but found '" + batchSize + "'.");
+        }
+        try {
+            if (Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0 &&
+                    onDemandQueryLatencyTracker != null) {
+                onDemandQueryLatencyTracker.markIn();
+            }
+            return onDemandQueryService.openCursor(onDemandQuery,
+                    parameters == null ? Collections.emptyMap() : parameters, batchSize);
+        } catch (SiddhiParserException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (e instanceof SiddhiAppContextException) {
+                throw new OnDemandQueryCreationException(((SiddhiAppContextException) e).getMessageWithOutContext(), e,
+                        ((SiddhiAppContextException) e).getQueryContextStartIndex(),
+                        ((SiddhiAppContextException) e).getQueryContextEndIndex(), null, onDemandQuery);
+            }
+            throw new OnDemandQueryCreationException(e.getMessage(), e);
+        } finally {
+            if (Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0 &&
+                    onDemandQueryLatencyTracker != null) {
+                onDemandQueryLatencyTracker.markOut();
+            }
+        }
+    }
+
     public Event[] query(OnDemandQuery onDemandQuery) {
         if (this.running) {
-            return query(onDemandQuery, null);
+            return query(onDemandQuery, null, null);
         }
         throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut down, " +
                 "the on demand query '" + onDemandQuery.toString() + "' cannot be executed.");
@@ -320,37 +377,32 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     @Deprecated
     public Event[] query(StoreQuery storeQuery) {
         if (this.running) {
-            return query(storeQuery.getOnDemandQuery(), null);
+            return query(storeQuery.getOnDemandQuery(), null, null);
         }
         throw new OnDemandQueryCreationException("The siddhi app, '" + this.getName() + "' is currently shut down, " +
                 "the on demand query '" + storeQuery.getOnDemandQuery().toString() + "' cannot be executed.");
     }
 
-    private Event[] query(OnDemandQuery onDemandQuery, String onDemandQueryString) {
+    /**
+     * Executes the on-demand query given either as a compiled query or as a query string with its bind parameters.
+     *
+     * @param onDemandQuery       compiled on-demand query, or null when the query string should be used.
+     * @param onDemandQueryString the on-demand query string, also used to report errors with context.
+     * @param parameters          values bound to the param() functions of the query string.
+     * @return resulting events
+     */
+    private Event[] query(OnDemandQuery onDemandQuery, String onDemandQueryString, Map<String, Object> parameters) {
         try {
             if (Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0 &&
                     onDemandQueryLatencyTracker != null) {
                 onDemandQueryLatencyTracker.markIn();
             }
-            OnDemandQueryRuntime onDemandQueryRuntime;
-            synchronized (this) {
-                onDemandQueryRuntime = onDemandQueryRuntimeMap.remove(onDemandQuery);
-                if (onDemandQueryRuntime == null) {
-                    onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, onDemandQueryString,
-                            siddhiAppContext, tableMap, windowMap, aggregationMap);
-                } else {
-                    onDemandQueryRuntime.reset();
-                }
-                onDemandQueryRuntimeMap.put(onDemandQuery, onDemandQueryRuntime);
-                if (onDemandQueryRuntimeMap.size() > 50) {
-                    Iterator i = onDemandQueryRuntimeMap.entrySet().iterator();
-                    if (i.hasNext()) {
-                        i.next();
-                        i.remove();
-                    }
-                }
+            if (onDemandQuery != null) {
+                return onDemandQueryService.execute(onDemandQuery);
             }
-            return onDemandQueryRuntime.execute();
+            return onDemandQueryService.execute(onDemandQueryString, parameters);
+        } catch (SiddhiParserException e) {
+            throw e;
         } catch (RuntimeException e) {
             if (e instanceof SiddhiAppContextException) {
                 throw new OnDemandQueryCreationException(((SiddhiAppContextException) e).getMessageWithOutContext(), e,
@@ -367,7 +419,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     }
 
     public Attribute[] getOnDemandQueryOutputAttributes(String onDemandQuery) {
-        return getOnDemandQueryOutputAttributes(SiddhiCompiler.parseOnDemandQuery(onDemandQuery), onDemandQuery);
+        return getOnDemandQueryOutputAttributes(null, onDemandQuery);
     }
 
     public Attribute[] getOnDemandQueryOutputAttributes(OnDemandQuery onDemandQuery) {
@@ -376,7 +428,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
 
     @Deprecated
     public Attribute[] getStoreQueryOutputAttributes(String onDemandQuery) {
-        return getOnDemandQueryOutputAttributes(SiddhiCompiler.parseOnDemandQuery(onDemandQuery), onDemandQuery);
+        return getOnDemandQueryOutputAttributes(null, onDemandQuery);
     }
 
     @Deprecated
@@ -387,19 +439,19 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     /**
      * This method get the onDemandQuery and return the corresponding output and its types.
      *
-     * @param onDemandQuery       this onDemandQuery is processed and get the output attributes.
+     * @param onDemandQuery       this onDemandQuery is processed and get the output attributes, or null when the
+     *                            query string should be used.
      * @param onDemandQueryString this passed to report errors with context if there are any.
      * @return List of output attributes
      */
     private Attribute[] getOnDemandQueryOutputAttributes(OnDemandQuery onDemandQuery, String onDemandQueryString) {
         try {
-            OnDemandQueryRuntime onDemandQueryRuntime = onDemandQueryRuntimeMap.get(onDemandQuery);
-            if (onDemandQueryRuntime == null) {
-                onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, onDemandQueryString,
-                        siddhiAppContext, tableMap, windowMap, aggregationMap);
-                onDemandQueryRuntimeMap.put(onDemandQuery, onDemandQueryRuntime);
+            if (onDemandQuery != null) {
+                return onDemandQueryService.getOutputAttributes(onDemandQuery);
             }
-            return onDemandQueryRuntime.getOnDemandQueryOutputAttributes();
+            return onDemandQueryService.getOutputAttributes(onDemandQueryString, Collections.emptyMap());
+        } catch (SiddhiParserException e) {
+            throw e;
         } catch (RuntimeException e) {
             if (e instanceof SiddhiAppContextException) {
                 throw new OnDemandQueryCreationException(((SiddhiAppContextException) e).getMessageWithOutContext(), e,
@@ -427,6 +479,10 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
         return tableMap.values();
     }
 
+    public Collection<AggregationRuntime> getAggregations() {
+        return aggregationMap.values();
+    }
+
     @Override
     public Collection<Window> getWindows() {
         return windowMap.values();
@@ -560,6 +616,15 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
             }
         }
 
+        for (Trigger trigger : siddhiAppContext.getTriggerHolders()) {
+            trigger.stop();
+        }
+
+        // events waiting to be ordered by their event time are released before the tables and sinks are closed
+        for (StreamJunction streamJunction : streamJunctionMap.values()) {
+            streamJunction.flushReorderBuffer();
+        }
+
         for (Table table : tableMap.values()) {
             try {
                 table.shutdown();
@@ -677,7 +742,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     public PersistenceReference persist() {
         try {
             // first, pause all the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::pause));
+            sourceMap.values().forEach(list -> list.forEach(Source::requestPause));
             // take snapshots of execution units
             if (siddhiAppContext.getSiddhiContext().getPersistenceStore() != null) {
                 return PersistenceHelper.persist(siddhiAppContext.getSnapshotService().fullSnapshot(),
@@ -688,43 +753,45 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
             }
         } finally {
             // at the end, resume the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::resume));
+            sourceMap.values().forEach(list -> list.forEach(Source::releasePause));
         }
     }
 
     public byte[] snapshot() {
         try {
             // first, pause all the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::pause));
+            sourceMap.values().forEach(list -> list.forEach(Source::requestPause));
             // take snapshots of execution units
             return siddhiAppContext.getSnapshotService().fullSnapshot();
         } finally {
             // at the end, resume the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::resume));
+            sourceMap.values().forEach(list -> list.forEach(Source::releasePause));
         }
     }
 
     public void restore(byte[] snapshot) throws CannotRestoreSiddhiAppStateException {
         try {
             // first, pause all the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::pause));
+            sourceMap.values().forEach(list -> list.forEach(Source::requestPause));
             // start the restoring process
             siddhiAppContext.getSnapshotService().restore(snapshot);
+            windowMap.values().forEach(Window::invalidateReadSnapshot);
         } finally {
             // at the end, resume the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::resume));
+            sourceMap.values().forEach(list -> list.forEach(Source::releasePause));
         }
     }
 
     public void restoreRevision(String revision) throws CannotRestoreSiddhiAppStateException {
         try {
             // first, pause all the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::pause));
+            sourceMap.values().forEach(list -> list.forEach(Source::requestPause));
             // start the restoring process
             siddhiAppContext.getSnapshotService().restoreRevision(revision);
+            windowMap.values().forEach(Window::invalidateReadSnapshot);
         } finally {
             // at the end, resume the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::resume));
+            sourceMap.values().forEach(list -> list.forEach(Source::releasePause));
         }
     }
 
@@ -732,12 +799,13 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
         String revision;
         try {
             // first, pause all the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::pause));
+            sourceMap.values().forEach(list -> list.forEach(Source::requestPause));
             // start the restoring process
             revision = siddhiAppContext.getSnapshotService().restoreLastRevision();
+            windowMap.values().forEach(Window::invalidateReadSnapshot);
         } finally {
             // at the end, resume the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::resume));
+            sourceMap.values().forEach(list -> list.forEach(Source::releasePause));
         }
         return revision;
     }
@@ -745,12 +813,12 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
     public void clearAllRevisions() throws CannotClearSiddhiAppStateException {
         try {
             // first, pause all the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::pause));
+            sourceMap.values().forEach(list -> list.forEach(Source::requestPause));
             // start the restoring process
             siddhiAppContext.getSnapshotService().clearAllRevisions();
         } finally {
             // at the end, resume the event sources
-            sourceMap.values().forEach(list -> list.forEach(Source::resume));
+            sourceMap.values().forEach(list -> list.forEach(Source::releasePause));
         }
     }
 
@@ -832,6 +900,13 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
         return siddhiAppContext.getSiddhiApp();
     }
 
+    @Override
+    public Map<String, Long> getStartupPhaseTimes() {
+        synchronized (siddhiAppContext.getStartupPhaseTimes()) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(siddhiAppContext.getStartupPhaseTimes()));
+        }
+    }
+
     @Override
     public Collection<QueryRuntime> getQueries() {
         return queryProcessorMap.values();
@@ -907,6 +982,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
             for (Scheduler scheduler : siddhiAppContext.getSchedulerList()) {
                 scheduler.switchToLiveMode();
             }
+            siddhiAppContext.getTimerService().switchToLiveMode();
         } else {
             if (idleTime != null && incrementInMilliseconds != null) {
                 //Only use if both values are present. Else defaults will be used which got assigned when creating
@@ -918,6 +994,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
             for (Scheduler scheduler : siddhiAppContext.getSchedulerList()) {
                 scheduler.switchToPlayBackMode();
             }
+            siddhiAppContext.getTimerService().switchToPlayBackMode();
         }
     }
 }
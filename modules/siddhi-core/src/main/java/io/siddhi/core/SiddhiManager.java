@@ -23,9 +23,11 @@ import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.stream.input.source.SourceHandlerManager;
 import io.siddhi.core.stream.output.sink.SinkHandlerManager;
 import io.siddhi.core.table.record.RecordTableHandlerManager;
+import io.siddhi.core.util.SiddhiAppCompilationCache;
 import io.siddhi.core.util.SiddhiAppRuntimeBuilder;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.config.ConfigManager;
+import io.siddhi.core.util.event.handler.CpuAffinityHook;
 import io.siddhi.core.util.parser.SiddhiAppParser;
 import io.siddhi.core.util.persistence.InMemoryPersistenceStore;
 import io.siddhi.core.util.persistence.IncrementalPersistenceStore;
@@ -82,17 +84,49 @@ public class SiddhiManager {
     }
 
     private SiddhiAppRuntime createSiddhiAppRuntime(SiddhiApp siddhiApp, String siddhiAppString) {
+        return createSiddhiAppRuntime(siddhiApp, siddhiAppString, -1);
+    }
+
+    private SiddhiAppRuntime createSiddhiAppRuntime(SiddhiApp siddhiApp, String siddhiAppString,
+                                                    long compilationTime) {
         SiddhiAppRuntimeBuilder siddhiAppRuntimeBuilder = SiddhiAppParser.parse(siddhiApp, siddhiAppString,
-                siddhiContext);
+                siddhiContext, compilationTime);
+        long buildStartTime = System.nanoTime();
         siddhiAppRuntimeBuilder.setSiddhiAppRuntimeMap(siddhiAppRuntimeMap);
         SiddhiAppRuntime siddhiAppRuntime = siddhiAppRuntimeBuilder.build();
+        siddhiAppRuntimeBuilder.getSiddhiAppContext().addStartupPhaseTime("build",
+                System.nanoTime() - buildStartTime);
         siddhiAppRuntimeMap.put(siddhiAppRuntime.getName(), siddhiAppRuntime);
         return siddhiAppRuntime;
     }
 
     public SiddhiAppRuntime createSiddhiAppRuntime(String siddhiApp) {
+        long compilationStartTime = System.nanoTime();
         String updatedSiddhiApp = SiddhiCompiler.updateVariables(siddhiApp);
-        return createSiddhiAppRuntime(SiddhiCompiler.parse(updatedSiddhiApp), updatedSiddhiApp);
+        SiddhiApp compiledSiddhiApp = compile(updatedSiddhiApp);
+        return createSiddhiAppRuntime(compiledSiddhiApp, updatedSiddhiApp, System.nanoTime() - compilationStartTime);
+    }
+
+    /**
+     * Compiles the Siddhi app text, reusing the result of an earlier compilation of the same text when a
+     * {@link SiddhiAppCompilationCache} is set.
+     *
+     * @param siddhiAppString Siddhi app text after variable substitution
+     * @return compiled SiddhiApp
+     */
+    private SiddhiApp compile(String siddhiAppString) {
+        SiddhiAppCompilationCache compilationCache = siddhiContext.getSiddhiAppCompilationCache();
+        if (compilationCache == null) {
+            return SiddhiCompiler.parse(siddhiAppString);
+        }
+        SiddhiApp siddhiApp = compilationCache.get(siddhiAppString);
+        if (siddhiApp == null) {
+            siddhiApp = SiddhiCompiler.parse(siddhiAppString);
+            compilationCache.put(siddhiAppString, siddhiApp);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Using cached compilation of the Siddhi app.");
+        }
+        return siddhiApp;
     }
 
     /**
@@ -102,9 +136,11 @@ public class SiddhiManager {
      * @return SiddhiAppRuntime without its Sources Sinks and Stores.
      */
     public SiddhiAppRuntime createSandboxSiddhiAppRuntime(String siddhiApp) {
+        long compilationStartTime = System.nanoTime();
         String updatedSiddhiApp = SiddhiCompiler.updateVariables(siddhiApp);
-        return createSiddhiAppRuntime(removeSourceSinkAndStoreAnnotations(
-                SiddhiCompiler.parse(updatedSiddhiApp)), updatedSiddhiApp);
+        SiddhiApp compiledSiddhiApp = compile(updatedSiddhiApp);
+        return createSiddhiAppRuntime(removeSourceSinkAndStoreAnnotations(compiledSiddhiApp), updatedSiddhiApp,
+                System.nanoTime() - compilationStartTime);
     }
 
     /**
@@ -154,7 +190,7 @@ public class SiddhiManager {
 
     public void validateSiddhiApp(String siddhiApp) {
         String updatedSiddhiApp = SiddhiCompiler.updateVariables(siddhiApp);
-        validateSiddhiApp(SiddhiCompiler.parse(updatedSiddhiApp), updatedSiddhiApp);
+        validateSiddhiApp(compile(updatedSiddhiApp), updatedSiddhiApp);
     }
 
     /**
@@ -168,6 +204,17 @@ public class SiddhiManager {
         this.siddhiContext.setPersistenceStore(persistenceStore);
     }
 
+    /**
+     * Method to set the cache used to skip compiling Siddhi apps whose text has been compiled before.
+     * {@link SiddhiAppCompilationCache} can persist the compiled apps to a directory so that they are reused
+     * across restarts.
+     *
+     * @param siddhiAppCompilationCache Compilation cache to be used, or null to disable caching.
+     */
+    public void setSiddhiAppCompilationCache(SiddhiAppCompilationCache siddhiAppCompilationCache) {
+        this.siddhiContext.setSiddhiAppCompilationCache(siddhiAppCompilationCache);
+    }
+
     /**
      * Method to set sink handler manager that would create sink handlers for each sink
      *
@@ -204,6 +251,16 @@ public class SiddhiManager {
         this.siddhiContext.setConfigManager(configManager);
     }
 
+    /**
+     * Method to set the hook that binds the dedicated worker threads of asynchronous streams to CPUs, when
+     * configured via {@code @async(cpu.affinity='...')}.
+     *
+     * @param cpuAffinityHook CPU Affinity Hook implementation to be used.
+     */
+    public void setCpuAffinityHook(CpuAffinityHook cpuAffinityHook) {
+        this.siddhiContext.setCpuAffinityHook(cpuAffinityHook);
+    }
+
     /**
      * Method used to register extensions to the Siddhi Manager. But extension classes should be present in classpath.
      *
@@ -328,6 +328,10 @@ public class AggregationRuntime implements MemoryCalculable {
         return singleStreamRuntime;
     }
 
+    public Map<TimePeriod.Duration, IncrementalExecutor> getIncrementalExecutorMap() {
+        return incrementalExecutorMap;
+    }
+
     public StreamEvent find(StateEvent matchingEvent, CompiledCondition compiledCondition,
                             SiddhiQueryContext siddhiQueryContext) {
         try {
@@ -46,7 +46,7 @@ public class IncrementalAggregationProcessor implements Processor {
     private SiddhiAppContext siddhiAppContext;
     private AggregationRuntime aggregationRuntime;
 
-    private boolean isFirstEventArrived;
+    private volatile boolean isFirstEventArrived;
 
     public IncrementalAggregationProcessor(AggregationRuntime aggregationRuntime,
                                            List<ExpressionExecutor> incomingExpressionExecutors,
@@ -89,8 +89,7 @@ public class IncrementalDataAggregator {
             TimePeriod.Duration duration = incrementalDurations.get(k);
             IncrementalExecutor incrementalExecutor = incrementalExecutorMap.get(duration);
 
-            BaseIncrementalValueStore aBaseIncrementalValueStore = incrementalExecutor.getBaseIncrementalValueStore();
-            Map<String, StreamEvent> groupedByEvents = aBaseIncrementalValueStore.getGroupedByEvents();
+            Map<String, StreamEvent> groupedByEvents = incrementalExecutor.getGroupedByEvents();
             for (Map.Entry<String, StreamEvent> eventEntry : groupedByEvents.entrySet()) {
                 long startTimeOfAggregates = IncrementalTimeConverterUtil.getStartTimeOfAggregates(
                         eventEntry.getValue().getTimestamp(), durationToAggregate);
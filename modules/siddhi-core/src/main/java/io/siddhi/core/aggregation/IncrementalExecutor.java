@@ -25,6 +25,7 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.query.selector.GroupByKeyGenerator;
 import io.siddhi.core.table.Table;
@@ -36,14 +37,25 @@ import io.siddhi.core.util.snapshot.state.StateHolder;
 import io.siddhi.query.api.aggregation.TimePeriod;
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Incremental executor class which is responsible for performing incremental aggregation.
+ * <p>
+ * When shards are configured, the group by keys are hash partitioned across multiple
+ * {@link BaseIncrementalValueStore}s, and their values are merged when the aggregates are dispatched or read. As a
+ * group by key always maps to the same shard, merging is a union of the grouped events of all the shards. Events
+ * falling into the current bucket only share the rollover lock, so threads executing concurrently only contend on
+ * the shards they update, and the events of a chunk are processed in parallel across the shards. Events that roll
+ * the bucket over, and timer events, are processed holding the rollover lock exclusively.
  */
 public class IncrementalExecutor implements Executor {
     private static final Logger LOG = Logger.getLogger(IncrementalExecutor.class);
@@ -64,12 +76,25 @@ public class IncrementalExecutor implements Executor {
     private ExecutorService executorService;
 
     private BaseIncrementalValueStore baseIncrementalValueStore;
+    private BaseIncrementalValueStore[] shardValueStores;
+    private ExecutorService shardExecutorService;
+    private final ReentrantReadWriteLock rolloverLock = new ReentrantReadWriteLock();
 
     public IncrementalExecutor(String aggregatorName, TimePeriod.Duration duration,
                                List<ExpressionExecutor> processExpressionExecutors,
                                ExpressionExecutor shouldUpdateTimestamp, GroupByKeyGenerator groupByKeyGenerator,
                                boolean isRoot, Table table, IncrementalExecutor child,
                                SiddhiQueryContext siddhiQueryContext, MetaStreamEvent metaStreamEvent) {
+        this(aggregatorName, duration, processExpressionExecutors, shouldUpdateTimestamp, groupByKeyGenerator,
+                isRoot, table, child, siddhiQueryContext, metaStreamEvent, null);
+    }
+
+    public IncrementalExecutor(String aggregatorName, TimePeriod.Duration duration,
+                               List<ExpressionExecutor> processExpressionExecutors,
+                               ExpressionExecutor shouldUpdateTimestamp, GroupByKeyGenerator groupByKeyGenerator,
+                               boolean isRoot, Table table, IncrementalExecutor child,
+                               SiddhiQueryContext siddhiQueryContext, MetaStreamEvent metaStreamEvent,
+                               List<List<ExpressionExecutor>> shardProcessExpressionExecutors) {
         this.aggregatorName = aggregatorName;
         this.duration = duration;
         this.isRoot = isRoot;
@@ -93,6 +118,20 @@ public class IncrementalExecutor implements Executor {
 
         this.isProcessingExecutor = false;
 
+        if (shardProcessExpressionExecutors != null && !shardProcessExpressionExecutors.isEmpty()) {
+            int shardCount = shardProcessExpressionExecutors.size() + 1;
+            this.shardValueStores = new BaseIncrementalValueStore[shardCount];
+            this.shardValueStores[0] = baseIncrementalValueStore;
+            for (int i = 1; i < shardCount; i++) {
+                List<ExpressionExecutor> shardExpressionExecutors = shardProcessExpressionExecutors.get(i - 1);
+                // Timestamp is only evaluated once by the executor, before routing the event to a shard
+                shardExpressionExecutors.remove(0);
+                this.shardValueStores[i] = new BaseIncrementalValueStore(aggregatorName, -1,
+                        shardExpressionExecutors, shouldUpdateTimestamp, streamEventFactory, siddhiQueryContext,
+                        true, false);
+            }
+            this.shardExecutorService = siddhiQueryContext.getSiddhiAppContext().getExecutorService();
+        }
     }
 
     public void setScheduler(Scheduler scheduler) {
@@ -100,32 +139,156 @@ public class IncrementalExecutor implements Executor {
     }
 
     @Override
-    public synchronized void execute(ComplexEventChunk streamEventChunk) {
+    public void execute(ComplexEventChunk streamEventChunk) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Event Chunk received by " + this.duration + " incremental executor: " +
                     streamEventChunk.toString());
         }
-        streamEventChunk.reset();
-        while (streamEventChunk.hasNext()) {
-            StreamEvent streamEvent = (StreamEvent) streamEventChunk.next();
-            streamEventChunk.remove();
-            ExecutorState executorState = stateHolder.getState();
-            try {
-                long timestamp = getTimestamp(streamEvent, executorState);
-                executorState.startTimeOfAggregates = IncrementalTimeConverterUtil.getStartTimeOfAggregates(
-                        timestamp, duration);
-                if (timestamp >= executorState.nextEmitTime) {
-                    executorState.nextEmitTime = IncrementalTimeConverterUtil.getNextEmitTime(
-                            timestamp, duration, null);
-                    dispatchAggregateEvents(executorState.startTimeOfAggregates);
-                    sendTimerEvent(executorState);
-                }
-                if (streamEvent.getType() == ComplexEvent.Type.CURRENT) {
+        if (shardValueStores != null) {
+            executeOnShards(streamEventChunk);
+            return;
+        }
+        synchronized (this) {
+            streamEventChunk.reset();
+            while (streamEventChunk.hasNext()) {
+                StreamEvent streamEvent = (StreamEvent) streamEventChunk.next();
+                streamEventChunk.remove();
+                processEvent(streamEvent);
+            }
+        }
+    }
+
+    private void processEvent(StreamEvent streamEvent) {
+        ExecutorState executorState = stateHolder.getState();
+        try {
+            long timestamp = getTimestamp(streamEvent, executorState);
+            executorState.startTimeOfAggregates = IncrementalTimeConverterUtil.getStartTimeOfAggregates(
+                    timestamp, duration);
+            if (timestamp >= executorState.nextEmitTime) {
+                executorState.nextEmitTime = IncrementalTimeConverterUtil.getNextEmitTime(
+                        timestamp, duration, null);
+                dispatchAggregateEvents(executorState.startTimeOfAggregates);
+                sendTimerEvent(executorState);
+            }
+            if (streamEvent.getType() == ComplexEvent.Type.CURRENT) {
+                if (shardValueStores != null) {
+                    String groupedByKey = groupByKeyGenerator.constructEventKey(streamEvent);
+                    processShardEvent(getShardIndex(groupedByKey), groupedByKey, streamEvent);
+                } else {
                     processAggregates(streamEvent, executorState);
                 }
-            } finally {
-                stateHolder.returnState(executorState);
             }
+        } finally {
+            stateHolder.returnState(executorState);
+        }
+    }
+
+    private void executeOnShards(ComplexEventChunk streamEventChunk) {
+        ShardBatch shardBatch = new ShardBatch(shardValueStores.length);
+        streamEventChunk.reset();
+        rolloverLock.readLock().lock();
+        try {
+            while (streamEventChunk.hasNext()) {
+                StreamEvent streamEvent = (StreamEvent) streamEventChunk.next();
+                streamEventChunk.remove();
+                if (isInCurrentBucket(streamEvent)) {
+                    shardBatch.add(streamEvent);
+                } else {
+                    // The events of the bucket are processed before it is rolled over
+                    processShardBatch(shardBatch);
+                    rolloverLock.readLock().unlock();
+                    rolloverLock.writeLock().lock();
+                    try {
+                        processEvent(streamEvent);
+                    } finally {
+                        rolloverLock.readLock().lock();
+                        rolloverLock.writeLock().unlock();
+                    }
+                }
+            }
+            processShardBatch(shardBatch);
+        } finally {
+            rolloverLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the event can be added to the current bucket without rolling it over. Must be called holding
+     * the rollover lock.
+     *
+     * @param streamEvent the event
+     * @return true if the event is a current event of the current bucket
+     */
+    private boolean isInCurrentBucket(StreamEvent streamEvent) {
+        if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
+            return false;
+        }
+        ExecutorState executorState = stateHolder.getState();
+        try {
+            if (isRoot && !executorState.timerStarted) {
+                return false;
+            }
+            long timestamp = (long) timestampExpressionExecutor.execute(streamEvent);
+            return timestamp < executorState.nextEmitTime && executorState.startTimeOfAggregates ==
+                    IncrementalTimeConverterUtil.getStartTimeOfAggregates(timestamp, duration);
+        } finally {
+            stateHolder.returnState(executorState);
+        }
+    }
+
+    int getShardIndex(String groupedByKey) {
+        return Math.floorMod(groupedByKey.hashCode(), shardValueStores.length);
+    }
+
+    private void processShardBatch(ShardBatch shardBatch) {
+        if (shardBatch.size == 0) {
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>(shardValueStores.length);
+        int callerShard = -1;
+        for (int i = 0; i < shardValueStores.length; i++) {
+            if (shardBatch.events[i].isEmpty()) {
+                continue;
+            }
+            if (callerShard == -1) {
+                callerShard = i;
+            } else {
+                final int shard = i;
+                futures.add(shardExecutorService.submit(() -> processShard(shardBatch, shard)));
+            }
+        }
+        // The calling thread takes care of one shard while the others are processed by the worker threads
+        processShard(shardBatch, callerShard);
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SiddhiAppRuntimeException("Interrupted while processing the shards of aggregation '" +
+                    aggregatorName + "' for duration '" + duration + "'", e);
+        } catch (ExecutionException e) {
+            throw new SiddhiAppRuntimeException("Error when processing the shards of aggregation '" +
+                    aggregatorName + "' for duration '" + duration + "'", e.getCause());
+        } finally {
+            shardBatch.clear();
+        }
+    }
+
+    private void processShard(ShardBatch shardBatch, int shard) {
+        List<StreamEvent> events = shardBatch.events[shard];
+        List<String> keys = shardBatch.keys[shard];
+        for (int i = 0; i < events.size(); i++) {
+            processShardEvent(shard, keys.get(i), events.get(i));
+        }
+    }
+
+    private void processShardEvent(int shard, String groupedByKey, StreamEvent streamEvent) {
+        try {
+            SiddhiAppContext.startGroupByFlow(groupedByKey);
+            shardValueStores[shard].process(streamEvent);
+        } finally {
+            SiddhiAppContext.stopGroupByFlow();
         }
     }
 
@@ -186,44 +349,61 @@ public class IncrementalExecutor implements Executor {
 
 
     private void dispatchAggregateEvents(long startTimeOfNewAggregates) {
-        dispatchEvent(startTimeOfNewAggregates, baseIncrementalValueStore);
+        if (shardValueStores == null) {
+            dispatchEvent(startTimeOfNewAggregates, baseIncrementalValueStore);
+        } else {
+            boolean isProcessed = false;
+            for (BaseIncrementalValueStore shardValueStore : shardValueStores) {
+                isProcessed = isProcessed || shardValueStore.isProcessed();
+            }
+            if (isProcessed) {
+                dispatchEvents(getGroupedByEvents(), getGroupedByEvents());
+            }
+            for (BaseIncrementalValueStore shardValueStore : shardValueStores) {
+                cleanBaseIncrementalValueStore(startTimeOfNewAggregates, shardValueStore);
+            }
+        }
     }
 
     private void dispatchEvent(long startTimeOfNewAggregates, BaseIncrementalValueStore aBaseIncrementalValueStore) {
         if (aBaseIncrementalValueStore.isProcessed()) {
-            Map<String, StreamEvent> streamEventMap = aBaseIncrementalValueStore.getGroupedByEvents();
-            ComplexEventChunk<StreamEvent> eventChunk = new ComplexEventChunk<>();
-            for (StreamEvent event : streamEventMap.values()) {
-                eventChunk.add(event);
-            }
-            Map<String, StreamEvent> tableStreamEventMap = aBaseIncrementalValueStore.getGroupedByEvents();
-            ComplexEventChunk<StreamEvent> tableEventChunk = new ComplexEventChunk<>();
-            for (StreamEvent event : tableStreamEventMap.values()) {
-                tableEventChunk.add(event);
-            }
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Event dispatched by " + this.duration + " incremental executor: " + eventChunk.toString());
-            }
-            if (isProcessingExecutor) {
-                executorService.execute(() -> {
-                            try {
-                                table.addEvents(tableEventChunk, streamEventMap.size());
-                            } catch (Throwable t) {
-                                LOG.error("Exception occurred at siddhi app '" + this.siddhiAppName +
-                                        "' when performing table writes of aggregation '" + this.aggregatorName +
-                                        "' for duration '" + this.duration + "'. This should be investigated as this " +
-                                        "can cause accuracy loss.", t);
-                            }
-                        }
-                );
-            }
-            if (getNextExecutor() != null) {
-                next.execute(eventChunk);
-            }
+            dispatchEvents(aBaseIncrementalValueStore.getGroupedByEvents(),
+                    aBaseIncrementalValueStore.getGroupedByEvents());
         }
         cleanBaseIncrementalValueStore(startTimeOfNewAggregates, aBaseIncrementalValueStore);
     }
 
+    private void dispatchEvents(Map<String, StreamEvent> streamEventMap,
+                                Map<String, StreamEvent> tableStreamEventMap) {
+        ComplexEventChunk<StreamEvent> eventChunk = new ComplexEventChunk<>();
+        for (StreamEvent event : streamEventMap.values()) {
+            eventChunk.add(event);
+        }
+        ComplexEventChunk<StreamEvent> tableEventChunk = new ComplexEventChunk<>();
+        for (StreamEvent event : tableStreamEventMap.values()) {
+            tableEventChunk.add(event);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Event dispatched by " + this.duration + " incremental executor: " + eventChunk.toString());
+        }
+        if (isProcessingExecutor) {
+            executorService.execute(() -> {
+                        try {
+                            table.addEvents(tableEventChunk, streamEventMap.size());
+                        } catch (Throwable t) {
+                            LOG.error("Exception occurred at siddhi app '" + this.siddhiAppName +
+                                    "' when performing table writes of aggregation '" + this.aggregatorName +
+                                    "' for duration '" + this.duration + "'. This should be investigated as this " +
+                                    "can cause accuracy loss.", t);
+                        }
+                    }
+            );
+        }
+        if (getNextExecutor() != null) {
+            next.execute(eventChunk);
+        }
+    }
+
     private void cleanBaseIncrementalValueStore(long startTimeOfNewAggregates,
                                                 BaseIncrementalValueStore baseIncrementalValueStore) {
         baseIncrementalValueStore.clearValues(startTimeOfNewAggregates, resetEvent);
@@ -236,6 +416,26 @@ public class IncrementalExecutor implements Executor {
         return baseIncrementalValueStore;
     }
 
+    BaseIncrementalValueStore[] getShardValueStores() {
+        return shardValueStores;
+    }
+
+    /**
+     * Returns the in-memory aggregates of the current bucket, merged across all the shards if sharding is enabled.
+     *
+     * @return grouped by aggregate events
+     */
+    Map<String, StreamEvent> getGroupedByEvents() {
+        if (shardValueStores == null) {
+            return baseIncrementalValueStore.getGroupedByEvents();
+        }
+        Map<String, StreamEvent> groupedByEvents = new HashMap<>();
+        for (BaseIncrementalValueStore shardValueStore : shardValueStores) {
+            groupedByEvents.putAll(shardValueStore.getGroupedByEvents());
+        }
+        return groupedByEvents;
+    }
+
     public long getAggregationStartTimestamp() {
         ExecutorState state = stateHolder.getState();
         try {
@@ -258,6 +458,39 @@ public class IncrementalExecutor implements Executor {
         isProcessingExecutor = processingExecutor;
     }
 
+    /**
+     * Events of a chunk falling into the current bucket, grouped by their shard.
+     */
+    private class ShardBatch {
+        private final List<StreamEvent>[] events;
+        private final List<String>[] keys;
+        private int size;
+
+        ShardBatch(int shardCount) {
+            this.events = new List[shardCount];
+            this.keys = new List[shardCount];
+            for (int i = 0; i < shardCount; i++) {
+                this.events[i] = new ArrayList<>();
+                this.keys[i] = new ArrayList<>();
+            }
+        }
+
+        void add(StreamEvent streamEvent) {
+            String groupedByKey = groupByKeyGenerator.constructEventKey(streamEvent);
+            int shard = getShardIndex(groupedByKey);
+            events[shard].add(streamEvent);
+            keys[shard].add(groupedByKey);
+            size++;
+        }
+
+        void clear() {
+            for (int i = 0; i < events.length; i++) {
+                events[i].clear();
+                keys[i].clear();
+            }
+            size = 0;
+        }
+    }
 
     class ExecutorState extends State {
         private long nextEmitTime = -1;
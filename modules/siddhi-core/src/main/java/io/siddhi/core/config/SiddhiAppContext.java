@@ -34,24 +34,29 @@ import io.siddhi.core.util.snapshot.state.StateFactory;
 import io.siddhi.core.util.snapshot.state.StateHolder;
 import io.siddhi.core.util.statistics.StatisticsManager;
 import io.siddhi.core.util.statistics.metrics.Level;
+import io.siddhi.core.util.timestamp.TimerService;
 import io.siddhi.core.util.timestamp.TimestampGenerator;
 import io.siddhi.query.api.SiddhiApp;
+import org.apache.log4j.Logger;
 
 import java.beans.ExceptionListener;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Holder object for context information of {@link SiddhiApp}.
  */
 public class SiddhiAppContext {
 
+    private static final Logger log = Logger.getLogger(SiddhiAppContext.class);
     private static final ThreadLocal<String> GROUP_BY_KEY = new ThreadLocal<>();
     private static final ThreadLocal<String> PARTITION_KEY = new ThreadLocal<>();
     private SiddhiContext siddhiContext = null;
@@ -67,6 +72,7 @@ public class SiddhiAppContext {
     private SnapshotService snapshotService;
     private ThreadBarrier threadBarrier = null;
     private TimestampGenerator timestampGenerator = null;
+    private TimerService timerService = null;
     private IdGenerator idGenerator;
     private Map<String, Script> scriptFunctionMap;
     private ExceptionHandler<Object> disruptorExceptionHandler;
@@ -77,6 +83,7 @@ public class SiddhiAppContext {
     private boolean transportChannelCreationEnabled;
     private List<Scheduler> schedulerList;
     private SiddhiApp siddhiApp;
+    private Map<String, Long> startupPhaseTimes;
 
     public SiddhiAppContext() {
         this.externalReferencedHolders = Collections.synchronizedList(new LinkedList<>());
@@ -84,6 +91,7 @@ public class SiddhiAppContext {
         this.scriptFunctionMap = new HashMap<String, Script>();
         this.schedulerList = new ArrayList<Scheduler>();
         this.rootMetricsLevel = Level.OFF;
+        this.startupPhaseTimes = Collections.synchronizedMap(new LinkedHashMap<>());
     }
 
     public static void startGroupByFlow(String key) {
@@ -219,6 +227,14 @@ public class SiddhiAppContext {
         this.timestampGenerator = timestampGenerator;
     }
 
+    public TimerService getTimerService() {
+        return timerService;
+    }
+
+    public void setTimerService(TimerService timerService) {
+        this.timerService = timerService;
+    }
+
     public SnapshotService getSnapshotService() {
         return snapshotService;
     }
@@ -315,6 +331,24 @@ public class SiddhiAppContext {
         return schedulerList;
     }
 
+    /**
+     * Records the time taken by a startup phase of the Siddhi app, such as compilation or query creation.
+     *
+     * @param phase       name of the startup phase
+     * @param timeInNanos time taken by the phase in nanoseconds
+     */
+    public void addStartupPhaseTime(String phase, long timeInNanos) {
+        startupPhaseTimes.merge(phase, timeInNanos, Long::sum);
+        if (log.isDebugEnabled()) {
+            log.debug("Siddhi App '" + name + "' completed startup phase '" + phase + "' in " +
+                    TimeUnit.NANOSECONDS.toMillis(timeInNanos) + " ms");
+        }
+    }
+
+    public Map<String, Long> getStartupPhaseTimes() {
+        return startupPhaseTimes;
+    }
+
     public StateHolder generateStateHolder(String name, StateFactory stateFactory) {
         return generateStateHolder(name, stateFactory, false);
     }
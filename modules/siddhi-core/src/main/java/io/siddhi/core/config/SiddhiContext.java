@@ -24,9 +24,12 @@ import io.siddhi.core.exception.PersistenceStoreException;
 import io.siddhi.core.stream.input.source.SourceHandlerManager;
 import io.siddhi.core.stream.output.sink.SinkHandlerManager;
 import io.siddhi.core.table.record.RecordTableHandlerManager;
+import io.siddhi.core.util.SiddhiAppCompilationCache;
 import io.siddhi.core.util.SiddhiExtensionLoader;
 import io.siddhi.core.util.config.ConfigManager;
 import io.siddhi.core.util.config.InMemoryConfigManager;
+import io.siddhi.core.util.event.handler.CpuAffinityHook;
+import io.siddhi.core.util.event.handler.TasksetCpuAffinityHook;
 import io.siddhi.core.util.extension.holder.AbstractExtensionHolder;
 import io.siddhi.core.util.persistence.IncrementalPersistenceStore;
 import io.siddhi.core.util.persistence.PersistenceStore;
@@ -57,6 +60,8 @@ public class SiddhiContext {
     private SinkHandlerManager sinkHandlerManager = null;
     private SourceHandlerManager sourceHandlerManager = null;
     private RecordTableHandlerManager recordTableHandlerManager = null;
+    private SiddhiAppCompilationCache siddhiAppCompilationCache = null;
+    private CpuAffinityHook cpuAffinityHook = new TasksetCpuAffinityHook();
     private Map<String, Object> attributes;
 
     public SiddhiContext() {
@@ -113,6 +118,14 @@ public class SiddhiContext {
         this.incrementalPersistenceStore = incrementalPersistenceStore;
     }
 
+    public CpuAffinityHook getCpuAffinityHook() {
+        return cpuAffinityHook;
+    }
+
+    public void setCpuAffinityHook(CpuAffinityHook cpuAffinityHook) {
+        this.cpuAffinityHook = cpuAffinityHook;
+    }
+
     public ConfigManager getConfigManager() {
         return configManager;
     }
@@ -172,6 +185,14 @@ public class SiddhiContext {
         this.recordTableHandlerManager = recordTableHandlerManager;
     }
 
+    public SiddhiAppCompilationCache getSiddhiAppCompilationCache() {
+        return siddhiAppCompilationCache;
+    }
+
+    public void setSiddhiAppCompilationCache(SiddhiAppCompilationCache siddhiAppCompilationCache) {
+        this.siddhiAppCompilationCache = siddhiAppCompilationCache;
+    }
+
     /**
      * Attributes that are common across all the Siddhi Apps
      *
@@ -18,19 +18,39 @@
 
 package io.siddhi.core.config;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Holder object for OnDemand query context information.
  */
 public class SiddhiOnDemandQueryContext extends SiddhiQueryContext {
 
     private String onDemandQueryString;
+    private Map<String, Object> parameters;
 
     public SiddhiOnDemandQueryContext(SiddhiAppContext siddhiAppContext, String queryName, String queryString) {
+        this(siddhiAppContext, queryName, queryString, Collections.emptyMap());
+    }
+
+    public SiddhiOnDemandQueryContext(SiddhiAppContext siddhiAppContext, String queryName, String queryString,
+                                      Map<String, Object> parameters) {
         super(siddhiAppContext, queryName, null);
         this.onDemandQueryString = queryString;
+        this.parameters = parameters;
     }
 
     public String getOnDemandQueryString() {
         return onDemandQueryString;
     }
+
+    /**
+     * Returns the bind parameters of the on-demand query. The map is owned by the runtime built for this context and
+     * its values are replaced before each execution.
+     *
+     * @return parameter name to value map
+     */
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
 }
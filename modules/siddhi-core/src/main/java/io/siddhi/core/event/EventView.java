@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.event;
+
+import io.siddhi.query.api.definition.Attribute;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only view over the events delivered to a callback, that gives access to the event data without copying
+ * them to {@link Event} instances. The view is reused across deliveries and is only valid until the callback it was
+ * delivered to returns; events that need to be retained should be copied via {@link #copy()} or
+ * {@link #copyAll()}.
+ * <p>
+ * The view is a cursor: {@link #next()} moves it to the next event, and the getters return the attributes of the
+ * event it is on.
+ */
+public final class EventView {
+
+    private final List<Attribute> attributeList;
+    private boolean valid;
+    private ComplexEvent firstComplexEvent;
+    private ComplexEvent.Type complexEventType;
+    private ComplexEvent complexEvent;
+    private Event[] events;
+    private List<Event> eventList;
+    private int eventCount;
+    private int position;
+    private Object[] data;
+    private long timestamp;
+    private boolean expired;
+    private int size = -1;
+
+    /**
+     * @param attributeList attributes of the events used to resolve attribute names, or null if not known
+     */
+    public EventView(List<Attribute> attributeList) {
+        this.attributeList = attributeList;
+    }
+
+    /**
+     * Points the view to a chain of events. Used by Siddhi when delivering events.
+     *
+     * @param firstComplexEvent first event of the chain
+     * @param type              type of the events to be viewed, or null to view all the events
+     */
+    public void wrap(ComplexEvent firstComplexEvent, ComplexEvent.Type type) {
+        clear();
+        this.firstComplexEvent = firstComplexEvent;
+        this.complexEventType = type;
+        this.valid = true;
+    }
+
+    /**
+     * Points the view to the given events. Used by Siddhi when delivering events.
+     *
+     * @param events events to be viewed
+     * @param count  number of events to be viewed from the start of the array
+     */
+    public void wrap(Event[] events, int count) {
+        clear();
+        this.events = events;
+        this.eventCount = count;
+        this.valid = true;
+    }
+
+    /**
+     * Points the view to the given events. Used by Siddhi when delivering events.
+     *
+     * @param eventList events to be viewed
+     */
+    public void wrap(List<Event> eventList) {
+        clear();
+        this.eventList = eventList;
+        this.eventCount = eventList.size();
+        this.valid = true;
+    }
+
+    /**
+     * Invalidates the view, once the callback it was delivered to returns. Used by Siddhi when delivering events.
+     */
+    public void release() {
+        clear();
+        valid = false;
+    }
+
+    /**
+     * @return whether the view is pointed to events and not yet released
+     */
+    public boolean isInUse() {
+        return valid;
+    }
+
+    private void clear() {
+        firstComplexEvent = null;
+        complexEventType = null;
+        complexEvent = null;
+        events = null;
+        eventList = null;
+        eventCount = 0;
+        position = -1;
+        data = null;
+        size = -1;
+    }
+
+    private void checkValid() {
+        if (!valid) {
+            throw new IllegalStateException("EventView can only be accessed before the callback it was " +
+                    "delivered to returns, copy the events to retain them");
+        }
+    }
+
+    private void checkPositioned() {
+        checkValid();
+        if (data == null) {
+            throw new NoSuchElementException("EventView is not positioned on an event, call next() first");
+        }
+    }
+
+    /**
+     * Moves the view to the next event.
+     *
+     * @return false if there are no more events
+     */
+    public boolean next() {
+        checkValid();
+        if (firstComplexEvent != null) {
+            ComplexEvent nextEvent = complexEvent == null ? (position < 0 ? firstComplexEvent : null) :
+                    complexEvent.getNext();
+            position = 0;
+            while (nextEvent != null && complexEventType != null && nextEvent.getType() != complexEventType) {
+                nextEvent = nextEvent.getNext();
+            }
+            complexEvent = nextEvent;
+            if (nextEvent == null) {
+                data = null;
+                return false;
+            }
+            data = nextEvent.getOutputData();
+            timestamp = nextEvent.getTimestamp();
+            expired = nextEvent.getType() == ComplexEvent.Type.EXPIRED;
+            return true;
+        }
+        if (position + 1 >= eventCount) {
+            position = eventCount;
+            data = null;
+            return false;
+        }
+        position++;
+        Event event = events != null ? events[position] : eventList.get(position);
+        data = event.getData();
+        timestamp = event.getTimestamp();
+        expired = event.isExpired();
+        return true;
+    }
+
+    /**
+     * Moves the view back to before the first event.
+     */
+    public void reset() {
+        checkValid();
+        complexEvent = null;
+        position = -1;
+        data = null;
+    }
+
+    /**
+     * @return the number of events in the view
+     */
+    public int size() {
+        checkValid();
+        if (size < 0) {
+            if (firstComplexEvent != null) {
+                int count = 0;
+                for (ComplexEvent event = firstComplexEvent; event != null; event = event.getNext()) {
+                    if (complexEventType == null || event.getType() == complexEventType) {
+                        count++;
+                    }
+                }
+                size = count;
+            } else {
+                size = eventCount;
+            }
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public long getTimestamp() {
+        checkPositioned();
+        return timestamp;
+    }
+
+    public boolean isExpired() {
+        checkPositioned();
+        return expired;
+    }
+
+    public int getAttributeCount() {
+        checkPositioned();
+        return data.length;
+    }
+
+    /**
+     * @param attributeName name of the attribute
+     * @return position of the attribute
+     */
+    public int getAttributePosition(String attributeName) {
+        if (attributeList == null) {
+            throw new UnsupportedOperationException("Attribute names are not known to the EventView, " +
+                    "use the attribute positions instead");
+        }
+        for (int i = 0; i < attributeList.size(); i++) {
+            if (attributeList.get(i).getName().equals(attributeName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Attribute '" + attributeName + "' does not exist");
+    }
+
+    public Object get(int position) {
+        checkPositioned();
+        return data[position];
+    }
+
+    public Object get(String attributeName) {
+        return get(getAttributePosition(attributeName));
+    }
+
+    public boolean isNull(int position) {
+        return get(position) == null;
+    }
+
+    public String getString(int position) {
+        return (String) get(position);
+    }
+
+    public int getInt(int position) {
+        return (Integer) get(position);
+    }
+
+    public long getLong(int position) {
+        return (Long) get(position);
+    }
+
+    public float getFloat(int position) {
+        return (Float) get(position);
+    }
+
+    public double getDouble(int position) {
+        return (Double) get(position);
+    }
+
+    public boolean getBool(int position) {
+        return (Boolean) get(position);
+    }
+
+    /**
+     * @return a copy of the event the view is on, that can be retained after the callback returns
+     */
+    public Event copy() {
+        checkPositioned();
+        Event event = new Event(timestamp, data.clone());
+        event.setIsExpired(expired);
+        return event;
+    }
+
+    /**
+     * Copies all the events of the view, without changing its position.
+     *
+     * @return copies of the events, that can be retained after the callback returns
+     */
+    public Event[] copyAll() {
+        checkValid();
+        Event[] copies = new Event[size()];
+        int i = 0;
+        if (firstComplexEvent != null) {
+            for (ComplexEvent event = firstComplexEvent; event != null; event = event.getNext()) {
+                if (complexEventType == null || event.getType() == complexEventType) {
+                    copies[i++] = new Event(event.getOutputData().length).copyFrom(event);
+                }
+            }
+        } else {
+            for (; i < eventCount; i++) {
+                Event event = events != null ? events[i] : eventList.get(i);
+                copies[i] = new Event(event.getData().length).copyFrom(event);
+            }
+        }
+        return copies;
+    }
+}
@@ -123,7 +123,7 @@ public class StateEvent implements ComplexEvent {
                     streamEvent.getBeforeWindowData()[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
                     break;
                 case OUTPUT_DATA_INDEX:
-                    streamEvent.getOutputData()[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
+                    streamEvent.setOutputData(object, position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]);
                     break;
                 case ON_AFTER_WINDOW_DATA_INDEX:
                     streamEvent.getOnAfterWindowData()[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
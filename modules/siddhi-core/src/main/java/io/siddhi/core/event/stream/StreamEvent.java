@@ -43,6 +43,7 @@ public class StreamEvent implements ComplexEvent {
     private Object[] beforeWindowData;          //Attributes before window execution
     private Object[] onAfterWindowData;         //Attributes on and after window execution
     private StreamEvent next;
+    private transient boolean outputDataShared;  //Whether outputData is shared with other events
 
     public StreamEvent(int beforeWindowDataSize, int onAfterWindowDataSize, int outputDataSize) {
         if (beforeWindowDataSize > 0) {
@@ -90,6 +91,22 @@ public class StreamEvent implements ComplexEvent {
 
     public void setOutputData(Object[] outputData) {
         this.outputData = outputData;
+        this.outputDataShared = false;
+    }
+
+    /**
+     * Refers to the given output data without copying it. The output data is copied before it gets modified, hence
+     * the same array can be shared between events that only read it.
+     *
+     * @param outputData output data that is not modified by its owner while the event refers to it
+     */
+    public void setSharedOutputData(Object[] outputData) {
+        this.outputData = outputData;
+        this.outputDataShared = true;
+    }
+
+    public boolean isOutputDataShared() {
+        return outputDataShared;
     }
 
 //    public boolean isExpired() {
@@ -149,7 +166,7 @@ public class StreamEvent implements ComplexEvent {
                 beforeWindowData[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
                 break;
             case OUTPUT_DATA_INDEX:
-                outputData[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
+                setOutputData(object, position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]);
                 break;
             case ON_AFTER_WINDOW_DATA_INDEX:
                 onAfterWindowData[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
@@ -161,6 +178,13 @@ public class StreamEvent implements ComplexEvent {
     }
 
     public void setOutputData(Object object, int index) {
+        if (outputDataShared) {
+            if (outputData[index] == object) {
+                return;
+            }
+            outputData = outputData.clone();
+            outputDataShared = false;
+        }
         this.outputData[index] = object;
     }
 
@@ -64,4 +64,16 @@ public class StreamEventFactory implements EventFactory<StreamEvent>, Serializab
         return new StreamEvent(beforeWindowDataSize, onAfterWindowDataSize, outputDataSize);
     }
 
+    /**
+     * Constructs new Events referring to the given output data instead of allocating their own
+     *
+     * @param sharedOutputData output data to be shared, which is copied before the Event modifies it
+     * @return StreamEvent
+     */
+    public StreamEvent newInstance(Object[] sharedOutputData) {
+        StreamEvent streamEvent = new StreamEvent(beforeWindowDataSize, onAfterWindowDataSize, 0);
+        streamEvent.setSharedOutputData(sharedOutputData);
+        return streamEvent;
+    }
+
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream;
+
+import org.apache.log4j.Logger;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event Factory that recycles {@link StreamEvent}s of a fixed shape.
+ * <p>
+ * Events are borrowed through {@link #newInstance()} and handed back with {@link #returnEvent(StreamEvent)} once they
+ * are fully consumed, so that steady-state windows reuse the same events instead of allocating new ones. At most
+ * {@code size} idle events are retained. When debug is enabled the pool tracks every borrowed event, reporting events
+ * that are returned twice (or were never borrowed) and events that got garbage collected without being returned.
+ */
+public class StreamEventPool extends StreamEventFactory {
+
+    private static final long serialVersionUID = 2203547384626473853L;
+    private static final Logger log = Logger.getLogger(StreamEventPool.class);
+
+    private final String name;
+    private final int size;
+    private final int beforeWindowDataSize;
+    private final int outputDataSize;
+    private final boolean debug;
+    private final ArrayDeque<StreamEvent> idleEvents;
+    private transient ReferenceQueue<StreamEvent> referenceQueue;
+    private transient Map<Integer, List<BorrowedEventReference>> borrowedEvents;
+    private long borrowCount;
+    private long reuseCount;
+    private long leakCount;
+    private long outstandingCount;
+    private long doubleReturnCount;
+
+    public StreamEventPool(String name, MetaStreamEvent metaStreamEvent, int size, boolean debug) {
+        super(metaStreamEvent);
+        this.name = name;
+        this.size = size;
+        this.beforeWindowDataSize = metaStreamEvent.getBeforeWindowData().size();
+        this.outputDataSize = metaStreamEvent.getOutputData().size();
+        this.debug = debug;
+        this.idleEvents = new ArrayDeque<>(size);
+        if (debug) {
+            this.referenceQueue = new ReferenceQueue<>();
+            this.borrowedEvents = new HashMap<>();
+        }
+    }
+
+    /**
+     * Borrows an event from the pool, creating a new one when there are no idle events.
+     *
+     * @return StreamEvent
+     */
+    @Override
+    public synchronized StreamEvent newInstance() {
+        borrowCount++;
+        StreamEvent streamEvent = idleEvents.pollLast();
+        if (streamEvent == null) {
+            streamEvent = super.newInstance();
+        } else {
+            reuseCount++;
+            if (streamEvent.getBeforeWindowData() == null && beforeWindowDataSize > 0) {
+                streamEvent.setBeforeWindowData(new Object[beforeWindowDataSize]);
+            }
+            if (streamEvent.getOutputData() == null && outputDataSize > 0) {
+                streamEvent.setOutputData(new Object[outputDataSize]);
+            }
+            streamEvent.setType(StreamEvent.Type.CURRENT);
+            streamEvent.setTimestamp(-1);
+        }
+        if (debug) {
+            reportLeaks();
+            outstandingCount++;
+            borrowedEvents.computeIfAbsent(System.identityHashCode(streamEvent), k -> new ArrayList<>(1))
+                    .add(new BorrowedEventReference(streamEvent, referenceQueue));
+        }
+        return streamEvent;
+    }
+
+    /**
+     * Returns a fully consumed event to the pool. The event must not be referred by the caller afterwards.
+     *
+     * @param streamEvent event borrowed from this pool
+     */
+    public synchronized void returnEvent(StreamEvent streamEvent) {
+        if (debug) {
+            reportLeaks();
+            if (!untrack(streamEvent)) {
+                doubleReturnCount++;
+                log.error("Event " + streamEvent + " returned to the event pool of '" + name + "' was not " +
+                        "borrowed from it or has already been returned, hence ignoring it.",
+                        new IllegalStateException("Invalid event return"));
+                return;
+            }
+        }
+        streamEvent.setNext(null);
+        if (streamEvent.isOutputDataShared()) {
+            // the shared output data is still referred by its owner, hence it cannot be reused
+            streamEvent.setOutputData(null);
+        }
+        if (idleEvents.size() < size) {
+            idleEvents.addLast(streamEvent);
+        }
+    }
+
+    private boolean untrack(StreamEvent streamEvent) {
+        int key = System.identityHashCode(streamEvent);
+        List<BorrowedEventReference> references = borrowedEvents.get(key);
+        if (references != null) {
+            for (int i = 0; i < references.size(); i++) {
+                BorrowedEventReference reference = references.get(i);
+                if (reference.get() == streamEvent) {
+                    references.remove(i);
+                    reference.clear();
+                    outstandingCount--;
+                    if (references.isEmpty()) {
+                        borrowedEvents.remove(key);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void reportLeaks() {
+        BorrowedEventReference reference;
+        while ((reference = (BorrowedEventReference) referenceQueue.poll()) != null) {
+            List<BorrowedEventReference> references = borrowedEvents.get(reference.identityHashCode);
+            if (references != null && references.remove(reference)) {
+                if (references.isEmpty()) {
+                    borrowedEvents.remove(reference.identityHashCode);
+                }
+                leakCount++;
+                outstandingCount--;
+                log.warn("An event borrowed from the event pool of '" + name + "' was garbage collected without " +
+                        "being returned.", reference.borrowSite);
+            }
+        }
+    }
+
+    public synchronized int getIdleCount() {
+        return idleEvents.size();
+    }
+
+    public synchronized long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public synchronized long getReuseCount() {
+        return reuseCount;
+    }
+
+    public synchronized long getLeakCount() {
+        if (debug) {
+            reportLeaks();
+        }
+        return leakCount;
+    }
+
+    /**
+     * @return number of borrowed events that are neither returned nor garbage collected, which is only tracked when
+     * debug is enabled
+     */
+    public synchronized long getOutstandingCount() {
+        if (debug) {
+            reportLeaks();
+        }
+        return outstandingCount;
+    }
+
+    public synchronized long getDoubleReturnCount() {
+        return doubleReturnCount;
+    }
+
+    /**
+     * Weak reference to a borrowed event, remembering where it was borrowed from to report leaks.
+     */
+    private static class BorrowedEventReference extends WeakReference<StreamEvent> {
+        private final int identityHashCode;
+        private final Throwable borrowSite;
+
+        BorrowedEventReference(StreamEvent streamEvent, ReferenceQueue<StreamEvent> referenceQueue) {
+            super(streamEvent, referenceQueue);
+            this.identityHashCode = System.identityHashCode(streamEvent);
+            this.borrowSite = new Throwable("Event borrowed here");
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.event.stream.holder;
+
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.util.snapshot.SnapshotRequest;
+import io.siddhi.core.util.snapshot.state.Snapshot;
+import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Queue of stream events in arrival order, partitioned into buckets by event timestamp, for windows that expire
+ * events based on their timestamps.
+ * <p>
+ * The events are kept in a single chain and the buckets, kept in a ring, mark consecutive ranges of it together with
+ * the timestamps of their events. Expiring a bucket whose events are all expired detaches its range from the chain
+ * without visiting its events, and lookups constrained by timestamps only visit the buckets that overlap with the
+ * given range. Incremental snapshots contain the number of events removed from the head and the events appended
+ * since the previous snapshot, hence the events of the older buckets are not serialized again.
+ */
+public class TimeBucketedStreamEventQueue {
+    private final long bucketDuration;
+    private final ArrayDeque<Bucket> buckets = new ArrayDeque<>();
+    private StreamEvent first;
+    private StreamEvent last;
+    private int size;
+    private long addedCount;
+    private long removedCount;
+    private long snapshotAddedCount;
+    private long snapshotRemovedCount;
+    private boolean forceFullSnapshot = true;
+
+    /**
+     * @param bucketDuration time span of the event timestamps held by a bucket in milliseconds
+     */
+    public TimeBucketedStreamEventQueue(long bucketDuration) {
+        this.bucketDuration = Math.max(bucketDuration, 1);
+    }
+
+    /**
+     * Appends the event to the queue.
+     *
+     * @param streamEvent event, that is not chained to other events
+     */
+    public void add(StreamEvent streamEvent) {
+        long timestamp = streamEvent.getTimestamp();
+        Bucket bucket = buckets.peekLast();
+        if (bucket == null || timestamp >= bucket.startTime + bucketDuration) {
+            // events arriving out of order are kept in the last bucket, to retain the arrival order
+            bucket = new Bucket(timestamp - Math.floorMod(timestamp, bucketDuration));
+            buckets.addLast(bucket);
+        }
+        if (last == null) {
+            first = streamEvent;
+        } else {
+            last.setNext(streamEvent);
+        }
+        last = streamEvent;
+        if (bucket.first == null) {
+            bucket.first = streamEvent;
+        }
+        bucket.last = streamEvent;
+        bucket.size++;
+        bucket.minTimestamp = Math.min(bucket.minTimestamp, timestamp);
+        bucket.maxTimestamp = Math.max(bucket.maxTimestamp, timestamp);
+        size++;
+        addedCount++;
+    }
+
+    /**
+     * Removes the events from the head of the queue having timestamps not greater than the given timestamp, till
+     * the first event having a greater timestamp.
+     *
+     * @param expiryTimestamp greatest timestamp of the events to be removed
+     * @return chain of the removed events in arrival order, or null if there are none
+     */
+    public StreamEvent pollExpired(long expiryTimestamp) {
+        StreamEvent lastExpiredEvent = null;
+        int expiredCount = 0;
+        while (!buckets.isEmpty()) {
+            Bucket bucket = buckets.peekFirst();
+            if (bucket.maxTimestamp <= expiryTimestamp) {
+                lastExpiredEvent = bucket.last;
+                expiredCount += bucket.size;
+                buckets.pollFirst();
+                continue;
+            }
+            StreamEvent event = bucket.first;
+            while (event.getTimestamp() <= expiryTimestamp) {
+                lastExpiredEvent = event;
+                expiredCount++;
+                bucket.size--;
+                event = event.getNext();
+            }
+            bucket.first = event;
+            break;
+        }
+        return detachHead(lastExpiredEvent, expiredCount);
+    }
+
+    /**
+     * Removes the given number of events from the head of the queue.
+     *
+     * @param count number of events to be removed
+     * @return chain of the removed events in arrival order, or null if there are none
+     */
+    public StreamEvent poll(int count) {
+        StreamEvent lastRemovedEvent = null;
+        int removed = 0;
+        while (removed < count && !buckets.isEmpty()) {
+            Bucket bucket = buckets.peekFirst();
+            if (bucket.size <= count - removed) {
+                lastRemovedEvent = bucket.last;
+                removed += bucket.size;
+                buckets.pollFirst();
+                continue;
+            }
+            StreamEvent event = bucket.first;
+            while (removed < count) {
+                lastRemovedEvent = event;
+                removed++;
+                bucket.size--;
+                event = event.getNext();
+            }
+            bucket.first = event;
+        }
+        return detachHead(lastRemovedEvent, removed);
+    }
+
+    private StreamEvent detachHead(StreamEvent lastRemovedEvent, int removed) {
+        if (lastRemovedEvent == null) {
+            return null;
+        }
+        StreamEvent removedEvents = first;
+        first = lastRemovedEvent.getNext();
+        lastRemovedEvent.setNext(null);
+        if (first == null) {
+            last = null;
+        }
+        size -= removed;
+        removedCount += removed;
+        return removedEvents;
+    }
+
+    public void clear() {
+        buckets.clear();
+        first = null;
+        last = null;
+        size = 0;
+        forceFullSnapshot = true;
+    }
+
+    public StreamEvent getFirst() {
+        return first;
+    }
+
+    public StreamEvent getLast() {
+        return last;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * @return iterator of all the events in arrival order
+     */
+    public Iterator<StreamEvent> iterator() {
+        return iterator(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Iterates the events of the buckets that may contain events with timestamps within the given range. Events
+     * outside the range are also returned when they are in the same bucket as events within the range.
+     *
+     * @param minTimestamp smallest timestamp of the range
+     * @param maxTimestamp greatest timestamp of the range
+     * @return iterator of the events in arrival order
+     */
+    public Iterator<StreamEvent> iterator(long minTimestamp, long maxTimestamp) {
+        return new BucketIterator(minTimestamp, maxTimestamp);
+    }
+
+    public Snapshot getSnapshot() {
+        long appendedCount = addedCount - snapshotAddedCount;
+        long removedSinceSnapshot = removedCount - snapshotRemovedCount;
+        snapshotAddedCount = addedCount;
+        snapshotRemovedCount = removedCount;
+        if (forceFullSnapshot || appendedCount >= size || SnapshotRequest.isRequestForFullSnapshot()) {
+            forceFullSnapshot = false;
+            return new Snapshot(first, false);
+        }
+        // as events are removed only from the head, the appended events still in the queue are at its tail
+        int appendedInQueue = (int) appendedCount;
+        StreamEvent appendedEvents = null;
+        if (appendedInQueue > 0) {
+            Iterator<Bucket> bucketIterator = buckets.descendingIterator();
+            int skipped = size;
+            Bucket bucket = null;
+            while (bucketIterator.hasNext() && skipped > size - appendedInQueue) {
+                bucket = bucketIterator.next();
+                skipped -= bucket.size;
+            }
+            appendedEvents = bucket.first;
+            for (; skipped < size - appendedInQueue; skipped++) {
+                appendedEvents = appendedEvents.getNext();
+            }
+        }
+        return new Snapshot(new Increment(removedSinceSnapshot, appendedEvents), true);
+    }
+
+    public void restore(SnapshotStateList snapshotStateList) {
+        for (Map.Entry<Long, Snapshot> snapshotEntry : snapshotStateList.getSnapshotStates().entrySet()) {
+            Snapshot snapshot = snapshotEntry.getValue();
+            if (!snapshot.isIncrementalSnapshot()) {
+                clear();
+                addAll((StreamEvent) snapshot.getState());
+            } else {
+                Increment increment = (Increment) snapshot.getState();
+                poll((int) increment.removedEventCount);
+                addAll(increment.appendedEvents);
+            }
+        }
+        forceFullSnapshot = false;
+        snapshotAddedCount = addedCount;
+        snapshotRemovedCount = removedCount;
+    }
+
+    private void addAll(StreamEvent streamEvents) {
+        StreamEvent streamEvent = streamEvents;
+        while (streamEvent != null) {
+            StreamEvent next = streamEvent.getNext();
+            streamEvent.setNext(null);
+            add(streamEvent);
+            streamEvent = next;
+        }
+    }
+
+    /**
+     * Range of the queue holding the events of a time bucket.
+     */
+    private static class Bucket {
+        private final long startTime;
+        private StreamEvent first;
+        private StreamEvent last;
+        private int size;
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+
+        Bucket(long startTime) {
+            this.startTime = startTime;
+        }
+    }
+
+    /**
+     * Changes of the queue since the previous snapshot.
+     */
+    private static class Increment implements Serializable {
+        private static final long serialVersionUID = -4926457181635471905L;
+        private final long removedEventCount;
+        private final StreamEvent appendedEvents;
+
+        Increment(long removedEventCount, StreamEvent appendedEvents) {
+            this.removedEventCount = removedEventCount;
+            this.appendedEvents = appendedEvents;
+        }
+    }
+
+    private class BucketIterator implements Iterator<StreamEvent> {
+        private final long minTimestamp;
+        private final long maxTimestamp;
+        private final Iterator<Bucket> bucketIterator = buckets.iterator();
+        private StreamEvent next;
+        private StreamEvent bucketLast;
+
+        BucketIterator(long minTimestamp, long maxTimestamp) {
+            this.minTimestamp = minTimestamp;
+            this.maxTimestamp = maxTimestamp;
+            nextBucket();
+        }
+
+        private void nextBucket() {
+            next = null;
+            while (bucketIterator.hasNext()) {
+                Bucket bucket = bucketIterator.next();
+                if (bucket.size > 0 && bucket.maxTimestamp >= minTimestamp && bucket.minTimestamp <= maxTimestamp) {
+                    next = bucket.first;
+                    bucketLast = bucket.last;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public StreamEvent next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            StreamEvent streamEvent = next;
+            if (streamEvent == bucketLast) {
+                nextBucket();
+            } else {
+                next = streamEvent.getNext();
+            }
+            return streamEvent;
+        }
+    }
+}
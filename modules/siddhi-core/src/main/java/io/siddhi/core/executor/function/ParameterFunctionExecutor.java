@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor.function;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.ParameterOverload;
+import io.siddhi.annotation.ReturnAttribute;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.config.SiddhiOnDemandQueryContext;
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.ConstantExpressionExecutor;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.snapshot.state.State;
+import io.siddhi.core.util.snapshot.state.StateFactory;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
+
+import java.util.Map;
+
+/**
+ * Executor class for param function. Function execution returns the value bound to the given parameter name when the
+ * on-demand query is executed, allowing the same query plan to be reused for different values.
+ */
+@Extension(
+        name = "param",
+        namespace = "",
+        description = "Returns the value bound to the given parameter name when executing a parameterized on-demand " +
+                "query. The return type is the type of the value bound when the query plan was created.",
+        parameters = {
+                @Parameter(name = "name",
+                        description = "The name of the bind parameter.",
+                        type = {DataType.STRING})
+        },
+        parameterOverloads = {
+                @ParameterOverload(parameterNames = {"name"})
+        },
+        returnAttributes = @ReturnAttribute(
+                description = "Returned type will be the type of the bound value.",
+                type = {DataType.INT, DataType.LONG, DataType.DOUBLE, DataType.FLOAT,
+                        DataType.STRING, DataType.BOOL, DataType.OBJECT}),
+        examples = @Example(
+                syntax = "from StockTable\n" +
+                        "on symbol == param('symbol')\n" +
+                        "select symbol, price",
+                description = "This returns the StockTable records whose symbol matches the value bound to the " +
+                        "'symbol' parameter at execution.")
+)
+public class ParameterFunctionExecutor extends FunctionExecutor {
+
+    private String parameterName;
+    private Map<String, Object> parameters;
+    private Attribute.Type returnType;
+
+    @Override
+    protected StateFactory init(ExpressionExecutor[] attributeExpressionExecutors, ConfigReader configReader,
+                                SiddhiQueryContext siddhiQueryContext) {
+        if (attributeExpressionExecutors.length != 1) {
+            throw new SiddhiAppValidationException("Invalid no of arguments passed to param() function, " +
+                    "required 1 parameter, but found " + attributeExpressionExecutors.length);
+        }
+        if (!(attributeExpressionExecutors[0] instanceof ConstantExpressionExecutor) ||
+                attributeExpressionExecutors[0].getReturnType() != Attribute.Type.STRING) {
+            throw new SiddhiAppValidationException("The parameter name of param() function should be a " +
+                    "constant string");
+        }
+        if (!(siddhiQueryContext instanceof SiddhiOnDemandQueryContext)) {
+            throw new SiddhiAppValidationException("param() function can only be used within on-demand queries, " +
+                    "but found in '" + siddhiQueryContext.getName() + "'");
+        }
+        parameterName = (String) ((ConstantExpressionExecutor) attributeExpressionExecutors[0]).getValue();
+        parameters = ((SiddhiOnDemandQueryContext) siddhiQueryContext).getParameters();
+        if (!parameters.containsKey(parameterName)) {
+            throw new SiddhiAppValidationException("No value is bound to the parameter '" + parameterName +
+                    "' used in param() function");
+        }
+        returnType = typeOf(parameters.get(parameterName));
+        return null;
+    }
+
+    public static Attribute.Type typeOf(Object value) {
+        if (value instanceof String) {
+            return Attribute.Type.STRING;
+        } else if (value instanceof Integer) {
+            return Attribute.Type.INT;
+        } else if (value instanceof Long) {
+            return Attribute.Type.LONG;
+        } else if (value instanceof Float) {
+            return Attribute.Type.FLOAT;
+        } else if (value instanceof Double) {
+            return Attribute.Type.DOUBLE;
+        } else if (value instanceof Boolean) {
+            return Attribute.Type.BOOL;
+        } else {
+            return Attribute.Type.OBJECT;
+        }
+    }
+
+    @Override
+    public Object execute(ComplexEvent event) {
+        return parameters.get(parameterName);
+    }
+
+    @Override
+    protected Object execute(Object[] data, State state) {
+        //will not occur
+        return null;
+    }
+
+    @Override
+    protected Object execute(Object data, State state) {
+        //will not occur
+        return null;
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return returnType;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.partition;
+
+import io.siddhi.core.event.stream.StreamEvent;
+
+import java.util.Arrays;
+
+/**
+ * Reusable open addressing map grouping the events of a chunk by their partition keys. Groups are kept in the order
+ * their keys first appeared and the events of each group are kept in their arrival order.
+ */
+final class PartitionKeyGroups {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+
+    private String[] slotKeys;
+    private int[] slotGroups;
+    private String[] groupKeys;
+    private StreamEvent[] groupFirstEvents;
+    private StreamEvent[] groupLastEvents;
+    private int[] groupSlots;
+    private int[] groupSequences;
+    private int groupCount;
+    private boolean inUse;
+
+    PartitionKeyGroups() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        slotKeys = new String[capacity];
+        slotGroups = new int[capacity];
+        groupKeys = new String[capacity / 2];
+        groupFirstEvents = new StreamEvent[capacity / 2];
+        groupLastEvents = new StreamEvent[capacity / 2];
+        groupSlots = new int[capacity / 2];
+        groupSequences = new int[capacity / 2];
+    }
+
+    boolean isInUse() {
+        return inUse;
+    }
+
+    void setInUse(boolean inUse) {
+        this.inUse = inUse;
+    }
+
+    /**
+     * Returns the group of the given key, creating it if it does not exist.
+     *
+     * @param key partition key
+     * @return index of the group
+     */
+    int getGroup(String key) {
+        int mask = slotKeys.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (slotKeys[slot] != null) {
+            if (slotKeys[slot].equals(key)) {
+                return slotGroups[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((groupCount + 1) * 2 > slotKeys.length) {
+            grow();
+            return getGroup(key);
+        }
+        int group = groupCount++;
+        slotKeys[slot] = key;
+        slotGroups[slot] = group;
+        groupKeys[group] = key;
+        groupSlots[group] = slot;
+        groupSequences[group] = -1;
+        return group;
+    }
+
+    /**
+     * @return whether the group already holds the event having the given sequence
+     */
+    boolean containsEvent(int group, int sequence) {
+        return groupSequences[group] == sequence;
+    }
+
+    void append(int group, StreamEvent streamEvent, int sequence) {
+        if (groupFirstEvents[group] == null) {
+            groupFirstEvents[group] = streamEvent;
+        } else {
+            groupLastEvents[group].setNext(streamEvent);
+        }
+        groupLastEvents[group] = streamEvent;
+        groupSequences[group] = sequence;
+    }
+
+    int size() {
+        return groupCount;
+    }
+
+    String getKey(int group) {
+        return groupKeys[group];
+    }
+
+    StreamEvent getEvents(int group) {
+        return groupFirstEvents[group];
+    }
+
+    /**
+     * Removes all the groups, only visiting the slots that are in use.
+     */
+    void clear() {
+        if (slotKeys.length > MAX_RETAINED_CAPACITY) {
+            allocate(INITIAL_CAPACITY);
+        } else {
+            for (int group = 0; group < groupCount; group++) {
+                slotKeys[groupSlots[group]] = null;
+            }
+            Arrays.fill(groupKeys, 0, groupCount, null);
+            Arrays.fill(groupFirstEvents, 0, groupCount, null);
+            Arrays.fill(groupLastEvents, 0, groupCount, null);
+        }
+        groupCount = 0;
+        inUse = false;
+    }
+
+    private void grow() {
+        String[] oldGroupKeys = groupKeys;
+        StreamEvent[] oldGroupFirstEvents = groupFirstEvents;
+        StreamEvent[] oldGroupLastEvents = groupLastEvents;
+        int[] oldGroupSequences = groupSequences;
+        int oldGroupCount = groupCount;
+        allocate(slotKeys.length * 2);
+        groupCount = 0;
+        for (int group = 0; group < oldGroupCount; group++) {
+            int newGroup = getGroup(oldGroupKeys[group]);
+            groupFirstEvents[newGroup] = oldGroupFirstEvents[group];
+            groupLastEvents[newGroup] = oldGroupLastEvents[group];
+            groupSequences[newGroup] = oldGroupSequences[group];
+        }
+    }
+
+    private static int spread(int hashCode) {
+        int hash = hashCode * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
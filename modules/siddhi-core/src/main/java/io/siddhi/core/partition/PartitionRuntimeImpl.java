@@ -79,6 +79,7 @@ public class PartitionRuntimeImpl implements PartitionRuntime {
     private long purgeExecutionInterval = 300000;
     private boolean purgingEnabled = false;
     private long purgeIdlePeriod = 0;
+    private boolean keyGroupedDispatch = false;
     private String partitionName;
     private Partition partition;
     private ConcurrentMap<String, StreamJunction> localStreamJunctionMap = new ConcurrentHashMap<>();
@@ -145,6 +146,20 @@ public class PartitionRuntimeImpl implements PartitionRuntime {
                 purgeExecutionInterval = Expression.Time.timeToLong(interval);
             }
         }
+        Annotation dispatch = AnnotationHelper.getAnnotation(SiddhiConstants.NAMESPACE_DISPATCH,
+                partition.getAnnotations());
+        if (dispatch != null) {
+            String groupByKey = dispatch.getElement(SiddhiConstants.ANNOTATION_ELEMENT_GROUP_BY_KEY);
+            if (groupByKey == null) {
+                throw new SiddhiAppCreationException("Annotation @" + SiddhiConstants.NAMESPACE_DISPATCH +
+                        " is missing element '" + SiddhiConstants.ANNOTATION_ELEMENT_GROUP_BY_KEY + "'");
+            } else if (!("true".equalsIgnoreCase(groupByKey) || "false".equalsIgnoreCase(groupByKey))) {
+                throw new SiddhiAppCreationException("Invalid value for " +
+                        SiddhiConstants.ANNOTATION_ELEMENT_GROUP_BY_KEY + ": " + groupByKey + "." +
+                        " Please use 'true' or 'false'");
+            }
+            keyGroupedDispatch = Boolean.parseBoolean(groupByKey);
+        }
         this.partition = partition;
         this.streamDefinitionMap = streamDefinitionMap;
         this.windowDefinitionMap = windowDefinitionMap;
@@ -305,7 +320,7 @@ public class PartitionRuntimeImpl implements PartitionRuntime {
 
     private StreamJunction createStreamJunction(StreamDefinition streamDefinition) {
         return new StreamJunction(streamDefinition, siddhiAppContext.getExecutorService(),
-                siddhiAppContext.getBufferSize(), null, siddhiAppContext);
+                siddhiAppContext.getBufferSize(), null, siddhiAppContext, true);
     }
 
     public void addInnerpartitionStreamReceiverStreamJunction(String key, StreamJunction streamJunction) {
@@ -323,6 +338,14 @@ public class PartitionRuntimeImpl implements PartitionRuntime {
         }
     }
 
+    /**
+     * @return whether the events of a chunk are grouped by their partition keys before being dispatched, such that
+     * each partition instance receives a single chunk of events per incoming chunk
+     */
+    public boolean isKeyGroupedDispatch() {
+        return keyGroupedDispatch;
+    }
+
     public String getPartitionName() {
         return partitionName;
     }
@@ -23,6 +23,7 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.event.stream.converter.StreamEventConverter;
 import io.siddhi.core.event.stream.converter.StreamEventConverterFactory;
@@ -44,6 +45,10 @@ import java.util.Map;
 public class PartitionStreamReceiver implements StreamJunction.Receiver {
 
     private final StreamEventFactory streamEventFactory;
+    private final StreamEventCloner streamEventCloner;
+    private final boolean keyGroupedDispatch;
+    private final ThreadLocal<PartitionKeyGroups> partitionKeyGroups =
+            ThreadLocal.withInitial(PartitionKeyGroups::new);
     private StreamEventConverter streamEventConverter;
     private String streamId;
     private MetaStreamEvent metaStreamEvent;
@@ -65,7 +70,8 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         this.siddhiAppContext = siddhiAppContext;
         this.streamId = streamDefinition.getId();
         this.streamEventFactory = new StreamEventFactory(metaStreamEvent);
-
+        this.streamEventCloner = new StreamEventCloner(metaStreamEvent, streamEventFactory);
+        this.keyGroupedDispatch = this.partitionRuntime.isKeyGroupedDispatch();
     }
 
     public void init() {
@@ -99,6 +105,15 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
                     String key = partitionExecutor.execute(newEvent);
                     send(key, newEvent);
                 }
+            } else if (keyGroupedDispatch) {
+                PartitionKeyGroups keyGroups = acquirePartitionKeyGroups();
+                int sequence = 0;
+                for (ComplexEvent aEvent = complexEvent; aEvent != null; aEvent = aEvent.getNext()) {
+                    StreamEvent newEvent = streamEventFactory.newInstance();
+                    streamEventConverter.convertComplexEvent(aEvent, newEvent);
+                    addToKeyGroups(keyGroups, newEvent, sequence++);
+                }
+                send(keyGroups);
             } else {
                 ComplexEventChunk<ComplexEvent> complexEventChunk = new ComplexEventChunk<ComplexEvent>();
                 complexEventChunk.add(complexEvent);
@@ -186,6 +201,15 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
                 currentEvent = nextEvent;
             }
             send(firstEvent);
+        } else if (keyGroupedDispatch) {
+            PartitionKeyGroups keyGroups = acquirePartitionKeyGroups();
+            int sequence = 0;
+            for (Event event : events) {
+                StreamEvent newEvent = streamEventFactory.newInstance();
+                streamEventConverter.convertEvent(event, newEvent);
+                addToKeyGroups(keyGroups, newEvent, sequence++);
+            }
+            send(keyGroups);
         } else {
             String key = null;
             StreamEvent firstEvent = null;
@@ -231,6 +255,15 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
                 currentEvent = nextEvent;
             }
             send(firstEvent);
+        } else if (keyGroupedDispatch) {
+            PartitionKeyGroups keyGroups = acquirePartitionKeyGroups();
+            int sequence = 0;
+            for (Event event : events) {
+                StreamEvent newEvent = streamEventFactory.newInstance();
+                streamEventConverter.convertEvent(event, newEvent);
+                addToKeyGroups(keyGroups, newEvent, sequence++);
+            }
+            send(keyGroups);
         } else {
             String key = null;
             StreamEvent firstEvent = null;
@@ -259,6 +292,41 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         }
     }
 
+    private PartitionKeyGroups acquirePartitionKeyGroups() {
+        PartitionKeyGroups keyGroups = partitionKeyGroups.get();
+        if (keyGroups.isInUse()) {
+            // events dispatched to the partition are routed back to this receiver in the same thread
+            keyGroups = new PartitionKeyGroups();
+        }
+        keyGroups.setInUse(true);
+        return keyGroups;
+    }
+
+    private void addToKeyGroups(PartitionKeyGroups keyGroups, StreamEvent newEvent, int sequence) {
+        boolean added = false;
+        for (PartitionExecutor partitionExecutor : partitionExecutors) {
+            String key = partitionExecutor.execute(newEvent);
+            if (key != null) {
+                int group = keyGroups.getGroup(key);
+                if (!keyGroups.containsEvent(group, sequence)) {
+                    keyGroups.append(group, added ? streamEventCloner.copyStreamEvent(newEvent) : newEvent,
+                            sequence);
+                    added = true;
+                }
+            }
+        }
+    }
+
+    private void send(PartitionKeyGroups keyGroups) {
+        try {
+            for (int group = 0; group < keyGroups.size(); group++) {
+                send(keyGroups.getKey(group), keyGroups.getEvents(group));
+            }
+        } finally {
+            keyGroups.clear();
+        }
+    }
+
     private void send(String key, ComplexEvent event) {
         if (key != null) {
             SiddhiAppContext.startPartitionFlow(key);
@@ -312,7 +380,7 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
 
     private StreamJunction createStreamJunction() {
         return new StreamJunction(streamDefinition, siddhiAppContext.getExecutorService(),
-                siddhiAppContext.getBufferSize(), null, siddhiAppContext);
+                siddhiAppContext.getBufferSize(), null, siddhiAppContext, true);
     }
 
 }
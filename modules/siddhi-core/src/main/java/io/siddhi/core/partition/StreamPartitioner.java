@@ -21,15 +21,19 @@ import io.siddhi.core.config.SiddhiQueryContext;
 import io.siddhi.core.event.MetaComplexEvent;
 import io.siddhi.core.event.state.MetaStateEvent;
 import io.siddhi.core.event.stream.MetaStreamEvent;
+import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
+import io.siddhi.core.partition.executor.IndexedRangePartitionExecutor;
 import io.siddhi.core.partition.executor.PartitionExecutor;
 import io.siddhi.core.partition.executor.RangePartitionExecutor;
+import io.siddhi.core.partition.executor.RangePartitionIndex;
 import io.siddhi.core.partition.executor.ValuePartitionExecutor;
 import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.parser.ExpressionParser;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.execution.partition.Partition;
 import io.siddhi.query.api.execution.partition.PartitionType;
 import io.siddhi.query.api.execution.partition.RangePartitionType;
@@ -44,8 +48,19 @@ import io.siddhi.query.api.execution.query.input.stream.InputStream;
 import io.siddhi.query.api.execution.query.input.stream.JoinInputStream;
 import io.siddhi.query.api.execution.query.input.stream.SingleInputStream;
 import io.siddhi.query.api.execution.query.input.stream.StateInputStream;
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.condition.And;
+import io.siddhi.query.api.expression.condition.Compare;
+import io.siddhi.query.api.expression.constant.Constant;
+import io.siddhi.query.api.expression.constant.DoubleConstant;
+import io.siddhi.query.api.expression.constant.FloatConstant;
+import io.siddhi.query.api.expression.constant.IntConstant;
+import io.siddhi.query.api.expression.constant.LongConstant;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -150,21 +165,267 @@ public class StreamPartitioner {
                                 false, 0,
                                 ProcessingMode.BATCH, false, siddhiQueryContext)));
                     }
-                } else {
-                    for (RangePartitionType.RangePartitionProperty rangePartitionProperty : ((RangePartitionType)
-                            partitionType).getRangePartitionProperties()) {
-                        if (partitionType.getStreamId().equals(inputStream.getStreamId())) {
-                            executorList.add(new RangePartitionExecutor((ConditionExpressionExecutor)
-                                    ExpressionParser.parseExpression(rangePartitionProperty.getCondition(), metaEvent,
-                                            SiddhiConstants.UNKNOWN_STATE, tableMap, executors,
-                                            false, 0, ProcessingMode.BATCH,
-                                            false, siddhiQueryContext),
-                                    rangePartitionProperty.getPartitionKey()));
-                        }
+                } else if (partitionType.getStreamId().equals(inputStream.getStreamId())) {
+                    createRangePartitionExecutors((RangePartitionType) partitionType, executorList, metaEvent,
+                            executors, tableMap, siddhiQueryContext);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the executors of the range partition. Ranges defined over the same numeric attribute via comparisons
+     * with constants are routed through a {@link RangePartitionIndex}, and the conditions of the other ranges are
+     * evaluated individually.
+     */
+    private void createRangePartitionExecutors(RangePartitionType rangePartitionType,
+                                               List<PartitionExecutor> executorList, MetaStreamEvent metaEvent,
+                                               List<VariableExpressionExecutor> executors,
+                                               Map<String, Table> tableMap, SiddhiQueryContext siddhiQueryContext) {
+        RangePartitionType.RangePartitionProperty[] rangePartitionProperties =
+                rangePartitionType.getRangePartitionProperties();
+        Map<String, List<Integer>> rangesByAttribute = new LinkedHashMap<>();
+        List<List<Compare>> rangeComparisons = new ArrayList<>(rangePartitionProperties.length);
+        for (int i = 0; i < rangePartitionProperties.length; i++) {
+            List<Compare> comparisons = new ArrayList<>();
+            String attributeName = collectRangeComparisons(rangePartitionProperties[i].getCondition(),
+                    rangePartitionType.getStreamId(), comparisons) ? getAttributeName(comparisons) : null;
+            rangeComparisons.add(comparisons);
+            if (attributeName != null) {
+                rangesByAttribute.computeIfAbsent(attributeName, k -> new ArrayList<>()).add(i);
+            }
+        }
+        PartitionExecutor[][] rangeExecutors = new PartitionExecutor[rangePartitionProperties.length][];
+        for (Map.Entry<String, List<Integer>> entry : rangesByAttribute.entrySet()) {
+            List<Integer> ranges = entry.getValue();
+            if (ranges.size() < 2) {
+                continue;
+            }
+            RangePartitionIndex rangePartitionIndex = createRangePartitionIndex(ranges, rangeComparisons,
+                    rangePartitionProperties, metaEvent, executors, tableMap, siddhiQueryContext);
+            if (rangePartitionIndex != null) {
+                PartitionExecutor[] indexedExecutors = new PartitionExecutor[rangePartitionIndex.getMaxOverlap()];
+                for (int position = 0; position < indexedExecutors.length; position++) {
+                    indexedExecutors[position] = new IndexedRangePartitionExecutor(rangePartitionIndex, position);
+                }
+                rangeExecutors[ranges.get(0)] = indexedExecutors;
+                for (int i = 1; i < ranges.size(); i++) {
+                    rangeExecutors[ranges.get(i)] = new PartitionExecutor[0];
+                }
+            }
+        }
+        for (int i = 0; i < rangePartitionProperties.length; i++) {
+            if (rangeExecutors[i] != null) {
+                for (PartitionExecutor partitionExecutor : rangeExecutors[i]) {
+                    executorList.add(partitionExecutor);
+                }
+            } else {
+                executorList.add(new RangePartitionExecutor((ConditionExpressionExecutor)
+                        ExpressionParser.parseExpression(rangePartitionProperties[i].getCondition(), metaEvent,
+                                SiddhiConstants.UNKNOWN_STATE, tableMap, executors,
+                                false, 0, ProcessingMode.BATCH,
+                                false, siddhiQueryContext),
+                        rangePartitionProperties[i].getPartitionKey()));
+            }
+        }
+    }
+
+    /**
+     * Creates the index of the given ranges of the same attribute, removing the ranges that cannot be indexed from
+     * the list.
+     *
+     * @return the index, or null if less than two ranges can be indexed
+     */
+    private RangePartitionIndex createRangePartitionIndex(
+            List<Integer> ranges, List<List<Compare>> rangeComparisons,
+            RangePartitionType.RangePartitionProperty[] rangePartitionProperties, MetaStreamEvent metaEvent,
+            List<VariableExpressionExecutor> executors, Map<String, Table> tableMap,
+            SiddhiQueryContext siddhiQueryContext) {
+        Variable variable = (Variable) rangeComparisons.get(ranges.get(0)).get(0).getLeftExpression();
+        ExpressionExecutor attributeExecutor = ExpressionParser.parseExpression(variable, metaEvent,
+                SiddhiConstants.UNKNOWN_STATE, tableMap, executors, false, 0, ProcessingMode.BATCH,
+                false, siddhiQueryContext);
+        Attribute.Type attributeType = attributeExecutor.getReturnType();
+        boolean floatingPoint;
+        if (attributeType == Attribute.Type.INT || attributeType == Attribute.Type.LONG) {
+            floatingPoint = false;
+        } else if (attributeType == Attribute.Type.FLOAT || attributeType == Attribute.Type.DOUBLE) {
+            floatingPoint = true;
+        } else {
+            return null;
+        }
+        List<long[]> rangeBounds = new ArrayList<>(ranges.size());
+        for (Iterator<Integer> iterator = ranges.iterator(); iterator.hasNext(); ) {
+            long[] bounds = getRangeBounds(rangeComparisons.get(iterator.next()), attributeType, floatingPoint);
+            if (bounds != null) {
+                rangeBounds.add(bounds);
+            } else {
+                iterator.remove();
+            }
+        }
+        if (ranges.size() < 2) {
+            return null;
+        }
+        long[] lowerBounds = new long[ranges.size()];
+        long[] upperBounds = new long[ranges.size()];
+        String[] keys = new String[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            lowerBounds[i] = rangeBounds.get(i)[0];
+            upperBounds[i] = rangeBounds.get(i)[1];
+            keys[i] = rangePartitionProperties[ranges.get(i)].getPartitionKey();
+        }
+        return new RangePartitionIndex(attributeExecutor, floatingPoint, lowerBounds, upperBounds, keys);
+    }
+
+    /**
+     * @return the inclusive lower and upper bounds of the values matching all the comparisons as used by
+     * {@link RangePartitionIndex}, or null if the comparisons cannot be indexed
+     */
+    private static long[] getRangeBounds(List<Compare> comparisons, Attribute.Type attributeType,
+                                         boolean floatingPoint) {
+        long lowerBound = Long.MIN_VALUE;
+        long upperBound = Long.MAX_VALUE;
+        for (Compare compare : comparisons) {
+            Number value = getComparedValue((Constant) compare.getRightExpression(), attributeType);
+            if (value == null) {
+                return null;
+            }
+            Long indexValue = RangePartitionIndex.toIndexValue(value, floatingPoint);
+            if (indexValue == null) {
+                return null;
+            }
+            switch (compare.getOperator()) {
+                case LESS_THAN:
+                    if (indexValue == Long.MIN_VALUE) {
+                        // no value is less than the minimum, hence the range is empty
+                        return new long[]{Long.MAX_VALUE, Long.MIN_VALUE};
+                    }
+                    upperBound = Math.min(upperBound, indexValue - 1);
+                    break;
+                case LESS_THAN_EQUAL:
+                    upperBound = Math.min(upperBound, indexValue);
+                    break;
+                case GREATER_THAN:
+                    if (indexValue == Long.MAX_VALUE) {
+                        return new long[]{Long.MAX_VALUE, Long.MIN_VALUE};
                     }
+                    lowerBound = Math.max(lowerBound, indexValue + 1);
+                    break;
+                case GREATER_THAN_EQUAL:
+                    lowerBound = Math.max(lowerBound, indexValue);
+                    break;
+                case EQUAL:
+                    lowerBound = Math.max(lowerBound, indexValue);
+                    upperBound = Math.min(upperBound, indexValue);
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return new long[]{lowerBound, upperBound};
+    }
+
+    /**
+     * Collects the comparisons of the condition, normalized to have the attribute on the left, if the condition is
+     * a conjunction of comparisons between attributes of the partitioned stream and constants.
+     *
+     * @return whether the condition could be analysed
+     */
+    private static boolean collectRangeComparisons(Expression condition, String streamId,
+                                                   List<Compare> comparisons) {
+        if (condition instanceof And) {
+            return collectRangeComparisons(((And) condition).getLeftExpression(), streamId, comparisons) &&
+                    collectRangeComparisons(((And) condition).getRightExpression(), streamId, comparisons);
+        } else if (condition instanceof Compare) {
+            Compare compare = (Compare) condition;
+            Compare.Operator operator = compare.getOperator();
+            if (operator == Compare.Operator.NOT_EQUAL) {
+                return false;
+            }
+            if (isStreamAttribute(compare.getLeftExpression(), streamId) &&
+                    compare.getRightExpression() instanceof Constant) {
+                comparisons.add(compare);
+                return true;
+            } else if (compare.getLeftExpression() instanceof Constant &&
+                    isStreamAttribute(compare.getRightExpression(), streamId)) {
+                switch (operator) {
+                    case LESS_THAN:
+                        operator = Compare.Operator.GREATER_THAN;
+                        break;
+                    case GREATER_THAN:
+                        operator = Compare.Operator.LESS_THAN;
+                        break;
+                    case LESS_THAN_EQUAL:
+                        operator = Compare.Operator.GREATER_THAN_EQUAL;
+                        break;
+                    case GREATER_THAN_EQUAL:
+                        operator = Compare.Operator.LESS_THAN_EQUAL;
+                        break;
+                    default:
+                        break;
                 }
+                comparisons.add(new Compare(compare.getRightExpression(), operator, compare.getLeftExpression()));
+                return true;
             }
         }
+        return false;
+    }
+
+    private static boolean isStreamAttribute(Expression expression, String streamId) {
+        if (expression instanceof Variable) {
+            Variable variable = (Variable) expression;
+            return (variable.getStreamId() == null || variable.getStreamId().equals(streamId)) &&
+                    variable.getStreamIndex() == null && variable.getFunctionId() == null;
+        }
+        return false;
+    }
+
+    /**
+     * @return the attribute compared by all the comparisons, or null if they compare different attributes
+     */
+    private static String getAttributeName(List<Compare> comparisons) {
+        String attributeName = null;
+        for (Compare compare : comparisons) {
+            String comparedAttributeName = ((Variable) compare.getLeftExpression()).getAttributeName();
+            if (attributeName == null) {
+                attributeName = comparedAttributeName;
+            } else if (!attributeName.equals(comparedAttributeName)) {
+                return null;
+            }
+        }
+        return attributeName;
+    }
+
+    /**
+     * Returns the constant as it is compared with the values of the given attribute type, following the numeric
+     * promotion done by the compare condition executors.
+     *
+     * @return the value to be compared, or null if the comparison cannot be indexed
+     */
+    private static Number getComparedValue(Constant constant, Attribute.Type attributeType) {
+        Number value;
+        if (constant instanceof IntConstant) {
+            value = ((IntConstant) constant).getValue();
+        } else if (constant instanceof LongConstant) {
+            value = ((LongConstant) constant).getValue();
+        } else if (constant instanceof FloatConstant) {
+            value = ((FloatConstant) constant).getValue();
+        } else if (constant instanceof DoubleConstant) {
+            value = ((DoubleConstant) constant).getValue();
+        } else {
+            return null;
+        }
+        boolean integralValue = value instanceof Integer || value instanceof Long;
+        switch (attributeType) {
+            case INT:
+            case LONG:
+                // integral attributes compared with floating point values are compared as floating point values
+                return integralValue ? value : null;
+            case FLOAT:
+                return integralValue ? (Number) (float) value.longValue() : value;
+            default:
+                return value;
+        }
     }
 
     public List<List<PartitionExecutor>> getPartitionExecutorLists() {
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.partition.executor;
+
+import io.siddhi.core.event.ComplexEvent;
+
+/**
+ * Range partition executor that finds the matching range via a {@link RangePartitionIndex}. As ranges can overlap,
+ * an index is served by as many executors as the maximum number of ranges containing a value, each returning the
+ * key of the matching range at its position.
+ */
+public class IndexedRangePartitionExecutor implements PartitionExecutor {
+
+    private RangePartitionIndex rangePartitionIndex;
+    private int position;
+
+    public IndexedRangePartitionExecutor(RangePartitionIndex rangePartitionIndex, int position) {
+        this.rangePartitionIndex = rangePartitionIndex;
+        this.position = position;
+    }
+
+    public String execute(ComplexEvent event) {
+        String[] keys = rangePartitionIndex.getKeys(event);
+        if (position < keys.length) {
+            return keys[position];
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.partition.executor;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.ExpressionExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Index of range partitions whose conditions are ranges of the same numeric attribute. The ranges are split into
+ * disjoint segments at their boundaries, such that the keys of the ranges containing an attribute value are found
+ * with a binary search over the segment boundaries instead of evaluating the condition of each range.
+ * <p>
+ * Integral values are indexed as they are, and floating point values are indexed via a mapping of their bits that
+ * preserves their order, hence all the ranges are closed ranges of long values.
+ */
+public class RangePartitionIndex {
+
+    private static final String[] NO_KEYS = new String[0];
+
+    private final ExpressionExecutor attributeExecutor;
+    private final boolean floatingPoint;
+    private final long[] segmentStarts;
+    private final String[][] segmentKeys;
+    private final int maxOverlap;
+
+    /**
+     * @param attributeExecutor executor of the partitioned attribute
+     * @param floatingPoint     whether the attribute values and range bounds are floating point values
+     * @param lowerBounds       inclusive lower bounds of the ranges, see {@link #toIndexValue(Number, boolean)}
+     * @param upperBounds       inclusive upper bounds of the ranges, see {@link #toIndexValue(Number, boolean)}
+     * @param keys              partition keys of the ranges
+     */
+    public RangePartitionIndex(ExpressionExecutor attributeExecutor, boolean floatingPoint,
+                               long[] lowerBounds, long[] upperBounds, String[] keys) {
+        this.attributeExecutor = attributeExecutor;
+        this.floatingPoint = floatingPoint;
+        TreeSet<Long> starts = new TreeSet<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (lowerBounds[i] <= upperBounds[i]) {
+                starts.add(lowerBounds[i]);
+                if (upperBounds[i] != Long.MAX_VALUE) {
+                    starts.add(upperBounds[i] + 1);
+                }
+            }
+        }
+        segmentStarts = new long[starts.size()];
+        segmentKeys = new String[starts.size() + 1][];
+        segmentKeys[0] = NO_KEYS;
+        int segment = 0;
+        int overlap = 0;
+        List<String> matchingKeys = new ArrayList<>();
+        for (long start : starts) {
+            segmentStarts[segment++] = start;
+            matchingKeys.clear();
+            for (int i = 0; i < keys.length; i++) {
+                if (lowerBounds[i] <= start && start <= upperBounds[i]) {
+                    matchingKeys.add(keys[i]);
+                }
+            }
+            segmentKeys[segment] = matchingKeys.isEmpty() ? NO_KEYS : matchingKeys.toArray(new String[0]);
+            overlap = Math.max(overlap, matchingKeys.size());
+        }
+        this.maxOverlap = overlap;
+    }
+
+    /**
+     * Converts the value to the value used by the index.
+     *
+     * @param value         numeric value
+     * @param floatingPoint whether the value is to be compared as a floating point value
+     * @return value used by the index, or null if the value is NaN
+     */
+    public static Long toIndexValue(Number value, boolean floatingPoint) {
+        if (!floatingPoint) {
+            return value.longValue();
+        }
+        // adding zero converts -0.0 to 0.0, as they are equal when compared
+        double doubleValue = value.doubleValue() + 0.0;
+        if (Double.isNaN(doubleValue)) {
+            return null;
+        }
+        long bits = Double.doubleToLongBits(doubleValue);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * @return the maximum number of ranges containing a value
+     */
+    public int getMaxOverlap() {
+        return maxOverlap;
+    }
+
+    /**
+     * Returns the keys of the ranges containing the attribute value of the event, in the order the ranges are
+     * defined.
+     *
+     * @param event event to be partitioned
+     * @return keys of the matching ranges
+     */
+    public String[] getKeys(ComplexEvent event) {
+        Object value = attributeExecutor.execute(event);
+        if (value == null) {
+            return NO_KEYS;
+        }
+        Long indexValue = toIndexValue((Number) value, floatingPoint);
+        if (indexValue == null) {
+            return NO_KEYS;
+        }
+        int position = Arrays.binarySearch(segmentStarts, indexValue);
+        return segmentKeys[position >= 0 ? position + 1 : -(position + 1)];
+    }
+}
@@ -27,10 +27,14 @@ import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.exception.OnDemandQueryRuntimeException;
 import io.siddhi.core.table.Table;
+import io.siddhi.core.table.record.AbstractRecordTable;
+import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.window.Window;
 
+import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static io.siddhi.core.util.OnDemandQueryRuntimeUtil.executeSelector;
@@ -108,12 +112,7 @@ public class FindOnDemandQueryRuntime extends OnDemandQueryRuntime {
                         return executeSelector(stateEventFactory, null, streamEvents, 0, selector);
                     }
                 } else {
-                    List<Event> events = new ArrayList<Event>();
-                    while (streamEvents != null) {
-                        events.add(new Event(streamEvents.getTimestamp(), streamEvents.getOutputData()));
-                        streamEvents = streamEvents.getNext();
-                    }
-                    return events.toArray(new Event[0]);
+                    return toEvents(streamEvents);
                 }
             }
         } catch (Throwable t) {
@@ -121,6 +120,60 @@ public class FindOnDemandQueryRuntime extends OnDemandQueryRuntime {
         }
     }
 
+    /**
+     * Streams the records of store backed tables in batches when the selection can be applied batch by batch, and
+     * falls back to materializing all the results otherwise.
+     */
+    @Override
+    public OnDemandQueryCursor executeCursor(int batchSize) {
+        if (eventType != MetaStreamEvent.EventType.TABLE || !(table instanceof AbstractRecordTable) ||
+                (selector != null && !selector.isBatchIndependent())) {
+            return super.executeCursor(batchSize);
+        }
+        AbstractRecordTable recordTable = (AbstractRecordTable) table;
+        Iterator<Object[]> records;
+        try {
+            records = recordTable.findRecords(new StateEvent(1, 0), compiledCondition);
+        } catch (Throwable t) {
+            throw new OnDemandQueryRuntimeException("Error executing '" + queryName + "', " + t.getMessage(), t);
+        }
+        if (records == null) {
+            return OnDemandQueryCursor.of(null);
+        }
+        Iterator<Event[]> batches = new Iterator<Event[]>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public Event[] next() {
+                try {
+                    StreamEvent streamEvents = recordTable.readStreamEvents(records, batchSize);
+                    if (selector == null) {
+                        return toEvents(streamEvents);
+                    }
+                    Event[] events = executeSelector(stateEventFactory, null, streamEvents, 0, selector);
+                    return events == null ? new Event[0] : events;
+                } catch (Throwable t) {
+                    throw new OnDemandQueryRuntimeException("Error executing '" + queryName + "', " +
+                            t.getMessage(), t);
+                }
+            }
+        };
+        return new OnDemandQueryCursor(batches, records instanceof Closeable ? (Closeable) records : null,
+                selector == null ? SiddhiConstants.UNKNOWN_STATE : selector.getLimit());
+    }
+
+    private static Event[] toEvents(StreamEvent streamEvents) {
+        List<Event> events = new ArrayList<Event>();
+        while (streamEvents != null) {
+            events.add(new Event(streamEvents.getTimestamp(), streamEvents.getOutputData()));
+            streamEvents = streamEvents.getNext();
+        }
+        return events.toArray(new Event[0]);
+    }
+
     @Override
     public void reset() {
         if (selector != null) {
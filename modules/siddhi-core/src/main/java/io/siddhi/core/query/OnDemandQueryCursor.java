@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query;
+
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.OnDemandQueryRuntimeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor over the results of an on-demand query, fetching the results in batches as they are consumed.
+ * <p>
+ * Only the current batch of results is held in memory. The cursor should be closed once it is no longer needed to
+ * release the underlying store resources, and it is closed automatically when all the results are consumed.
+ */
+public class OnDemandQueryCursor implements Iterator<Event>, Closeable {
+
+    private final Iterator<Event[]> batches;
+    private final Closeable resource;
+    private final long limit;
+    private final List<Runnable> closeActions = new ArrayList<>(1);
+    private Event[] batch;
+    private int position;
+    private long count;
+    private boolean closed;
+
+    /**
+     * Creates a cursor over the given result batches.
+     *
+     * @param batches  iterator producing the result batches
+     * @param resource resource to be closed with the cursor, can be null
+     * @param limit    maximum number of results to return, or a negative value for no limit
+     */
+    public OnDemandQueryCursor(Iterator<Event[]> batches, Closeable resource, long limit) {
+        this.batches = batches;
+        this.resource = resource;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a cursor over already materialized results.
+     *
+     * @param events results of the on-demand query, can be null
+     * @return OnDemandQueryCursor
+     */
+    public static OnDemandQueryCursor of(Event[] events) {
+        Iterator<Event[]> batches = events == null ? Collections.<Event[]>emptyIterator() :
+                Collections.singletonList(events).iterator();
+        return new OnDemandQueryCursor(batches, null, -1);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (limit >= 0 && count >= limit) {
+            close();
+            return false;
+        }
+        while (batch == null || position >= batch.length) {
+            if (!batches.hasNext()) {
+                close();
+                return false;
+            }
+            batch = batches.next();
+            position = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public Event next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        count++;
+        return batch[position++];
+    }
+
+    void onClose(Runnable closeAction) {
+        closeActions.add(closeAction);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        batch = null;
+        try {
+            if (resource != null) {
+                resource.close();
+            }
+        } catch (IOException e) {
+            throw new OnDemandQueryRuntimeException("Error closing on-demand query cursor, " + e.getMessage(), e);
+        } finally {
+            for (Runnable closeAction : closeActions) {
+                closeAction.run();
+            }
+        }
+    }
+}
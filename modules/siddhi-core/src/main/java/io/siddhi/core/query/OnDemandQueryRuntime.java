@@ -68,6 +68,17 @@ public abstract class OnDemandQueryRuntime {
         }
     }
 
+    /**
+     * This method initiates the execution of on-demand Query, returning a cursor that fetches the results in batches
+     * where the runtime supports it, and over all the results otherwise.
+     *
+     * @param batchSize maximum number of results to be fetched at a time.
+     * @return cursor over the results.
+     */
+    public OnDemandQueryCursor executeCursor(int batchSize) {
+        return OnDemandQueryCursor.of(execute());
+    }
+
     /**
      * This method sets a state event pool for on-demand Query runtime.
      *
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query;
+
+import io.siddhi.core.aggregation.AggregationRuntime;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.executor.function.ParameterFunctionExecutor;
+import io.siddhi.core.table.Table;
+import io.siddhi.core.util.parser.OnDemandQueryParser;
+import io.siddhi.core.window.Window;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.execution.query.OnDemandQuery;
+import io.siddhi.query.compiler.SiddhiCompiler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes on-demand queries of a Siddhi app concurrently.
+ * <p>
+ * Query plans are cached in a bounded concurrent map keyed by the normalized query text and the types of the bound
+ * parameters, so repeated executions neither re-compile the query nor contend on a shared monitor. Each plan keeps a
+ * pool of idle {@link OnDemandQueryRuntime}s; an executing thread takes a runtime from the pool (or builds a new one)
+ * and returns it once done, so the same plan can be executed by many threads at the same time without sharing
+ * runtime state. Values of parameterized queries are referred with the {@code param('name')} function and bound per
+ * execution.
+ */
+public class OnDemandQueryService {
+
+    private static final int DEFAULT_MAX_PLANS = 50;
+
+    private final SiddhiAppContext siddhiAppContext;
+    private final Map<String, Table> tableMap;
+    private final Map<String, Window> windowMap;
+    private final Map<String, AggregationRuntime> aggregationMap;
+    private final int maxPlans;
+    private final int maxIdleRuntimes;
+    private final ConcurrentMap<String, QueryPlan> stringPlanMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<OnDemandQuery, QueryPlan> queryPlanMap = new ConcurrentHashMap<>();
+    private final Object buildLock = new Object();
+
+    public OnDemandQueryService(SiddhiAppContext siddhiAppContext, Map<String, Table> tableMap,
+                                Map<String, Window> windowMap, Map<String, AggregationRuntime> aggregationMap) {
+        this(siddhiAppContext, tableMap, windowMap, aggregationMap, DEFAULT_MAX_PLANS,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public OnDemandQueryService(SiddhiAppContext siddhiAppContext, Map<String, Table> tableMap,
+                                Map<String, Window> windowMap, Map<String, AggregationRuntime> aggregationMap,
+                                int maxPlans, int maxIdleRuntimes) {
+        this.siddhiAppContext = siddhiAppContext;
+        this.tableMap = tableMap;
+        this.windowMap = windowMap;
+        this.aggregationMap = aggregationMap;
+        this.maxPlans = maxPlans;
+        this.maxIdleRuntimes = maxIdleRuntimes;
+    }
+
+    public Event[] execute(String onDemandQueryString, Map<String, Object> parameters) {
+        QueryPlan queryPlan = getQueryPlan(onDemandQueryString, parameters);
+        PooledRuntime pooledRuntime = queryPlan.acquire(parameters);
+        try {
+            return pooledRuntime.onDemandQueryRuntime.execute();
+        } finally {
+            queryPlan.release(pooledRuntime);
+        }
+    }
+
+    public Event[] execute(OnDemandQuery onDemandQuery) {
+        QueryPlan queryPlan = getQueryPlan(onDemandQuery);
+        PooledRuntime pooledRuntime = queryPlan.acquire(Collections.emptyMap());
+        try {
+            return pooledRuntime.onDemandQueryRuntime.execute();
+        } finally {
+            queryPlan.release(pooledRuntime);
+        }
+    }
+
+    /**
+     * Executes the on-demand query returning a cursor over its results. The runtime executing the query is held by
+     * the cursor till it is closed.
+     *
+     * @param onDemandQueryString the on-demand query string
+     * @param parameters          values bound to the param() functions of the query
+     * @param batchSize           maximum number of results fetched at a time
+     * @return cursor over the results
+     */
+    public OnDemandQueryCursor openCursor(String onDemandQueryString, Map<String, Object> parameters,
+                                          int batchSize) {
+        QueryPlan queryPlan = getQueryPlan(onDemandQueryString, parameters);
+        PooledRuntime pooledRuntime = queryPlan.acquire(parameters);
+        OnDemandQueryCursor onDemandQueryCursor;
+        try {
+            onDemandQueryCursor = pooledRuntime.onDemandQueryRuntime.executeCursor(batchSize);
+        } catch (RuntimeException e) {
+            queryPlan.release(pooledRuntime);
+            throw e;
+        }
+        if (onDemandQueryCursor.isClosed()) {
+            queryPlan.release(pooledRuntime);
+        } else {
+            onDemandQueryCursor.onClose(() -> queryPlan.release(pooledRuntime));
+        }
+        return onDemandQueryCursor;
+    }
+
+    public Attribute[] getOutputAttributes(String onDemandQueryString, Map<String, Object> parameters) {
+        return getOutputAttributes(getQueryPlan(onDemandQueryString, parameters), parameters);
+    }
+
+    public Attribute[] getOutputAttributes(OnDemandQuery onDemandQuery) {
+        return getOutputAttributes(getQueryPlan(onDemandQuery), Collections.emptyMap());
+    }
+
+    private Attribute[] getOutputAttributes(QueryPlan queryPlan, Map<String, Object> parameters) {
+        PooledRuntime pooledRuntime = queryPlan.acquire(parameters);
+        try {
+            return pooledRuntime.onDemandQueryRuntime.getOnDemandQueryOutputAttributes();
+        } finally {
+            queryPlan.release(pooledRuntime);
+        }
+    }
+
+    public int getPlanCount() {
+        return stringPlanMap.size() + queryPlanMap.size();
+    }
+
+    public void clear() {
+        stringPlanMap.clear();
+        queryPlanMap.clear();
+    }
+
+    private QueryPlan getQueryPlan(String onDemandQueryString, Map<String, Object> parameters) {
+        String key = planKey(onDemandQueryString, parameters);
+        QueryPlan queryPlan = stringPlanMap.get(key);
+        if (queryPlan == null) {
+            QueryPlan newQueryPlan = new QueryPlan(SiddhiCompiler.parseOnDemandQuery(onDemandQueryString),
+                    onDemandQueryString);
+            queryPlan = stringPlanMap.putIfAbsent(key, newQueryPlan);
+            if (queryPlan == null) {
+                queryPlan = newQueryPlan;
+                trim(stringPlanMap, key);
+            }
+        }
+        return queryPlan;
+    }
+
+    private QueryPlan getQueryPlan(OnDemandQuery onDemandQuery) {
+        QueryPlan queryPlan = queryPlanMap.get(onDemandQuery);
+        if (queryPlan == null) {
+            QueryPlan newQueryPlan = new QueryPlan(onDemandQuery, null);
+            queryPlan = queryPlanMap.putIfAbsent(onDemandQuery, newQueryPlan);
+            if (queryPlan == null) {
+                queryPlan = newQueryPlan;
+                trim(queryPlanMap, onDemandQuery);
+            }
+        }
+        return queryPlan;
+    }
+
+    /**
+     * Keeps the plan map approximately within its bound by dropping some other plan. This does not guarantee LRU
+     * order, but avoids any global lock on the lookup path.
+     */
+    private <K> void trim(ConcurrentMap<K, QueryPlan> planMap, K addedKey) {
+        if (planMap.size() <= maxPlans) {
+            return;
+        }
+        Iterator<K> iterator = planMap.keySet().iterator();
+        while (planMap.size() > maxPlans && iterator.hasNext()) {
+            K key = iterator.next();
+            if (!key.equals(addedKey)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Builds the plan cache key from the query text, with whitespace outside quoted literals collapsed, and the
+     * names and types of the bound parameters, as the executors of a plan are typed by its first bound values.
+     */
+    static String planKey(String onDemandQueryString, Map<String, Object> parameters) {
+        StringBuilder key = new StringBuilder(onDemandQueryString.length() + 16);
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < onDemandQueryString.length(); i++) {
+            char c = onDemandQueryString.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                pendingSpace = key.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                key.append(' ');
+                pendingSpace = false;
+            }
+            key.append(c);
+            if (quote == 0 && (c == '\'' || c == '"')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            }
+        }
+        if (!parameters.isEmpty()) {
+            for (Map.Entry<String, Object> entry : new TreeMap<>(parameters).entrySet()) {
+                key.append('\u0000').append(entry.getKey()).append(':')
+                        .append(ParameterFunctionExecutor.typeOf(entry.getValue()));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Cached plan of an on-demand query holding its compiled form and the idle runtimes built for it.
+     */
+    private class QueryPlan {
+        private final OnDemandQuery onDemandQuery;
+        private final String onDemandQueryString;
+        private final ConcurrentLinkedQueue<PooledRuntime> idleRuntimes = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+
+        QueryPlan(OnDemandQuery onDemandQuery, String onDemandQueryString) {
+            this.onDemandQuery = onDemandQuery;
+            this.onDemandQueryString = onDemandQueryString;
+        }
+
+        PooledRuntime acquire(Map<String, Object> parameters) {
+            PooledRuntime pooledRuntime = idleRuntimes.poll();
+            if (pooledRuntime != null) {
+                idleCount.decrementAndGet();
+                pooledRuntime.onDemandQueryRuntime.reset();
+                pooledRuntime.parameters.putAll(parameters);
+                return pooledRuntime;
+            }
+            Map<String, Object> runtimeParameters = new HashMap<>(parameters);
+            OnDemandQueryRuntime onDemandQueryRuntime;
+            synchronized (buildLock) {
+                onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, onDemandQueryString,
+                        runtimeParameters, siddhiAppContext, tableMap, windowMap, aggregationMap);
+            }
+            return new PooledRuntime(onDemandQueryRuntime, runtimeParameters);
+        }
+
+        void release(PooledRuntime pooledRuntime) {
+            if (idleCount.incrementAndGet() <= maxIdleRuntimes) {
+                idleRuntimes.offer(pooledRuntime);
+            } else {
+                idleCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * On-demand query runtime together with the parameter holder its {@code param()} executors read from.
+     */
+    private static class PooledRuntime {
+        private final OnDemandQueryRuntime onDemandQueryRuntime;
+        private final Map<String, Object> parameters;
+
+        PooledRuntime(OnDemandQueryRuntime onDemandQueryRuntime, Map<String, Object> parameters) {
+            this.onDemandQueryRuntime = onDemandQueryRuntime;
+            this.parameters = parameters;
+        }
+    }
+}
@@ -25,11 +25,16 @@ import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.exception.OnDemandQueryRuntimeException;
 import io.siddhi.core.query.processor.stream.window.QueryableProcessor;
+import io.siddhi.core.table.record.AbstractQueryableRecordTable;
+import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.CompiledSelection;
 import io.siddhi.query.api.definition.Attribute;
 
+import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -72,10 +77,53 @@ public class SelectOnDemandQueryRuntime extends OnDemandQueryRuntime {
         }
     }
 
+    /**
+     * Streams the records selected by the store in batches, as the whole selection is performed by the store.
+     */
+    @Override
+    public OnDemandQueryCursor executeCursor(int batchSize) {
+        if (!(queryableProcessor instanceof AbstractQueryableRecordTable)) {
+            return super.executeCursor(batchSize);
+        }
+        Iterator<Object[]> records;
+        try {
+            records = ((AbstractQueryableRecordTable) queryableProcessor).queryRecords(new StateEvent(1, 0),
+                    compiledCondition, compiledSelection, outputAttributes);
+        } catch (Throwable t) {
+            throw new OnDemandQueryRuntimeException("Error executing '" + queryName + "', " + t.getMessage(), t);
+        }
+        if (records == null) {
+            return OnDemandQueryCursor.of(null);
+        }
+        Iterator<Event[]> batches = new Iterator<Event[]>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public Event[] next() {
+                try {
+                    List<Event> events = new ArrayList<>(batchSize);
+                    while (events.size() < batchSize && records.hasNext()) {
+                        events.add(new Event(-1, Arrays.copyOf(records.next(), outputAttributes.length)));
+                    }
+                    return events.toArray(new Event[0]);
+                } catch (Throwable t) {
+                    throw new OnDemandQueryRuntimeException("Error executing '" + queryName + "', " +
+                            t.getMessage(), t);
+                }
+            }
+        };
+        return new OnDemandQueryCursor(batches, records instanceof Closeable ? (Closeable) records : null,
+                SiddhiConstants.UNKNOWN_STATE);
+    }
+
     @Override
     public void reset() {
         if (selector != null) {
-            selector.process(generateResetComplexEventChunk(metaStreamEvent));
+            // the selector of a cache backed store has no output rate limiter, hence it is executed, not processed
+            selector.execute(generateResetComplexEventChunk(metaStreamEvent));
         }
     }
 
@@ -27,6 +27,7 @@ import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.event.stream.converter.StreamEventConverter;
 import io.siddhi.core.event.stream.converter.StreamEventConverterFactory;
+import io.siddhi.core.event.stream.converter.ZeroStreamEventConverter;
 import io.siddhi.core.query.input.stream.state.PreStateProcessor;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.stream.StreamJunction;
@@ -55,6 +56,7 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
     private MetaStreamEvent metaStreamEvent;
     private StreamEventFactory streamEventFactory;
     private SiddhiDebugger siddhiDebugger;
+    private boolean shareInputData;
 
     public ProcessStreamReceiver(String streamId,
                                  SiddhiQueryContext siddhiQueryContext) {
@@ -118,8 +120,7 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
     @Override
     public void receive(Event event) {
         if (event != null) {
-            StreamEvent newEvent = streamEventFactory.newInstance();
-            streamEventConverter.convertEvent(event, newEvent);
+            StreamEvent newEvent = convertEvent(event);
             if (siddhiDebugger != null) {
                 siddhiDebugger.checkBreakPoint(siddhiQueryContext.getName(),
                         SiddhiDebugger.QueryTerminal.IN, newEvent);
@@ -130,12 +131,10 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
 
     @Override
     public void receive(Event[] events) {
-        StreamEvent firstEvent = streamEventFactory.newInstance();
-        streamEventConverter.convertEvent(events[0], firstEvent);
+        StreamEvent firstEvent = convertEvent(events[0]);
         StreamEvent currentEvent = firstEvent;
         for (int i = 1, eventsLength = events.length; i < eventsLength; i++) {
-            StreamEvent nextEvent = streamEventFactory.newInstance();
-            streamEventConverter.convertEvent(events[i], nextEvent);
+            StreamEvent nextEvent = convertEvent(events[i]);
             currentEvent.setNext(nextEvent);
             currentEvent = nextEvent;
         }
@@ -150,8 +149,7 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         StreamEvent firstEvent = null;
         StreamEvent currentEvent = null;
         for (Event event : events) {
-            StreamEvent nextEvent = streamEventFactory.newInstance();
-            streamEventConverter.convertEvent(event, nextEvent);
+            StreamEvent nextEvent = convertEvent(event);
             if (firstEvent == null) {
                 firstEvent = nextEvent;
             } else {
@@ -168,8 +166,14 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
 
     @Override
     public void receive(long timestamp, Object[] data) {
-        StreamEvent newEvent = streamEventFactory.newInstance();
-        streamEventConverter.convertData(timestamp, data, newEvent);
+        StreamEvent newEvent;
+        if (shareInputData) {
+            newEvent = streamEventFactory.newInstance(data);
+            newEvent.setTimestamp(timestamp);
+        } else {
+            newEvent = streamEventFactory.newInstance();
+            streamEventConverter.convertData(timestamp, data, newEvent);
+        }
         // Send to debugger
         if (siddhiDebugger != null) {
             siddhiDebugger.checkBreakPoint(siddhiQueryContext.getName(),
@@ -178,6 +182,19 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         process(new ComplexEventChunk<StreamEvent>(newEvent, newEvent));
     }
 
+    private StreamEvent convertEvent(Event event) {
+        StreamEvent newEvent;
+        if (shareInputData) {
+            newEvent = streamEventFactory.newInstance(event.getData());
+            newEvent.setType(event.isExpired() ? StreamEvent.Type.EXPIRED : StreamEvent.Type.CURRENT);
+            newEvent.setTimestamp(event.getTimestamp());
+        } else {
+            newEvent = streamEventFactory.newInstance();
+            streamEventConverter.convertEvent(event, newEvent);
+        }
+        return newEvent;
+    }
+
     protected void processAndClear(ComplexEventChunk<StreamEvent> streamEventChunk) {
         next.process(streamEventChunk);
         streamEventChunk.clear();
@@ -206,6 +223,13 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
 
     public void init() {
         streamEventConverter = StreamEventConverterFactory.constructEventConverter(metaStreamEvent);
+        // Input events can be referred without copying them, when the query uses all of their attributes as they are
+        // and their stream shares them.
+        shareInputData = streamEventConverter instanceof ZeroStreamEventConverter &&
+                metaStreamEvent.getEventType() == MetaStreamEvent.EventType.DEFAULT &&
+                metaStreamEvent.getOutputData().size() ==
+                        metaStreamEvent.getLastInputDefinition().getAttributeList().size() &&
+                StreamJunction.isInputDataShared(metaStreamEvent.getLastInputDefinition());
     }
 
     public void addStatefulProcessorForStream(PreStateProcessor stateProcessor) {
@@ -23,6 +23,7 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.query.api.definition.StreamDefinition;
 import io.siddhi.query.api.execution.query.Query;
 import org.apache.log4j.Logger;
 
@@ -41,11 +42,20 @@ public abstract class QueryCallback {
     private SiddhiAppContext siddhiAppContext;
     private Query query;
     private String queryName;
+    private StreamDefinition outputStreamDefinition;
 
     public void setQuery(Query query) {
         this.query = query;
     }
 
+    public StreamDefinition getOutputStreamDefinition() {
+        return outputStreamDefinition;
+    }
+
+    public void setOutputStreamDefinition(StreamDefinition outputStreamDefinition) {
+        this.outputStreamDefinition = outputStreamDefinition;
+    }
+
     public void setQueryName(String queryName) {
         this.queryName = queryName;
     }
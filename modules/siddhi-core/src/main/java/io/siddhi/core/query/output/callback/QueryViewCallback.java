@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.output.callback;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventView;
+import org.apache.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * {@link QueryCallback} that delivers the output of a query as {@link EventView}s, without copying the events to
+ * {@link Event} instances. The views are only valid until {@link #receive(long, EventView, EventView)} returns, hence
+ * events that need to be retained should be copied explicitly.
+ */
+public abstract class QueryViewCallback extends QueryCallback {
+
+    private static final Logger log = Logger.getLogger(QueryViewCallback.class);
+
+    private final ThreadLocal<EventView[]> eventViews = ThreadLocal.withInitial(this::createEventViews);
+
+    private EventView[] createEventViews() {
+        EventView[] views = new EventView[2];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = new EventView(getOutputStreamDefinition() != null ?
+                    getOutputStreamDefinition().getAttributeList() : null);
+        }
+        return views;
+    }
+
+    private EventView[] acquireEventViews() {
+        EventView[] views = eventViews.get();
+        if (views[0].isInUse() || views[1].isInUse()) {
+            // output is delivered again while the callback is processing the previous output in the same thread
+            return createEventViews();
+        }
+        return views;
+    }
+
+    @Override
+    public void receiveStreamEvent(ComplexEventChunk complexEventChunk) {
+        ComplexEvent firstEvent = complexEventChunk.getFirst();
+        boolean hasCurrentEvents = false;
+        boolean hasExpiredEvents = false;
+        long timestamp = -1;
+        for (ComplexEvent event = firstEvent; event != null; event = event.getNext()) {
+            if (event.getType() == ComplexEvent.Type.CURRENT) {
+                hasCurrentEvents = true;
+            } else if (event.getType() == ComplexEvent.Type.EXPIRED) {
+                hasExpiredEvents = true;
+            }
+            timestamp = event.getTimestamp();
+        }
+        EventView[] views = acquireEventViews();
+        views[0].wrap(firstEvent, ComplexEvent.Type.CURRENT);
+        views[1].wrap(firstEvent, ComplexEvent.Type.EXPIRED);
+        deliver(timestamp, views, hasCurrentEvents, hasExpiredEvents);
+    }
+
+    @Override
+    public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+        EventView[] views = acquireEventViews();
+        if (inEvents != null) {
+            views[0].wrap(inEvents, inEvents.length);
+        }
+        if (removeEvents != null) {
+            views[1].wrap(removeEvents, removeEvents.length);
+        }
+        deliver(timestamp, views, inEvents != null, removeEvents != null);
+    }
+
+    private void deliver(long timestamp, EventView[] views, boolean hasCurrentEvents, boolean hasExpiredEvents) {
+        try {
+            receive(timestamp, hasCurrentEvents ? views[0] : null, hasExpiredEvents ? views[1] : null);
+        } catch (RuntimeException e) {
+            log.error("Error on sending events" + copyAll(views[0], hasCurrentEvents) + ", " +
+                    copyAll(views[1], hasExpiredEvents), e);
+        } finally {
+            views[0].release();
+            views[1].release();
+        }
+    }
+
+    private static String copyAll(EventView view, boolean hasEvents) {
+        return hasEvents ? Arrays.deepToString(view.copyAll()) : "null";
+    }
+
+    /**
+     * Receives the output of the query.
+     *
+     * @param timestamp     timestamp of the last output event
+     * @param currentEvents view over the current events, or null if there are none
+     * @param expiredEvents view over the expired events, or null if there are none
+     */
+    public abstract void receive(long timestamp, EventView currentEvents, EventView expiredEvents);
+
+}
@@ -37,20 +37,11 @@ import io.siddhi.core.util.config.ConfigReader;
 import io.siddhi.core.util.snapshot.state.SnapshotStateList;
 import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.snapshot.state.StateFactory;
+import io.siddhi.core.util.timestamp.TimerService;
 import org.apache.log4j.Logger;
-import org.quartz.CronScheduleBuilder;
-import org.quartz.Job;
-import org.quartz.JobDataMap;
-import org.quartz.JobDetail;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobExecutionException;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.SchedulerFactory;
-import org.quartz.Trigger;
-import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.CronExpression;
 
+import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -97,14 +88,11 @@ import java.util.Map;
         }
 )
 //todo fix support find and optimize data storage
-public class CronWindowProcessor extends BatchingWindowProcessor<CronWindowProcessor.WindowState> implements Job {
+public class CronWindowProcessor extends BatchingWindowProcessor<CronWindowProcessor.WindowState> {
     private static final Logger log = Logger.getLogger(CronWindowProcessor.class);
-    private final String jobGroup = "CronWindowGroup";
-    private Scheduler scheduler;
-    private String jobName;
+    private TimerService.Timer timer;
     private String cronString;
     private StreamEventClonerHolder streamEventClonerHolder;
-    private String id;
 
     @Override
     protected StateFactory<WindowState> init(ExpressionExecutor[] attributeExpressionExecutors,
@@ -114,7 +102,6 @@ public class CronWindowProcessor extends BatchingWindowProcessor<CronWindowProce
                                              boolean findToBeExecuted,
                                              SiddhiQueryContext siddhiQueryContext) {
         this.streamEventClonerHolder = streamEventClonerHolder;
-        this.id = siddhiQueryContext.getName() + "_" + siddhiQueryContext.generateNewId();
         if (attributeExpressionExecutors != null) {
             cronString = (String) (((ConstantExpressionExecutor) attributeExpressionExecutors[0]).getValue());
         }
@@ -136,51 +123,22 @@ public class CronWindowProcessor extends BatchingWindowProcessor<CronWindowProce
 
     @Override
     public synchronized void start() {
-        if (scheduler == null) {
-            scheduleCronJob(cronString);
-        }
-    }
-
-    @Override
-    public void stop() {
-        try {
-            if (scheduler != null) {
-                scheduler.deleteJob(new JobKey(jobName, jobGroup));
+        if (timer == null) {
+            try {
+                timer = siddhiQueryContext.getSiddhiAppContext().getTimerService().scheduleCron(
+                        new CronExpression(cronString), timestamp -> dispatchEvents());
+            } catch (ParseException e) {
+                log.error(ExceptionUtil.getMessageWithContext(e, siddhiQueryContext.getSiddhiAppContext()) +
+                        " Error while scheduling cron expression '" + cronString + "' of the cron window.", e);
             }
-        } catch (SchedulerException e) {
-            log.error(ExceptionUtil.getMessageWithContext(e, siddhiQueryContext.getSiddhiAppContext()) +
-                    " Error while removing the cron job '" + jobGroup + ":'" + jobName + "'.", e);
         }
     }
 
-    private void scheduleCronJob(String cronString) {
-        try {
-            SchedulerFactory schedFact = new StdSchedulerFactory();
-            scheduler = schedFact.getScheduler();
-            jobName = siddhiQueryContext.getName() + "_EventRemoverJob_" + siddhiQueryContext.generateNewId();
-            JobKey jobKey = new JobKey(jobName, jobGroup);
-
-            if (scheduler.checkExists(jobKey)) {
-                scheduler.deleteJob(jobKey);
-            }
-            scheduler.start();
-            JobDataMap dataMap = new JobDataMap();
-            dataMap.put("windowProcessor", this);
-
-            JobDetail job = org.quartz.JobBuilder.newJob(CronWindowProcessor.class)
-                    .withIdentity(jobName, jobGroup)
-                    .usingJobData(dataMap)
-                    .build();
-
-            Trigger trigger = org.quartz.TriggerBuilder.newTrigger()
-                    .withIdentity("EventRemoverTrigger_" + id, jobGroup)
-                    .withSchedule(CronScheduleBuilder.cronSchedule(cronString))
-                    .build();
-
-            scheduler.scheduleJob(job, trigger);
-
-        } catch (SchedulerException e) {
-            log.error("Error while instantiating quartz scheduler", e);
+    @Override
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
         }
     }
 
@@ -232,18 +190,6 @@ public class CronWindowProcessor extends BatchingWindowProcessor<CronWindowProce
         }
     }
 
-    @Override
-    public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
-        if (log.isDebugEnabled()) {
-            log.debug("Running Event Remover Job");
-        }
-
-        JobDataMap dataMap = jobExecutionContext.getJobDetail().getJobDataMap();
-        CronWindowProcessor windowProcessor = (CronWindowProcessor) dataMap.get("windowProcessor");
-        windowProcessor.dispatchEvents();
-
-    }
-
     class WindowState extends State {
         private SnapshotableStreamEventQueue currentEventQueue;
         private SnapshotableStreamEventQueue expiredEventQueue;
@@ -29,6 +29,7 @@ import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
 import io.siddhi.core.event.stream.holder.StreamEventClonerHolder;
+import io.siddhi.core.event.stream.holder.TimeBucketedStreamEventQueue;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
@@ -86,6 +87,7 @@ import java.util.Map;
 public class TimeWindowProcessor extends SlidingFindableWindowProcessor<TimeWindowProcessor.WindowState>
         implements SchedulingProcessor {
 
+    private static final int BUCKET_COUNT = 64;
     private long timeInMilliSeconds;
     private Scheduler scheduler;
     private SiddhiQueryContext siddhiQueryContext;
@@ -126,29 +128,26 @@ public class TimeWindowProcessor extends SlidingFindableWindowProcessor<TimeWind
             throw new SiddhiAppValidationException("Time window should only have one parameter (<int|long|time> " +
                     "windowTime), but found " + attributeExpressionExecutors.length + " input attributes");
         }
-        return () -> new WindowState(streamEventClonerHolder);
+        long bucketDuration = Math.max(1, (timeInMilliSeconds + BUCKET_COUNT - 1) / BUCKET_COUNT);
+        return () -> new WindowState(streamEventClonerHolder, bucketDuration);
     }
 
     @Override
     protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
                            StreamEventCloner streamEventCloner, WindowState state) {
         synchronized (state) {
-            SnapshotableStreamEventQueue expiredEventQueue = state.expiredEventQueue;
+            TimeBucketedStreamEventQueue expiredEventQueue = state.expiredEventQueue;
             while (streamEventChunk.hasNext()) {
                 StreamEvent streamEvent = streamEventChunk.next();
                 long currentTime = siddhiQueryContext.getSiddhiAppContext().getTimestampGenerator().currentTime();
 
-                expiredEventQueue.reset();
-                while (expiredEventQueue.hasNext()) {
-                    StreamEvent expiredEvent = expiredEventQueue.next();
-                    long timeDiff = expiredEvent.getTimestamp() - currentTime + timeInMilliSeconds;
-                    if (timeDiff <= 0) {
-                        expiredEventQueue.remove();
+                StreamEvent expiredEvents = expiredEventQueue.pollExpired(currentTime - timeInMilliSeconds);
+                if (expiredEvents != null) {
+                    for (StreamEvent expiredEvent = expiredEvents; expiredEvent != null;
+                         expiredEvent = expiredEvent.getNext()) {
                         expiredEvent.setTimestamp(currentTime);
-                        streamEventChunk.insertBeforeCurrent(expiredEvent);
-                    } else {
-                        break;
                     }
+                    streamEventChunk.insertBeforeCurrent(expiredEvents);
                 }
 
                 if (streamEvent.getType() == StreamEvent.Type.CURRENT) {
@@ -163,7 +162,6 @@ public class TimeWindowProcessor extends SlidingFindableWindowProcessor<TimeWind
                     streamEventChunk.remove();
                 }
             }
-            expiredEventQueue.reset();
         }
         nextProcessor.process(streamEventChunk);
     }
@@ -194,24 +192,44 @@ public class TimeWindowProcessor extends SlidingFindableWindowProcessor<TimeWind
     }
 
     class WindowState extends State {
-        protected SnapshotableStreamEventQueue expiredEventQueue;
+        protected TimeBucketedStreamEventQueue expiredEventQueue;
         protected volatile long lastTimestamp = Long.MIN_VALUE;
-
+        private final StreamEventClonerHolder streamEventClonerHolder;
 
         WindowState(StreamEventClonerHolder streamEventClonerHolder) {
-            expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            this(streamEventClonerHolder, 1);
+        }
+
+        WindowState(StreamEventClonerHolder streamEventClonerHolder, long bucketDuration) {
+            this.streamEventClonerHolder = streamEventClonerHolder;
+            expiredEventQueue = new TimeBucketedStreamEventQueue(bucketDuration);
         }
 
         @Override
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
-            state.put("ExpiredEventQueue", expiredEventQueue.getSnapshot());
+            state.put("ExpiredEvents", expiredEventQueue.getSnapshot());
             state.put("LastTimestamp", lastTimestamp);
             return state;
         }
 
         public void restore(Map<String, Object> state) {
-            expiredEventQueue.restore((SnapshotStateList) state.get("ExpiredEventQueue"));
+            if (state.containsKey("ExpiredEventQueue")) {
+                // snapshots taken before the events were bucketed by their timestamps
+                SnapshotableStreamEventQueue legacyEventQueue =
+                        new SnapshotableStreamEventQueue(streamEventClonerHolder);
+                legacyEventQueue.restore((SnapshotStateList) state.get("ExpiredEventQueue"));
+                expiredEventQueue.clear();
+                StreamEvent streamEvent = legacyEventQueue.getFirst();
+                while (streamEvent != null) {
+                    StreamEvent next = streamEvent.getNext();
+                    streamEvent.setNext(null);
+                    expiredEventQueue.add(streamEvent);
+                    streamEvent = next;
+                }
+            } else {
+                expiredEventQueue.restore((SnapshotStateList) state.get("ExpiredEvents"));
+            }
             lastTimestamp = (long) state.get("LastTimestamp");
         }
 
@@ -24,6 +24,7 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.state.populater.StateEventPopulator;
 import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
@@ -62,6 +63,7 @@ public class QuerySelector implements Processor {
     private boolean batchingEnabled = true;
     private long limit = SiddhiConstants.UNKNOWN_STATE;
     private long offset = SiddhiConstants.UNKNOWN_STATE;
+    private StreamEventPool streamEventPool;
 
     public QuerySelector(String id, Selector selector, boolean currentOn, boolean expiredOn, SiddhiQueryContext
             siddhiQueryContext) {
@@ -175,6 +177,9 @@ public class QuerySelector implements Processor {
                                 StreamEvent.Type.EXPIRED || !expiredOn)) || ((havingConditionExecutor != null &&
                                 !havingConditionExecutor.execute(event)))) {
                             complexEventChunk.remove();
+                            if (streamEventPool != null && event.getType() == StreamEvent.Type.EXPIRED) {
+                                streamEventPool.returnEvent((StreamEvent) event);
+                            }
                         }
                         break;
                     case RESET:
@@ -287,8 +292,13 @@ public class QuerySelector implements Processor {
                                     StreamEvent.Type.EXPIRED && expiredOn)) {
                                 complexEventChunk.remove();
                                 lastEvent = event;
+                                break;
                             }
                         }
+                        if (streamEventPool != null && event.getType() == StreamEvent.Type.EXPIRED) {
+                            complexEventChunk.remove();
+                            streamEventPool.returnEvent((StreamEvent) event);
+                        }
                         break;
                     case TIMER:
                         break;
@@ -433,6 +443,34 @@ public class QuerySelector implements Processor {
         this.eventPopulator = eventPopulator;
     }
 
+    /**
+     * Checks whether the output for a set of events equals the outputs for consecutive batches of those events
+     * concatenated, which holds when there is no aggregation, group by, order by or offset. The limit, if any, has
+     * to be applied across the batches by the caller.
+     *
+     * @return true if events can be processed in independent batches
+     */
+    public boolean isBatchIndependent() {
+        return !containsAggregator && !isGroupBy && !isOrderBy && offset == SiddhiConstants.UNKNOWN_STATE;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the pool to which expired stream events that are not sent to the output are returned.
+     *
+     * @param streamEventPool pool the expired events of the query window were borrowed from
+     */
+    public StreamEventPool getStreamEventPool() {
+        return streamEventPool;
+    }
+
+    public void setStreamEventPool(StreamEventPool streamEventPool) {
+        this.streamEventPool = streamEventPool;
+    }
+
     public void setLimit(long limit) {
         if (limit < 0) {
             throw new SiddhiAppCreationException("'limit' cannot have negative value, but found '" + limit + "'",
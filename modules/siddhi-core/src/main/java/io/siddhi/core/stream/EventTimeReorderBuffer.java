@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream;
+
+import io.siddhi.core.event.Event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Buffers the events of a stream that declares its event time via {@code @watermark(attribute='...')}, and releases
+ * them in event time order once the watermark of the stream passes them. The watermark trails the largest event time
+ * seen by the configured slack, and events arriving behind the watermark are rejected as late. The number of buffered
+ * events is bounded, and when the bound is reached the watermark is advanced to release the oldest events.
+ * <p>
+ * The timestamp of each buffered event is overwritten with its event time, hence the released events carry their
+ * event time rather than their arrival time as their timestamp.
+ * <p>
+ * This class is not thread safe, and the callers should synchronize on it.
+ */
+public class EventTimeReorderBuffer {
+    private static final Event[] NO_EVENTS = new Event[0];
+    private final int eventTimePosition;
+    private final long slack;
+    private final int maxBufferedEvents;
+    private final TreeMap<Long, List<Event>> buffer = new TreeMap<>();
+    private int bufferedEvents = 0;
+    private long maxEventTime = Long.MIN_VALUE;
+    private long watermark = Long.MIN_VALUE;
+    private volatile long lastArrivalTime = System.currentTimeMillis();
+
+    public EventTimeReorderBuffer(int eventTimePosition, long slack, int maxBufferedEvents) {
+        this.eventTimePosition = eventTimePosition;
+        this.slack = slack;
+        this.maxBufferedEvents = maxBufferedEvents;
+    }
+
+    /**
+     * Adds the event to the buffer after setting its timestamp to its event time.
+     *
+     * @param event event owned by the buffer
+     * @return false if the event is late, or does not carry its event time
+     */
+    public boolean add(Event event) {
+        lastArrivalTime = System.currentTimeMillis();
+        Object eventTime = event.getData(eventTimePosition);
+        if (eventTime == null || (Long) eventTime < watermark) {
+            return false;
+        }
+        long timestamp = (Long) eventTime;
+        event.setTimestamp(timestamp);
+        buffer.computeIfAbsent(timestamp, k -> new ArrayList<>(1)).add(event);
+        bufferedEvents++;
+        if (timestamp > maxEventTime) {
+            maxEventTime = timestamp;
+            watermark = Math.max(watermark, maxEventTime - slack);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the buffered events that are not after the watermark, along with the oldest events exceeding the
+     * bound of the buffer.
+     *
+     * @return released events in event time order, in their arrival order for the same event time
+     */
+    public Event[] release() {
+        if (bufferedEvents > maxBufferedEvents) {
+            // advance the watermark up to the event time of the oldest event that fits the bound
+            int excessEvents = bufferedEvents - maxBufferedEvents;
+            for (Map.Entry<Long, List<Event>> entry : buffer.entrySet()) {
+                watermark = Math.max(watermark, entry.getKey());
+                excessEvents -= entry.getValue().size();
+                if (excessEvents <= 0) {
+                    break;
+                }
+            }
+        }
+        return releaseUntil(watermark);
+    }
+
+    /**
+     * Advances the watermark to the largest event time seen and removes all the buffered events.
+     *
+     * @return released events in event time order, in their arrival order for the same event time
+     */
+    public Event[] flush() {
+        watermark = Math.max(watermark, maxEventTime);
+        return releaseUntil(Long.MAX_VALUE);
+    }
+
+    private Event[] releaseUntil(long eventTime) {
+        if (bufferedEvents == 0 || buffer.firstKey() > eventTime) {
+            return NO_EVENTS;
+        }
+        List<Event> releasedEvents = new ArrayList<>();
+        Iterator<Map.Entry<Long, List<Event>>> iterator = buffer.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, List<Event>> entry = iterator.next();
+            if (entry.getKey() > eventTime) {
+                break;
+            }
+            releasedEvents.addAll(entry.getValue());
+            iterator.remove();
+        }
+        bufferedEvents -= releasedEvents.size();
+        return releasedEvents.toArray(NO_EVENTS);
+    }
+
+    /**
+     * @return state of the buffer, holding the data of the buffered events in their release order
+     */
+    public Map<String, Object> snapshot() {
+        List<Object[]> events = new ArrayList<>(bufferedEvents);
+        for (List<Event> eventsOfTime : buffer.values()) {
+            for (Event event : eventsOfTime) {
+                events.add(event.getData());
+            }
+        }
+        Map<String, Object> state = new HashMap<>();
+        state.put("Events", events);
+        state.put("MaxEventTime", maxEventTime);
+        state.put("Watermark", watermark);
+        return state;
+    }
+
+    public void restore(Map<String, Object> state) {
+        buffer.clear();
+        bufferedEvents = 0;
+        for (Object[] data : (List<Object[]>) state.get("Events")) {
+            long timestamp = (Long) data[eventTimePosition];
+            buffer.computeIfAbsent(timestamp, k -> new ArrayList<>(1)).add(new Event(timestamp, data));
+            bufferedEvents++;
+        }
+        maxEventTime = (Long) state.get("MaxEventTime");
+        watermark = (Long) state.get("Watermark");
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public int getBufferedEvents() {
+        return bufferedEvents;
+    }
+
+    public long getLastArrivalTime() {
+        return lastArrivalTime;
+    }
+}
@@ -19,7 +19,14 @@
 package io.siddhi.core.stream;
 
 import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.LiteBlockingWaitStrategy;
+import com.lmax.disruptor.PhasedBackoffWaitStrategy;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import io.siddhi.core.config.SiddhiAppContext;
@@ -29,28 +36,50 @@ import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.event.stream.converter.FaultStreamEventConverter;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.stream.input.InputProcessor;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.event.handler.DedicatedThreadExecutor;
 import io.siddhi.core.util.event.handler.EventExchangeHolder;
 import io.siddhi.core.util.event.handler.EventExchangeHolderFactory;
 import io.siddhi.core.util.event.handler.StreamHandler;
+import io.siddhi.core.util.event.handler.StreamWorkerGroup;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
+import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.statistics.EventBufferHolder;
 import io.siddhi.core.util.statistics.ThroughputTracker;
 import io.siddhi.core.util.statistics.metrics.Level;
 import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.StreamDefinition;
+import io.siddhi.query.api.exception.AttributeNotExistException;
 import io.siddhi.query.api.exception.DuplicateAnnotationException;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
+import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.util.AnnotationHelper;
 import org.apache.log4j.Logger;
 
 import java.beans.ExceptionListener;
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Stream Junction is the place where streams are collected and distributed. There will be an Stream Junction per
@@ -60,10 +89,19 @@ import java.util.concurrent.ExecutorService;
  */
 public class StreamJunction implements EventBufferHolder {
     private static final Logger log = Logger.getLogger(StreamJunction.class);
+    private static final long PHASED_BACKOFF_SPIN_MICROS = 10;
+    private static final long PHASED_BACKOFF_YIELD_MICROS = 100;
+    private static final int DEFAULT_REORDER_BUFFER_SIZE = 10000;
     private final SiddhiAppContext siddhiAppContext;
     private final StreamDefinition streamDefinition;
     private int batchSize;
     private int workers = -1;
+    private int maxWorkers = -1;
+    private int partitionKeyPosition = -1;
+    private long scalingInterval = 1000;
+    private WaitStrategyType waitStrategyType = WaitStrategyType.BLOCKING;
+    private boolean dedicatedThreads = false;
+    private int[] cpuAffinity = null;
     private int bufferSize;
     private List<Receiver> receivers = new LinkedList<>();
     private List<Publisher> publishers = new LinkedList<>();
@@ -77,9 +115,47 @@ public class StreamJunction implements EventBufferHolder {
     private FaultStreamEventConverter faultStreamEventConverter = null;
     private OnErrorAction onErrorAction = OnErrorAction.LOG;
     private ExceptionListener exceptionListener;
+    private StreamWorkerGroup workerGroup;
+    private ScheduledFuture scalingFuture;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private double backpressureHigh = -1;
+    private double backpressureLow = -1;
+    private long highWatermarkEvents = -1;
+    private long lowWatermarkEvents = -1;
+    private volatile boolean backpressured = false;
+    private List<BackpressureListener> backpressureListeners = new CopyOnWriteArrayList<>();
+    private AtomicLongArray consumedSequences;
+    private final AtomicLong dropBeforeSequence = new AtomicLong(-1);
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicBoolean overflowLogged = new AtomicBoolean();
+    private SiddhiAppRuntimeException bufferOverflowException;
+    private EventTimeReorderBuffer reorderBuffer;
+    private long reorderIdlePeriod = -1;
+    private ScheduledFuture reorderIdleFuture;
+    private final AtomicLong lateEvents = new AtomicLong();
+    private final Queue<Event[]> reorderedEvents = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock reorderedEventsPublishLock = new ReentrantLock();
 
     public StreamJunction(StreamDefinition streamDefinition, ExecutorService executorService, int bufferSize,
                           StreamJunction faultStreamJunction, SiddhiAppContext siddhiAppContext) {
+        this(streamDefinition, executorService, bufferSize, faultStreamJunction, siddhiAppContext, false);
+    }
+
+    /**
+     * Creates a stream junction, which can be internal to a partition, receiving the events of the stream from the
+     * junction of the Siddhi App.
+     *
+     * @param streamDefinition    definition of the stream
+     * @param executorService     executor service of the Siddhi App
+     * @param bufferSize          buffer size of the junction
+     * @param faultStreamJunction junction of the fault stream, or null when not available
+     * @param siddhiAppContext    context of the Siddhi App
+     * @param partitionInternal   whether the junction is internal to a partition, where the events are already
+     *                            ordered by their event time by the junction of the Siddhi App
+     */
+    public StreamJunction(StreamDefinition streamDefinition, ExecutorService executorService, int bufferSize,
+                          StreamJunction faultStreamJunction, SiddhiAppContext siddhiAppContext,
+                          boolean partitionInternal) {
         this.streamDefinition = streamDefinition;
         this.bufferSize = bufferSize;
         this.batchSize = bufferSize;
@@ -128,6 +204,166 @@ public class StreamJunction implements EventBufferHolder {
                                 siddhiAppContext.getSiddhiAppString());
                     }
                 }
+                String maxWorkersString = asyncAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_MAX_WORKERS);
+                if (maxWorkersString != null) {
+                    this.maxWorkers = Integer.parseInt(maxWorkersString);
+                    if (maxWorkers < Math.max(workers, 1)) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_MAX_WORKERS + "' cannot be less than '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_WORKERS + "' or one, but found, '" + maxWorkers +
+                                "'.", asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String partitionByString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_PARTITION_BY);
+                if (partitionByString != null) {
+                    try {
+                        this.partitionKeyPosition = streamDefinition.getAttributePosition(partitionByString.trim());
+                    } catch (AttributeNotExistException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_PARTITION_BY + "' should be an attribute of " +
+                                "stream '" + streamDefinition.getId() + "', but found, '" + partitionByString +
+                                "'.", e, asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String scalingIntervalString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_SCALING_INTERVAL);
+                if (scalingIntervalString != null) {
+                    try {
+                        this.scalingInterval = Expression.Time.timeToLong(scalingIntervalString);
+                    } catch (SiddhiAppValidationException | NumberFormatException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_SCALING_INTERVAL + "' should be a time " +
+                                "interval, but found, '" + scalingIntervalString + "'.", e,
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    if (scalingInterval <= 0) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_SCALING_INTERVAL + "' cannot be negative or " +
+                                "zero, but found, '" + scalingIntervalString + "'.",
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String waitStrategyString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_WAIT_STRATEGY);
+                if (waitStrategyString != null) {
+                    try {
+                        this.waitStrategyType = WaitStrategyType.valueOf(
+                                waitStrategyString.trim().toUpperCase().replace('.', '_'));
+                    } catch (IllegalArgumentException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_WAIT_STRATEGY + "' should be one of " +
+                                WaitStrategyType.getNames() + ", but found, '" + waitStrategyString + "'.", e,
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    // all the workers up to workers.max keep waiting for events even while they are scaled down
+                    if (waitStrategyType == WaitStrategyType.BUSY_SPIN && maxWorkers > Math.max(workers, 1)) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_WAIT_STRATEGY + "' cannot be 'busy.spin' when " +
+                                "the workers are scaled via '" + SiddhiConstants.ANNOTATION_ELEMENT_MAX_WORKERS +
+                                "', as the idle workers would keep spinning on '" + maxWorkers + "' cores.",
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String dedicatedThreadsString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_DEDICATED_THREADS);
+                if (dedicatedThreadsString != null) {
+                    if (!("true".equalsIgnoreCase(dedicatedThreadsString) ||
+                            "false".equalsIgnoreCase(dedicatedThreadsString))) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_DEDICATED_THREADS + "' should be 'true' or " +
+                                "'false', but found, '" + dedicatedThreadsString + "'.",
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    this.dedicatedThreads = Boolean.parseBoolean(dedicatedThreadsString);
+                }
+                String cpuAffinityString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_CPU_AFFINITY);
+                if (cpuAffinityString != null) {
+                    if (dedicatedThreadsString != null && !dedicatedThreads) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_CPU_AFFINITY + "' cannot be used when '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_DEDICATED_THREADS + "' is 'false', as pooled " +
+                                "threads cannot be bound to CPUs.", asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    this.cpuAffinity = parseCpuList(cpuAffinityString, asyncAnnotation);
+                    this.dedicatedThreads = true;
+                }
+                String overflowPolicyString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_POLICY);
+                if (overflowPolicyString != null) {
+                    try {
+                        this.overflowPolicy = OverflowPolicy.valueOf(
+                                overflowPolicyString.trim().toUpperCase().replace('.', '_'));
+                    } catch (IllegalArgumentException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_POLICY + "' should be one of " +
+                                OverflowPolicy.getNames() + ", but found, '" + overflowPolicyString + "'.", e,
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    if (overflowPolicy == OverflowPolicy.FAULT_STREAM && faultStreamJunction == null) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_POLICY + "' cannot be '" +
+                                overflowPolicyString + "', as the fault stream of '" + streamDefinition.getId() +
+                                "' is not defined. Define it via @OnError(action='STREAM').",
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String backpressureHighString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_BACKPRESSURE_HIGH);
+                String backpressureLowString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_BACKPRESSURE_LOW);
+                if (backpressureHighString != null) {
+                    this.backpressureHigh = parseBufferFraction(backpressureHighString,
+                            SiddhiConstants.ANNOTATION_ELEMENT_BACKPRESSURE_HIGH, asyncAnnotation);
+                    this.backpressureLow = backpressureLowString != null ?
+                            parseBufferFraction(backpressureLowString,
+                                    SiddhiConstants.ANNOTATION_ELEMENT_BACKPRESSURE_LOW, asyncAnnotation) :
+                            backpressureHigh / 2;
+                    if (backpressureHigh == 0 || backpressureLow >= backpressureHigh) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_BACKPRESSURE_LOW + "' should be less than '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_BACKPRESSURE_HIGH + "', but found, '" +
+                                backpressureLow + "' and '" + backpressureHigh + "'.",
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                } else if (backpressureLowString != null) {
+                    throw new SiddhiAppCreationException("Annotation element '" +
+                            SiddhiConstants.ANNOTATION_ELEMENT_BACKPRESSURE_LOW + "' cannot be used without '" +
+                            SiddhiConstants.ANNOTATION_ELEMENT_BACKPRESSURE_HIGH + "'.",
+                            asyncAnnotation.getQueryContextStartIndex(),
+                            asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                            siddhiAppContext.getSiddhiAppString());
+                }
+            }
+            Annotation watermarkAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_WATERMARK,
+                    streamDefinition.getAnnotations());
+            if (watermarkAnnotation != null && !partitionInternal) {
+                this.reorderBuffer = createReorderBuffer(watermarkAnnotation);
+                siddhiAppContext.generateStateHolder(streamDefinition.getId() + "-" +
+                        EventTimeReorderBuffer.class.getSimpleName(), ReorderBufferState::new);
             }
             Annotation onErrorAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_ON_ERROR,
                     streamDefinition.getAnnotations());
@@ -135,6 +371,24 @@ public class StreamJunction implements EventBufferHolder {
                 this.onErrorAction = OnErrorAction.valueOf(onErrorAnnotation
                         .getElement(SiddhiConstants.ANNOTATION_ELEMENT_ACTION).toUpperCase());
             }
+            Annotation inputAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.NAMESPACE_INPUT,
+                    streamDefinition.getAnnotations());
+            if (inputAnnotation != null) {
+                String shareData = inputAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_SHARE_DATA);
+                if (!("true".equalsIgnoreCase(shareData) || "false".equalsIgnoreCase(shareData))) {
+                    throw new SiddhiAppCreationException("Annotation element '" +
+                            SiddhiConstants.ANNOTATION_ELEMENT_SHARE_DATA + "' of @" +
+                            SiddhiConstants.NAMESPACE_INPUT + " should be 'true' or 'false', but found, '" +
+                            shareData + "'.", inputAnnotation.getQueryContextStartIndex(),
+                            inputAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                            siddhiAppContext.getSiddhiAppString());
+                }
+                if (async && Boolean.parseBoolean(shareData)) {
+                    log.warn("Input data of stream '" + streamDefinition.getId() + "' in Siddhi App '" +
+                            siddhiAppContext.getName() + "' will not be shared, as the stream is asynchronous " +
+                            "and its events are copied to the buffer.");
+                }
+            }
         } catch (DuplicateAnnotationException e) {
             throw new DuplicateAnnotationException(e.getMessageWithOutContext() + " for the same Stream " +
                     streamDefinition.getId(), e, e.getQueryContextStartIndex(), e.getQueryContextEndIndex(),
@@ -143,23 +397,177 @@ public class StreamJunction implements EventBufferHolder {
         isTraceEnabled = log.isTraceEnabled();
     }
 
+    private int[] parseCpuList(String cpuList, Annotation asyncAnnotation) {
+        List<Integer> cpus = new ArrayList<>();
+        try {
+            for (String cpuRange : cpuList.split(",")) {
+                String[] bounds = cpuRange.trim().split("-");
+                int start = Integer.parseInt(bounds[0].trim());
+                int end = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : start;
+                if (bounds.length > 2 || start < 0 || end < start) {
+                    throw new NumberFormatException("invalid range '" + cpuRange.trim() + "'");
+                }
+                for (int cpu = start; cpu <= end; cpu++) {
+                    cpus.add(cpu);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Annotation element '" +
+                    SiddhiConstants.ANNOTATION_ELEMENT_CPU_AFFINITY + "' should be a list of CPU ids or ranges " +
+                    "such as '2,4-7', but found, '" + cpuList + "'.", e, asyncAnnotation.getQueryContextStartIndex(),
+                    asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                    siddhiAppContext.getSiddhiAppString());
+        }
+        return cpus.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private EventTimeReorderBuffer createReorderBuffer(Annotation watermarkAnnotation) {
+        String attributeString = watermarkAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_ATTRIBUTE);
+        if (attributeString == null) {
+            throw new SiddhiAppCreationException("Annotation @" + SiddhiConstants.ANNOTATION_WATERMARK +
+                    " is missing element '" + SiddhiConstants.ANNOTATION_ELEMENT_ATTRIBUTE + "', at '" +
+                    streamDefinition.getId() + "'.", watermarkAnnotation.getQueryContextStartIndex(),
+                    watermarkAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                    siddhiAppContext.getSiddhiAppString());
+        }
+        int eventTimePosition;
+        try {
+            eventTimePosition = streamDefinition.getAttributePosition(attributeString.trim());
+        } catch (AttributeNotExistException e) {
+            eventTimePosition = -1;
+        }
+        if (eventTimePosition < 0 ||
+                streamDefinition.getAttributeList().get(eventTimePosition).getType() != Attribute.Type.LONG) {
+            throw new SiddhiAppCreationException("Annotation element '" +
+                    SiddhiConstants.ANNOTATION_ELEMENT_ATTRIBUTE + "' of @" + SiddhiConstants.ANNOTATION_WATERMARK +
+                    " should be a LONG attribute of stream '" + streamDefinition.getId() + "', but found, '" +
+                    attributeString + "'.", watermarkAnnotation.getQueryContextStartIndex(),
+                    watermarkAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                    siddhiAppContext.getSiddhiAppString());
+        }
+        long slack = 0;
+        String slackString = watermarkAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_SLACK);
+        if (slackString != null) {
+            slack = parseWatermarkTime(slackString, SiddhiConstants.ANNOTATION_ELEMENT_SLACK, watermarkAnnotation);
+        }
+        String idlePeriodString = watermarkAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_IDLE_PERIOD);
+        if (idlePeriodString != null) {
+            reorderIdlePeriod = parseWatermarkTime(idlePeriodString, SiddhiConstants.ANNOTATION_ELEMENT_IDLE_PERIOD,
+                    watermarkAnnotation);
+            if (reorderIdlePeriod == 0) {
+                throw new SiddhiAppCreationException("Annotation element '" +
+                        SiddhiConstants.ANNOTATION_ELEMENT_IDLE_PERIOD + "' of @" +
+                        SiddhiConstants.ANNOTATION_WATERMARK + " cannot be zero.",
+                        watermarkAnnotation.getQueryContextStartIndex(),
+                        watermarkAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                        siddhiAppContext.getSiddhiAppString());
+            }
+        }
+        int maxBufferedEvents = DEFAULT_REORDER_BUFFER_SIZE;
+        String bufferSizeString = watermarkAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_BUFFER_SIZE);
+        if (bufferSizeString != null) {
+            try {
+                maxBufferedEvents = Integer.parseInt(bufferSizeString.trim());
+            } catch (NumberFormatException e) {
+                maxBufferedEvents = -1;
+            }
+            if (maxBufferedEvents <= 0) {
+                throw new SiddhiAppCreationException("Annotation element '" +
+                        SiddhiConstants.ANNOTATION_ELEMENT_BUFFER_SIZE + "' of @" +
+                        SiddhiConstants.ANNOTATION_WATERMARK + " should be a positive number of events, but " +
+                        "found, '" + bufferSizeString + "'.", watermarkAnnotation.getQueryContextStartIndex(),
+                        watermarkAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                        siddhiAppContext.getSiddhiAppString());
+            }
+        }
+        return new EventTimeReorderBuffer(eventTimePosition, slack, maxBufferedEvents);
+    }
+
+    private long parseWatermarkTime(String time, String elementName, Annotation watermarkAnnotation) {
+        long value;
+        try {
+            // plain numbers are considered as milliseconds
+            value = time.trim().matches("\\d+") ? Long.parseLong(time.trim()) : Expression.Time.timeToLong(time);
+        } catch (SiddhiAppValidationException | NumberFormatException e) {
+            value = -1;
+        }
+        if (value < 0) {
+            throw new SiddhiAppCreationException("Annotation element '" + elementName + "' of @" +
+                    SiddhiConstants.ANNOTATION_WATERMARK + " should be a time interval or a number of milliseconds, " +
+                    "but found, '" + time + "'.",
+                    watermarkAnnotation.getQueryContextStartIndex(), watermarkAnnotation.getQueryContextEndIndex(),
+                    siddhiAppContext.getName(), siddhiAppContext.getSiddhiAppString());
+        }
+        return value;
+    }
+
+    private double parseBufferFraction(String fraction, String elementName, Annotation asyncAnnotation) {
+        double value;
+        try {
+            value = Double.parseDouble(fraction);
+        } catch (NumberFormatException e) {
+            value = -1;
+        }
+        if (value < 0 || value > 1) {
+            throw new SiddhiAppCreationException("Annotation element '" + elementName + "' should be a fraction " +
+                    "of the buffer between 0 and 1, but found, '" + fraction + "'.",
+                    asyncAnnotation.getQueryContextStartIndex(), asyncAnnotation.getQueryContextEndIndex(),
+                    siddhiAppContext.getName(), siddhiAppContext.getSiddhiAppString());
+        }
+        return value;
+    }
+
+    /**
+     * Whether the data of the events sent to the stream is shared with its receivers instead of being copied by
+     * them. This is enabled by {@code @input(share.data='true')} on synchronous streams, where the senders should not
+     * modify the data after sending it.
+     *
+     * @param streamDefinition definition of the stream
+     * @return whether the input data is shared
+     */
+    public static boolean isInputDataShared(AbstractDefinition streamDefinition) {
+        Annotation inputAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.NAMESPACE_INPUT,
+                streamDefinition.getAnnotations());
+        return inputAnnotation != null &&
+                "true".equalsIgnoreCase(inputAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_SHARE_DATA)) &&
+                AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_ASYNC,
+                        streamDefinition.getAnnotations()) == null;
+    }
+
     public void sendEvent(ComplexEvent complexEvent) {
         if (isTraceEnabled) {
             log.trace("Event is received by streamJunction " + this);
         }
         ComplexEvent complexEventList = complexEvent;
-        if (disruptor != null) {
+        if (reorderBuffer != null) {
+            List<Event> events = new ArrayList<>();
+            while (complexEventList != null) {
+                events.add(new Event(streamDefinition.getAttributeList().size()).copyFrom(complexEventList));
+                complexEventList = complexEventList.getNext();
+            }
+            if (throughputTracker != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
+                throughputTracker.eventsIn(events.size());
+            }
+            reorder(events.toArray(new Event[events.size()]));
+        } else if (disruptor != null) {
             while (complexEventList != null) {
                 if (throughputTracker != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
                     throughputTracker.eventIn();
                 }
-                long sequenceNo = ringBuffer.next();
-                try {
-                    EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
-                    eventExchangeHolder.getEvent().copyFrom(complexEventList);
-                    eventExchangeHolder.getAndSetIsProcessed(false);
-                } finally {
-                    ringBuffer.publish(sequenceNo);
+                long sequenceNo = claimSequence();
+                if (sequenceNo >= 0) {
+                    try {
+                        EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
+                        eventExchangeHolder.getEvent().copyFrom(complexEventList);
+                        resetEventExchangeHolder(eventExchangeHolder);
+                    } finally {
+                        ringBuffer.publish(sequenceNo);
+                    }
+                    checkHighWatermark();
+                } else {
+                    Event event = new Event(streamDefinition.getAttributeList().size());
+                    event.copyFrom(complexEventList);
+                    onOverflow(event);
                 }
                 complexEventList = complexEventList.getNext();
             }
@@ -185,15 +593,22 @@ public class StreamJunction implements EventBufferHolder {
         if (isTraceEnabled) {
             log.trace(event + " event is received by streamJunction " + this);
         }
-        if (disruptor != null) {
-            long sequenceNo = ringBuffer.next();
+        if (reorderBuffer != null) {
+            reorder(new Event[]{new Event(streamDefinition.getAttributeList().size()).copyFrom(event)});
+        } else if (disruptor != null) {
+            long sequenceNo = claimSequence();
+            if (sequenceNo < 0) {
+                onOverflow(event);
+                return;
+            }
             try {
                 EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                 eventExchangeHolder.getEvent().copyFrom(event);
-                eventExchangeHolder.getAndSetIsProcessed(false);
+                resetEventExchangeHolder(eventExchangeHolder);
             } finally {
                 ringBuffer.publish(sequenceNo);
             }
+            checkHighWatermark();
         } else {
             for (Receiver receiver : receivers) {
                 receiver.receive(event);
@@ -208,16 +623,33 @@ public class StreamJunction implements EventBufferHolder {
         if (isTraceEnabled) {
             log.trace("Event is received by streamJunction " + this);
         }
+        if (reorderBuffer != null) {
+            Event[] copiedEvents = new Event[events.length];
+            for (int i = 0; i < events.length; i++) {
+                copiedEvents[i] = new Event(streamDefinition.getAttributeList().size()).copyFrom(events[i]);
+            }
+            reorder(copiedEvents);
+        } else {
+            publishEvents(events);
+        }
+    }
+
+    private void publishEvents(Event[] events) {
         if (disruptor != null) {
             for (Event event : events) {   // Todo : optimize for arrays
-                long sequenceNo = ringBuffer.next();
+                long sequenceNo = claimSequence();
+                if (sequenceNo < 0) {
+                    onOverflow(event);
+                    continue;
+                }
                 try {
                     EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                     eventExchangeHolder.getEvent().copyFrom(event);
-                    eventExchangeHolder.getAndSetIsProcessed(false);
+                    resetEventExchangeHolder(eventExchangeHolder);
                 } finally {
                     ringBuffer.publish(sequenceNo);
                 }
+                checkHighWatermark();
             }
         } else {
             for (Receiver receiver : receivers) {
@@ -230,16 +662,27 @@ public class StreamJunction implements EventBufferHolder {
         if (isTraceEnabled) {
             log.trace("Event is received by streamJunction " + this);
         }
-        if (disruptor != null) {
+        if (reorderBuffer != null) {
+            Event[] copiedEvents = new Event[events.size()];
+            for (int i = 0; i < copiedEvents.length; i++) {
+                copiedEvents[i] = new Event(streamDefinition.getAttributeList().size()).copyFrom(events.get(i));
+            }
+            reorder(copiedEvents);
+        } else if (disruptor != null) {
             for (Event event : events) {   // Todo : optimize for arrays
-                long sequenceNo = ringBuffer.next();
+                long sequenceNo = claimSequence();
+                if (sequenceNo < 0) {
+                    onOverflow(event);
+                    continue;
+                }
                 try {
                     EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                     eventExchangeHolder.getEvent().copyFrom(event);
-                    eventExchangeHolder.getAndSetIsProcessed(false);
+                    resetEventExchangeHolder(eventExchangeHolder);
                 } finally {
                     ringBuffer.publish(sequenceNo);
                 }
+                checkHighWatermark();
             }
         } else {
             for (Receiver receiver : receivers) {
@@ -252,17 +695,24 @@ public class StreamJunction implements EventBufferHolder {
         if (throughputTracker != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
             throughputTracker.eventIn();
         }
-        if (disruptor != null) {
-            long sequenceNo = ringBuffer.next();
+        if (reorderBuffer != null) {
+            reorder(new Event[]{new Event(timeStamp, Arrays.copyOf(data, data.length))});
+        } else if (disruptor != null) {
+            long sequenceNo = claimSequence();
+            if (sequenceNo < 0) {
+                onOverflow(new Event(timeStamp, data));
+                return;
+            }
             try {
                 EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
-                eventExchangeHolder.getAndSetIsProcessed(false);
+                resetEventExchangeHolder(eventExchangeHolder);
                 eventExchangeHolder.getEvent().setTimestamp(timeStamp);
                 eventExchangeHolder.getEvent().setIsExpired(false);
                 System.arraycopy(data, 0, eventExchangeHolder.getEvent().getData(), 0, data.length);
             } finally {
                 ringBuffer.publish(sequenceNo);
             }
+            checkHighWatermark();
         } else {
             for (Receiver receiver : receivers) {
                 receiver.receive(timeStamp, data);
@@ -270,19 +720,235 @@ public class StreamJunction implements EventBufferHolder {
         }
     }
 
+    private long claimSequence() {
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+            case FAULT_STREAM:
+                try {
+                    return ringBuffer.tryNext();
+                } catch (InsufficientCapacityException e) {
+                    return -1;
+                }
+            case DROP_OLDEST:
+                try {
+                    return ringBuffer.tryNext();
+                } catch (InsufficientCapacityException e) {
+                    // the workers skip the oldest buffered event they have not yet consumed, one for each
+                    // overflowing event, but never the events claimed after the buffer got full
+                    logOverflow();
+                    long cursor = ringBuffer.getCursor();
+                    dropBeforeSequence.accumulateAndGet(getConsumedSequence() + 1,
+                            (dropBefore, oldestSequence) -> Math.min(Math.max(dropBefore, oldestSequence) + 1,
+                                    cursor + 1));
+                    return ringBuffer.next();
+                }
+            default:
+                return ringBuffer.next();
+        }
+    }
+
+    private void reorder(Event[] events) {
+        synchronized (reorderBuffer) {
+            for (Event event : events) {
+                if (!reorderBuffer.add(event)) {
+                    onLateEvent(event);
+                }
+            }
+            // queued under the lock, to deliver the events of concurrent publishers in event time order
+            Event[] releasedEvents = reorderBuffer.release();
+            if (releasedEvents.length > 0) {
+                reorderedEvents.add(releasedEvents);
+            }
+        }
+        publishReorderedEvents(false);
+    }
+
+    /**
+     * Publishes the events released by the reorder buffer outside its lock, such that a blocked publish does not
+     * block the other publishers and the snapshots. Only one thread publishes at a time, hence the events queued by
+     * the other threads meanwhile are published by that thread, keeping them in event time order.
+     *
+     * @param handleErrors whether to handle the errors on publishing, instead of throwing them
+     */
+    private void publishReorderedEvents(boolean handleErrors) {
+        while (!reorderedEvents.isEmpty() && reorderedEventsPublishLock.tryLock()) {
+            try {
+                Event[] releasedEvents;
+                while ((releasedEvents = reorderedEvents.poll()) != null) {
+                    if (handleErrors) {
+                        try {
+                            publishEvents(releasedEvents);
+                        } catch (Exception e) {
+                            handleError(releasedEvents, e);
+                        }
+                    } else {
+                        publishEvents(releasedEvents);
+                    }
+                }
+            } finally {
+                reorderedEventsPublishLock.unlock();
+            }
+        }
+    }
+
+    private void flushIdleReorderBuffer() {
+        if (System.currentTimeMillis() - reorderBuffer.getLastArrivalTime() < reorderIdlePeriod) {
+            return;
+        }
+        flushReorderBuffer();
+    }
+
+    /**
+     * Releases all the events buffered to be ordered by their event time, such that they are processed before the
+     * Siddhi App shuts down.
+     */
+    public void flushReorderBuffer() {
+        if (reorderBuffer == null) {
+            return;
+        }
+        synchronized (reorderBuffer) {
+            Event[] releasedEvents = reorderBuffer.flush();
+            if (releasedEvents.length > 0) {
+                reorderedEvents.add(releasedEvents);
+            }
+        }
+        publishReorderedEvents(true);
+    }
+
+    private void onLateEvent(Event event) {
+        if (lateEvents.getAndIncrement() == 0) {
+            log.warn("Stream '" + streamDefinition.getId() + "' in Siddhi App '" + siddhiAppContext.getName() +
+                    "' received an event behind its watermark, hence " + (faultStreamJunction != null ?
+                    "sending it to the fault stream" : "dropping it") + ". Further late events are not logged.");
+        }
+        if (faultStreamJunction != null) {
+            faultStreamJunction.sendEvent(faultStreamEventConverter.convert(event, new SiddhiAppRuntimeException(
+                    "Event time of the event is behind the watermark '" + reorderBuffer.getWatermark() +
+                            "' of stream '" + streamDefinition.getId() + "'.")));
+        } else if (isTraceEnabled) {
+            log.trace("Event " + event + " is dropped by streamJunction " + this + ", as it is behind the " +
+                    "watermark");
+        }
+    }
+
+    private void onOverflow(Event event) {
+        droppedEvents.incrementAndGet();
+        logOverflow();
+        if (overflowPolicy == OverflowPolicy.FAULT_STREAM) {
+            faultStreamJunction.sendEvent(faultStreamEventConverter.convert(event, bufferOverflowException));
+        } else if (isTraceEnabled) {
+            log.trace("Event " + event + " is dropped by streamJunction " + this + ", as its buffer is full");
+        }
+    }
+
+    private void logOverflow() {
+        if (overflowLogged.compareAndSet(false, true)) {
+            log.warn("Buffer of stream '" + streamDefinition.getId() + "' in Siddhi App '" +
+                    siddhiAppContext.getName() + "' is full, hence applying the overflow policy '" +
+                    overflowPolicy.name().toLowerCase().replace('_', '.') + "'. Further overflows are not logged.");
+        }
+    }
+
+    private void checkHighWatermark() {
+        if (highWatermarkEvents < 0 || backpressured ||
+                ringBuffer.getCursor() - getConsumedSequence() < highWatermarkEvents) {
+            return;
+        }
+        synchronized (this) {
+            if (!backpressured && ringBuffer.getCursor() - getConsumedSequence() >= highWatermarkEvents) {
+                backpressured = true;
+                // the workers may have consumed all the events before noticing the backpressure
+                if (ringBuffer.getCursor() - getConsumedSequence() <= lowWatermarkEvents) {
+                    backpressured = false;
+                    return;
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Buffer of stream '" + streamDefinition.getId() + "' in Siddhi App '" +
+                            siddhiAppContext.getName() + "' reached its high watermark.");
+                }
+                for (BackpressureListener backpressureListener : backpressureListeners) {
+                    backpressureListener.onHighWatermark(streamDefinition.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Called by the workers on each event they pick up from the buffer, to find the oldest buffered event for the
+     * '{@code drop.oldest}' overflow policy, and at the end of each batch to release the backpressure when the buffer
+     * drains to its low watermark.
+     *
+     * @param workerIndex index of the worker
+     * @param sequence    sequence of the consumed event
+     * @param endOfBatch  whether the event is the last of the batch
+     */
+    public void onEventConsumed(int workerIndex, long sequence, boolean endOfBatch) {
+        consumedSequences.lazySet(workerIndex, sequence);
+        if (!endOfBatch || !backpressured) {
+            return;
+        }
+        synchronized (this) {
+            if (backpressured && ringBuffer.getCursor() - getConsumedSequence() <= lowWatermarkEvents) {
+                backpressured = false;
+                if (log.isDebugEnabled()) {
+                    log.debug("Buffer of stream '" + streamDefinition.getId() + "' in Siddhi App '" +
+                            siddhiAppContext.getName() + "' drained to its low watermark.");
+                }
+                for (BackpressureListener backpressureListener : backpressureListeners) {
+                    backpressureListener.onLowWatermark(streamDefinition.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the buffered event of the given sequence is dropped by the '{@code drop.oldest}' overflow policy.
+     *
+     * @param sequence sequence of the event
+     * @return whether the event should be skipped by the workers
+     */
+    public boolean isDropped(long sequence) {
+        if (sequence < dropBeforeSequence.get()) {
+            droppedEvents.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private long getConsumedSequence() {
+        long consumedSequence = Long.MAX_VALUE;
+        for (int i = 0; i < consumedSequences.length(); i++) {
+            consumedSequence = Math.min(consumedSequence, consumedSequences.get(i));
+        }
+        return consumedSequence;
+    }
+
+    private void resetEventExchangeHolder(EventExchangeHolder eventExchangeHolder) {
+        eventExchangeHolder.getAndSetIsProcessed(false);
+        if (workerGroup != null) {
+            eventExchangeHolder.setActiveWorkers(workerGroup.getActiveWorkers());
+        }
+    }
+
     /**
      * Create and start disruptor based on annotations given in the streamDefinition.
      */
     public void startProcessing() {
         this.exceptionListener = siddhiAppContext.getRuntimeExceptionListener();
         if (!receivers.isEmpty() && async) {
+            Executor executor = executorService;
+            if (dedicatedThreads) {
+                executor = new DedicatedThreadExecutor("Siddhi-" + siddhiAppContext.getName() + "-" +
+                        streamDefinition.getId() + "-worker-thread-", cpuAffinity,
+                        siddhiAppContext.getSiddhiContext().getCpuAffinityHook());
+            }
             for (Constructor constructor : Disruptor.class.getConstructors()) {
                 if (constructor.getParameterTypes().length == 5) {      // If new disruptor classes available
                     ProducerType producerType = ProducerType.MULTI;
                     disruptor = new Disruptor<EventExchangeHolder>(
                             new EventExchangeHolderFactory(streamDefinition.getAttributeList().size()),
-                            bufferSize, executorService, producerType,
-                            new BlockingWaitStrategy());
+                            bufferSize, executor, producerType,
+                            createWaitStrategy());
                     disruptor.handleExceptionsWith(siddhiAppContext.getDisruptorExceptionHandler());
                     break;
                 }
@@ -290,19 +956,52 @@ public class StreamJunction implements EventBufferHolder {
             if (disruptor == null) {
                 disruptor = new Disruptor<EventExchangeHolder>(
                         new EventExchangeHolderFactory(streamDefinition.getAttributeList().size()),
-                        bufferSize, executorService);
+                        bufferSize, executor);
                 disruptor.handleExceptionsWith(siddhiAppContext.getDisruptorExceptionHandler());
             }
-            if (workers > 0) {
-                for (int i = 0; i < workers; i++) {
-                    disruptor.handleEventsWith(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
-                            siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener));
+            List<StreamHandler> streamHandlers = new ArrayList<>();
+            if (maxWorkers > 0 || partitionKeyPosition >= 0) {
+                int minWorkers = Math.max(workers, 1);
+                workerGroup = new StreamWorkerGroup(streamDefinition.getId(), siddhiAppContext.getName(),
+                        minWorkers, Math.max(maxWorkers, minWorkers), partitionKeyPosition, bufferSize, this,
+                        QueryParserHelper.createThroughputTracker(siddhiAppContext, streamDefinition.getId(),
+                                SiddhiConstants.METRIC_INFIX_STREAMS, SiddhiConstants.METRIC_TYPE_SCALE_UP),
+                        QueryParserHelper.createThroughputTracker(siddhiAppContext, streamDefinition.getId(),
+                                SiddhiConstants.METRIC_INFIX_STREAMS, SiddhiConstants.METRIC_TYPE_SCALE_DOWN));
+                for (int i = 0; i < workerGroup.getMaxWorkers(); i++) {
+                    streamHandlers.add(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
+                            siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener,
+                            i, workerGroup));
                 }
             } else {
-                disruptor.handleEventsWith(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
-                        siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener));
+                for (int i = 0; i < Math.max(workers, 1); i++) {
+                    streamHandlers.add(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
+                            siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener));
+                }
+            }
+            if (backpressureHigh > 0 || overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                if (backpressureHigh > 0) {
+                    highWatermarkEvents = (long) Math.ceil(backpressureHigh * bufferSize);
+                    lowWatermarkEvents = (long) Math.floor(backpressureLow * bufferSize);
+                }
+                consumedSequences = new AtomicLongArray(streamHandlers.size());
+                for (int i = 0; i < streamHandlers.size(); i++) {
+                    consumedSequences.set(i, -1);
+                    streamHandlers.get(i).setStreamJunction(this, i);
+                }
+            }
+            if (overflowPolicy == OverflowPolicy.FAULT_STREAM) {
+                bufferOverflowException = new SiddhiAppRuntimeException("Buffer of stream '" +
+                        streamDefinition.getId() + "' is full.");
+            }
+            for (StreamHandler streamHandler : streamHandlers) {
+                disruptor.handleEventsWith(streamHandler);
             }
             ringBuffer = disruptor.start();
+            if (workerGroup != null && workerGroup.isAdaptive()) {
+                scalingFuture = siddhiAppContext.getScheduledExecutorService().scheduleAtFixedRate(workerGroup,
+                        scalingInterval, scalingInterval, TimeUnit.MILLISECONDS);
+            }
         } else {
             for (Receiver receiver : receivers) {
                 if (receiver instanceof StreamCallback) {
@@ -310,9 +1009,39 @@ public class StreamJunction implements EventBufferHolder {
                 }
             }
         }
+        if (reorderBuffer != null && reorderIdlePeriod > 0) {
+            reorderIdleFuture = siddhiAppContext.getScheduledExecutorService().scheduleWithFixedDelay(
+                    this::flushIdleReorderBuffer, reorderIdlePeriod, reorderIdlePeriod, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private WaitStrategy createWaitStrategy() {
+        switch (waitStrategyType) {
+            case LITE_BLOCKING:
+                return new LiteBlockingWaitStrategy();
+            case SLEEPING:
+                return new SleepingWaitStrategy();
+            case YIELDING:
+                return new YieldingWaitStrategy();
+            case BUSY_SPIN:
+                return new BusySpinWaitStrategy();
+            case PHASED_BACKOFF:
+                return PhasedBackoffWaitStrategy.withLock(PHASED_BACKOFF_SPIN_MICROS, PHASED_BACKOFF_YIELD_MICROS,
+                        TimeUnit.MICROSECONDS);
+            default:
+                return new BlockingWaitStrategy();
+        }
     }
 
     public void stopProcessing() {
+        if (scalingFuture != null) {
+            scalingFuture.cancel(false);
+            scalingFuture = null;
+        }
+        if (reorderIdleFuture != null) {
+            reorderIdleFuture.cancel(false);
+            reorderIdleFuture = null;
+        }
         if (disruptor != null) {
             disruptor.shutdown();
         } else {
@@ -352,6 +1081,68 @@ public class StreamJunction implements EventBufferHolder {
         return streamDefinition;
     }
 
+    /**
+     * Returns the number of workers consuming the events of the stream, which varies at runtime when the workers are
+     * scaled via {@code @async(workers.max='...')}.
+     *
+     * @return number of active workers, or -1 when the stream is not asynchronous or not started
+     */
+    public int getActiveWorkers() {
+        if (workerGroup != null) {
+            return workerGroup.getActiveWorkers();
+        } else if (disruptor != null) {
+            return Math.max(workers, 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of events dropped or diverted to the fault stream by the overflow policy of the stream,
+     * configured via {@code @async(overflow.policy='...')}.
+     *
+     * @return number of overflowed events
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Returns the watermark of the stream declaring its event time via {@code @watermark(attribute='...')}, behind
+     * which the events are considered late.
+     *
+     * @return watermark in event time, or {@link Long#MIN_VALUE} when not available
+     */
+    public long getWatermark() {
+        if (reorderBuffer != null) {
+            synchronized (reorderBuffer) {
+                return reorderBuffer.getWatermark();
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the number of events that arrived behind the watermark of the stream, and hence were dropped or sent
+     * to the fault stream.
+     *
+     * @return number of late events
+     */
+    public long getLateEvents() {
+        return lateEvents.get();
+    }
+
+    public boolean isBackpressured() {
+        return backpressured;
+    }
+
+    public void addBackpressureListener(BackpressureListener backpressureListener) {
+        backpressureListeners.add(backpressureListener);
+    }
+
+    public void removeBackpressureListener(BackpressureListener backpressureListener) {
+        backpressureListeners.remove(backpressureListener);
+    }
+
     @Override
     public long getBufferedEvents() {
         if (disruptor != null) {
@@ -429,6 +1220,70 @@ public class StreamJunction implements EventBufferHolder {
         }
     }
 
+    /**
+     * Different types of strategies the workers of asynchronous streams use to wait for events
+     */
+    public enum WaitStrategyType {
+        BLOCKING,
+        LITE_BLOCKING,
+        SLEEPING,
+        YIELDING,
+        BUSY_SPIN,
+        PHASED_BACKOFF;
+
+        static String getNames() {
+            StringJoiner names = new StringJoiner("', '", "'", "'");
+            for (WaitStrategyType waitStrategyType : values()) {
+                names.add(waitStrategyType.name().toLowerCase().replace('_', '.'));
+            }
+            return names.toString();
+        }
+    }
+
+    /**
+     * State of the events buffered to be ordered by their event time, which are persisted with the Siddhi App
+     * snapshots.
+     */
+    class ReorderBufferState extends State {
+
+        @Override
+        public boolean canDestroy() {
+            return false;
+        }
+
+        @Override
+        public Map<String, Object> snapshot() {
+            synchronized (reorderBuffer) {
+                return reorderBuffer.snapshot();
+            }
+        }
+
+        @Override
+        public void restore(Map<String, Object> state) {
+            synchronized (reorderBuffer) {
+                reorderBuffer.restore(state);
+            }
+        }
+    }
+
+    /**
+     * Different policies to handle events sent to asynchronous streams whose buffers are full
+     */
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP_OLDEST,
+        DROP_NEWEST,
+        FAULT_STREAM;
+
+        static String getNames() {
+            StringJoiner names = new StringJoiner("', '", "'", "'");
+            for (OverflowPolicy overflowPolicy : values()) {
+                names.add(overflowPolicy.name().toLowerCase().replace('_', '.'));
+            }
+            return names.toString();
+        }
+    }
+
     /**
      * Different Type of On Error Actions
      */
@@ -455,6 +1310,18 @@ public class StreamJunction implements EventBufferHolder {
         void receive(Event[] events);
     }
 
+    /**
+     * Interface to be implemented by the components that need to react when the buffer of an asynchronous Stream
+     * Junction fills up to its high watermark, such as the sources feeding the stream, which should pause consuming
+     * events till the buffer drains to its low watermark. Enabled via {@code @async(backpressure.high='...')}.
+     */
+    public interface BackpressureListener {
+
+        void onHighWatermark(String streamId);
+
+        void onLowWatermark(String streamId);
+    }
+
     /**
      * Interface to be implemented to send events into the Stream Junction.
      */
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream.input.source;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.ParameterOverload;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.transport.BinaryEventCodec;
+import io.siddhi.core.util.transport.OptionHolder;
+import io.siddhi.query.api.definition.StreamDefinition;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Source mapper implementation to consume events encoded by {@link BinaryEventCodec}, decoding the attributes from
+ * the received {@link ByteBuffer} directly into reused {@link Event} instances without an intermediate
+ * byte array or map copy.
+ */
+@Extension(
+        name = "binaryPassThrough",
+        namespace = "sourceMapper",
+        description = "Binary pass-through mapper consumes batches of events (ByteBuffer) encoded by the " +
+                "`binaryPassThrough` sink mapper using a fixed layout derived from the stream definition. " +
+                "Both the publisher and the subscriber should have the same stream definition, and `object` " +
+                "attributes are not supported.",
+        parameters = {
+                @Parameter(
+                        name = "reuse.events",
+                        type = DataType.BOOL,
+                        description = "When enabled, the events of each consuming thread are reused across the " +
+                                "received batches of the same size, instead of creating new events for each " +
+                                "batch. This is only safe when no stream callback or source handler of the " +
+                                "stream keeps the received events beyond the processing of their batch.",
+                        optional = true,
+                        defaultValue = "false"
+                )
+        },
+        parameterOverloads = {
+                @ParameterOverload(),
+                @ParameterOverload(parameterNames = {"reuse.events"})
+        },
+        examples = @Example(
+                syntax = "@source(type='inMemory', topic='Stocks', @map(type='binaryPassThrough'))\n" +
+                        "define stream BarStream (symbol string, price float, volume long);",
+                description = "In this example BarStream consumes binary encoded events published on the " +
+                        "`Stocks` topic by an inMemory sink using the `binaryPassThrough` mapper."
+        )
+)
+public class BinaryPassThroughSourceMapper extends SourceMapper {
+
+    private static final String REUSE_EVENTS = "reuse.events";
+    private BinaryEventCodec binaryEventCodec;
+    private ThreadLocal<Event[]> reusableEvents;
+
+    @Override
+    public void init(StreamDefinition streamDefinition, OptionHolder optionHolder, List<AttributeMapping>
+            attributeMappingList, ConfigReader configReader, SiddhiAppContext siddhiAppContext) {
+        this.binaryEventCodec = new BinaryEventCodec(streamDefinition);
+        if (Boolean.parseBoolean(optionHolder.validateAndGetStaticValue(REUSE_EVENTS, "false"))) {
+            this.reusableEvents = new ThreadLocal<>();
+        }
+    }
+
+    @Override
+    public Class[] getSupportedInputEventClasses() {
+        return new Class[]{ByteBuffer.class, byte[].class};
+    }
+
+    @Override
+    protected void mapAndProcess(Object eventObject, InputEventHandler inputEventHandler) throws InterruptedException {
+        if (eventObject != null) {
+            if (eventObject instanceof ByteBuffer) {
+                inputEventHandler.sendEvents(decode((ByteBuffer) eventObject));
+            } else if (eventObject instanceof byte[]) {
+                inputEventHandler.sendEvents(decode(ByteBuffer.wrap((byte[]) eventObject)));
+            } else {
+                throw new SiddhiAppRuntimeException("Event object must be either ByteBuffer or byte[] " +
+                        "but found " + eventObject.getClass().getCanonicalName());
+            }
+        }
+    }
+
+    private Event[] decode(ByteBuffer buffer) {
+        if (reusableEvents == null) {
+            return binaryEventCodec.decode(buffer);
+        }
+        Event[] events = binaryEventCodec.decode(buffer, reusableEvents.get());
+        reusableEvents.set(events);
+        return events;
+    }
+
+    @Override
+    protected boolean allowNullInTransportProperties() {
+        return false;
+    }
+}
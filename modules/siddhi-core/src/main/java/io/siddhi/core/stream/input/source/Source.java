@@ -62,6 +62,8 @@ public abstract class Source<S extends State> {
     private StateHolder<S> stateHolder;
     private S state;
     private ServiceDeploymentInfo serviceDeploymentInfo;
+    private final Object pauseLock = new Object();
+    private int pauseRequests = 0;
 
     public final void init(String sourceType, OptionHolder transportOptionHolder, SourceMapper sourceMapper,
                            String[] transportPropertyNames, ConfigReader configReader, String mapType,
@@ -152,6 +154,30 @@ public abstract class Source<S extends State> {
      */
     public abstract void resume();
 
+    /**
+     * Pauses event consumption on behalf of a requester, such as the persistence of the Siddhi App or the
+     * backpressure of the stream the source feeds. The source stays paused till all such requests are released.
+     */
+    public final void requestPause() {
+        synchronized (pauseLock) {
+            if (pauseRequests++ == 0) {
+                pause();
+            }
+        }
+    }
+
+    /**
+     * Releases a pause requested via {@link #requestPause()}, and resumes event consumption when no other requests
+     * are pending.
+     */
+    public final void releasePause() {
+        synchronized (pauseLock) {
+            if (pauseRequests > 0 && --pauseRequests == 0) {
+                resume();
+            }
+        }
+    }
+
     public void connectWithRetry() {
         if (!isConnected.get()) {
             isTryingToConnect.set(true);
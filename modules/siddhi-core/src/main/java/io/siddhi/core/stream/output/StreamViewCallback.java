@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream.output;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventView;
+import org.apache.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link StreamCallback} that delivers the events of a stream as an {@link EventView}, without copying them to
+ * {@link Event} instances. The view is only valid until {@link #receive(EventView)} returns, hence events that need
+ * to be retained should be copied explicitly.
+ */
+public abstract class StreamViewCallback extends StreamCallback {
+
+    private static final Logger log = Logger.getLogger(StreamViewCallback.class);
+
+    private final ThreadLocal<EventView> eventViews = ThreadLocal.withInitial(this::createEventView);
+    private final ThreadLocal<Event[]> singleEventHolders = ThreadLocal.withInitial(() -> new Event[1]);
+
+    private EventView createEventView() {
+        return new EventView(getStreamDefinition() != null ? getStreamDefinition().getAttributeList() : null);
+    }
+
+    private EventView acquireEventView() {
+        EventView eventView = eventViews.get();
+        if (eventView.isInUse()) {
+            // events are delivered again while the callback is processing the previous events in the same thread
+            return createEventView();
+        }
+        return eventView;
+    }
+
+    @Override
+    public void receive(ComplexEvent complexEvent) {
+        EventView eventView = acquireEventView();
+        eventView.wrap(complexEvent, null);
+        deliver(eventView);
+    }
+
+    @Override
+    public void receive(Event event) {
+        EventView eventView = eventViews.get();
+        if (eventView.isInUse()) {
+            eventView = createEventView();
+            eventView.wrap(new Event[]{event}, 1);
+            deliver(eventView);
+            return;
+        }
+        Event[] singleEventHolder = singleEventHolders.get();
+        singleEventHolder[0] = event;
+        eventView.wrap(singleEventHolder, 1);
+        try {
+            deliver(eventView);
+        } finally {
+            singleEventHolder[0] = null;
+        }
+    }
+
+    @Override
+    public void receive(List<Event> events) {
+        EventView eventView = acquireEventView();
+        eventView.wrap(events);
+        deliver(eventView);
+    }
+
+    @Override
+    public void receive(long timestamp, Object[] data) {
+        receive(new Event(timestamp, data));
+    }
+
+    @Override
+    public void receive(Event[] events) {
+        EventView eventView = acquireEventView();
+        eventView.wrap(events, events.length);
+        deliver(eventView);
+    }
+
+    private void deliver(EventView eventView) {
+        try {
+            receive(eventView);
+        } catch (RuntimeException e) {
+            eventView.reset();
+            log.error("Error on sending events " + Arrays.deepToString(eventView.copyAll()) +
+                    " of the stream '" + getStreamId() + "'", e);
+        } finally {
+            eventView.release();
+        }
+    }
+
+    /**
+     * Receives the events of the stream.
+     *
+     * @param events view over the events, valid until this method returns
+     */
+    public abstract void receive(EventView events);
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream.output.sink;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.transport.BinaryEventCodec;
+import io.siddhi.core.util.transport.OptionHolder;
+import io.siddhi.core.util.transport.TemplateBuilder;
+import io.siddhi.query.api.definition.StreamDefinition;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Implementation of {@link SinkMapper} that encodes {@link Event}s into a single {@link ByteBuffer} per batch using
+ * {@link BinaryEventCodec}.
+ */
+@Extension(
+        name = "binaryPassThrough",
+        namespace = "sinkMapper",
+        description = "Binary pass-through mapper encodes each batch of events into a single ByteBuffer using a " +
+                "fixed layout derived from the stream definition, such that the `binaryPassThrough` source " +
+                "mapper can read it without per attribute conversions. `object` attributes are not supported.",
+        examples = @Example(
+                syntax = "@sink(type='inMemory', topic='Stocks', @map(type='binaryPassThrough'))\n" +
+                        "define stream BarStream (symbol string, price float, volume long);",
+                description = "In the following example BarStream publishes binary encoded events on the " +
+                        "`Stocks` topic."
+        )
+)
+public class BinaryPassThroughSinkMapper extends SinkMapper {
+
+    private BinaryEventCodec binaryEventCodec;
+
+    @Override
+    public String[] getSupportedDynamicOptions() {
+        return new String[0];
+    }
+
+    @Override
+    public void init(StreamDefinition streamDefinition, OptionHolder optionHolder, Map<String, TemplateBuilder>
+            payloadTemplateBuilderMap, ConfigReader mapperConfigReader, SiddhiAppContext siddhiAppContext) {
+        this.binaryEventCodec = new BinaryEventCodec(streamDefinition);
+    }
+
+    @Override
+    public Class[] getOutputEventClasses() {
+        return new Class[]{ByteBuffer.class};
+    }
+
+    @Override
+    public void mapAndSend(Event[] events, OptionHolder optionHolder,
+                           Map<String, TemplateBuilder> payloadTemplateBuilderMap, SinkListener sinkListener) {
+        sinkListener.publish(binaryEventCodec.encode(events));
+    }
+
+    @Override
+    public void mapAndSend(Event event, OptionHolder optionHolder,
+                           Map<String, TemplateBuilder> payloadTemplateBuilderMap, SinkListener sinkListener) {
+        sinkListener.publish(binaryEventCodec.encode(new Event[]{event}));
+    }
+}
@@ -32,6 +32,8 @@ import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.holder.EventHolder;
 import io.siddhi.core.table.holder.IndexEventHolderForCache;
 import io.siddhi.core.table.record.RecordTableHandler;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.cache.CacheEvictionPolicy;
 import io.siddhi.core.util.collection.AddingStreamEventExtractor;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
@@ -40,6 +42,9 @@ import io.siddhi.core.util.config.ConfigReader;
 import io.siddhi.core.util.parser.EventHolderPasser;
 import io.siddhi.core.util.parser.ExpressionParser;
 import io.siddhi.core.util.parser.OperatorParser;
+import io.siddhi.core.util.parser.helper.QueryParserHelper;
+import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.core.util.statistics.metrics.Level;
 import io.siddhi.query.api.annotation.Annotation;
 import io.siddhi.query.api.annotation.Element;
 import io.siddhi.query.api.definition.Attribute;
@@ -53,6 +58,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static io.siddhi.query.api.util.AnnotationHelper.getAnnotation;
 
@@ -62,6 +68,13 @@ import static io.siddhi.query.api.util.AnnotationHelper.getAnnotation;
 public abstract class CacheTable extends InMemoryTable {
     private int maxSize;
     private boolean cacheExpiryEnabled;
+    private IndexEventHolderForCache indexEventHolderForCache;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private ThroughputTracker throughputTrackerHit;
+    private ThroughputTracker throughputTrackerMiss;
+    private ThroughputTracker throughputTrackerEviction;
 
     @Override
     public void init(TableDefinition tableDefinition, StreamEventFactory storeEventPool,
@@ -72,7 +85,9 @@ public abstract class CacheTable extends InMemoryTable {
         EventHolder eventHolder = EventHolderPasser.parse(tableDefinition, storeEventPool, siddhiAppContext, true);
 
         if (eventHolder instanceof IndexEventHolderForCache) {
-            ((IndexEventHolderForCache) eventHolder).setCacheTable(this);
+            indexEventHolderForCache = (IndexEventHolderForCache) eventHolder;
+            indexEventHolderForCache.setCacheTable(this);
+            indexEventHolderForCache.setEvictionPolicy(createEvictionPolicy());
         }
 
         stateHolder = siddhiAppContext.generateStateHolder(tableDefinition.getId(),
@@ -99,6 +114,17 @@ public abstract class CacheTable extends InMemoryTable {
                 cacheTableStreamEventFactory);
         super.initTable(cacheTableDefinition, cacheTableStreamEventFactory,
                 cacheTableStreamEventCloner, configReader, siddhiAppContext, recordTableHandler);
+        if (siddhiAppContext.getStatisticsManager() != null) {
+            throughputTrackerHit = QueryParserHelper.createThroughputTracker(siddhiAppContext,
+                    cacheTableDefinition.getId(), SiddhiConstants.METRIC_INFIX_TABLES,
+                    SiddhiConstants.METRIC_TYPE_CACHE_HIT);
+            throughputTrackerMiss = QueryParserHelper.createThroughputTracker(siddhiAppContext,
+                    cacheTableDefinition.getId(), SiddhiConstants.METRIC_INFIX_TABLES,
+                    SiddhiConstants.METRIC_TYPE_CACHE_MISS);
+            throughputTrackerEviction = QueryParserHelper.createThroughputTracker(siddhiAppContext,
+                    cacheTableDefinition.getId(), SiddhiConstants.METRIC_INFIX_TABLES,
+                    SiddhiConstants.METRIC_TYPE_CACHE_EVICTION);
+        }
     }
 
     public void addStreamEventUptoMaxSize(StreamEvent streamEvent) {
@@ -118,6 +144,52 @@ public abstract class CacheTable extends InMemoryTable {
         }
     }
 
+    /**
+     * Adds the events loaded from the store, replacing the cached entries having the same primary keys, and evicts
+     * entries using the cache policy when the cache grows beyond its max size.
+     *
+     * @param streamEvent chain of events loaded from the store
+     */
+    public void putStreamEventAndTrimUptoMaxSize(StreamEvent streamEvent) {
+        if (indexEventHolderForCache == null || indexEventHolderForCache.getPrimaryKeyReferenceHolders() == null) {
+            if (this.size() == maxSize) {
+                deleteOneEntryUsingCachePolicy();
+            }
+            addStreamEventUptoMaxSize(streamEvent);
+            return;
+        }
+        readWriteLock.writeLock().lock();
+        try {
+            while (streamEvent != null) {
+                indexEventHolderForCache.overwrite((StreamEvent) generateEventWithRequiredFields(streamEvent,
+                        siddhiAppContext, cacheExpiryEnabled));
+                streamEvent = streamEvent.getNext();
+            }
+            if (this.size() > maxSize) {
+                this.deleteEntriesUsingCachePolicy(this.size() - maxSize);
+            }
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the cached entry having the same primary key as the given event.
+     *
+     * @param streamEvent event of the cache holding the primary key of the entry
+     */
+    public void deleteStreamEventByPrimaryKey(StreamEvent streamEvent) {
+        if (indexEventHolderForCache == null) {
+            return;
+        }
+        readWriteLock.writeLock().lock();
+        try {
+            indexEventHolderForCache.deleteByPrimaryKey(streamEvent);
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
     public void addAndTrimUptoMaxSize(ComplexEventChunk<StreamEvent> addingEventChunk) {
         ComplexEventChunk<StreamEvent> addingEventChunkForCache = new ComplexEventChunk<>();
         addingEventChunk.reset();
@@ -185,9 +257,70 @@ public abstract class CacheTable extends InMemoryTable {
     abstract void addRequiredFieldsToCacheTableDefinition(TableDefinition cacheTableDefinition,
                                                           boolean cacheExpiryEnabled);
 
-    public abstract void deleteOneEntryUsingCachePolicy();
+    /**
+     * Creates the structure that keeps the cache entries in eviction order. Called after
+     * {@link #addRequiredFieldsToCacheTableDefinition(TableDefinition, boolean)}.
+     *
+     * @return eviction policy of the cache
+     */
+    protected abstract CacheEvictionPolicy createEvictionPolicy();
+
+    public void deleteOneEntryUsingCachePolicy() {
+        deleteEntriesUsingCachePolicy(1);
+    }
 
-    public abstract void deleteEntriesUsingCachePolicy(int numRowsToDelete);
+    public void deleteEntriesUsingCachePolicy(int numRowsToDelete) {
+        int evicted;
+        if (numRowsToDelete >= indexEventHolderForCache.size()) {
+            evicted = indexEventHolderForCache.size();
+            indexEventHolderForCache.deleteAll();
+        } else {
+            evicted = indexEventHolderForCache.evict(numRowsToDelete);
+        }
+        evictionCount.addAndGet(evicted);
+        if (throughputTrackerEviction != null &&
+                Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
+            throughputTrackerEviction.eventsIn(evicted);
+        }
+    }
+
+    /**
+     * Marks the cache entry as accessed in the eviction policy, to be called by
+     * {@link #updateCachePolicyAttribute(StreamEvent)} of policies that depend on accesses.
+     *
+     * @param streamEvent entry of the cache
+     */
+    protected void recordAccess(StreamEvent streamEvent) {
+        if (indexEventHolderForCache != null) {
+            indexEventHolderForCache.recordAccess(streamEvent);
+        }
+    }
+
+    public void recordCacheHit() {
+        hitCount.incrementAndGet();
+        if (throughputTrackerHit != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
+            throughputTrackerHit.eventIn();
+        }
+    }
+
+    public void recordCacheMiss() {
+        missCount.incrementAndGet();
+        if (throughputTrackerMiss != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
+            throughputTrackerMiss.eventIn();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
 
     ComplexEvent generateEventWithRequiredFields(ComplexEvent event,
                                                  SiddhiAppContext siddhiAppContext,
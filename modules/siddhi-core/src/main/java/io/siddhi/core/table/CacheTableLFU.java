@@ -20,14 +20,12 @@ package io.siddhi.core.table;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.stream.StreamEvent;
-import io.siddhi.core.table.holder.IndexEventHolder;
+import io.siddhi.core.util.cache.CacheEvictionPolicy;
+import io.siddhi.core.util.cache.FrequencyCacheEvictionPolicy;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.TableDefinition;
 import org.apache.log4j.Logger;
 
-import java.util.Set;
-import java.util.TreeMap;
-
 import static io.siddhi.core.util.SiddhiConstants.CACHE_TABLE_COUNT_LFU;
 import static io.siddhi.core.util.SiddhiConstants.CACHE_TABLE_TIMESTAMP_ADDED;
 
@@ -54,50 +52,8 @@ public class CacheTableLFU extends CacheTable {
     }
 
     @Override
-    public void deleteOneEntryUsingCachePolicy() {
-        IndexEventHolder indexEventHolder = (IndexEventHolder) stateHolder.getState().getEventHolder();
-        Set<Object> keys = indexEventHolder.getAllPrimaryKeyValues();
-        int minCount = Integer.MAX_VALUE;
-        Object keyOfMinCount = null;
-        for (Object key : keys) {
-            Object[] data = indexEventHolder.getEvent(key).getOutputData();
-            int count = (int) data[cachePolicyAttributePosition];
-            if (count < minCount) {
-                minCount = count;
-                keyOfMinCount = key;
-            }
-        }
-        indexEventHolder.deleteEvent(keyOfMinCount);
-    }
-
-    @Override
-    public void deleteEntriesUsingCachePolicy(int numRowsToDelete) {
-        IndexEventHolder indexEventHolder = (IndexEventHolder) stateHolder.getState().getEventHolder();
-        if (numRowsToDelete >= indexEventHolder.size()) {
-            indexEventHolder.deleteAll();
-        } else {
-            Set<Object> keys = indexEventHolder.getAllPrimaryKeyValues();
-            TreeMap<Integer, Object> toDelete = new TreeMap<>();
-            for (Object key : keys) {
-                if (toDelete.size() < numRowsToDelete) {
-                    toDelete.put((Integer) indexEventHolder.getEvent(key).getOutputData()[cachePolicyAttributePosition],
-                            key);
-                } else {
-                    Integer count = (Integer) indexEventHolder.getEvent(key).
-                            getOutputData()[cachePolicyAttributePosition];
-                    Integer firstKey = toDelete.firstKey();
-                    if (count < firstKey) {
-                        toDelete.remove(firstKey);
-                        toDelete.put(count, key);
-                    }
-                }
-            }
-            for (Object deleteKey : toDelete.values()) {
-                if (deleteKey != null) {
-                    indexEventHolder.deleteEvent(deleteKey);
-                }
-            }
-        }
+    protected CacheEvictionPolicy createEvictionPolicy() {
+        return new FrequencyCacheEvictionPolicy(cachePolicyAttributePosition);
     }
 
     @Override
@@ -124,5 +80,6 @@ public class CacheTableLFU extends CacheTable {
     public void updateCachePolicyAttribute(StreamEvent streamEvent) {
         streamEvent.getOutputData()[cachePolicyAttributePosition] =
                 (int) streamEvent.getOutputData()[cachePolicyAttributePosition] + 1;
+        recordAccess(streamEvent);
     }
 }
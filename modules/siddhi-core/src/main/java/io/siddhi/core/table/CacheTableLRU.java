@@ -20,14 +20,12 @@ package io.siddhi.core.table;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.stream.StreamEvent;
-import io.siddhi.core.table.holder.IndexEventHolder;
+import io.siddhi.core.util.cache.CacheEvictionPolicy;
+import io.siddhi.core.util.cache.LinkedCacheEvictionPolicy;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.TableDefinition;
 import org.apache.log4j.Logger;
 
-import java.util.Set;
-import java.util.TreeMap;
-
 import static io.siddhi.core.util.SiddhiConstants.CACHE_TABLE_TIMESTAMP_ADDED;
 import static io.siddhi.core.util.SiddhiConstants.CACHE_TABLE_TIMESTAMP_LRU;
 
@@ -54,50 +52,8 @@ public class CacheTableLRU extends CacheTable {
     }
 
     @Override
-    public void deleteOneEntryUsingCachePolicy() {
-        IndexEventHolder indexEventHolder = (IndexEventHolder) stateHolder.getState().getEventHolder();
-        Set<Object> keys = indexEventHolder.getAllPrimaryKeyValues();
-        long minTimestamp = Long.MAX_VALUE;
-        Object keyOfMinTimestamp = null;
-        for (Object key : keys) {
-            Object[] data = indexEventHolder.getEvent(key).getOutputData();
-            long timestamp = (long) data[cachePolicyAttributePosition];
-            if (timestamp < minTimestamp) {
-                minTimestamp = timestamp;
-                keyOfMinTimestamp = key;
-            }
-        }
-        indexEventHolder.deleteEvent(keyOfMinTimestamp);
-    }
-
-    @Override
-    public void deleteEntriesUsingCachePolicy(int numRowsToDelete) {
-        IndexEventHolder indexEventHolder = (IndexEventHolder) stateHolder.getState().getEventHolder();
-        if (numRowsToDelete >= indexEventHolder.size()) {
-            indexEventHolder.deleteAll();
-        } else {
-            Set<Object> keys = indexEventHolder.getAllPrimaryKeyValues();
-            TreeMap<Long, Object> toDelete = new TreeMap<>();
-            for (Object key : keys) {
-                if (toDelete.size() < numRowsToDelete) {
-                    toDelete.put((Long) indexEventHolder.getEvent(key).getOutputData()[cachePolicyAttributePosition],
-                            key);
-                } else {
-                    Long timestamp = (Long) indexEventHolder.getEvent(key).
-                            getOutputData()[cachePolicyAttributePosition];
-                    Long firstKey = toDelete.firstKey();
-                    if (timestamp < firstKey) {
-                        toDelete.remove(firstKey);
-                        toDelete.put(timestamp, key);
-                    }
-                }
-            }
-            for (Object deleteKey : toDelete.values()) {
-                if (deleteKey != null) {
-                    indexEventHolder.deleteEvent(deleteKey);
-                }
-            }
-        }
+    protected CacheEvictionPolicy createEvictionPolicy() {
+        return new LinkedCacheEvictionPolicy(true, cachePolicyAttributePosition);
     }
 
     @Override
@@ -124,5 +80,6 @@ public class CacheTableLRU extends CacheTable {
     public void updateCachePolicyAttribute(StreamEvent streamEvent) {
         streamEvent.getOutputData()[cachePolicyAttributePosition] =
                 siddhiAppContext.getTimestampGenerator().currentTime();
+        recordAccess(streamEvent);
     }
 }
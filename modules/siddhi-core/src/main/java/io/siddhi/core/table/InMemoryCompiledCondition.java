@@ -19,6 +19,7 @@
 package io.siddhi.core.table;
 
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.util.collection.BloomFilterGuard;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 
 /**
@@ -28,12 +29,20 @@ public class InMemoryCompiledCondition implements CompiledCondition {
     private CompiledCondition operatorCompiledCondition;
     private ExpressionExecutor updateOrInsertExpressionExecutor;
     private int storeEventIndex;
+    private BloomFilterGuard bloomFilterGuard;
 
     public InMemoryCompiledCondition(CompiledCondition operatorCompiledCondition,
                                      ExpressionExecutor updateOrInsertExpressionExecutor, int storeEventIndex) {
+        this(operatorCompiledCondition, updateOrInsertExpressionExecutor, storeEventIndex, null);
+    }
+
+    public InMemoryCompiledCondition(CompiledCondition operatorCompiledCondition,
+                                     ExpressionExecutor updateOrInsertExpressionExecutor, int storeEventIndex,
+                                     BloomFilterGuard bloomFilterGuard) {
         this.operatorCompiledCondition = operatorCompiledCondition;
         this.updateOrInsertExpressionExecutor = updateOrInsertExpressionExecutor;
         this.storeEventIndex = storeEventIndex;
+        this.bloomFilterGuard = bloomFilterGuard;
     }
 
     public CompiledCondition getOperatorCompiledCondition() {
@@ -47,4 +56,8 @@ public class InMemoryCompiledCondition implements CompiledCondition {
     public int getStoreEventIndex() {
         return storeEventIndex;
     }
+
+    public BloomFilterGuard getBloomFilterGuard() {
+        return bloomFilterGuard;
+    }
 }
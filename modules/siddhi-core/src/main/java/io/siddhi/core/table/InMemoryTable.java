@@ -30,8 +30,12 @@ import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.holder.EventHolder;
+import io.siddhi.core.table.holder.IndexedEventHolder;
+import io.siddhi.core.table.holder.ListEventHolder;
 import io.siddhi.core.table.record.RecordTableHandler;
 import io.siddhi.core.util.collection.AddingStreamEventExtractor;
+import io.siddhi.core.util.collection.AttributeBloomFilters;
+import io.siddhi.core.util.collection.BloomFilterGuard;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.core.util.collection.operator.Operator;
@@ -59,6 +63,7 @@ public class InMemoryTable extends Table {
     StreamEventCloner tableStreamEventCloner;
     ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     StateHolder<TableState> stateHolder;
+    Map<String, Integer> bloomFilteredAttributes;
 
     @Override
     public void init(TableDefinition tableDefinition, StreamEventFactory storeEventPool,
@@ -67,6 +72,7 @@ public class InMemoryTable extends Table {
         this.tableDefinition = tableDefinition;
         this.tableStreamEventCloner = storeEventCloner;
         EventHolder eventHolder = EventHolderPasser.parse(tableDefinition, storeEventPool, siddhiAppContext, false);
+        bloomFilteredAttributes = AttributeBloomFilters.parseFilteredAttributes(tableDefinition);
 
         stateHolder = siddhiAppContext.generateStateHolder(tableDefinition.getId(),
                 () -> new TableState(eventHolder));
@@ -83,6 +89,7 @@ public class InMemoryTable extends Table {
         TableState state = stateHolder.getState();
         try {
             state.eventHolder.add(addingEventChunk);
+            state.addToBloomFilters(addingEventChunk);
         } finally {
             stateHolder.returnState(state);
             readWriteLock.writeLock().unlock();
@@ -111,6 +118,9 @@ public class InMemoryTable extends Table {
         try {
             ((Operator) ((InMemoryCompiledCondition) compiledCondition).getOperatorCompiledCondition()).
                     update(updatingEventChunk, state.eventHolder, (InMemoryCompiledUpdateSet) compiledUpdateSet);
+            if (updatesBloomFilteredAttributes((InMemoryCompiledUpdateSet) compiledUpdateSet)) {
+                state.rebuildBloomFilters();
+            }
         } finally {
             stateHolder.returnState(state);
             readWriteLock.writeLock().unlock();
@@ -133,9 +143,14 @@ public class InMemoryTable extends Table {
                                     (InMemoryCompiledUpdateSet) compiledUpdateSet,
                                     addingStreamEventExtractor);
             if (failedEvents != null && failedEvents.getFirst() != null) {
-                state.eventHolder.add(reduceEventsForUpdateOrInsert(
+                ComplexEventChunk<StreamEvent> toInsertEventChunk = reduceEventsForUpdateOrInsert(
                         addingStreamEventExtractor, inMemoryCompiledCondition,
-                        (InMemoryCompiledUpdateSet) compiledUpdateSet, failedEvents));
+                        (InMemoryCompiledUpdateSet) compiledUpdateSet, failedEvents);
+                state.eventHolder.add(toInsertEventChunk);
+                state.addToBloomFilters(toInsertEventChunk);
+            }
+            if (updatesBloomFilteredAttributes((InMemoryCompiledUpdateSet) compiledUpdateSet)) {
+                state.rebuildBloomFilters();
             }
         } finally {
             stateHolder.returnState(state);
@@ -173,11 +188,26 @@ public class InMemoryTable extends Table {
         return toInsertEventChunk;
     }
 
+    boolean updatesBloomFilteredAttributes(InMemoryCompiledUpdateSet compiledUpdateSet) {
+        if (bloomFilteredAttributes == null) {
+            return false;
+        }
+        for (Integer position : bloomFilteredAttributes.values()) {
+            if (compiledUpdateSet.getExpressionExecutorMap().containsKey(position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean contains(StateEvent matchingEvent, CompiledCondition compiledCondition) {
         readWriteLock.readLock().lock();
         TableState state = stateHolder.getState();
         try {
+            if (!state.mightMatch((InMemoryCompiledCondition) compiledCondition, matchingEvent)) {
+                return false;
+            }
             return ((Operator) ((InMemoryCompiledCondition) compiledCondition).getOperatorCompiledCondition()).
                     contains(matchingEvent, state.eventHolder);
         } finally {
@@ -201,6 +231,9 @@ public class InMemoryTable extends Table {
         TableState state = stateHolder.getState();
         readWriteLock.readLock().lock();
         try {
+            if (!state.mightMatch((InMemoryCompiledCondition) compiledCondition, matchingEvent)) {
+                return null;
+            }
             return ((Operator) ((InMemoryCompiledCondition) compiledCondition).getOperatorCompiledCondition()).
                     find(matchingEvent, state.eventHolder, tableStreamEventCloner);
         } finally {
@@ -221,7 +254,9 @@ public class InMemoryTable extends Table {
                             matchingMetaInfoHolder.getCurrentState(), tableMap, variableExpressionExecutors,
                             false, 0, ProcessingMode.BATCH,
                             false, siddhiQueryContext),
-                    matchingMetaInfoHolder.getStoreEventIndex()
+                    matchingMetaInfoHolder.getStoreEventIndex(),
+                    BloomFilterGuard.parse(condition, bloomFilteredAttributes, matchingMetaInfoHolder,
+                            variableExpressionExecutors, tableMap, siddhiQueryContext)
             );
         } finally {
             stateHolder.returnState(state);
@@ -264,15 +299,60 @@ public class InMemoryTable extends Table {
      */
     public class TableState extends State {
         private final EventHolder eventHolder;
+        private AttributeBloomFilters bloomFilters;
 
         public TableState(EventHolder eventHolder) {
             this.eventHolder = eventHolder;
+            if (bloomFilteredAttributes != null) {
+                this.bloomFilters = new AttributeBloomFilters(bloomFilteredAttributes, 0);
+            }
         }
 
         public EventHolder getEventHolder() {
             return eventHolder;
         }
 
+        void addToBloomFilters(ComplexEventChunk<StreamEvent> addedEventChunk) {
+            if (bloomFilters == null) {
+                return;
+            }
+            addedEventChunk.reset();
+            while (addedEventChunk.hasNext()) {
+                bloomFilters.add(addedEventChunk.next().getOutputData());
+            }
+            if (bloomFilters.isSaturated()) {
+                rebuildBloomFilters();
+            }
+        }
+
+        /**
+         * Rebuilds the filters from the events of the table, sized for twice the number of events, dropping the
+         * values of the deleted and updated events.
+         */
+        void rebuildBloomFilters() {
+            if (bloomFilteredAttributes == null) {
+                return;
+            }
+            AttributeBloomFilters rebuiltBloomFilters = new AttributeBloomFilters(bloomFilteredAttributes,
+                    eventHolder.size() * 2);
+            if (eventHolder instanceof IndexedEventHolder) {
+                for (StreamEvent streamEvent : ((IndexedEventHolder) eventHolder).getAllEvents()) {
+                    rebuiltBloomFilters.add(streamEvent.getOutputData());
+                }
+            } else if (eventHolder instanceof ListEventHolder) {
+                for (StreamEvent streamEvent = ((ListEventHolder) eventHolder).getFirst(); streamEvent != null;
+                     streamEvent = streamEvent.getNext()) {
+                    rebuiltBloomFilters.add(streamEvent.getOutputData());
+                }
+            }
+            bloomFilters = rebuiltBloomFilters;
+        }
+
+        boolean mightMatch(InMemoryCompiledCondition compiledCondition, StateEvent matchingEvent) {
+            return bloomFilters == null || compiledCondition.getBloomFilterGuard() == null ||
+                    compiledCondition.getBloomFilterGuard().mightMatch(matchingEvent, bloomFilters);
+        }
+
         @Override
         public boolean canDestroy() {
             return false;
@@ -288,6 +368,8 @@ public class InMemoryTable extends Table {
         @Override
         public void restore(Map<String, Object> state) {
             eventHolder.restore((SnapshotStateList) state.get("EventHolder"));
+            // Bloom filters are derived from the table events, hence they are rebuilt rather than persisted
+            rebuildBloomFilters();
         }
     }
 }
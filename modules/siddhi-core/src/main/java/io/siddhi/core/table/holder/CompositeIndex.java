@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.table.holder;
+
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Ordered index over an ordered list of table attributes. Events are kept sorted by the typed tuple of their attribute
+ * values, such that an equality match on a leading prefix of the attributes, optionally followed by a range on the
+ * next attribute, can be answered with a single sub map lookup.
+ */
+public class CompositeIndex implements Serializable {
+
+    private static final long serialVersionUID = -2528386376011398911L;
+    private final String[] attributes;
+    private final int[] positions;
+    private final Attribute.Type[] types;
+    private final TreeMap<Key, Set<StreamEvent>> indexData = new TreeMap<>();
+
+    public CompositeIndex(String[] attributes, AbstractDefinition tableDefinition) {
+        this.attributes = attributes;
+        this.positions = new int[attributes.length];
+        this.types = new Attribute.Type[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            positions[i] = tableDefinition.getAttributePosition(attributes[i]);
+            types[i] = tableDefinition.getAttributeType(attributes[i]);
+            if (types[i] == Attribute.Type.OBJECT) {
+                throw new SiddhiAppValidationException("Attribute '" + attributes[i] + "' of type '" + types[i] +
+                        "' cannot be part of a composite index, at '" + tableDefinition.getId() + "'");
+            }
+        }
+    }
+
+    public String[] getAttributes() {
+        return attributes;
+    }
+
+    public boolean containsPosition(int position) {
+        for (int aPosition : positions) {
+            if (aPosition == position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of distinct attribute value tuples in the index.
+     *
+     * @return number of distinct keys
+     */
+    public int size() {
+        return indexData.size();
+    }
+
+    public void add(StreamEvent streamEvent) {
+        Key key = createKey(streamEvent);
+        Set<StreamEvent> values = indexData.get(key);
+        if (values == null) {
+            values = new HashSet<StreamEvent>();
+            indexData.put(key, values);
+        }
+        values.add(streamEvent);
+    }
+
+    public void remove(StreamEvent streamEvent) {
+        Key key = createKey(streamEvent);
+        Set<StreamEvent> values = indexData.get(key);
+        if (values != null) {
+            values.remove(streamEvent);
+            if (values.size() == 0) {
+                indexData.remove(key);
+            }
+        }
+    }
+
+    public void clear() {
+        indexData.clear();
+    }
+
+    public Collection<StreamEvent> getAllEvents() {
+        HashSet<StreamEvent> resultEventSet = new HashSet<StreamEvent>();
+        for (Set<StreamEvent> eventSet : indexData.values()) {
+            resultEventSet.addAll(eventSet);
+        }
+        return resultEventSet;
+    }
+
+    /**
+     * Find the events matching the given prefix values, where the attribute following the prefix is optionally
+     * bounded by a lower and an upper bound.
+     *
+     * @param prefixValues  values of the leading attributes to be matched with equality
+     * @param lowerOperator {@link Compare.Operator#GREATER_THAN}, {@link Compare.Operator#GREATER_THAN_EQUAL} or
+     *                      null when there is no lower bound
+     * @param lowerValue    lower bound of the attribute following the prefix
+     * @param upperOperator {@link Compare.Operator#LESS_THAN}, {@link Compare.Operator#LESS_THAN_EQUAL} or null
+     *                      when there is no upper bound
+     * @param upperValue    upper bound of the attribute following the prefix
+     * @return matching events
+     */
+    public Collection<StreamEvent> find(Object[] prefixValues, Compare.Operator lowerOperator, Object lowerValue,
+                                        Compare.Operator upperOperator, Object upperValue) {
+        HashSet<StreamEvent> resultEventSet = new HashSet<StreamEvent>();
+        int prefixLength = prefixValues.length;
+        Object[] lowerValues = new Object[lowerOperator != null ? prefixLength + 1 : prefixLength];
+        Object[] upperValues = new Object[upperOperator != null ? prefixLength + 1 : prefixLength];
+        for (int i = 0; i < prefixLength; i++) {
+            Object value = coerce(prefixValues[i], types[i]);
+            if (value == null || (isIntegral(types[i]) && isFractional(prefixValues[i]))) {
+                return resultEventSet;
+            }
+            lowerValues[i] = value;
+            upperValues[i] = value;
+        }
+        int lowerBound = Key.LOWEST;
+        int upperBound = Key.HIGHEST;
+        if (lowerOperator != null) {
+            if (lowerValue == null) {
+                return resultEventSet;
+            }
+            boolean inclusive = lowerOperator == Compare.Operator.GREATER_THAN_EQUAL;
+            if (isIntegral(types[prefixLength]) && isFractional(lowerValue)) {
+                lowerValue = Math.ceil(((Number) lowerValue).doubleValue());
+                inclusive = true;
+            }
+            lowerValues[prefixLength] = coerce(lowerValue, types[prefixLength]);
+            lowerBound = inclusive ? Key.LOWEST : Key.HIGHEST;
+        }
+        if (upperOperator != null) {
+            if (upperValue == null) {
+                return resultEventSet;
+            }
+            boolean inclusive = upperOperator == Compare.Operator.LESS_THAN_EQUAL;
+            if (isIntegral(types[prefixLength]) && isFractional(upperValue)) {
+                upperValue = Math.floor(((Number) upperValue).doubleValue());
+                inclusive = true;
+            }
+            upperValues[prefixLength] = coerce(upperValue, types[prefixLength]);
+            upperBound = inclusive ? Key.HIGHEST : Key.LOWEST;
+        }
+        Key lowerKey = new Key(lowerValues, lowerBound);
+        Key upperKey = new Key(upperValues, upperBound);
+        if (lowerKey.compareTo(upperKey) > 0) {
+            return resultEventSet;
+        }
+        for (Set<StreamEvent> eventSet : indexData.subMap(lowerKey, true, upperKey, true).values()) {
+            resultEventSet.addAll(eventSet);
+        }
+        return resultEventSet;
+    }
+
+    private Key createKey(StreamEvent streamEvent) {
+        Object[] outputData = streamEvent.getOutputData();
+        Object[] values = new Object[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            values[i] = outputData[positions[i]];
+        }
+        return new Key(values, Key.EXACT);
+    }
+
+    private static boolean isIntegral(Attribute.Type type) {
+        return type == Attribute.Type.INT || type == Attribute.Type.LONG;
+    }
+
+    private static boolean isFractional(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            return doubleValue != Math.floor(doubleValue);
+        }
+        return false;
+    }
+
+    /**
+     * Converts numeric values to the type of the indexed attribute such that they can be compared with the stored
+     * values.
+     */
+    private static Object coerce(Object value, Attribute.Type type) {
+        if (!(value instanceof Number)) {
+            return value;
+        }
+        Number number = (Number) value;
+        switch (type) {
+            case INT:
+                return number.intValue();
+            case LONG:
+                return number.longValue();
+            case FLOAT:
+                return number.floatValue();
+            case DOUBLE:
+                return number.doubleValue();
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Tuple of attribute values compared element by element, where null values are ordered first. A key with fewer
+     * values than the index is a bound, which is ordered either before or after all the keys sharing its values.
+     */
+    static final class Key implements Comparable<Key>, Serializable {
+
+        static final int LOWEST = -1;
+        static final int EXACT = 0;
+        static final int HIGHEST = 1;
+        private static final long serialVersionUID = 7715826330404420652L;
+        private final Object[] values;
+        private final int bound;
+
+        Key(Object[] values, int bound) {
+            this.values = values;
+            this.bound = bound;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int length = Math.min(values.length, other.values.length);
+            for (int i = 0; i < length; i++) {
+                int result = compareValues(values[i], other.values[i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            if (values.length == other.values.length) {
+                return Integer.compare(bound, other.bound);
+            } else if (values.length < other.values.length) {
+                return bound == EXACT ? -1 : bound;
+            } else {
+                return other.bound == EXACT ? 1 : -other.bound;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static int compareValues(Object value, Object otherValue) {
+            if (value == otherValue) {
+                return 0;
+            } else if (value == null) {
+                return -1;
+            } else if (otherValue == null) {
+                return 1;
+            }
+            return ((Comparable<Object>) value).compareTo(otherValue);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return bound == key.bound && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(values) + bound;
+        }
+    }
+}
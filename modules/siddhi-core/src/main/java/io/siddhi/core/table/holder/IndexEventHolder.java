@@ -38,6 +38,7 @@ import org.apache.log4j.Logger;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -64,6 +65,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     private static final float FULL_SNAPSHOT_THRESHOLD = 2.1f;
     protected final Map<Object, StreamEvent> primaryKeyData;
     protected final Map<String, TreeMap<Object, Set<StreamEvent>>> indexData;
+    protected final Map<String, CompositeIndex> compositeIndexData;
     private final PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders;
     private final String tableName;
     private final String siddhiAppName;
@@ -76,6 +78,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     private Map<String, Integer> allIndexMetaData = new HashMap<>();
     private ArrayList<Operation> operationChangeLog = new ArrayList<>();
     private long eventsCount;
+    private long indexedEventsCount;
     private boolean forceFullSnapshot = true;
     private boolean isOperationLogEnabled = true;
 
@@ -83,6 +86,15 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                             PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders,
                             boolean isPrimaryNumeric, Map<String, Integer> indexMetaData,
                             AbstractDefinition tableDefinition, SiddhiAppContext siddhiAppContext) {
+        this(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders, isPrimaryNumeric, indexMetaData,
+                Collections.emptyMap(), tableDefinition, siddhiAppContext);
+    }
+
+    public IndexEventHolder(StreamEventFactory tableStreamEventFactory, StreamEventConverter eventConverter,
+                            PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders,
+                            boolean isPrimaryNumeric, Map<String, Integer> indexMetaData,
+                            Map<String, String[]> compositeIndexMetaData,
+                            AbstractDefinition tableDefinition, SiddhiAppContext siddhiAppContext) {
         this.tableStreamEventFactory = tableStreamEventFactory;
         this.eventConverter = eventConverter;
         this.primaryKeyReferenceHolders = primaryKeyReferenceHolders;
@@ -123,7 +135,20 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         } else {
             indexData = null;
         }
+        if (compositeIndexMetaData.size() > 0) {
+            compositeIndexData = new HashMap<String, CompositeIndex>();
+            for (Map.Entry<String, String[]> compositeIndexEntry : compositeIndexMetaData.entrySet()) {
+                compositeIndexData.put(compositeIndexEntry.getKey(),
+                        new CompositeIndex(compositeIndexEntry.getValue(), tableDefinition));
+            }
+        } else {
+            compositeIndexData = null;
+        }
+    }
 
+    void disableOperationLog() {
+        isOperationLogEnabled = false;
+        operationChangeLog.clear();
     }
 
     public void replace(Object key, StreamEvent streamEvent) {
@@ -156,7 +181,17 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
 
     @Override
     public boolean isAttributeIndexed(int position) {
-        return allIndexMetaData.containsValue(position);
+        if (allIndexMetaData.containsValue(position)) {
+            return true;
+        }
+        if (compositeIndexData != null) {
+            for (CompositeIndex compositeIndex : compositeIndexData.values()) {
+                if (compositeIndex.containsPosition(position)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     @Override
@@ -181,9 +216,11 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         }
     }
 
-    private void add(StreamEvent streamEvent) {
+    void add(StreamEvent streamEvent) {
         StreamEvent existingValue = null;
-        if (primaryKeyData != null) {
+        if (primaryKeyData == null) {
+            indexedEventsCount++;
+        } else {
             Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
             existingValue = primaryKeyData.putIfAbsent(primaryKey, streamEvent);
             if (existingValue != null) {
@@ -211,11 +248,15 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 }
             }
         }
-
+        if (compositeIndexData != null) {
+            for (CompositeIndex compositeIndex : compositeIndexData.values()) {
+                compositeIndex.add(streamEvent);
+            }
+        }
     }
 
-    private Object constructPrimaryKey(StreamEvent streamEvent,
-                                       PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders) {
+    protected Object constructPrimaryKey(StreamEvent streamEvent,
+                                         PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders) {
         if (primaryKeyReferenceHolders.length == 1) {
             return streamEvent.getOutputData()[primaryKeyReferenceHolders[0].getPrimaryKeyPosition()];
         } else {
@@ -245,7 +286,9 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             }
         }
         StreamEvent deletedEvent = null;
-        if (primaryKeyData != null) {
+        if (primaryKeyData == null) {
+            indexedEventsCount++;
+        } else {
             Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
             deletedEvent = primaryKeyData.put(primaryKey, streamEvent);
             if (deletedEvent != null) {
@@ -274,6 +317,14 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 }
             }
         }
+        if (compositeIndexData != null) {
+            for (CompositeIndex compositeIndex : compositeIndexData.values()) {
+                if (deletedEvent != null) {
+                    compositeIndex.remove(deletedEvent);
+                }
+                compositeIndex.add(streamEvent);
+            }
+        }
     }
 
     @Override
@@ -290,6 +341,8 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 }
             }
             return resultEventSet;
+        } else if (compositeIndexData != null) {
+            return compositeIndexData.values().iterator().next().getAllEvents();
         } else {
             return new HashSet<StreamEvent>();
         }
@@ -391,6 +444,79 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 .getName());
     }
 
+    @Override
+    public Collection<StreamEvent> findEventsInRange(String attribute, Compare.Operator lowerOperator,
+                                                     Object lowerValue, Compare.Operator upperOperator,
+                                                     Object upperValue) {
+        HashSet<StreamEvent> resultEventSet = new HashSet<StreamEvent>();
+        if (((Comparable) lowerValue).compareTo(upperValue) > 0) {
+            return resultEventSet;
+        }
+        boolean lowerInclusive = lowerOperator == Compare.Operator.GREATER_THAN_EQUAL;
+        boolean upperInclusive = upperOperator == Compare.Operator.LESS_THAN_EQUAL;
+        if (primaryKeyData != null && attribute.equals(primaryKeyAttributes)) {
+            if (primaryKeyData instanceof TreeMap) {
+                resultEventSet.addAll(((TreeMap<Object, StreamEvent>) primaryKeyData).subMap(lowerValue,
+                        lowerInclusive, upperValue, upperInclusive).values());
+            } else {
+                // Non numeric primary keys are hashed, hence their range is found by scanning all the keys
+                for (Map.Entry<Object, StreamEvent> entry : primaryKeyData.entrySet()) {
+                    int lowerComparison = ((Comparable) entry.getKey()).compareTo(lowerValue);
+                    int upperComparison = ((Comparable) entry.getKey()).compareTo(upperValue);
+                    if ((lowerInclusive ? lowerComparison >= 0 : lowerComparison > 0) &&
+                            (upperInclusive ? upperComparison <= 0 : upperComparison < 0)) {
+                        resultEventSet.add(entry.getValue());
+                    }
+                }
+            }
+        } else {
+            for (Set<StreamEvent> eventSet : indexData.get(attribute).subMap(lowerValue, lowerInclusive,
+                    upperValue, upperInclusive).values()) {
+                resultEventSet.addAll(eventSet);
+            }
+        }
+        return resultEventSet;
+    }
+
+    @Override
+    public Map<String, String[]> getCompositeIndexes() {
+        Map<String, String[]> compositeIndexes = new HashMap<String, String[]>();
+        if (compositeIndexData != null) {
+            for (Map.Entry<String, CompositeIndex> compositeIndexEntry : compositeIndexData.entrySet()) {
+                compositeIndexes.put(compositeIndexEntry.getKey(), compositeIndexEntry.getValue().getAttributes());
+            }
+        }
+        return compositeIndexes;
+    }
+
+    @Override
+    public Collection<StreamEvent> findEventsInCompositeIndex(String compositeIndex, Object[] prefixValues,
+                                                              Compare.Operator lowerOperator, Object lowerValue,
+                                                              Compare.Operator upperOperator, Object upperValue) {
+        return compositeIndexData.get(compositeIndex).find(prefixValues, lowerOperator, lowerValue,
+                upperOperator, upperValue);
+    }
+
+    @Override
+    public long getDistinctValueCount(String attribute) {
+        if (primaryKeyData != null && attribute.equals(primaryKeyAttributes)) {
+            return primaryKeyData.size();
+        }
+        if (indexData != null) {
+            TreeMap<Object, Set<StreamEvent>> currentIndexedData = indexData.get(attribute);
+            if (currentIndexedData != null) {
+                return currentIndexedData.size();
+            }
+        }
+        if (compositeIndexData != null) {
+            CompositeIndex compositeIndex = compositeIndexData.get(attribute);
+            if (compositeIndex != null) {
+                return compositeIndex.size();
+            }
+        }
+        return -1;
+    }
+
     @Override
     public void deleteAll() {
         if (isOperationLogEnabled) {
@@ -404,11 +530,17 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         if (primaryKeyData != null) {
             primaryKeyData.clear();
         }
+        indexedEventsCount = 0;
         if (indexData != null) {
             for (TreeMap<Object, Set<StreamEvent>> aIndexedData : indexData.values()) {
                 aIndexedData.clear();
             }
         }
+        if (compositeIndexData != null) {
+            for (CompositeIndex compositeIndex : compositeIndexData.values()) {
+                compositeIndex.clear();
+            }
+        }
     }
 
     @Override
@@ -433,10 +565,11 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         if (primaryKeyData != null) {
             Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
             StreamEvent deletedEvent = primaryKeyData.remove(primaryKey);
-            if (indexData != null) {
+            if (deletedEvent != null && (indexData != null || compositeIndexData != null)) {
                 deleteFromIndexes(deletedEvent);
             }
-        } else if (indexData != null) {
+        } else if (indexData != null || compositeIndexData != null) {
+            indexedEventsCount = Math.max(0, indexedEventsCount - 1);
             deleteFromIndexes(streamEvent);
         }
     }
@@ -579,7 +712,8 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 case EQUAL:
                     return primaryKeyData.get(value) != null;
                 case NOT_EQUAL:
-                    return primaryKeyData.size() > 1;
+                    return primaryKeyData.size() > 1 ||
+                            (primaryKeyData.size() == 1 && primaryKeyData.get(value) == null);
             }
         } else {
             TreeMap<Object, Set<StreamEvent>> currentIndexedData = indexData.get(attribute);
@@ -597,7 +731,8 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 case EQUAL:
                     return currentIndexedData.get(value) != null;
                 case NOT_EQUAL:
-                    return currentIndexedData.size() > 1;
+                    return currentIndexedData.size() > 1 ||
+                            (currentIndexedData.size() == 1 && !currentIndexedData.containsKey(value));
             }
         }
         throw new OperationNotSupportedException(operator + " not supported for '" + value + "' by " + getClass()
@@ -605,6 +740,9 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     }
 
     private void deleteFromIndexesAndPrimaryKey(String currentAttribute, Set<StreamEvent> deletedEventSet) {
+        if (primaryKeyData == null) {
+            indexedEventsCount = Math.max(0, indexedEventsCount - deletedEventSet.size());
+        }
         for (StreamEvent deletedEvent : deletedEventSet) {
             if (primaryKeyData != null) {
                 Object primaryKey = constructPrimaryKey(deletedEvent, primaryKeyReferenceHolders);
@@ -623,6 +761,11 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                     }
                 }
             }
+            if (compositeIndexData != null) {
+                for (CompositeIndex compositeIndex : compositeIndexData.values()) {
+                    compositeIndex.remove(deletedEvent);
+                }
+            }
         }
     }
 
@@ -640,6 +783,11 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 }
             }
         }
+        if (compositeIndexData != null) {
+            for (CompositeIndex compositeIndex : compositeIndexData.values()) {
+                compositeIndex.remove(toDeleteEvent);
+            }
+        }
     }
 
     private boolean isFullSnapshot() {
@@ -676,6 +824,11 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                     indexData.clear();
                     indexData.putAll(snapshotEventHolder.indexData);
                 }
+                if (compositeIndexData != null) {
+                    compositeIndexData.clear();
+                    compositeIndexData.putAll(snapshotEventHolder.compositeIndexData);
+                }
+                indexedEventsCount = snapshotEventHolder.indexedEventsCount;
                 forceFullSnapshot = false;
             } else {
                 ArrayList<Operation> operations = (ArrayList<Operation>) snapshotEntry.getValue().getState();
@@ -708,6 +861,10 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
 
     @Override
     public int size() {
-        return primaryKeyData.size();
+        if (primaryKeyData != null) {
+            return primaryKeyData.size();
+        } else {
+            return (int) indexedEventsCount;
+        }
     }
 }
@@ -23,25 +23,49 @@ import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.event.stream.converter.StreamEventConverter;
 import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.table.CacheTable;
+import io.siddhi.core.util.cache.CacheEvictionPolicy;
+import io.siddhi.core.util.snapshot.state.SnapshotStateList;
 import io.siddhi.query.api.definition.AbstractDefinition;
 import io.siddhi.query.api.expression.condition.Compare;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Exgtension of IndexEventHolder that implements hook handleCachePolicyAttributeUpdate for cache usage
+ * Exgtension of IndexEventHolder that implements hook handleCachePolicyAttributeUpdate for cache usage. It also keeps
+ * the primary keys in a {@link CacheEvictionPolicy} alongside the indexes, so entries can be evicted without
+ * scanning the table.
+ * <p>
+ * Cache hits are recorded while only the table read lock is held, so they are not applied to the eviction policy
+ * directly. They are queued in a lock free access buffer, and drained into the policy under the eviction lock by
+ * the next writer, or by a reader once enough accesses are pending. When the buffer is full further accesses are
+ * dropped, which only affects the precision of the eviction order.
  */
 public class IndexEventHolderForCache extends IndexEventHolder implements IndexedEventHolder {
+    private static final int ACCESS_BUFFER_DRAIN_THRESHOLD = 64;
+    private static final int ACCESS_BUFFER_MAX_SIZE = 16 * 1024;
     private CacheTable cacheTable;
+    private transient CacheEvictionPolicy evictionPolicy;
+    private final Queue<Object> accessBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedAccesses = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
 
     public IndexEventHolderForCache(StreamEventFactory tableStreamEventFactory, StreamEventConverter eventConverter,
                                     PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders, boolean isPrimaryNumeric,
-                                    Map<String, Integer> indexMetaData, AbstractDefinition tableDefinition,
-                                    SiddhiAppContext siddhiAppContext) {
+                                    Map<String, Integer> indexMetaData, Map<String, String[]> compositeIndexMetaData,
+                                    AbstractDefinition tableDefinition, SiddhiAppContext siddhiAppContext) {
         super(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders, isPrimaryNumeric, indexMetaData,
-                tableDefinition, siddhiAppContext);
+                compositeIndexMetaData, tableDefinition, siddhiAppContext);
     }
 
     @Override
@@ -53,6 +77,200 @@ public class IndexEventHolderForCache extends IndexEventHolder implements Indexe
         this.cacheTable = cacheTable;
     }
 
+    public void setEvictionPolicy(CacheEvictionPolicy evictionPolicy) {
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * Marks the entry as accessed in the eviction policy.
+     *
+     * @param streamEvent entry of the cache
+     */
+    public void recordAccess(StreamEvent streamEvent) {
+        if (!isEvictionTracked() || bufferedAccesses.get() >= ACCESS_BUFFER_MAX_SIZE) {
+            return;
+        }
+        accessBuffer.offer(constructPrimaryKey(streamEvent, getPrimaryKeyReferenceHolders()));
+        if (bufferedAccesses.incrementAndGet() >= ACCESS_BUFFER_DRAIN_THRESHOLD && evictionLock.tryLock()) {
+            try {
+                drainAccessBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Applies the buffered accesses to the eviction policy. Must be called holding the eviction lock.
+     */
+    private void drainAccessBuffer() {
+        Object key;
+        while ((key = accessBuffer.poll()) != null) {
+            bufferedAccesses.decrementAndGet();
+            evictionPolicy.onAccess(key);
+        }
+    }
+
+    private void lockEvictionPolicy() {
+        evictionLock.lock();
+        drainAccessBuffer();
+    }
+
+    /**
+     * Evicts entries in the order given by the eviction policy.
+     *
+     * @param numEntries number of entries to evict
+     * @return number of entries evicted
+     */
+    public int evict(int numEntries) {
+        int evicted = 0;
+        if (isEvictionTracked()) {
+            lockEvictionPolicy();
+            try {
+                while (evicted < numEntries) {
+                    Object key = evictionPolicy.pollEvictionCandidate();
+                    if (key == null) {
+                        break;
+                    }
+                    StreamEvent streamEvent = primaryKeyData.get(key);
+                    // keys of entries deleted by condition are dropped lazily
+                    if (streamEvent != null) {
+                        super.deleteAll(Collections.singletonList(streamEvent));
+                        evicted++;
+                    }
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        } else {
+            List<StreamEvent> evictingEvents = new ArrayList<>(numEntries);
+            Iterator<StreamEvent> iterator = getAllEvents().iterator();
+            while (evictingEvents.size() < numEntries && iterator.hasNext()) {
+                evictingEvents.add(iterator.next());
+            }
+            super.deleteAll(evictingEvents);
+            evicted = evictingEvents.size();
+        }
+        return evicted;
+    }
+
+    /**
+     * Deletes the entry having the same primary key as the given event.
+     *
+     * @param streamEvent event holding the primary key of the entry
+     */
+    public void deleteByPrimaryKey(StreamEvent streamEvent) {
+        if (primaryKeyData == null) {
+            return;
+        }
+        StreamEvent storedEvent = primaryKeyData.get(constructPrimaryKey(streamEvent, getPrimaryKeyReferenceHolders()));
+        if (storedEvent != null) {
+            deleteAll(Collections.singletonList(storedEvent));
+        }
+    }
+
+    @Override
+    void add(StreamEvent streamEvent) {
+        super.add(streamEvent);
+        if (isEvictionTracked()) {
+            Object key = constructPrimaryKey(streamEvent, getPrimaryKeyReferenceHolders());
+            if (primaryKeyData.get(key) == streamEvent) {
+                lockEvictionPolicy();
+                try {
+                    evictionPolicy.onAdd(key);
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void overwrite(StreamEvent streamEvent) {
+        super.overwrite(streamEvent);
+        if (isEvictionTracked()) {
+            lockEvictionPolicy();
+            try {
+                evictionPolicy.onAdd(constructPrimaryKey(streamEvent, getPrimaryKeyReferenceHolders()));
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void deleteEvent(Object key) {
+        super.deleteEvent(key);
+        if (isEvictionTracked()) {
+            lockEvictionPolicy();
+            try {
+                evictionPolicy.onRemove(key);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        super.deleteAll();
+        if (evictionPolicy != null) {
+            lockEvictionPolicy();
+            try {
+                evictionPolicy.clear();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<StreamEvent> storeEventSet) {
+        super.deleteAll(storeEventSet);
+        if (isEvictionTracked()) {
+            lockEvictionPolicy();
+            try {
+                for (StreamEvent streamEvent : storeEventSet) {
+                    evictionPolicy.onRemove(constructPrimaryKey(streamEvent, getPrimaryKeyReferenceHolders()));
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void delete(String attribute, Compare.Operator operator, Object value) {
+        super.delete(attribute, operator, value);
+        if (isEvictionTracked()) {
+            lockEvictionPolicy();
+            try {
+                if (evictionPolicy.size() > 2 * primaryKeyData.size() + 16) {
+                    evictionPolicy.retainAll(primaryKeyData);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void restore(SnapshotStateList snapshotStatelist) {
+        super.restore(snapshotStatelist);
+        if (isEvictionTracked()) {
+            lockEvictionPolicy();
+            try {
+                evictionPolicy.rebuild(primaryKeyData);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private boolean isEvictionTracked() {
+        return evictionPolicy != null && primaryKeyData != null;
+    }
+
     @Override
     public boolean containsEventSet(String attribute, Compare.Operator operator, Object value) {
         if (primaryKeyData != null && attribute.equals(primaryKeyAttributes)) {
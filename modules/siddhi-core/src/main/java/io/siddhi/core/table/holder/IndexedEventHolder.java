@@ -22,6 +22,7 @@ import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.query.api.expression.condition.Compare;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -37,6 +38,53 @@ public interface IndexedEventHolder extends EventHolder {
 
     Collection<StreamEvent> findEvents(String attribute, Compare.Operator operator, Object value);
 
+    /**
+     * Find the events whose attribute value falls within the given bounds.
+     *
+     * @param attribute      indexed attribute name
+     * @param lowerOperator  {@link Compare.Operator#GREATER_THAN} or {@link Compare.Operator#GREATER_THAN_EQUAL}
+     * @param lowerValue     lower bound of the range
+     * @param upperOperator  {@link Compare.Operator#LESS_THAN} or {@link Compare.Operator#LESS_THAN_EQUAL}
+     * @param upperValue     upper bound of the range
+     * @return events within the range
+     */
+    Collection<StreamEvent> findEventsInRange(String attribute, Compare.Operator lowerOperator, Object lowerValue,
+                                              Compare.Operator upperOperator, Object upperValue);
+
+    /**
+     * Get the composite indexes of the holder.
+     *
+     * @return attributes of each composite index, keyed by the name of the composite index
+     */
+    Map<String, String[]> getCompositeIndexes();
+
+    /**
+     * Find the events of a composite index whose leading attributes are equal to the given prefix values, and whose
+     * attribute following the prefix falls within the given bounds.
+     *
+     * @param compositeIndex name of the composite index
+     * @param prefixValues   values of the leading attributes of the composite index
+     * @param lowerOperator  {@link Compare.Operator#GREATER_THAN}, {@link Compare.Operator#GREATER_THAN_EQUAL} or
+     *                       null when there is no lower bound
+     * @param lowerValue     lower bound of the attribute following the prefix
+     * @param upperOperator  {@link Compare.Operator#LESS_THAN}, {@link Compare.Operator#LESS_THAN_EQUAL} or null
+     *                       when there is no upper bound
+     * @param upperValue     upper bound of the attribute following the prefix
+     * @return matching events
+     */
+    Collection<StreamEvent> findEventsInCompositeIndex(String compositeIndex, Object[] prefixValues,
+                                                       Compare.Operator lowerOperator, Object lowerValue,
+                                                       Compare.Operator upperOperator, Object upperValue);
+
+    /**
+     * Get the number of distinct values of a primary key, an indexed attribute or a composite index, which is used
+     * together with {@link #size()} to estimate the cost of a condition.
+     *
+     * @param attribute primary key or indexed attribute name, or name of the composite index
+     * @return number of distinct values, or -1 if the values are not indexed
+     */
+    long getDistinctValueCount(String attribute);
+
     void deleteAll();
 
     void deleteAll(Collection<StreamEvent> storeEventSet);
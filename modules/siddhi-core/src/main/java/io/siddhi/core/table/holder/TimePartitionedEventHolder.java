@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.table.holder;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.stream.Operation;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.event.stream.converter.StreamEventConverter;
+import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.util.snapshot.SnapshotRequest;
+import io.siddhi.core.util.snapshot.state.Snapshot;
+import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static io.siddhi.core.event.stream.Operation.Operator.ADD;
+import static io.siddhi.core.event.stream.Operation.Operator.CLEAR;
+import static io.siddhi.core.event.stream.Operation.Operator.DELETE_BY_OPERATOR;
+import static io.siddhi.core.event.stream.Operation.Operator.OVERWRITE;
+import static io.siddhi.core.event.stream.Operation.Operator.REMOVE;
+
+/**
+ * EventHolder implementation which partitions the events by a long time attribute into fixed size time segments,
+ * each backed by an {@link IndexEventHolder}. Conditions on the time attribute only visit the segments overlapping
+ * the requested range, and deleting events older (or newer) than a given time drops whole segments instead of
+ * removing the events one by one.
+ */
+public class TimePartitionedEventHolder implements IndexedEventHolder, Serializable {
+
+    private static final long serialVersionUID = -4370255227447406733L;
+    private static final float FULL_SNAPSHOT_THRESHOLD = 2.1f;
+    private final TreeMap<Long, IndexEventHolder> segments = new TreeMap<>();
+    private final String timeAttribute;
+    private final int timeAttributePosition;
+    private final long segmentSize;
+    private final PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders;
+    private final Map<String, Integer> indexMetaData;
+    private final Map<String, String[]> compositeIndexMetaData;
+    private final Map<String, Integer> multiPrimaryKeyMetaData = new HashMap<>();
+    private final AbstractDefinition tableDefinition;
+    private final transient SiddhiAppContext siddhiAppContext;
+    private StreamEventFactory tableStreamEventFactory;
+    private StreamEventConverter eventConverter;
+    private ArrayList<Operation> operationChangeLog = new ArrayList<>();
+    private long eventsCount;
+    private boolean forceFullSnapshot = true;
+    private boolean isOperationLogEnabled = true;
+
+    public TimePartitionedEventHolder(StreamEventFactory tableStreamEventFactory, StreamEventConverter eventConverter,
+                                      PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders,
+                                      Map<String, Integer> indexMetaData,
+                                      Map<String, String[]> compositeIndexMetaData, String timeAttribute,
+                                      long segmentSize, AbstractDefinition tableDefinition,
+                                      SiddhiAppContext siddhiAppContext) {
+        this.tableStreamEventFactory = tableStreamEventFactory;
+        this.eventConverter = eventConverter;
+        this.primaryKeyReferenceHolders = primaryKeyReferenceHolders;
+        this.timeAttribute = timeAttribute;
+        this.timeAttributePosition = tableDefinition.getAttributePosition(timeAttribute);
+        this.segmentSize = segmentSize;
+        this.tableDefinition = tableDefinition;
+        this.siddhiAppContext = siddhiAppContext;
+        this.indexMetaData = new HashMap<>(indexMetaData);
+        this.indexMetaData.put(timeAttribute, timeAttributePosition);
+        this.compositeIndexMetaData = compositeIndexMetaData;
+        if (primaryKeyReferenceHolders.length > 1) {
+            for (PrimaryKeyReferenceHolder primaryKeyReferenceHolder : primaryKeyReferenceHolders) {
+                multiPrimaryKeyMetaData.put(primaryKeyReferenceHolder.getPrimaryKeyAttribute(),
+                        primaryKeyReferenceHolder.getPrimaryKeyPosition());
+            }
+        }
+    }
+
+    private long segmentKey(Object timestamp) {
+        long time = ((Number) timestamp).longValue();
+        return Math.floorDiv(time, segmentSize) * segmentSize;
+    }
+
+    private IndexEventHolder getOrCreateSegment(long segmentKey) {
+        IndexEventHolder segment = segments.get(segmentKey);
+        if (segment == null) {
+            segment = new IndexEventHolder(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders,
+                    false, indexMetaData, compositeIndexMetaData, tableDefinition, siddhiAppContext);
+            segment.disableOperationLog();
+            segments.put(segmentKey, segment);
+        }
+        return segment;
+    }
+
+    private void removeIfEmpty(long segmentKey, IndexEventHolder segment) {
+        if (segment.size() == 0) {
+            segments.remove(segmentKey);
+        }
+    }
+
+    private boolean shouldLogOperation() {
+        if (!isOperationLogEnabled) {
+            return false;
+        }
+        if (!isFullSnapshot()) {
+            return true;
+        }
+        operationChangeLog.clear();
+        forceFullSnapshot = true;
+        return false;
+    }
+
+    private StreamEvent copyOf(ComplexEvent complexEvent) {
+        StreamEvent streamEvent = tableStreamEventFactory.newInstance();
+        eventConverter.convertComplexEvent(complexEvent, streamEvent);
+        return streamEvent;
+    }
+
+    @Override
+    public void add(ComplexEventChunk<StreamEvent> addingEventChunk) {
+        addingEventChunk.reset();
+        while (addingEventChunk.hasNext()) {
+            ComplexEvent complexEvent = addingEventChunk.next();
+            StreamEvent streamEvent = copyOf(complexEvent);
+            eventsCount++;
+            if (shouldLogOperation()) {
+                operationChangeLog.add(new Operation(ADD, copyOf(complexEvent)));
+            }
+            add(streamEvent);
+        }
+    }
+
+    private void add(StreamEvent streamEvent) {
+        getOrCreateSegment(segmentKey(streamEvent.getOutputData()[timeAttributePosition])).add(streamEvent);
+    }
+
+    @Override
+    public void overwrite(StreamEvent streamEvent) {
+        if (shouldLogOperation()) {
+            operationChangeLog.add(new Operation(OVERWRITE, copyOf(streamEvent)));
+        }
+        getOrCreateSegment(segmentKey(streamEvent.getOutputData()[timeAttributePosition])).overwrite(streamEvent);
+    }
+
+    @Override
+    public Collection<StreamEvent> getAllEvents() {
+        ArrayList<StreamEvent> allEvents = new ArrayList<>(size());
+        for (IndexEventHolder segment : segments.values()) {
+            allEvents.addAll(segment.getAllEvents());
+        }
+        return allEvents;
+    }
+
+    @Override
+    public Collection<StreamEvent> findEvents(String attribute, Compare.Operator operator, Object value) {
+        HashSet<StreamEvent> resultEventSet = new HashSet<>();
+        if (!attribute.equals(timeAttribute)) {
+            for (IndexEventHolder segment : segments.values()) {
+                resultEventSet.addAll(segment.findEvents(attribute, operator, value));
+            }
+            return resultEventSet;
+        }
+        long boundaryKey = segmentKey(value);
+        IndexEventHolder boundarySegment = segments.get(boundaryKey);
+        switch (operator) {
+            case LESS_THAN:
+            case LESS_THAN_EQUAL:
+                addAllEvents(segments.headMap(boundaryKey, false), resultEventSet);
+                break;
+            case GREATER_THAN:
+            case GREATER_THAN_EQUAL:
+                addAllEvents(segments.tailMap(boundaryKey, false), resultEventSet);
+                break;
+            case EQUAL:
+                break;
+            case NOT_EQUAL:
+                addAllEvents(segments.headMap(boundaryKey, false), resultEventSet);
+                addAllEvents(segments.tailMap(boundaryKey, false), resultEventSet);
+                break;
+            default:
+                throw new OperationNotSupportedException(operator + " not supported for '" + value + "' by " +
+                        getClass().getName());
+        }
+        if (boundarySegment != null) {
+            resultEventSet.addAll(boundarySegment.findEvents(attribute, operator, value));
+        }
+        return resultEventSet;
+    }
+
+    private static void addAllEvents(NavigableMap<Long, IndexEventHolder> segmentMap,
+                                     Collection<StreamEvent> resultEvents) {
+        for (IndexEventHolder segment : segmentMap.values()) {
+            resultEvents.addAll(segment.getAllEvents());
+        }
+    }
+
+    @Override
+    public Collection<StreamEvent> findEventsInRange(String attribute, Compare.Operator lowerOperator,
+                                                     Object lowerValue, Compare.Operator upperOperator,
+                                                     Object upperValue) {
+        HashSet<StreamEvent> resultEventSet = new HashSet<>();
+        if (!attribute.equals(timeAttribute)) {
+            for (IndexEventHolder segment : segments.values()) {
+                resultEventSet.addAll(segment.findEventsInRange(attribute, lowerOperator, lowerValue,
+                        upperOperator, upperValue));
+            }
+            return resultEventSet;
+        }
+        long lowerKey = segmentKey(lowerValue);
+        long upperKey = segmentKey(upperValue);
+        if (lowerKey > upperKey) {
+            return resultEventSet;
+        }
+        for (Map.Entry<Long, IndexEventHolder> entry : segments.subMap(lowerKey, true, upperKey, true).entrySet()) {
+            if (entry.getKey() == lowerKey || entry.getKey() == upperKey) {
+                resultEventSet.addAll(entry.getValue().findEventsInRange(attribute, lowerOperator, lowerValue,
+                        upperOperator, upperValue));
+            } else {
+                resultEventSet.addAll(entry.getValue().getAllEvents());
+            }
+        }
+        return resultEventSet;
+    }
+
+    @Override
+    public long getDistinctValueCount(String attribute) {
+        long distinctValueCount = 0;
+        for (IndexEventHolder segment : segments.values()) {
+            long segmentDistinctValueCount = segment.getDistinctValueCount(attribute);
+            if (segmentDistinctValueCount < 0) {
+                return -1;
+            }
+            distinctValueCount += segmentDistinctValueCount;
+        }
+        return distinctValueCount;
+    }
+
+    @Override
+    public Map<String, String[]> getCompositeIndexes() {
+        return compositeIndexMetaData;
+    }
+
+    @Override
+    public Collection<StreamEvent> findEventsInCompositeIndex(String compositeIndex, Object[] prefixValues,
+                                                              Compare.Operator lowerOperator, Object lowerValue,
+                                                              Compare.Operator upperOperator, Object upperValue) {
+        HashSet<StreamEvent> resultEventSet = new HashSet<>();
+        for (IndexEventHolder segment : segments.values()) {
+            resultEventSet.addAll(segment.findEventsInCompositeIndex(compositeIndex, prefixValues, lowerOperator,
+                    lowerValue, upperOperator, upperValue));
+        }
+        return resultEventSet;
+    }
+
+    @Override
+    public boolean containsEventSet(String attribute, Compare.Operator operator, Object value) {
+        if (!attribute.equals(timeAttribute)) {
+            for (IndexEventHolder segment : segments.values()) {
+                if (segment.containsEventSet(attribute, operator, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long boundaryKey = segmentKey(value);
+        IndexEventHolder boundarySegment = segments.get(boundaryKey);
+        switch (operator) {
+            case LESS_THAN:
+            case LESS_THAN_EQUAL:
+                if (segments.lowerKey(boundaryKey) != null) {
+                    return true;
+                }
+                break;
+            case GREATER_THAN:
+            case GREATER_THAN_EQUAL:
+                if (segments.higherKey(boundaryKey) != null) {
+                    return true;
+                }
+                break;
+            case EQUAL:
+                break;
+            case NOT_EQUAL:
+                // events of different segments always differ in time
+                if (segments.size() > 1) {
+                    return true;
+                }
+                return !segments.isEmpty() &&
+                        segments.firstEntry().getValue().containsEventSet(attribute, operator, value);
+            default:
+                throw new OperationNotSupportedException(operator + " not supported for '" + value + "' by " +
+                        getClass().getName());
+        }
+        return boundarySegment != null && boundarySegment.findEvents(attribute, operator, value).size() > 0;
+    }
+
+    @Override
+    public void deleteAll() {
+        if (shouldLogOperation()) {
+            operationChangeLog.add(new Operation(CLEAR));
+        }
+        segments.clear();
+    }
+
+    @Override
+    public void deleteAll(Collection<StreamEvent> storeEventSet) {
+        for (StreamEvent streamEvent : storeEventSet) {
+            if (shouldLogOperation()) {
+                operationChangeLog.add(new Operation(REMOVE, copyOf(streamEvent)));
+            }
+            deleteAll(streamEvent);
+        }
+    }
+
+    private void deleteAll(StreamEvent streamEvent) {
+        long segmentKey = segmentKey(streamEvent.getOutputData()[timeAttributePosition]);
+        IndexEventHolder segment = segments.get(segmentKey);
+        if (segment != null) {
+            segment.deleteAll(Collections.singletonList(streamEvent));
+            removeIfEmpty(segmentKey, segment);
+        }
+    }
+
+    @Override
+    public void delete(String attribute, Compare.Operator operator, Object value) {
+        if (shouldLogOperation()) {
+            operationChangeLog.add(new Operation(DELETE_BY_OPERATOR, new Object[]{attribute, operator, value}));
+        }
+        if (!attribute.equals(timeAttribute)) {
+            for (Iterator<Map.Entry<Long, IndexEventHolder>> iterator = segments.entrySet().iterator();
+                 iterator.hasNext(); ) {
+                IndexEventHolder segment = iterator.next().getValue();
+                deleteFromSegment(segment, attribute, operator, value);
+                if (segment.size() == 0) {
+                    iterator.remove();
+                }
+            }
+            return;
+        }
+        long boundaryKey = segmentKey(value);
+        switch (operator) {
+            case LESS_THAN:
+            case LESS_THAN_EQUAL:
+                segments.headMap(boundaryKey, false).clear();
+                break;
+            case GREATER_THAN:
+            case GREATER_THAN_EQUAL:
+                segments.tailMap(boundaryKey, false).clear();
+                break;
+            case EQUAL:
+                break;
+            case NOT_EQUAL:
+                segments.headMap(boundaryKey, false).clear();
+                segments.tailMap(boundaryKey, false).clear();
+                break;
+            default:
+                throw new OperationNotSupportedException(operator + " not supported for '" + value + "' by " +
+                        getClass().getName());
+        }
+        IndexEventHolder boundarySegment = segments.get(boundaryKey);
+        if (boundarySegment != null) {
+            deleteFromSegment(boundarySegment, attribute, operator, value);
+            removeIfEmpty(boundaryKey, boundarySegment);
+        }
+    }
+
+    private void deleteFromSegment(IndexEventHolder segment, String attribute, Compare.Operator operator,
+                                   Object value) {
+        if (operator == Compare.Operator.NOT_EQUAL) {
+            segment.deleteAll(new ArrayList<>(segment.findEvents(attribute, operator, value)));
+        } else {
+            segment.delete(attribute, operator, value);
+        }
+    }
+
+    @Override
+    public Set<Object> getAllPrimaryKeyValues() {
+        Set<Object> primaryKeyValues = new HashSet<>();
+        for (IndexEventHolder segment : segments.values()) {
+            primaryKeyValues.addAll(segment.getAllPrimaryKeyValues());
+        }
+        return primaryKeyValues;
+    }
+
+    @Override
+    public PrimaryKeyReferenceHolder[] getPrimaryKeyReferenceHolders() {
+        return primaryKeyReferenceHolders;
+    }
+
+    @Override
+    public boolean isMultiPrimaryKeyAttribute(String attributeName) {
+        return multiPrimaryKeyMetaData.containsKey(attributeName);
+    }
+
+    @Override
+    public boolean isAttributeIndexed(String attribute) {
+        return indexMetaData.containsKey(attribute) || (primaryKeyReferenceHolders.length == 1 &&
+                primaryKeyReferenceHolders[0].getPrimaryKeyAttribute().equals(attribute));
+    }
+
+    @Override
+    public boolean isAttributeIndexed(int position) {
+        if (indexMetaData.containsValue(position) || (primaryKeyReferenceHolders.length == 1 &&
+                primaryKeyReferenceHolders[0].getPrimaryKeyPosition() == position)) {
+            return true;
+        }
+        for (String[] attributes : compositeIndexMetaData.values()) {
+            for (String attribute : attributes) {
+                if (tableDefinition.getAttributePosition(attribute) == position) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (IndexEventHolder segment : segments.values()) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    private boolean isFullSnapshot() {
+        return operationChangeLog.size() > (eventsCount * FULL_SNAPSHOT_THRESHOLD)
+                || forceFullSnapshot
+                || SnapshotRequest.isRequestForFullSnapshot();
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        if (isFullSnapshot()) {
+            forceFullSnapshot = false;
+            return new Snapshot(this, false);
+        } else {
+            Snapshot snapshot = new Snapshot(operationChangeLog, true);
+            operationChangeLog = new ArrayList<>();
+            return snapshot;
+        }
+    }
+
+    @Override
+    public void restore(SnapshotStateList snapshotStatelist) {
+        TreeMap<Long, Snapshot> revisions = snapshotStatelist.getSnapshotStates();
+        this.isOperationLogEnabled = false;
+        for (Map.Entry<Long, Snapshot> snapshotEntry : revisions.entrySet()) {
+            if (!snapshotEntry.getValue().isIncrementalSnapshot()) {
+                this.deleteAll();
+                TimePartitionedEventHolder snapshotEventHolder =
+                        (TimePartitionedEventHolder) snapshotEntry.getValue().getState();
+                for (IndexEventHolder segment : snapshotEventHolder.segments.values()) {
+                    for (StreamEvent streamEvent : segment.getAllEvents()) {
+                        add(streamEvent);
+                    }
+                }
+                forceFullSnapshot = false;
+            } else {
+                ArrayList<Operation> operations = (ArrayList<Operation>) snapshotEntry.getValue().getState();
+                for (Operation op : operations) {
+                    switch (op.operation) {
+                        case ADD:
+                            add((StreamEvent) op.parameters);
+                            break;
+                        case REMOVE:
+                            deleteAll((StreamEvent) op.parameters);
+                            break;
+                        case CLEAR:
+                            deleteAll();
+                            break;
+                        case OVERWRITE:
+                            overwrite((StreamEvent) op.parameters);
+                            break;
+                        case DELETE_BY_OPERATOR:
+                            Object[] args = (Object[]) op.parameters;
+                            delete((String) args[0], (Compare.Operator) args[1], args[2]);
+                            break;
+                        default:
+                            continue;
+                    }
+                }
+            }
+        }
+        this.isOperationLogEnabled = true;
+    }
+}
@@ -47,6 +47,7 @@ import io.siddhi.core.table.InMemoryTable;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.cache.CacheExpirer;
+import io.siddhi.core.util.cache.CacheLoadCoordinator;
 import io.siddhi.core.util.collection.AddingStreamEventExtractor;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.CompiledSelection;
@@ -71,6 +72,7 @@ import io.siddhi.query.api.expression.Variable;
 import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -81,8 +83,10 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static io.siddhi.core.util.OnDemandQueryRuntimeUtil.executeSelectorAndReturnStreamEvent;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_CACHE;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_CACHE_NEGATIVE_RETENTION_PERIOD;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_CACHE_POLICY;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_CACHE_PURGE_INTERVAL;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_CACHE_REFRESH_AHEAD_FACTOR;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_CACHE_RETENTION_PERIOD;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_STORE;
 import static io.siddhi.core.util.SiddhiConstants.CACHE_QUERY_NAME;
@@ -119,6 +123,9 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
     private long cacheLastReloadTime;
     private CompiledSelection compiledSelectionForSelectAll;
     private int storeTableSize = -1;
+    private CacheLoadCoordinator cacheLoadCoordinator;
+    private double refreshAheadFactor;
+    private int cacheTimestampAddedPosition;
 
     @Override
     public void initCache(TableDefinition tableDefinition, SiddhiAppContext siddhiAppContext,
@@ -168,6 +175,29 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
                 storeSizeCheckInterval = 10000;
             }
 
+            long negativeRetentionPeriod = 0;
+            if (cacheTableAnnotation.getElement(ANNOTATION_CACHE_NEGATIVE_RETENTION_PERIOD) != null) {
+                negativeRetentionPeriod = Expression.Time.timeToLong(cacheTableAnnotation.
+                        getElement(ANNOTATION_CACHE_NEGATIVE_RETENTION_PERIOD));
+            }
+            cacheLoadCoordinator = new CacheLoadCoordinator(negativeRetentionPeriod, maxCacheSize);
+            if (cacheTableAnnotation.getElement(ANNOTATION_CACHE_REFRESH_AHEAD_FACTOR) != null) {
+                if (!cacheExpiryEnabled) {
+                    throw new SiddhiAppCreationException(siddhiAppContext.getName() + " : Cache '" +
+                            ANNOTATION_CACHE_REFRESH_AHEAD_FACTOR + "' of table '" + tableDefinition.getId() +
+                            "' can only be given together with '" + ANNOTATION_CACHE_RETENTION_PERIOD + "'");
+                }
+                refreshAheadFactor = Double.parseDouble(cacheTableAnnotation.
+                        getElement(ANNOTATION_CACHE_REFRESH_AHEAD_FACTOR));
+                if (refreshAheadFactor <= 0 || refreshAheadFactor >= 1) {
+                    throw new SiddhiAppCreationException(siddhiAppContext.getName() + " : Cache '" +
+                            ANNOTATION_CACHE_REFRESH_AHEAD_FACTOR + "' of table '" + tableDefinition.getId() +
+                            "' should be greater than 0 and less than 1 but given as " + refreshAheadFactor);
+                }
+            }
+            // the time an entry was added is kept right after the table attributes by all cache policies
+            cacheTimestampAddedPosition = tableDefinition.getAttributeList().size();
+
             ((CacheTable) cacheTable).initCacheTable(cacheTableDefinition, configReader, siddhiAppContext,
                     recordTableHandler, cacheExpiryEnabled, maxCacheSize, cachePolicy);
 
@@ -238,6 +268,7 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
         if (cacheEnabled) {
             readWriteLock.writeLock().lock();
             try {
+                cacheLoadCoordinator.invalidate();
                 ((CacheTable) cacheTable).addAndTrimUptoMaxSize(addingEventChunk);
                 super.add(addingEventChunk);
             } finally {
@@ -263,6 +294,7 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
 
             readWriteLock.writeLock().lock();
             try {
+                cacheLoadCoordinator.invalidate();
                 cacheTable.delete(deletingEventChunk,
                         compiledConditionWithCache.getCacheCompileCondition());
                 super.delete(deletingEventChunk, recordStoreCompiledCondition);
@@ -294,6 +326,7 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
                     compiledUpdateSetWithCache.storeCompiledUpdateSet;
             readWriteLock.writeLock().lock();
             try {
+                cacheLoadCoordinator.invalidate();
                 cacheTable.update(updatingEventChunk, compiledConditionWithCache.getCacheCompileCondition(),
                         compiledUpdateSetWithCache.getCacheCompiledUpdateSet());
                 super.update(updatingEventChunk, recordStoreCompiledCondition, recordTableCompiledUpdateSet);
@@ -314,12 +347,14 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
         RecordStoreCompiledCondition recordStoreCompiledCondition;
         CompiledConditionWithCache compiledConditionWithCache;
         if (cacheEnabled) {
+            if (!mightMatch(compiledCondition, matchingEvent)) {
+                return false;
+            }
             RecordStoreCompiledCondition compiledConditionTemp = (RecordStoreCompiledCondition) compiledCondition;
             compiledConditionWithCache = (CompiledConditionWithCache)
                     compiledConditionTemp.getCompiledCondition();
-            recordStoreCompiledCondition = new RecordStoreCompiledCondition(compiledConditionTemp.
-                    variableExpressionExecutorMap, compiledConditionWithCache.getStoreCompileCondition(),
-                    compiledConditionTemp.getSiddhiQueryContext());
+            recordStoreCompiledCondition = compiledConditionTemp.forStoreCondition(
+                    compiledConditionWithCache.getStoreCompileCondition());
 
             readWriteLock.readLock().lock();
             try {
@@ -354,6 +389,7 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
 
             readWriteLock.writeLock().lock();
             try {
+                cacheLoadCoordinator.invalidate();
                 ((CacheTable) cacheTable).updateOrAddAndTrimUptoMaxSize(updateOrAddingEventChunk,
                         compiledConditionWithCache.getCacheCompileCondition(),
                         compiledUpdateSetWithCache.getCacheCompiledUpdateSet(), addingStreamEventExtractor,
@@ -378,12 +414,14 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
         CompiledConditionWithCache compiledConditionWithCache = null;
         findMatchingEvent = matchingEvent;
         if (cacheEnabled) {
+            if (!mightMatch(compiledCondition, matchingEvent)) {
+                return null;
+            }
             RecordStoreCompiledCondition compiledConditionTemp = (RecordStoreCompiledCondition) compiledCondition;
             compiledConditionWithCache = (CompiledConditionWithCache)
                     compiledConditionTemp.getCompiledCondition();
-            recordStoreCompiledCondition = new RecordStoreCompiledCondition(compiledConditionTemp.
-                    variableExpressionExecutorMap, compiledConditionWithCache.getStoreCompileCondition(),
-                    compiledConditionTemp.getSiddhiQueryContext());
+            recordStoreCompiledCondition = compiledConditionTemp.forStoreCondition(
+                    compiledConditionWithCache.getStoreCompileCondition());
         } else {
             recordStoreCompiledCondition =
                     ((RecordStoreCompiledCondition) compiledCondition);
@@ -391,6 +429,7 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
 
         StreamEvent cacheResults;
         if (cacheEnabled) {
+            boolean loadFromStore = false;
             readWriteLock.writeLock().lock();
             try {
                 // when table is smaller than max cache send results from cache
@@ -418,44 +457,31 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
                         cacheResults = cacheTable.find(compiledConditionWithCache.getCacheCompileCondition(),
                                 matchingEvent);
                         if (cacheResults != null) {
+                            ((CacheTable) cacheTable).recordCacheHit();
                             if (log.isDebugEnabled()) {
                                 log.debug(siddhiAppContext.getName() + "-" + recordStoreCompiledCondition.
                                         getSiddhiQueryContext().getName() + ": cache hit. Sending results from cache");
                             }
+                            refreshAheadIfExpiring(cacheResults, recordStoreCompiledCondition, matchingEvent);
                             return cacheResults;
                         }
                         // cache miss
+                        ((CacheTable) cacheTable).recordCacheMiss();
                         if (log.isDebugEnabled()) {
                             log.debug(siddhiAppContext.getName() + "-" +
                                     recordStoreCompiledCondition.getSiddhiQueryContext().
                                             getName() + ": cache miss. Loading from store");
                         }
-                        StreamEvent streamEvent = super.find(recordStoreCompiledCondition, matchingEvent);
-                        if (streamEvent == null) {
-                            if (log.isDebugEnabled()) {
-                                log.debug(siddhiAppContext.getName() + "-" + recordStoreCompiledCondition.
-                                        getSiddhiQueryContext().getName() + ": store also miss. sending null");
-                            }
-                            return null;
-                        }
-
-                        if (cacheTable.size() == maxCacheSize) {
-                            ((CacheTable) cacheTable).deleteOneEntryUsingCachePolicy();
-                        }
-                        ((CacheTable) cacheTable).addStreamEventUptoMaxSize(streamEvent);
-                        cacheResults = cacheTable.find(compiledConditionWithCache.getCacheCompileCondition(),
-                                matchingEvent);
-                        if (log.isDebugEnabled()) {
-                            log.debug(siddhiAppContext.getName() + "-" + recordStoreCompiledCondition.
-                                    getSiddhiQueryContext().getName() +
-                                    ": sending results from cache after loading from store");
-                        }
-                        return cacheResults;
+                        // load outside the lock so that lookups of other keys are not blocked by the store
+                        loadFromStore = true;
                     }
                 }
             } finally {
                 readWriteLock.writeLock().unlock();
             }
+            if (loadFromStore) {
+                return findAndLoadIntoCache(compiledConditionWithCache, recordStoreCompiledCondition, matchingEvent);
+            }
         }
         // when cache is not enabled or cache query conditions are not satisfied
         if (log.isDebugEnabled()) {
@@ -465,6 +491,139 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
         return super.find(recordStoreCompiledCondition, matchingEvent);
     }
 
+    /**
+     * Loads the records missed by the cache from the store and returns them from the cache. Concurrent misses of the
+     * same key share a single store lookup, and keys missing in the store are remembered for the negative retention
+     * period.
+     */
+    private StreamEvent findAndLoadIntoCache(CompiledConditionWithCache compiledConditionWithCache,
+                                             RecordStoreCompiledCondition recordStoreCompiledCondition,
+                                             StateEvent matchingEvent) throws ConnectionUnavailableException {
+        Map<String, Object> parameterMap = buildFindConditionParameterMap(recordStoreCompiledCondition,
+                matchingEvent);
+        CompiledCondition storeCompiledCondition = recordStoreCompiledCondition.getCompiledCondition();
+        Object cacheKey = Arrays.asList(storeCompiledCondition, parameterMap);
+        long timestamp = matchingEvent.getTimestamp();
+        boolean found = !cacheLoadCoordinator.isKnownMissing(cacheKey,
+                siddhiAppContext.getTimestampGenerator().currentTime()) &&
+                cacheLoadCoordinator.load(cacheKey, () -> loadIntoCache(cacheKey, timestamp, parameterMap,
+                        storeCompiledCondition, null));
+        if (!found) {
+            if (log.isDebugEnabled()) {
+                log.debug(siddhiAppContext.getName() + "-" + recordStoreCompiledCondition.
+                        getSiddhiQueryContext().getName() + ": store also miss. sending null");
+            }
+            return null;
+        }
+        readWriteLock.writeLock().lock();
+        try {
+            StreamEvent cacheResults = cacheTable.find(compiledConditionWithCache.getCacheCompileCondition(),
+                    matchingEvent);
+            if (cacheResults != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug(siddhiAppContext.getName() + "-" + recordStoreCompiledCondition.
+                            getSiddhiQueryContext().getName() +
+                            ": sending results from cache after loading from store");
+                }
+                return cacheResults;
+            }
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+        // loaded records are already evicted, or were not cached as the table was written while loading
+        return super.find(recordStoreCompiledCondition, matchingEvent);
+    }
+
+    /**
+     * Reloads the cache entry in the background when it is older than the refresh ahead factor of the retention
+     * period, so that frequently used entries do not expire and get missed.
+     */
+    private void refreshAheadIfExpiring(StreamEvent cacheResults,
+                                        RecordStoreCompiledCondition recordStoreCompiledCondition,
+                                        StateEvent matchingEvent) {
+        if (refreshAheadFactor <= 0) {
+            return;
+        }
+        Object[] cachedData = cacheResults.getOutputData();
+        if (cachedData.length <= cacheTimestampAddedPosition ||
+                !(cachedData[cacheTimestampAddedPosition] instanceof Long)) {
+            return;
+        }
+        long age = siddhiAppContext.getTimestampGenerator().currentTime() -
+                (Long) cachedData[cacheTimestampAddedPosition];
+        if (age < refreshAheadFactor * retentionPeriod) {
+            return;
+        }
+        Map<String, Object> parameterMap = buildFindConditionParameterMap(recordStoreCompiledCondition,
+                matchingEvent);
+        CompiledCondition storeCompiledCondition = recordStoreCompiledCondition.getCompiledCondition();
+        Object cacheKey = Arrays.asList(storeCompiledCondition, parameterMap);
+        long timestamp = matchingEvent.getTimestamp();
+        StreamEvent cachedEvent = new StreamEvent(0, 0, cachedData.length);
+        cachedEvent.setOutputData(cachedData.clone());
+        if (log.isDebugEnabled()) {
+            log.debug(siddhiAppContext.getName() + "-" + recordStoreCompiledCondition.getSiddhiQueryContext().
+                    getName() + ": cache entry is about to expire. Refreshing from store");
+        }
+        cacheLoadCoordinator.refresh(cacheKey, () -> loadIntoCache(cacheKey, timestamp, parameterMap,
+                storeCompiledCondition, cachedEvent), siddhiAppContext.getExecutorService());
+    }
+
+    /**
+     * Finds the records from the store and puts them into the cache, unless the table was written during the lookup
+     * as the records might then be stale.
+     *
+     * @param cachedEvent entry of the cache being refreshed, which is deleted if it is no longer in the store, or
+     *                    null when loading a missed key
+     * @return whether any records were found in the store
+     */
+    private boolean loadIntoCache(Object cacheKey, long timestamp, Map<String, Object> parameterMap,
+                                  CompiledCondition storeCompiledCondition, StreamEvent cachedEvent)
+            throws ConnectionUnavailableException {
+        long loadVersion = cacheLoadCoordinator.getVersion();
+        Iterator<Object[]> records = findRecordsFromStore(timestamp, parameterMap, storeCompiledCondition);
+        StreamEvent loadedEvents = records == null ? null : readStreamEvents(records, Integer.MAX_VALUE);
+        readWriteLock.writeLock().lock();
+        try {
+            if (loadedEvents == null) {
+                if (cachedEvent != null && cacheLoadCoordinator.getVersion() == loadVersion) {
+                    ((CacheTable) cacheTable).deleteStreamEventByPrimaryKey(cachedEvent);
+                }
+                cacheLoadCoordinator.recordMissing(cacheKey, siddhiAppContext.getTimestampGenerator().currentTime(),
+                        loadVersion);
+                return false;
+            }
+            if (cacheLoadCoordinator.getVersion() == loadVersion) {
+                ((CacheTable) cacheTable).putStreamEventAndTrimUptoMaxSize(loadedEvents);
+            }
+            return true;
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return coordinator of the loads of the cache from the store, or null if the cache is not enabled
+     */
+    public CacheLoadCoordinator getCacheLoadCoordinator() {
+        return cacheLoadCoordinator;
+    }
+
+    /**
+     * Finds the matching records directly from the store, bypassing the cache as the store holds all the records.
+     */
+    @Override
+    public Iterator<Object[]> findRecords(StateEvent matchingEvent, CompiledCondition compiledCondition)
+            throws ConnectionUnavailableException {
+        if (cacheEnabled) {
+            RecordStoreCompiledCondition compiledConditionTemp = (RecordStoreCompiledCondition) compiledCondition;
+            compiledCondition = compiledConditionTemp.forStoreCondition(
+                    ((CompiledConditionWithCache) compiledConditionTemp.getCompiledCondition())
+                            .getStoreCompileCondition());
+        }
+        return super.findRecords(matchingEvent, compiledCondition);
+    }
+
     @Override
     public CompiledUpdateSet compileUpdateSet(UpdateSet updateSet,
                                               MatchingMetaInfoHolder matchingMetaInfoHolder,
@@ -492,6 +651,7 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
                 variableExpressionExecutors, tableMap, new UpdateOrInsertReducer(
                 inMemoryCompiledCondition, matchingMetaInfoHolder), null, siddhiQueryContext);
         CompiledCondition compileCondition = compileCondition(expressionBuilder);
+        registerWriteBehindCondition(expressionBuilder, compileCondition);
         Map<String, ExpressionExecutor> expressionExecutorMap = expressionBuilder.getVariableExpressionExecutorMap();
 
         if (cacheEnabled) {
@@ -499,9 +659,14 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
                     ((CacheTable) cacheTable).generateCacheCompileCondition(condition, matchingMetaInfoHolder,
                             siddhiQueryContext, variableExpressionExecutors), siddhiQueryContext);
             return new RecordStoreCompiledCondition(expressionExecutorMap, compiledConditionWithCache,
-                    siddhiQueryContext);
+                    siddhiQueryContext, compileBloomFilterGuard(condition, matchingMetaInfoHolder,
+                    variableExpressionExecutors, tableMap, siddhiQueryContext), inMemoryCompiledCondition,
+                    matchingMetaInfoHolder.getStoreEventIndex());
         } else {
-            return new RecordStoreCompiledCondition(expressionExecutorMap, compileCondition, siddhiQueryContext);
+            return new RecordStoreCompiledCondition(expressionExecutorMap, compileCondition, siddhiQueryContext,
+                    compileBloomFilterGuard(condition, matchingMetaInfoHolder, variableExpressionExecutors,
+                            tableMap, siddhiQueryContext), inMemoryCompiledCondition,
+                    matchingMetaInfoHolder.getStoreEventIndex());
         }
     }
 
@@ -534,6 +699,7 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
                              CompiledSelection compiledSelection, Attribute[] outputAttributes)
             throws ConnectionUnavailableException {
         findMatchingEvent = matchingEvent;
+        flushWriteBehindBuffer();
         updateStoreTableSize();
 
         // handle condition type convs
@@ -560,15 +726,8 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
             recordStoreCompiledCondition = ((RecordStoreCompiledCondition) compiledCondition);
         }
 
-        Map<String, Object> parameterMap = new HashMap<>();
-        for (Map.Entry<String, ExpressionExecutor> entry :
-                recordStoreCompiledCondition.variableExpressionExecutorMap.entrySet()) {
-            parameterMap.put(entry.getKey(), entry.getValue().execute(matchingEvent));
-        }
-        for (Map.Entry<String, ExpressionExecutor> entry :
-                recordStoreCompiledSelection.variableExpressionExecutorMap.entrySet()) {
-            parameterMap.put(entry.getKey(), entry.getValue().execute(matchingEvent));
-        }
+        Map<String, Object> parameterMap = buildParameterMap(matchingEvent, recordStoreCompiledCondition,
+                recordStoreCompiledSelection);
 
         Iterator<Object[]> records;
         if (cacheEnabled) {
@@ -605,6 +764,7 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
                         cacheResults = cacheTable.find(compiledConditionWithCache.getCacheCompileCondition(),
                                 matchingEvent);
                         if (cacheResults != null) {
+                            ((CacheTable) cacheTable).recordCacheHit();
                             if (log.isDebugEnabled()) {
                                 log.debug(siddhiAppContext.getName() + "-" + recordStoreCompiledCondition.
                                         getSiddhiQueryContext().getName() + ": cache hit. Sending results from cache");
@@ -613,6 +773,7 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
                                     matchingEvent.getStreamEvent(0));
                         }
 
+                        ((CacheTable) cacheTable).recordCacheMiss();
                         if (log.isDebugEnabled()) {
                             log.debug(siddhiAppContext.getName() + "-" +
                                     recordStoreCompiledCondition.getSiddhiQueryContext().
@@ -678,6 +839,63 @@ public abstract class AbstractQueryableRecordTable extends AbstractRecordTable i
         return streamEventComplexEventChunk.getFirst();
     }
 
+    /**
+     * Queries the selected records directly from the store without materializing them, so that they can be consumed
+     * incrementally. The cache is bypassed as the store holds all the records. The returned iterator should be closed
+     * after use when it is a {@link java.io.Closeable}.
+     *
+     * @param matchingEvent     the event to be matched with the records
+     * @param compiledCondition the compiledCondition against which records should be matched
+     * @param compiledSelection the compiledSelection that maps records based to requested format
+     * @param outputAttributes  the output attributes of the selection
+     * @return iterator of selected records, or null if there are none
+     * @throws ConnectionUnavailableException
+     */
+    public Iterator<Object[]> queryRecords(StateEvent matchingEvent, CompiledCondition compiledCondition,
+                                           CompiledSelection compiledSelection, Attribute[] outputAttributes)
+            throws ConnectionUnavailableException {
+        RecordStoreCompiledCondition recordStoreCompiledCondition;
+        RecordStoreCompiledSelection recordStoreCompiledSelection;
+        if (cacheEnabled) {
+            RecordStoreCompiledCondition compiledConditionTemp = (RecordStoreCompiledCondition) compiledCondition;
+            recordStoreCompiledCondition = new RecordStoreCompiledCondition(
+                    compiledConditionTemp.variableExpressionExecutorMap,
+                    ((CompiledConditionWithCache) compiledConditionTemp.getCompiledCondition())
+                            .getStoreCompileCondition(), compiledConditionTemp.getSiddhiQueryContext());
+            recordStoreCompiledSelection = ((CompiledSelectionWithCache) compiledSelection)
+                    .recordStoreCompiledSelection;
+        } else {
+            recordStoreCompiledCondition = (RecordStoreCompiledCondition) compiledCondition;
+            recordStoreCompiledSelection = (RecordStoreCompiledSelection) compiledSelection;
+        }
+        Map<String, Object> parameterMap = buildParameterMap(matchingEvent, recordStoreCompiledCondition,
+                recordStoreCompiledSelection);
+        flushWriteBehindBuffer();
+        if (recordTableHandler != null) {
+            return recordTableHandler.query(matchingEvent.getTimestamp(), parameterMap,
+                    recordStoreCompiledCondition.getCompiledCondition(),
+                    recordStoreCompiledSelection.compiledSelection, outputAttributes);
+        } else {
+            return query(parameterMap, recordStoreCompiledCondition.getCompiledCondition(),
+                    recordStoreCompiledSelection.compiledSelection, outputAttributes);
+        }
+    }
+
+    private Map<String, Object> buildParameterMap(StateEvent matchingEvent,
+                                                  RecordStoreCompiledCondition recordStoreCompiledCondition,
+                                                  RecordStoreCompiledSelection recordStoreCompiledSelection) {
+        Map<String, Object> parameterMap = new HashMap<>();
+        for (Map.Entry<String, ExpressionExecutor> entry :
+                recordStoreCompiledCondition.variableExpressionExecutorMap.entrySet()) {
+            parameterMap.put(entry.getKey(), entry.getValue().execute(matchingEvent));
+        }
+        for (Map.Entry<String, ExpressionExecutor> entry :
+                recordStoreCompiledSelection.variableExpressionExecutorMap.entrySet()) {
+            parameterMap.put(entry.getKey(), entry.getValue().execute(matchingEvent));
+        }
+        return parameterMap;
+    }
+
     private CompiledSelection generateCSForSelectAll() {
         MetaStreamEvent metaStreamEventForSelectAll = new MetaStreamEvent();
         for (Attribute attribute : tableDefinition.getAttributeList()) {
@@ -26,27 +26,45 @@ import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.CompiledUpdateSet;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.collection.AddingStreamEventExtractor;
+import io.siddhi.core.util.collection.AttributeBloomFilters;
+import io.siddhi.core.util.collection.BloomFilterGuard;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.CompiledExpression;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.core.util.config.ConfigReader;
 import io.siddhi.core.util.parser.ExpressionParser;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.TableDefinition;
 import io.siddhi.query.api.execution.query.output.stream.UpdateSet;
 import io.siddhi.query.api.expression.Expression;
 import org.apache.log4j.Logger;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_STORE;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_WRITE_BEHIND;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_WRITE_BEHIND_BATCH_SIZE;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_WRITE_BEHIND_FLUSH_INTERVAL;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_WRITE_BEHIND_QUEUE_SIZE;
+import static io.siddhi.core.util.parser.OnDemandQueryParser.generateMatchingMetaInfoHolderForCacheTable;
+import static io.siddhi.query.api.util.AnnotationHelper.getAnnotation;
 
 /**
  * An abstract implementation of table. Abstract implementation will handle {@link ComplexEventChunk} so that
@@ -55,9 +73,15 @@ import java.util.Map;
 public abstract class AbstractRecordTable extends Table {
 
     private static final Logger log = Logger.getLogger(AbstractRecordTable.class);
+    private static final int DEFAULT_WRITE_BEHIND_BATCH_SIZE = 100;
+    private static final String DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL = "1 sec";
 
     protected StreamEventFactory storeEventPool;
     protected RecordTableHandler recordTableHandler;
+    protected RecordTableWriteBehindBuffer writeBehindBuffer;
+    private Map<String, Integer> bloomFilteredAttributes;
+    private RecordTableBloomFilters bloomFilters;
+    private CompiledCondition compiledConditionForScan;
 
     @Override
     public void init(TableDefinition tableDefinition, StreamEventFactory storeEventPool,
@@ -71,6 +95,49 @@ public abstract class AbstractRecordTable extends Table {
         this.storeEventPool = storeEventPool;
         init(tableDefinition, configReader);
         initCache(tableDefinition, siddhiAppContext, storeEventCloner, configReader);
+        initWriteBehind(tableDefinition, siddhiAppContext);
+        bloomFilteredAttributes = AttributeBloomFilters.parseFilteredAttributes(tableDefinition);
+        if (bloomFilteredAttributes != null) {
+            bloomFilters = new RecordTableBloomFilters(this, bloomFilteredAttributes, siddhiAppContext);
+        }
+    }
+
+    private void initWriteBehind(TableDefinition tableDefinition, SiddhiAppContext siddhiAppContext) {
+        Annotation writeBehindAnnotation = getAnnotation(new String[]{ANNOTATION_STORE, ANNOTATION_WRITE_BEHIND},
+                tableDefinition.getAnnotations());
+        if (writeBehindAnnotation == null) {
+            return;
+        }
+        int batchSize = DEFAULT_WRITE_BEHIND_BATCH_SIZE;
+        long flushInterval = Expression.Time.timeToLong(DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL);
+        try {
+            String batchSizeValue = writeBehindAnnotation.getElement(ANNOTATION_WRITE_BEHIND_BATCH_SIZE);
+            if (batchSizeValue != null) {
+                batchSize = Integer.parseInt(batchSizeValue);
+            }
+            int queueSize = batchSize * 10;
+            String queueSizeValue = writeBehindAnnotation.getElement(ANNOTATION_WRITE_BEHIND_QUEUE_SIZE);
+            if (queueSizeValue != null) {
+                queueSize = Integer.parseInt(queueSizeValue);
+            }
+            String flushIntervalValue = writeBehindAnnotation.getElement(ANNOTATION_WRITE_BEHIND_FLUSH_INTERVAL);
+            if (flushIntervalValue != null) {
+                flushInterval = Expression.Time.timeToLong(flushIntervalValue);
+            }
+            if (batchSize <= 0 || queueSize < batchSize || flushInterval <= 0) {
+                throw new SiddhiAppCreationException("Write behind of table '" + tableDefinition.getId() +
+                        "' expects a positive '" + ANNOTATION_WRITE_BEHIND_BATCH_SIZE + "' and '" +
+                        ANNOTATION_WRITE_BEHIND_FLUSH_INTERVAL + "', and a '" + ANNOTATION_WRITE_BEHIND_QUEUE_SIZE +
+                        "' not less than the batch size, but found batch size '" + batchSize + "', queue size '" +
+                        queueSize + "' and flush interval '" + flushInterval + "' milliseconds.");
+            }
+            writeBehindBuffer = new RecordTableWriteBehindBuffer(this, batchSize, queueSize, flushInterval,
+                    siddhiAppContext);
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Write behind of table '" + tableDefinition.getId() +
+                    "' contains an invalid number, " + e.getMessage(), e);
+        }
+        writeBehindBuffer.start();
     }
 
     protected void initCache(TableDefinition tableDefinition, SiddhiAppContext siddhiAppContext,
@@ -101,6 +168,71 @@ public abstract class AbstractRecordTable extends Table {
             records.add(event.getOutputData());
             timestamp = event.getTimestamp();
         }
+        beginBloomFilteredWrite(records, false);
+        try {
+            if (writeBehindBuffer != null) {
+                writeBehindBuffer.add(timestamp, records);
+            } else {
+                addRecords(timestamp, records);
+            }
+        } finally {
+            endBloomFilteredWrite();
+        }
+    }
+
+    private void beginBloomFilteredWrite(List<Object[]> addedRecords, boolean updatesFiltered) {
+        if (bloomFilters != null) {
+            bloomFilters.beginWrite(addedRecords, updatesFiltered);
+        }
+    }
+
+    private void endBloomFilteredWrite() {
+        if (bloomFilters != null) {
+            bloomFilters.endWrite();
+        }
+    }
+
+    private boolean updatesBloomFilteredAttributes(RecordTableCompiledUpdateSet compiledUpdateSet) {
+        if (bloomFilteredAttributes == null) {
+            return false;
+        }
+        for (String attribute : compiledUpdateSet.getUpdateSetMap().keySet()) {
+            if (bloomFilteredAttributes.containsKey(attribute)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the Bloom filters of the table, if any, to decide whether the store has to be looked up.
+     *
+     * @param compiledCondition condition of the lookup
+     * @param matchingEvent     event to be matched with the records
+     * @return false if no record can match the event, true if some might
+     */
+    protected boolean mightMatch(CompiledCondition compiledCondition, StateEvent matchingEvent) {
+        BloomFilterGuard bloomFilterGuard = ((RecordStoreCompiledCondition) compiledCondition).bloomFilterGuard;
+        return bloomFilterGuard == null || bloomFilters.mightMatch(bloomFilterGuard, matchingEvent);
+    }
+
+    /**
+     * Finds all the records of the store, used to build the Bloom filters of the table.
+     *
+     * @return iterator of all records, or null if there are none
+     * @throws ConnectionUnavailableException
+     */
+    Iterator<Object[]> findAllRecords() throws ConnectionUnavailableException {
+        if (compiledConditionForScan == null) {
+            ExpressionBuilder expressionBuilder = new ExpressionBuilder(Expression.value(true),
+                    generateMatchingMetaInfoHolderForCacheTable(tableDefinition), new ArrayList<>(), tableMap,
+                    null, null, new SiddhiQueryContext(siddhiAppContext, tableDefinition.getId()));
+            compiledConditionForScan = compileCondition(expressionBuilder);
+        }
+        return findRecordsFromStore(System.currentTimeMillis(), new HashMap<>(), compiledConditionForScan);
+    }
+
+    void addRecords(long timestamp, List<Object[]> records) throws ConnectionUnavailableException {
         if (recordTableHandler != null) {
             recordTableHandler.add(timestamp, records);
         } else {
@@ -108,6 +240,17 @@ public abstract class AbstractRecordTable extends Table {
         }
     }
 
+    /**
+     * Apply the pending writes of the write-behind buffer to the store, so that the subsequent reads observe them.
+     *
+     * @throws ConnectionUnavailableException
+     */
+    protected void flushWriteBehindBuffer() throws ConnectionUnavailableException {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.flush();
+        }
+    }
+
     /**
      * Add records to the Table
      *
@@ -120,30 +263,138 @@ public abstract class AbstractRecordTable extends Table {
     @Override
     public StreamEvent find(CompiledCondition compiledCondition, StateEvent matchingEvent)
             throws ConnectionUnavailableException {
-        RecordStoreCompiledCondition recordStoreCompiledCondition =
-                ((RecordStoreCompiledCondition) compiledCondition);
+        if (!mightMatch(compiledCondition, matchingEvent)) {
+            return null;
+        }
+        Iterator<Object[]> records = findRecordsFromStore((RecordStoreCompiledCondition) compiledCondition,
+                matchingEvent);
+        if (records == null) {
+            return null;
+        }
+        return readStreamEvents(records, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the records matching the compiled condition directly from the store without materializing them, so
+     * that they can be consumed incrementally. They are only materialized when matching records pending to be added
+     * by the write-behind buffer are overlaid on them. The returned iterator should be closed after use when it is a
+     * {@link java.io.Closeable}.
+     *
+     * @param matchingEvent     the event to be matched with the records
+     * @param compiledCondition the compiledCondition against which records should be matched
+     * @return iterator of matching records, or null if there are none
+     * @throws ConnectionUnavailableException
+     */
+    public Iterator<Object[]> findRecords(StateEvent matchingEvent, CompiledCondition compiledCondition)
+            throws ConnectionUnavailableException {
+        return findRecordsFromStore((RecordStoreCompiledCondition) compiledCondition, matchingEvent);
+    }
 
+    private Iterator<Object[]> findRecordsFromStore(RecordStoreCompiledCondition recordStoreCompiledCondition,
+                                                    StateEvent matchingEvent)
+            throws ConnectionUnavailableException {
+        Map<String, Object> findConditionParameterMap = buildFindConditionParameterMap(recordStoreCompiledCondition,
+                matchingEvent);
+        if (writeBehindBuffer == null || recordStoreCompiledCondition.inMemoryCompiledCondition == null) {
+            return findRecordsFromStore(matchingEvent.getTimestamp(), findConditionParameterMap,
+                    recordStoreCompiledCondition.compiledCondition);
+        }
+        List<Object[]> pendingRecords = writeBehindBuffer.lockForRead();
+        try {
+            List<Object[]> matchingPendingRecords = new ArrayList<>();
+            for (Object[] pendingRecord : pendingRecords) {
+                if (recordStoreCompiledCondition.matches(matchingEvent, pendingRecord)) {
+                    matchingPendingRecords.add(pendingRecord);
+                }
+            }
+            Iterator<Object[]> records = findRecordsInStore(matchingEvent.getTimestamp(), findConditionParameterMap,
+                    recordStoreCompiledCondition.compiledCondition);
+            if (matchingPendingRecords.isEmpty()) {
+                return records;
+            }
+            // the store records are read before the lock is released, as a flush afterwards would apply the
+            // overlaid pending records to the store, letting the store iterator read them twice
+            List<Object[]> overlaidRecords = new ArrayList<>();
+            if (records != null) {
+                try {
+                    while (records.hasNext()) {
+                        overlaidRecords.add(records.next());
+                    }
+                } finally {
+                    closeRecords(records);
+                }
+            }
+            overlaidRecords.addAll(matchingPendingRecords);
+            return overlaidRecords.iterator();
+        } finally {
+            writeBehindBuffer.unlockRead();
+        }
+    }
+
+    private void closeRecords(Iterator<Object[]> records) {
+        if (records instanceof Closeable) {
+            try {
+                ((Closeable) records).close();
+            } catch (IOException e) {
+                log.error("Error while closing the records read from the store of table '" +
+                        tableDefinition.getId() + "'.", e);
+            }
+        }
+    }
+
+    /**
+     * Finds the records matching the already evaluated condition parameters directly from the store, so that the
+     * lookup does not depend on the matching event and can be performed by another thread.
+     *
+     * @param timestamp                 timestamp of the matching event
+     * @param findConditionParameterMap map of matching StreamVariable Ids and their values
+     * @param compiledCondition         the store compiledCondition against which records should be matched
+     * @return iterator of matching records, or null if there are none
+     * @throws ConnectionUnavailableException
+     */
+    protected Iterator<Object[]> findRecordsFromStore(long timestamp, Map<String, Object> findConditionParameterMap,
+                                                      CompiledCondition compiledCondition)
+            throws ConnectionUnavailableException {
+        flushWriteBehindBuffer();
+        return findRecordsInStore(timestamp, findConditionParameterMap, compiledCondition);
+    }
+
+    private Iterator<Object[]> findRecordsInStore(long timestamp, Map<String, Object> findConditionParameterMap,
+                                                  CompiledCondition compiledCondition)
+            throws ConnectionUnavailableException {
+        if (recordTableHandler != null) {
+            return recordTableHandler.find(timestamp, findConditionParameterMap, compiledCondition);
+        } else {
+            return find(findConditionParameterMap, compiledCondition);
+        }
+    }
+
+    protected Map<String, Object> buildFindConditionParameterMap(
+            RecordStoreCompiledCondition recordStoreCompiledCondition, StateEvent matchingEvent) {
         Map<String, Object> findConditionParameterMap = new HashMap<>();
         for (Map.Entry<String, ExpressionExecutor> entry : recordStoreCompiledCondition.variableExpressionExecutorMap
                 .entrySet()) {
             findConditionParameterMap.put(entry.getKey(), entry.getValue().execute(matchingEvent));
         }
+        return findConditionParameterMap;
+    }
 
-        Iterator<Object[]> records;
-        if (recordTableHandler != null) {
-            records = recordTableHandler.find(matchingEvent.getTimestamp(), findConditionParameterMap,
-                    recordStoreCompiledCondition.compiledCondition);
-        } else {
-            records = find(findConditionParameterMap, recordStoreCompiledCondition.compiledCondition);
-        }
+    /**
+     * Reads up to the given number of records into a chain of table stream events.
+     *
+     * @param records   iterator of records
+     * @param maxEvents maximum number of records to read
+     * @return first event of the chain, or null if there are no more records
+     */
+    public StreamEvent readStreamEvents(Iterator<Object[]> records, int maxEvents) {
         ComplexEventChunk<StreamEvent> streamEventComplexEventChunk = new ComplexEventChunk<>();
-        if (records != null) {
-            while (records.hasNext()) {
-                Object[] record = records.next();
-                StreamEvent streamEvent = storeEventPool.newInstance();
-                System.arraycopy(record, 0, streamEvent.getOutputData(), 0, record.length);
-                streamEventComplexEventChunk.add(streamEvent);
-            }
+        int count = 0;
+        while (count < maxEvents && records.hasNext()) {
+            Object[] record = records.next();
+            StreamEvent streamEvent = storeEventPool.newInstance();
+            System.arraycopy(record, 0, streamEvent.getOutputData(), 0, record.length);
+            streamEventComplexEventChunk.add(streamEvent);
+            count++;
         }
         return streamEventComplexEventChunk.getFirst();
     }
@@ -164,6 +415,9 @@ public abstract class AbstractRecordTable extends Table {
     @Override
     public boolean contains(StateEvent matchingEvent, CompiledCondition compiledCondition)
             throws ConnectionUnavailableException {
+        if (!mightMatch(compiledCondition, matchingEvent)) {
+            return false;
+        }
         RecordStoreCompiledCondition recordStoreCompiledCondition =
                 ((RecordStoreCompiledCondition) compiledCondition);
         Map<String, Object> containsConditionParameterMap = new HashMap<>();
@@ -171,11 +425,31 @@ public abstract class AbstractRecordTable extends Table {
                 recordStoreCompiledCondition.variableExpressionExecutorMap.entrySet()) {
             containsConditionParameterMap.put(entry.getKey(), entry.getValue().execute(matchingEvent));
         }
-        if (recordTableHandler != null) {
-            return recordTableHandler.contains(matchingEvent.getTimestamp(), containsConditionParameterMap,
+        if (writeBehindBuffer == null || recordStoreCompiledCondition.inMemoryCompiledCondition == null) {
+            flushWriteBehindBuffer();
+            return containsInStore(matchingEvent.getTimestamp(), containsConditionParameterMap,
+                    recordStoreCompiledCondition.compiledCondition);
+        }
+        List<Object[]> pendingRecords = writeBehindBuffer.lockForRead();
+        try {
+            for (Object[] pendingRecord : pendingRecords) {
+                if (recordStoreCompiledCondition.matches(matchingEvent, pendingRecord)) {
+                    return true;
+                }
+            }
+            return containsInStore(matchingEvent.getTimestamp(), containsConditionParameterMap,
                     recordStoreCompiledCondition.compiledCondition);
+        } finally {
+            writeBehindBuffer.unlockRead();
+        }
+    }
+
+    private boolean containsInStore(long timestamp, Map<String, Object> containsConditionParameterMap,
+                                    CompiledCondition compiledCondition) throws ConnectionUnavailableException {
+        if (recordTableHandler != null) {
+            return recordTableHandler.contains(timestamp, containsConditionParameterMap, compiledCondition);
         } else {
-            return contains(containsConditionParameterMap, recordStoreCompiledCondition.compiledCondition);
+            return contains(containsConditionParameterMap, compiledCondition);
         }
     }
 
@@ -212,11 +486,20 @@ public abstract class AbstractRecordTable extends Table {
             deleteConditionParameterMaps.add(variableMap);
             timestamp = stateEvent.getTimestamp();
         }
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.delete(timestamp, recordStoreCompiledCondition.compiledCondition,
+                    deleteConditionParameterMaps);
+        } else {
+            deleteRecords(timestamp, recordStoreCompiledCondition.compiledCondition, deleteConditionParameterMaps);
+        }
+    }
+
+    void deleteRecords(long timestamp, CompiledCondition compiledCondition,
+                       List<Map<String, Object>> deleteConditionParameterMaps) throws ConnectionUnavailableException {
         if (recordTableHandler != null) {
-            recordTableHandler.delete(timestamp, deleteConditionParameterMaps, recordStoreCompiledCondition.
-                    compiledCondition);
+            recordTableHandler.delete(timestamp, deleteConditionParameterMaps, compiledCondition);
         } else {
-            delete(deleteConditionParameterMaps, recordStoreCompiledCondition.compiledCondition);
+            delete(deleteConditionParameterMaps, compiledCondition);
         }
     }
 
@@ -267,13 +550,30 @@ public abstract class AbstractRecordTable extends Table {
             updateSetParameterMaps.add(variableMapForUpdateSet);
             timestamp = stateEvent.getTimestamp();
         }
+        beginBloomFilteredWrite(null, updatesBloomFilteredAttributes(recordTableCompiledUpdateSet));
+        try {
+            if (writeBehindBuffer != null) {
+                writeBehindBuffer.update(timestamp, recordStoreCompiledCondition.compiledCondition,
+                        updateConditionParameterMaps, recordTableCompiledUpdateSet, updateSetParameterMaps);
+            } else {
+                updateRecords(timestamp, recordStoreCompiledCondition.compiledCondition,
+                        updateConditionParameterMaps, recordTableCompiledUpdateSet.getUpdateSetMap(),
+                        updateSetParameterMaps);
+            }
+        } finally {
+            endBloomFilteredWrite();
+        }
+    }
+
+    void updateRecords(long timestamp, CompiledCondition compiledCondition,
+                       List<Map<String, Object>> updateConditionParameterMaps,
+                       LinkedHashMap<String, CompiledExpression> updateSetExpressions,
+                       List<Map<String, Object>> updateSetParameterMaps) throws ConnectionUnavailableException {
         if (recordTableHandler != null) {
-            recordTableHandler.update(timestamp, recordStoreCompiledCondition.compiledCondition,
-                    updateConditionParameterMaps, recordTableCompiledUpdateSet.getUpdateSetMap(),
-                    updateSetParameterMaps);
+            recordTableHandler.update(timestamp, compiledCondition, updateConditionParameterMaps,
+                    updateSetExpressions, updateSetParameterMaps);
         } else {
-            update(recordStoreCompiledCondition.compiledCondition, updateConditionParameterMaps,
-                    recordTableCompiledUpdateSet.getUpdateSetMap(), updateSetParameterMaps);
+            update(compiledCondition, updateConditionParameterMaps, updateSetExpressions, updateSetParameterMaps);
         }
     }
 
@@ -326,15 +626,35 @@ public abstract class AbstractRecordTable extends Table {
             addingRecords.add(stateEvent.getStreamEvent(0).getOutputData());
             timestamp = stateEvent.getTimestamp();
         }
+        beginBloomFilteredWrite(addingRecords, updatesBloomFilteredAttributes(recordTableCompiledUpdateSet));
+        try {
+            if (writeBehindBuffer != null) {
+                writeBehindBuffer.updateOrAdd(timestamp, recordStoreCompiledCondition.compiledCondition,
+                        updateConditionParameterMaps, recordTableCompiledUpdateSet, updateSetParameterMaps,
+                        addingRecords);
+            } else {
+                updateOrAddRecords(timestamp, recordStoreCompiledCondition.compiledCondition,
+                        updateConditionParameterMaps, recordTableCompiledUpdateSet.getUpdateSetMap(),
+                        updateSetParameterMaps, addingRecords);
+            }
+        } finally {
+            endBloomFilteredWrite();
+        }
+
+    }
+
+    void updateOrAddRecords(long timestamp, CompiledCondition compiledCondition,
+                            List<Map<String, Object>> updateConditionParameterMaps,
+                            LinkedHashMap<String, CompiledExpression> updateSetExpressions,
+                            List<Map<String, Object>> updateSetParameterMaps, List<Object[]> addingRecords)
+            throws ConnectionUnavailableException {
         if (recordTableHandler != null) {
-            recordTableHandler.updateOrAdd(timestamp, recordStoreCompiledCondition.compiledCondition,
-                    updateConditionParameterMaps, recordTableCompiledUpdateSet.getUpdateSetMap(),
-                    updateSetParameterMaps, addingRecords);
+            recordTableHandler.updateOrAdd(timestamp, compiledCondition, updateConditionParameterMaps,
+                    updateSetExpressions, updateSetParameterMaps, addingRecords);
         } else {
-            updateOrAdd(recordStoreCompiledCondition.compiledCondition, updateConditionParameterMaps,
-                    recordTableCompiledUpdateSet.getUpdateSetMap(), updateSetParameterMaps, addingRecords);
+            updateOrAdd(compiledCondition, updateConditionParameterMaps, updateSetExpressions,
+                    updateSetParameterMaps, addingRecords);
         }
-
     }
 
     /**
@@ -370,8 +690,45 @@ public abstract class AbstractRecordTable extends Table {
                 new UpdateOrInsertReducer(inMemoryCompiledCondition, matchingMetaInfoHolder), null,
                 siddhiQueryContext);
         CompiledCondition compileCondition = compileCondition(expressionBuilder);
+        registerWriteBehindCondition(expressionBuilder, compileCondition);
         Map<String, ExpressionExecutor> expressionExecutorMap = expressionBuilder.getVariableExpressionExecutorMap();
-        return new RecordStoreCompiledCondition(expressionExecutorMap, compileCondition, siddhiQueryContext);
+        return new RecordStoreCompiledCondition(expressionExecutorMap, compileCondition, siddhiQueryContext,
+                compileBloomFilterGuard(condition, matchingMetaInfoHolder, variableExpressionExecutors, tableMap,
+                        siddhiQueryContext), inMemoryCompiledCondition, matchingMetaInfoHolder.getStoreEventIndex());
+    }
+
+    protected BloomFilterGuard compileBloomFilterGuard(Expression condition,
+                                                       MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                                       List<VariableExpressionExecutor> variableExpressionExecutors,
+                                                       Map<String, Table> tableMap,
+                                                       SiddhiQueryContext siddhiQueryContext) {
+        return BloomFilterGuard.parse(condition, bloomFilteredAttributes, matchingMetaInfoHolder,
+                variableExpressionExecutors, tableMap, siddhiQueryContext);
+    }
+
+    /**
+     * Register the table attributes used by the compiled condition with the write-behind buffer, which are used to
+     * decide whether successive updates can be coalesced.
+     *
+     * @param expressionBuilder expression builder of the condition
+     * @param compiledCondition condition compiled by the store
+     */
+    protected void registerWriteBehindCondition(ExpressionBuilder expressionBuilder,
+                                                CompiledCondition compiledCondition) {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.registerCondition(compiledCondition, collectStoreAttributes(expressionBuilder));
+        }
+    }
+
+    private Set<String> collectStoreAttributes(ExpressionBuilder expressionBuilder) {
+        final Set<String> storeAttributes = new HashSet<>();
+        expressionBuilder.build(new BaseExpressionVisitor() {
+            @Override
+            public void beginVisitStoreVariable(String storeId, String attributeName, Attribute.Type type) {
+                storeAttributes.add(attributeName);
+            }
+        });
+        return storeAttributes;
     }
 
     public CompiledUpdateSet compileUpdateSet(UpdateSet updateSet,
@@ -380,6 +737,7 @@ public abstract class AbstractRecordTable extends Table {
                                               Map<String, Table> tableMap, SiddhiQueryContext siddhiQueryContext) {
         RecordTableCompiledUpdateSet recordTableCompiledUpdateSet = new RecordTableCompiledUpdateSet();
         Map<String, ExpressionExecutor> parentExecutorMap = new HashMap<>();
+        Set<String> storeAttributes = new HashSet<>();
         for (UpdateSet.SetAttribute setAttribute : updateSet.getSetAttributeList()) {
             ExpressionExecutor inMemoryAssignmentExecutor = ExpressionParser.parseExpression(
                     setAttribute.getAssignmentExpression(), matchingMetaInfoHolder.getMetaStateEvent(),
@@ -391,11 +749,17 @@ public abstract class AbstractRecordTable extends Table {
                     inMemoryAssignmentExecutor, siddhiQueryContext);
             CompiledExpression compiledExpression = compileSetAttribute(expressionBuilder);
             recordTableCompiledUpdateSet.put(setAttribute.getTableVariable().getAttributeName(), compiledExpression);
+            if (writeBehindBuffer != null) {
+                storeAttributes.addAll(collectStoreAttributes(expressionBuilder));
+            }
             Map<String, ExpressionExecutor> expressionExecutorMap =
                     expressionBuilder.getVariableExpressionExecutorMap();
             parentExecutorMap.putAll(expressionExecutorMap);
         }
         recordTableCompiledUpdateSet.setExpressionExecutorMap(parentExecutorMap);
+        if (writeBehindBuffer != null) {
+            recordTableCompiledUpdateSet.setStoreAttributes(storeAttributes);
+        }
         return recordTableCompiledUpdateSet;
     }
 
@@ -422,6 +786,14 @@ public abstract class AbstractRecordTable extends Table {
         return false;
     }
 
+    @Override
+    public void shutdown() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.stop();
+        }
+        super.shutdown();
+    }
+
     /**
      * Compiled condition of the {@link AbstractRecordTable}
      */
@@ -429,13 +801,55 @@ public abstract class AbstractRecordTable extends Table {
         protected Map<String, ExpressionExecutor> variableExpressionExecutorMap;
         private CompiledCondition compiledCondition;
         private SiddhiQueryContext siddhiQueryContext;
+        private BloomFilterGuard bloomFilterGuard;
+        private ExpressionExecutor inMemoryCompiledCondition;
+        private int storeEventIndex;
 
         RecordStoreCompiledCondition(Map<String, ExpressionExecutor> variableExpressionExecutorMap,
                                      CompiledCondition compiledCondition,
                                      SiddhiQueryContext siddhiQueryContext) {
+            this(variableExpressionExecutorMap, compiledCondition, siddhiQueryContext, null);
+        }
+
+        RecordStoreCompiledCondition(Map<String, ExpressionExecutor> variableExpressionExecutorMap,
+                                     CompiledCondition compiledCondition,
+                                     SiddhiQueryContext siddhiQueryContext, BloomFilterGuard bloomFilterGuard) {
             this.variableExpressionExecutorMap = variableExpressionExecutorMap;
             this.compiledCondition = compiledCondition;
             this.siddhiQueryContext = siddhiQueryContext;
+            this.bloomFilterGuard = bloomFilterGuard;
+        }
+
+        RecordStoreCompiledCondition(Map<String, ExpressionExecutor> variableExpressionExecutorMap,
+                                     CompiledCondition compiledCondition,
+                                     SiddhiQueryContext siddhiQueryContext, BloomFilterGuard bloomFilterGuard,
+                                     ExpressionExecutor inMemoryCompiledCondition, int storeEventIndex) {
+            this(variableExpressionExecutorMap, compiledCondition, siddhiQueryContext, bloomFilterGuard);
+            this.inMemoryCompiledCondition = inMemoryCompiledCondition;
+            this.storeEventIndex = storeEventIndex;
+        }
+
+        /**
+         * Creates the condition of the store for the given compiled condition, keeping the in-memory condition used
+         * to match the records pending in the write-behind buffer.
+         */
+        RecordStoreCompiledCondition forStoreCondition(CompiledCondition storeCompiledCondition) {
+            return new RecordStoreCompiledCondition(variableExpressionExecutorMap, storeCompiledCondition,
+                    siddhiQueryContext, null, inMemoryCompiledCondition, storeEventIndex);
+        }
+
+        /**
+         * Checks whether a record that is not yet written to the store matches the condition.
+         */
+        boolean matches(StateEvent matchingEvent, Object[] record) {
+            StreamEvent recordEvent = storeEventPool.newInstance();
+            System.arraycopy(record, 0, recordEvent.getOutputData(), 0, record.length);
+            matchingEvent.setEvent(storeEventIndex, recordEvent);
+            try {
+                return (Boolean) inMemoryCompiledCondition.execute(matchingEvent);
+            } finally {
+                matchingEvent.setEvent(storeEventIndex, null);
+            }
         }
 
         public CompiledCondition getCompiledCondition() {
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.table.record;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.util.collection.AttributeBloomFilters;
+import io.siddhi.core.util.collection.BloomFilterGuard;
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link AttributeBloomFilters} of an {@link AbstractRecordTable}, which let the table answer lookups of values that
+ * are not in the store without querying it.
+ * <p>
+ * As the store may already contain records, the filters are built in the background by scanning the store when they
+ * are first needed, and lookups are not guarded until the build completes. The filters are maintained on the writes
+ * performed through the table; writes are registered with {@link #beginWrite(List, boolean)} before they are sent
+ * to the store, so that a build either scans a write or receives its values. Updates of filtered attributes
+ * invalidate the filters, as do saturated filters, which are rebuilt with the next lookup.
+ */
+class RecordTableBloomFilters {
+
+    private static final Logger log = Logger.getLogger(RecordTableBloomFilters.class);
+
+    private final AbstractRecordTable recordTable;
+    private final Map<String, Integer> attributePositions;
+    private final SiddhiAppContext siddhiAppContext;
+    private final ReadWriteLock writeLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean buildScheduled = new AtomicBoolean(false);
+    private volatile AttributeBloomFilters bloomFilters;
+    private AttributeBloomFilters buildingBloomFilters;
+    private long generation;
+    private int expectedSize;
+
+    RecordTableBloomFilters(AbstractRecordTable recordTable, Map<String, Integer> attributePositions,
+                            SiddhiAppContext siddhiAppContext) {
+        this.recordTable = recordTable;
+        this.attributePositions = attributePositions;
+        this.siddhiAppContext = siddhiAppContext;
+    }
+
+    /**
+     * Registers a write to the store, which has to be followed by {@link #endWrite()} once the write is sent to the
+     * store.
+     *
+     * @param addedRecords    records added to the store by the write, or null if there are none
+     * @param updatesFiltered whether the write updates values of filtered attributes
+     */
+    void beginWrite(List<Object[]> addedRecords, boolean updatesFiltered) {
+        writeLock.readLock().lock();
+        synchronized (this) {
+            if (updatesFiltered) {
+                bloomFilters = null;
+                buildingBloomFilters = null;
+                generation++;
+            }
+            if (addedRecords != null) {
+                for (Object[] record : addedRecords) {
+                    if (bloomFilters != null) {
+                        bloomFilters.add(record);
+                    }
+                    if (buildingBloomFilters != null) {
+                        buildingBloomFilters.add(record);
+                    }
+                }
+            }
+        }
+    }
+
+    void endWrite() {
+        writeLock.readLock().unlock();
+    }
+
+    /**
+     * @param bloomFilterGuard guard of the lookup condition
+     * @param matchingEvent    event to be matched with the store
+     * @return false if no record of the store can match the event, true if some might
+     */
+    boolean mightMatch(BloomFilterGuard bloomFilterGuard, StateEvent matchingEvent) {
+        AttributeBloomFilters currentBloomFilters = bloomFilters;
+        if (currentBloomFilters == null || currentBloomFilters.isSaturated()) {
+            scheduleBuild();
+        }
+        return currentBloomFilters == null || currentBloomFilters.isSaturated() ||
+                bloomFilterGuard.mightMatch(matchingEvent, currentBloomFilters);
+    }
+
+    private void scheduleBuild() {
+        if (buildScheduled.compareAndSet(false, true)) {
+            try {
+                siddhiAppContext.getExecutorService().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            build();
+                        } finally {
+                            buildScheduled.set(false);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                buildScheduled.set(false);
+            }
+        }
+    }
+
+    private void build() {
+        AttributeBloomFilters newBloomFilters;
+        long buildGeneration;
+        // waits for the writes in progress, so that the scan observes them
+        writeLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                int size = expectedSize;
+                if (bloomFilters != null) {
+                    size = Math.max(size, bloomFilters.getInsertionCount());
+                }
+                newBloomFilters = new AttributeBloomFilters(attributePositions, size * 2);
+                buildingBloomFilters = newBloomFilters;
+                buildGeneration = generation;
+            }
+        } finally {
+            writeLock.writeLock().unlock();
+        }
+        int recordCount = 0;
+        try {
+            Iterator<Object[]> records = recordTable.findAllRecords();
+            if (records != null) {
+                try {
+                    while (records.hasNext()) {
+                        newBloomFilters.add(records.next());
+                        recordCount++;
+                    }
+                } finally {
+                    if (records instanceof Closeable) {
+                        ((Closeable) records).close();
+                    }
+                }
+            }
+        } catch (ConnectionUnavailableException | IOException | RuntimeException e) {
+            log.error("Error while building the Bloom filters of table '" + recordTable.getTableDefinition().getId() +
+                    "' from store, lookups are not filtered till they are built.", e);
+            synchronized (this) {
+                if (buildingBloomFilters == newBloomFilters) {
+                    buildingBloomFilters = null;
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            if (buildGeneration == generation) {
+                expectedSize = recordCount;
+                bloomFilters = newBloomFilters;
+                buildingBloomFilters = null;
+            }
+        }
+    }
+}
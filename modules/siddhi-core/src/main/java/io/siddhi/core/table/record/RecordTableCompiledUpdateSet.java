@@ -25,6 +25,7 @@ import io.siddhi.core.util.collection.operator.CompiledExpression;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * {@link CompiledUpdateSet} implementation for Record Table
@@ -32,6 +33,7 @@ import java.util.Map;
 public class RecordTableCompiledUpdateSet implements CompiledUpdateSet {
     private LinkedHashMap<String, CompiledExpression> updateSetMap = new LinkedHashMap<>();
     private Map<String, ExpressionExecutor> expressionExecutorMap = new HashMap<>();
+    private Set<String> storeAttributes;
 
     public LinkedHashMap<String, CompiledExpression> getUpdateSetMap() {
         return updateSetMap;
@@ -48,4 +50,18 @@ public class RecordTableCompiledUpdateSet implements CompiledUpdateSet {
     public void setExpressionExecutorMap(Map<String, ExpressionExecutor> expressionExecutorMap) {
         this.expressionExecutorMap = expressionExecutorMap;
     }
+
+    /**
+     * Get the table attributes referred by the assignment expressions, which is only resolved when write-behind is
+     * enabled for the table.
+     *
+     * @return table attributes referred by the assignments, or null if not resolved
+     */
+    public Set<String> getStoreAttributes() {
+        return storeAttributes;
+    }
+
+    public void setStoreAttributes(Set<String> storeAttributes) {
+        this.storeAttributes = storeAttributes;
+    }
 }
@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.table.record;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.core.util.ExceptionUtil;
+import io.siddhi.core.util.collection.operator.CompiledCondition;
+import io.siddhi.core.util.collection.operator.CompiledExpression;
+import io.siddhi.core.util.snapshot.SnapshotListener;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind buffer of an {@link AbstractRecordTable}, which queues the add, delete, update and updateOrAdd
+ * operations of the table and applies them to the store asynchronously in batches.
+ * <p>
+ * Successive operations of the same kind using the same compiled condition are merged into a single store call, and
+ * successive updates matching the same condition parameters (e.g. the same primary key) are coalesced to the latest
+ * one when the update set does not depend on the stored values. The buffer is flushed when it reaches the batch size,
+ * periodically at the flush interval, before snapshots and on shutdown. When the queue size is reached the writing
+ * thread flushes the buffer itself, applying back pressure on the writers.
+ * <p>
+ * Reads do not flush the buffer when only additions are pending, instead the pending records are overlaid on the
+ * records read from the store, see {@link #lockForRead()}. Pending deletes and updates are still flushed before a
+ * read, as they cannot be applied to the records read from the store without evaluating the store conditions.
+ */
+public class RecordTableWriteBehindBuffer implements SnapshotListener {
+
+    private static final Logger log = Logger.getLogger(RecordTableWriteBehindBuffer.class);
+
+    private final AbstractRecordTable recordTable;
+    private final SiddhiAppContext siddhiAppContext;
+    private final int batchSize;
+    private final int queueSize;
+    private final long flushInterval;
+    private final LinkedList<WriteOperation> pendingOperations = new LinkedList<>();
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final Map<CompiledCondition, Set<String>> conditionStoreAttributes =
+            Collections.synchronizedMap(new WeakHashMap<CompiledCondition, Set<String>>());
+    private int pendingSize;
+    private ScheduledFuture scheduledFuture;
+
+    public RecordTableWriteBehindBuffer(AbstractRecordTable recordTable, int batchSize, int queueSize,
+                                        long flushInterval, SiddhiAppContext siddhiAppContext) {
+        this.recordTable = recordTable;
+        this.batchSize = batchSize;
+        this.queueSize = queueSize;
+        this.flushInterval = flushInterval;
+        this.siddhiAppContext = siddhiAppContext;
+    }
+
+    public void start() {
+        siddhiAppContext.getSnapshotService().addSnapshotListener(this);
+        scheduledFuture = siddhiAppContext.getScheduledExecutorService().scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                flushInBackground();
+            }
+        }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+            scheduledFuture = null;
+        }
+        siddhiAppContext.getSnapshotService().removeSnapshotListener(this);
+        try {
+            flush();
+        } catch (ConnectionUnavailableException | RuntimeException e) {
+            log.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) + " Error while flushing the " +
+                    "pending writes of table '" + recordTable.getTableDefinition().getId() + "' on shutdown, " +
+                    getPendingSize() + " pending operations are discarded.", e);
+        }
+    }
+
+    /**
+     * Register the table attributes used by a compiled condition, so that updates using the condition can be
+     * coalesced when they do not modify those attributes.
+     *
+     * @param compiledCondition compiled condition of the store
+     * @param storeAttributes   table attributes referred by the condition
+     */
+    public void registerCondition(CompiledCondition compiledCondition, Set<String> storeAttributes) {
+        conditionStoreAttributes.put(compiledCondition, storeAttributes);
+    }
+
+    public void add(long timestamp, List<Object[]> records) throws ConnectionUnavailableException {
+        WriteOperation writeOperation = new WriteOperation(OperationType.ADD, timestamp, null, null, false);
+        for (Object[] record : records) {
+            writeOperation.records.add(record.clone());
+        }
+        enqueue(writeOperation);
+    }
+
+    public void delete(long timestamp, CompiledCondition compiledCondition,
+                       List<Map<String, Object>> deleteConditionParameterMaps)
+            throws ConnectionUnavailableException {
+        WriteOperation writeOperation = new WriteOperation(OperationType.DELETE, timestamp, compiledCondition,
+                null, false);
+        writeOperation.addConditionParameterMaps(deleteConditionParameterMaps);
+        enqueue(writeOperation);
+    }
+
+    public void update(long timestamp, CompiledCondition compiledCondition,
+                       List<Map<String, Object>> updateConditionParameterMaps,
+                       RecordTableCompiledUpdateSet recordTableCompiledUpdateSet,
+                       List<Map<String, Object>> updateSetParameterMaps) throws ConnectionUnavailableException {
+        WriteOperation writeOperation = new WriteOperation(OperationType.UPDATE, timestamp, compiledCondition,
+                recordTableCompiledUpdateSet.getUpdateSetMap(),
+                isCoalescable(compiledCondition, recordTableCompiledUpdateSet));
+        writeOperation.addUpdates(updateConditionParameterMaps, updateSetParameterMaps);
+        enqueue(writeOperation);
+    }
+
+    public void updateOrAdd(long timestamp, CompiledCondition compiledCondition,
+                            List<Map<String, Object>> updateConditionParameterMaps,
+                            RecordTableCompiledUpdateSet recordTableCompiledUpdateSet,
+                            List<Map<String, Object>> updateSetParameterMaps, List<Object[]> addingRecords)
+            throws ConnectionUnavailableException {
+        WriteOperation writeOperation = new WriteOperation(OperationType.UPDATE_OR_ADD, timestamp,
+                compiledCondition, recordTableCompiledUpdateSet.getUpdateSetMap(), false);
+        writeOperation.addUpdates(updateConditionParameterMaps, updateSetParameterMaps);
+        for (Object[] record : addingRecords) {
+            writeOperation.records.add(record.clone());
+        }
+        enqueue(writeOperation);
+    }
+
+    private boolean isCoalescable(CompiledCondition compiledCondition,
+                                  RecordTableCompiledUpdateSet recordTableCompiledUpdateSet) {
+        // a later update can only replace an earlier one when the assigned values do not depend on the stored
+        // values, and when the earlier update cannot change the records matched by the condition
+        Set<String> storeAttributes = conditionStoreAttributes.get(compiledCondition);
+        if (storeAttributes == null || recordTableCompiledUpdateSet.getStoreAttributes() == null ||
+                !recordTableCompiledUpdateSet.getStoreAttributes().isEmpty()) {
+            return false;
+        }
+        return Collections.disjoint(storeAttributes, recordTableCompiledUpdateSet.getUpdateSetMap().keySet());
+    }
+
+    private void enqueue(WriteOperation writeOperation) throws ConnectionUnavailableException {
+        boolean isFull;
+        synchronized (pendingOperations) {
+            isFull = pendingSize >= queueSize;
+        }
+        if (isFull) {
+            flush();
+        }
+        boolean isBatchFilled;
+        synchronized (pendingOperations) {
+            WriteOperation lastOperation = pendingOperations.peekLast();
+            if (lastOperation == null || !lastOperation.merge(writeOperation)) {
+                pendingOperations.add(writeOperation);
+            }
+            pendingSize += writeOperation.size();
+            isBatchFilled = pendingSize >= batchSize;
+        }
+        if (isBatchFilled && flushScheduled.compareAndSet(false, true)) {
+            siddhiAppContext.getExecutorService().execute(new Runnable() {
+                @Override
+                public void run() {
+                    flushScheduled.set(false);
+                    flushInBackground();
+                }
+            });
+        }
+    }
+
+    /**
+     * Apply all the pending operations to the store, in the order they were performed on the table.
+     *
+     * @throws ConnectionUnavailableException if the store is unavailable, the operations that are not applied are
+     *                                        kept in the buffer to be retried.
+     */
+    public void flush() throws ConnectionUnavailableException {
+        flushLock.writeLock().lock();
+        try {
+            List<WriteOperation> writeOperations;
+            synchronized (pendingOperations) {
+                if (pendingOperations.isEmpty()) {
+                    return;
+                }
+                writeOperations = new ArrayList<>(pendingOperations);
+                pendingOperations.clear();
+                pendingSize = 0;
+            }
+            for (int i = 0; i < writeOperations.size(); i++) {
+                try {
+                    writeOperations.get(i).execute(recordTable);
+                } catch (ConnectionUnavailableException e) {
+                    requeue(writeOperations.subList(i, writeOperations.size()));
+                    throw e;
+                } catch (RuntimeException e) {
+                    requeue(writeOperations.subList(i + 1, writeOperations.size()));
+                    throw e;
+                }
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Locks the buffer for a read from the store, such that no pending operation is applied to the store until
+     * {@link #unlockRead()} is called. This lets the records pending to be added be overlaid on the records read from
+     * the store without them being missed or read twice, given that the records of the store are read before it is
+     * unlocked. When deletes or updates are pending, the buffer is flushed before it is locked.
+     *
+     * @return the records pending to be added, in the order they were added
+     * @throws ConnectionUnavailableException if the store is unavailable while flushing the pending operations
+     */
+    public List<Object[]> lockForRead() throws ConnectionUnavailableException {
+        while (true) {
+            flushLock.readLock().lock();
+            List<Object[]> pendingRecords = getPendingRecords();
+            if (pendingRecords != null) {
+                return pendingRecords;
+            }
+            flushLock.readLock().unlock();
+            flush();
+        }
+    }
+
+    public void unlockRead() {
+        flushLock.readLock().unlock();
+    }
+
+    private List<Object[]> getPendingRecords() {
+        synchronized (pendingOperations) {
+            List<Object[]> pendingRecords = new ArrayList<>();
+            for (WriteOperation writeOperation : pendingOperations) {
+                if (writeOperation.operationType != OperationType.ADD) {
+                    return null;
+                }
+                pendingRecords.addAll(writeOperation.records);
+            }
+            return pendingRecords;
+        }
+    }
+
+    private void requeue(List<WriteOperation> writeOperations) {
+        synchronized (pendingOperations) {
+            pendingOperations.addAll(0, writeOperations);
+            for (WriteOperation writeOperation : writeOperations) {
+                pendingSize += writeOperation.size();
+            }
+        }
+    }
+
+    private void flushInBackground() {
+        if (!recordTable.getIsConnected()) {
+            return;
+        }
+        try {
+            flush();
+        } catch (ConnectionUnavailableException e) {
+            recordTable.setIsConnectedToFalse();
+            log.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) + " Connection unavailable at " +
+                    "Table '" + recordTable.getTableDefinition().getId() + "' while flushing pending writes, " +
+                    "will retry connection immediately.", e);
+            recordTable.connectWithRetry();
+        } catch (RuntimeException e) {
+            log.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) + " Error while flushing the " +
+                    "pending writes of table '" + recordTable.getTableDefinition().getId() + "', the failed " +
+                    "operation is discarded.", e);
+        }
+    }
+
+    @Override
+    public void beforeSnapshot() {
+        try {
+            flush();
+        } catch (ConnectionUnavailableException e) {
+            throw new SiddhiAppRuntimeException("Error while flushing the pending writes of table '" +
+                    recordTable.getTableDefinition().getId() + "' before snapshot, " + e.getMessage(), e);
+        }
+    }
+
+    public int getPendingSize() {
+        synchronized (pendingOperations) {
+            return pendingSize;
+        }
+    }
+
+    private enum OperationType {
+        ADD, DELETE, UPDATE, UPDATE_OR_ADD
+    }
+
+    /**
+     * Pending write operation holding the parameters of one or more merged table operations.
+     */
+    private static class WriteOperation {
+        private final OperationType operationType;
+        private final CompiledCondition compiledCondition;
+        private final LinkedHashMap<String, CompiledExpression> updateSetExpressions;
+        private final boolean coalescable;
+        private final List<Object[]> records = new ArrayList<>();
+        private final List<Map<String, Object>> conditionParameterMaps = new ArrayList<>();
+        private final List<Map<String, Object>> updateSetParameterMaps = new ArrayList<>();
+        private final Set<Map<String, Object>> distinctConditionParameterMaps = new HashSet<>();
+        private final LinkedHashMap<Map<String, Object>, Map<String, Object>> coalescedUpdates =
+                new LinkedHashMap<>();
+        private long timestamp;
+
+        WriteOperation(OperationType operationType, long timestamp, CompiledCondition compiledCondition,
+                       LinkedHashMap<String, CompiledExpression> updateSetExpressions, boolean coalescable) {
+            this.operationType = operationType;
+            this.timestamp = timestamp;
+            this.compiledCondition = compiledCondition;
+            this.updateSetExpressions = updateSetExpressions;
+            this.coalescable = coalescable;
+        }
+
+        void addConditionParameterMaps(List<Map<String, Object>> parameterMaps) {
+            for (Map<String, Object> parameterMap : parameterMaps) {
+                // deleting the same records again within the batch has no effect
+                if (distinctConditionParameterMaps.add(parameterMap)) {
+                    conditionParameterMaps.add(parameterMap);
+                }
+            }
+        }
+
+        void addUpdates(List<Map<String, Object>> conditionParameterMaps,
+                        List<Map<String, Object>> updateSetParameterMaps) {
+            if (coalescable) {
+                for (int i = 0; i < conditionParameterMaps.size(); i++) {
+                    coalescedUpdates.remove(conditionParameterMaps.get(i));
+                    coalescedUpdates.put(conditionParameterMaps.get(i), updateSetParameterMaps.get(i));
+                }
+            } else {
+                this.conditionParameterMaps.addAll(conditionParameterMaps);
+                this.updateSetParameterMaps.addAll(updateSetParameterMaps);
+            }
+        }
+
+        boolean merge(WriteOperation writeOperation) {
+            if (operationType != writeOperation.operationType ||
+                    compiledCondition != writeOperation.compiledCondition ||
+                    updateSetExpressions != writeOperation.updateSetExpressions ||
+                    coalescable != writeOperation.coalescable) {
+                return false;
+            }
+            switch (operationType) {
+                case ADD:
+                    records.addAll(writeOperation.records);
+                    break;
+                case DELETE:
+                    addConditionParameterMaps(writeOperation.conditionParameterMaps);
+                    break;
+                case UPDATE:
+                    if (coalescable) {
+                        addUpdates(new ArrayList<>(writeOperation.coalescedUpdates.keySet()),
+                                new ArrayList<>(writeOperation.coalescedUpdates.values()));
+                    } else {
+                        addUpdates(writeOperation.conditionParameterMaps, writeOperation.updateSetParameterMaps);
+                    }
+                    break;
+                case UPDATE_OR_ADD:
+                    addUpdates(writeOperation.conditionParameterMaps, writeOperation.updateSetParameterMaps);
+                    records.addAll(writeOperation.records);
+                    break;
+            }
+            timestamp = writeOperation.timestamp;
+            return true;
+        }
+
+        int size() {
+            switch (operationType) {
+                case ADD:
+                    return records.size();
+                case UPDATE:
+                    return coalescable ? coalescedUpdates.size() : conditionParameterMaps.size();
+                default:
+                    return conditionParameterMaps.size();
+            }
+        }
+
+        void execute(AbstractRecordTable recordTable) throws ConnectionUnavailableException {
+            switch (operationType) {
+                case ADD:
+                    recordTable.addRecords(timestamp, records);
+                    break;
+                case DELETE:
+                    recordTable.deleteRecords(timestamp, compiledCondition, conditionParameterMaps);
+                    break;
+                case UPDATE:
+                    if (coalescable) {
+                        recordTable.updateRecords(timestamp, compiledCondition,
+                                new ArrayList<>(coalescedUpdates.keySet()), updateSetExpressions,
+                                new ArrayList<>(coalescedUpdates.values()));
+                    } else {
+                        recordTable.updateRecords(timestamp, compiledCondition, conditionParameterMaps,
+                                updateSetExpressions, updateSetParameterMaps);
+                    }
+                    break;
+                case UPDATE_OR_ADD:
+                    recordTable.updateOrAddRecords(timestamp, compiledCondition, conditionParameterMaps,
+                            updateSetExpressions, updateSetParameterMaps, records);
+                    break;
+            }
+        }
+    }
+}
@@ -26,33 +26,24 @@ import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.statistics.ThroughputTracker;
 import io.siddhi.core.util.statistics.metrics.Level;
+import io.siddhi.core.util.timestamp.TimerService;
 import io.siddhi.query.api.definition.TriggerDefinition;
 import org.apache.log4j.Logger;
-import org.quartz.CronScheduleBuilder;
-import org.quartz.Job;
-import org.quartz.JobDataMap;
-import org.quartz.JobDetail;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobExecutionException;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.SchedulerFactory;
-import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
 
 /**
  * Implementation of {@link Trigger} which will trigger events based on a cron expression.
  */
-public class CronTrigger extends AbstractTrigger implements Job {
+public class CronTrigger extends AbstractTrigger {
 
     protected static final Logger LOG = Logger.getLogger(CronTrigger.class);
 
     private TriggerDefinition triggerDefinition;
     private SiddhiAppContext siddhiAppContext;
     private StreamJunction streamJunction;
-    private Scheduler scheduler;
-    private String jobName;
-    private String jobGroup = "TriggerGroup";
+    private TimerService.Timer timer;
     private ThroughputTracker throughputTracker;
 
     @Override
@@ -86,7 +77,13 @@ public class CronTrigger extends AbstractTrigger implements Job {
      */
     @Override
     public void start() {
-        scheduleCronJob(triggerDefinition.getAt(), triggerDefinition.getId());
+        try {
+            timer = siddhiAppContext.getTimerService().scheduleCron(new CronExpression(triggerDefinition.getAt()),
+                    this::sendEvent);
+        } catch (ParseException e) {
+            LOG.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
+                    " Error while scheduling cron expression of trigger '" + triggerDefinition.getId() + "'.", e);
+        }
     }
 
     /**
@@ -96,64 +93,20 @@ public class CronTrigger extends AbstractTrigger implements Job {
      */
     @Override
     public void stop() {
-        try {
-            if (scheduler != null) {
-                scheduler.deleteJob(new JobKey(jobName, jobGroup));
-            }
-        } catch (SchedulerException e) {
-            LOG.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
-                    " Error while removing the cron trigger job '" + jobGroup + "':'" + jobName + "'", e);
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
         }
     }
 
-    private void scheduleCronJob(String cronString, String elementId) {
-        try {
-            SchedulerFactory schedulerFactory = new StdSchedulerFactory();
-            scheduler = schedulerFactory.getScheduler();
-            jobName = "TriggerJob_" + elementId;
-            JobKey jobKey = new JobKey(jobName, jobGroup);
-
-            if (scheduler.checkExists(jobKey)) {
-                scheduler.deleteJob(jobKey);
-            }
-            scheduler.start();
-            JobDataMap dataMap = new JobDataMap();
-            dataMap.put("trigger", this);
-
-            JobDetail job = org.quartz.JobBuilder.newJob(CronTrigger.class)
-                    .withIdentity(jobName, jobGroup)
-                    .usingJobData(dataMap)
-                    .build();
-
-            org.quartz.Trigger trigger = org.quartz.TriggerBuilder.newTrigger()
-                    .withIdentity("TriggerJob_" + elementId, jobGroup)
-                    .withSchedule(CronScheduleBuilder.cronSchedule(cronString))
-                    .build();
-
-            scheduler.scheduleJob(job, trigger);
-
-        } catch (SchedulerException e) {
-            LOG.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
-                    " Error while instantiating quartz scheduler for trigger '" + triggerDefinition.getId() + "'.", e);
-        }
-    }
-
-    @Override
-    public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
-        JobDataMap dataMap = jobExecutionContext.getJobDetail().getJobDataMap();
-        CronTrigger cronEventTrigger = (CronTrigger) dataMap.get("trigger");
+    private void sendEvent(long timestamp) {
         if (LOG.isDebugEnabled()) {
-            LOG.debug("Running Trigger Job '" + cronEventTrigger.getId() + "'");
+            LOG.debug("Running Trigger '" + triggerDefinition.getId() + "'");
         }
-        cronEventTrigger.sendEvent();
-    }
-
-    private void sendEvent() {
-        long currentTime = siddhiAppContext.getTimestampGenerator().currentTime();
         if (throughputTracker != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
             throughputTracker.eventIn();
         }
-        Event event = new Event(currentTime, new Object[]{currentTime});
+        Event event = new Event(timestamp, new Object[]{timestamp});
         try {
             streamJunction.sendEvent(event);
         } catch (Exception e) {
@@ -25,11 +25,9 @@ import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.statistics.ThroughputTracker;
 import io.siddhi.core.util.statistics.metrics.Level;
+import io.siddhi.core.util.timestamp.TimerService;
 import io.siddhi.query.api.definition.TriggerDefinition;
 
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-
 /**
  * Implementation of {@link Trigger} which will trigger events based on a pre-defined period.
  */
@@ -37,7 +35,7 @@ public class PeriodicTrigger extends AbstractTrigger {
     private TriggerDefinition triggerDefinition;
     private SiddhiAppContext siddhiAppContext;
     private StreamJunction streamJunction;
-    private ScheduledFuture scheduledFuture;
+    private TimerService.Timer timer;
     private ThroughputTracker throughputTracker;
 
     @Override
@@ -71,21 +69,17 @@ public class PeriodicTrigger extends AbstractTrigger {
      */
     @Override
     public void start() {
-        scheduledFuture = siddhiAppContext.getScheduledExecutorService().scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                long currentTime = siddhiAppContext.getTimestampGenerator().currentTime();
-                if (throughputTracker != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
-                    throughputTracker.eventIn();
-                }
-                Event event = new Event(currentTime, new Object[]{currentTime});
-                try {
-                    streamJunction.sendEvent(event);
-                } catch (Exception e) {
-                    streamJunction.handleError(event, e);
-                }
+        timer = siddhiAppContext.getTimerService().scheduleAtEvery(triggerDefinition.getAtEvery(), timestamp -> {
+            if (throughputTracker != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
+                throughputTracker.eventIn();
+            }
+            Event event = new Event(timestamp, new Object[]{timestamp});
+            try {
+                streamJunction.sendEvent(event);
+            } catch (Exception e) {
+                streamJunction.handleError(event, e);
             }
-        }, triggerDefinition.getAtEvery(), triggerDefinition.getAtEvery(), TimeUnit.MILLISECONDS);
+        });
     }
 
     /**
@@ -95,8 +89,9 @@ public class PeriodicTrigger extends AbstractTrigger {
      */
     @Override
     public void stop() {
-        if (scheduledFuture != null) {
-            scheduledFuture.cancel(true);
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
         }
     }
 
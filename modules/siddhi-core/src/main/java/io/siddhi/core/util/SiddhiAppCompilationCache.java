@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util;
+
+import io.siddhi.query.api.SiddhiApp;
+import org.apache.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of compiled {@link SiddhiApp}s keyed by the SHA-256 hash of the Siddhi app text, used to skip parsing the
+ * Siddhi query language when the same app is deployed again.
+ * <p>
+ * Entries are kept as serialized bytes so that each lookup returns a fresh {@link SiddhiApp}, which the runtime
+ * creation is free to modify. When a directory is given, entries are also persisted there and hence survive restarts.
+ * Entries that can no longer be deserialized, e.g. after a Siddhi version upgrade, are treated as cache misses.
+ * As persisted entries can be altered outside Siddhi, only the classes that make up a compiled {@link SiddhiApp}
+ * are deserialized.
+ */
+public class SiddhiAppCompilationCache {
+
+    private static final Logger log = Logger.getLogger(SiddhiAppCompilationCache.class);
+    private static final String FILE_EXTENSION = ".siddhiapp";
+    private static final int DEFAULT_MAX_IN_MEMORY_ENTRIES = 100;
+    private static final String QUERY_API_PACKAGE = "io.siddhi.query.api.";
+    private static final Set<String> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(
+            String.class.getName(), Boolean.class.getName(), Byte.class.getName(), Character.class.getName(),
+            Short.class.getName(), Integer.class.getName(), Long.class.getName(), Float.class.getName(),
+            Double.class.getName(), Number.class.getName(), Enum.class.getName(), Object.class.getName(),
+            ArrayList.class.getName(), LinkedList.class.getName(), HashMap.class.getName(),
+            LinkedHashMap.class.getName(), HashSet.class.getName(), LinkedHashSet.class.getName()));
+
+    private final Path directory;
+    private final Map<String, byte[]> inMemoryEntries;
+
+    public SiddhiAppCompilationCache() {
+        this(null, DEFAULT_MAX_IN_MEMORY_ENTRIES);
+    }
+
+    public SiddhiAppCompilationCache(String directory) {
+        this(directory, DEFAULT_MAX_IN_MEMORY_ENTRIES);
+    }
+
+    public SiddhiAppCompilationCache(String directory, int maxInMemoryEntries) {
+        if (directory != null) {
+            this.directory = Paths.get(directory);
+            try {
+                Files.createDirectories(this.directory);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot create Siddhi app compilation cache directory '" +
+                        this.directory.toAbsolutePath() + "'", e);
+            }
+        } else {
+            this.directory = null;
+        }
+        this.inMemoryEntries = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxInMemoryEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled {@link SiddhiApp} of the given Siddhi app text.
+     *
+     * @param siddhiAppString Siddhi app text after variable substitution
+     * @return a new {@link SiddhiApp} instance, or null when the app is not cached
+     */
+    public SiddhiApp get(String siddhiAppString) {
+        String key = generateKey(siddhiAppString);
+        byte[] entry;
+        synchronized (inMemoryEntries) {
+            entry = inMemoryEntries.get(key);
+        }
+        if (entry == null && directory != null) {
+            Path file = directory.resolve(key + FILE_EXTENSION);
+            if (Files.exists(file)) {
+                try {
+                    entry = Files.readAllBytes(file);
+                } catch (IOException e) {
+                    log.warn("Error reading compiled Siddhi app from '" + file.toAbsolutePath() + "', hence " +
+                            "compiling it again.", e);
+                }
+            }
+        }
+        if (entry == null) {
+            return null;
+        }
+        SiddhiApp siddhiApp = deserialize(entry, siddhiAppString);
+        if (siddhiApp == null) {
+            remove(key);
+            return null;
+        }
+        synchronized (inMemoryEntries) {
+            inMemoryEntries.put(key, entry);
+        }
+        return siddhiApp;
+    }
+
+    /**
+     * Adds the compiled {@link SiddhiApp} of the given Siddhi app text to the cache. This must be called before
+     * the {@link SiddhiApp} is used to create a runtime, as the runtime creation can modify it.
+     *
+     * @param siddhiAppString Siddhi app text after variable substitution
+     * @param siddhiApp       compiled Siddhi app
+     */
+    public void put(String siddhiAppString, SiddhiApp siddhiApp) {
+        String key = generateKey(siddhiAppString);
+        byte[] entry;
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+             ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(siddhiAppString);
+            objectOutputStream.writeObject(siddhiApp);
+            objectOutputStream.flush();
+            entry = byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            log.warn("Error serializing compiled Siddhi app, hence it is not cached.", e);
+            return;
+        }
+        synchronized (inMemoryEntries) {
+            inMemoryEntries.put(key, entry);
+        }
+        if (directory != null) {
+            Path file = directory.resolve(key + FILE_EXTENSION);
+            try {
+                Path tempFile = Files.createTempFile(directory, key, ".tmp");
+                Files.write(tempFile, entry);
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Error persisting compiled Siddhi app to '" + file.toAbsolutePath() + "'.", e);
+            }
+        }
+    }
+
+    /**
+     * Removes the in-memory entries, entries persisted in the directory are kept.
+     */
+    public void clear() {
+        synchronized (inMemoryEntries) {
+            inMemoryEntries.clear();
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (inMemoryEntries) {
+            inMemoryEntries.remove(key);
+        }
+        if (directory != null) {
+            try {
+                Files.deleteIfExists(directory.resolve(key + FILE_EXTENSION));
+            } catch (IOException e) {
+                log.warn("Error removing stale compiled Siddhi app '" + key + "'.", e);
+            }
+        }
+    }
+
+    private static SiddhiApp deserialize(byte[] entry, String siddhiAppString) {
+        try (ObjectInputStream objectInputStream = new CompiledSiddhiAppInputStream(new ByteArrayInputStream(entry))) {
+            // The app text is stored along with the compiled app to rule out hash collisions.
+            if (!siddhiAppString.equals(objectInputStream.readObject())) {
+                return null;
+            }
+            return (SiddhiApp) objectInputStream.readObject();
+        } catch (InvalidClassException e) {
+            log.warn("Ignoring compiled Siddhi app that refers to a disallowed class, " + e.getMessage());
+            return null;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Ignoring compiled Siddhi app that cannot be deserialized.", e);
+            }
+            return null;
+        }
+    }
+
+    private static boolean isAllowedClass(String className) {
+        String elementClassName = className;
+        while (elementClassName.startsWith("[")) {
+            elementClassName = elementClassName.substring(1);
+        }
+        if (elementClassName.length() == 1) {
+            // Array of a primitive type
+            return true;
+        }
+        if (elementClassName.startsWith("L") && elementClassName.endsWith(";")) {
+            elementClassName = elementClassName.substring(1, elementClassName.length() - 1);
+        }
+        return elementClassName.startsWith(QUERY_API_PACKAGE) || ALLOWED_CLASSES.contains(elementClassName);
+    }
+
+    private static String generateKey(String siddhiAppString) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(
+                    siddhiAppString.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+    }
+
+    /**
+     * Object input stream that only resolves the classes allowed in a compiled {@link SiddhiApp}.
+     */
+    private static class CompiledSiddhiAppInputStream extends ObjectInputStream {
+
+        CompiledSiddhiAppInputStream(InputStream inputStream) throws IOException {
+            super(inputStream);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass objectStreamClass)
+                throws IOException, ClassNotFoundException {
+            if (!isAllowedClass(objectStreamClass.getName())) {
+                throw new InvalidClassException(objectStreamClass.getName(),
+                        "class is not allowed in a compiled Siddhi app");
+            }
+            return super.resolveClass(objectStreamClass);
+        }
+    }
+}
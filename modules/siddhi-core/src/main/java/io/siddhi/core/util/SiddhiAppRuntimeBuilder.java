@@ -282,6 +282,10 @@ public class SiddhiAppRuntimeBuilder {
         return lockSynchronizer;
     }
 
+    public SiddhiAppContext getSiddhiAppContext() {
+        return siddhiAppContext;
+    }
+
     public SiddhiAppRuntime build() {
         return new SiddhiAppRuntimeImpl(streamDefinitionMap, tableDefinitionMap, windowDefinitionMap,
                 aggregationDefinitionMap, inputManager, queryProcessorMap, streamJunctionMap, tableMap, windowMap,
@@ -48,6 +48,7 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_PLAYBACK = "Playback";
     public static final String ANNOTATION_ENFORCE_ORDER = "EnforceOrder";
     public static final String ANNOTATION_ASYNC = "Async";
+    public static final String ANNOTATION_WATERMARK = "Watermark";
 
     public static final String ANNOTATION_ON_ERROR = "OnError";
     public static final String FAULT_STREAM_PREFIX = "!";
@@ -58,6 +59,8 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_INDEX_BY = "IndexBy";
     public static final String ANNOTATION_INDEX = "Index";
     public static final String ANNOTATION_PRIMARY_KEY = "PrimaryKey";
+    public static final String ANNOTATION_TIME_PARTITION = "TimePartition";
+    public static final String ANNOTATION_BLOOM_FILTER = "BloomFilter";
     public static final String ANNOTATION_STORE = "Store";
     public static final String ANNOTATION_SOURCE = "Source";
     public static final String ANNOTATION_SINK = "Sink";
@@ -70,6 +73,16 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ELEMENT_BUFFER_SIZE = "buffer.size";
     public static final String ANNOTATION_ELEMENT_WORKERS = "workers";
     public static final String ANNOTATION_ELEMENT_MAX_BATCH_SIZE = "batch.size.max";
+    public static final String ANNOTATION_ELEMENT_MAX_WORKERS = "workers.max";
+    public static final String ANNOTATION_ELEMENT_PARTITION_BY = "partition.by";
+    public static final String ANNOTATION_ELEMENT_SCALING_INTERVAL = "scaling.interval";
+    public static final String ANNOTATION_ELEMENT_WAIT_STRATEGY = "wait.strategy";
+    public static final String ANNOTATION_ELEMENT_DEDICATED_THREADS = "dedicated.threads";
+    public static final String ANNOTATION_ELEMENT_CPU_AFFINITY = "cpu.affinity";
+    public static final String ANNOTATION_ELEMENT_OVERFLOW_POLICY = "overflow.policy";
+    public static final String ANNOTATION_ELEMENT_BACKPRESSURE_HIGH = "backpressure.high";
+    public static final String ANNOTATION_ELEMENT_BACKPRESSURE_LOW = "backpressure.low";
+    public static final String ANNOTATION_ELEMENT_SLACK = "slack";
     public static final String ANNOTATION_ELEMENT_IDLE_TIME = "idle.time";
     public static final String ANNOTATION_ELEMENT_INCREMENT = "increment";
     public static final String ANNOTATION_ELEMENT_TYPE = "type";
@@ -80,7 +93,14 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ELEMENT_IDLE_PERIOD = "idle.period";
     public static final String ANNOTATION_ELEMENT_INTERVAL = "interval";
     public static final String ANNOTATION_ELEMENT_INCLUDE = "include";
+    public static final String ANNOTATION_ELEMENT_ATTRIBUTE = "attribute";
+    public static final String ANNOTATION_ELEMENT_SEGMENT_SIZE = "segment.size";
+    public static final String ANNOTATION_ELEMENT_COUNT = "count";
     public static final String ANNOTATION_PARTITION_BY_ID = "PartitionById";
+    public static final String ANNOTATION_SHARDS = "Shards";
+    public static final String ANNOTATION_EVENT_POOL = "EventPool";
+    public static final String ANNOTATION_ELEMENT_SIZE = "size";
+    public static final String ANNOTATION_ELEMENT_DEBUG = "debug";
 
     public static final String TRUE = "true";
     public static final String TRIGGER_START = "start";
@@ -113,6 +133,11 @@ public final class SiddhiConstants {
     public static final String METRIC_TYPE_DELETE = "delete";
     public static final String METRIC_TYPE_UPDATE_OR_INSERT = "updateOrInsert";
     public static final String METRIC_TYPE_CONTAINS = "contains";
+    public static final String METRIC_TYPE_CACHE_HIT = "cacheHit";
+    public static final String METRIC_TYPE_CACHE_MISS = "cacheMiss";
+    public static final String METRIC_TYPE_CACHE_EVICTION = "cacheEviction";
+    public static final String METRIC_TYPE_SCALE_UP = "scaleUp";
+    public static final String METRIC_TYPE_SCALE_DOWN = "scaleDown";
     public static final String METRIC_DELIMITER = ".";
     public static final String METRIC_AGGREGATE_ANNOTATION = "[+]";
     public static final String EXTENSION_SEPARATOR = ":";
@@ -122,6 +147,15 @@ public final class SiddhiConstants {
     public static final String TRANSPORT_CHANNEL_CREATION_IDENTIFIER = "transportChannelCreationEnabled";
 
     public static final String NAMESPACE_PURGE = "purge";
+    public static final String NAMESPACE_DISPATCH = "dispatch";
+    public static final String ANNOTATION_ELEMENT_GROUP_BY_KEY = "group.by.key";
+    public static final String NAMESPACE_CONCURRENCY = "concurrency";
+    public static final String ANNOTATION_ELEMENT_READ_MODE = "read.mode";
+    public static final String READ_MODE_LOCK = "lock";
+    public static final String READ_MODE_SNAPSHOT = "snapshot";
+    public static final String ANNOTATION_ELEMENT_MAX_STALENESS = "max.staleness";
+    public static final String NAMESPACE_INPUT = "input";
+    public static final String ANNOTATION_ELEMENT_SHARE_DATA = "share.data";
     public static final String NAMESPACE_RETENTION_PERIOD = "retentionPeriod";
 
     public static final String PARTITION_ID_DEFAULT = "null";
@@ -136,6 +170,13 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_CACHE_RETENTION_PERIOD = "retention.period";
     public static final String ANNOTATION_CACHE_POLICY = "cache.policy";
     public static final String ANNOTATION_CACHE_PURGE_INTERVAL = "purge.interval";
+    public static final String ANNOTATION_CACHE_NEGATIVE_RETENTION_PERIOD = "negative.retention.period";
+    public static final String ANNOTATION_CACHE_REFRESH_AHEAD_FACTOR = "refresh.ahead.factor";
+
+    public static final String ANNOTATION_WRITE_BEHIND = "WriteBehind";
+    public static final String ANNOTATION_WRITE_BEHIND_BATCH_SIZE = "batch.size";
+    public static final String ANNOTATION_WRITE_BEHIND_FLUSH_INTERVAL = "flush.interval";
+    public static final String ANNOTATION_WRITE_BEHIND_QUEUE_SIZE = "queue.size";
 
     public static final String AGG_START_TIMESTAMP_COL = "AGG_TIMESTAMP";
     public static final String AGG_EXTERNAL_TIMESTAMP_COL = "AGG_EVENT_TIMESTAMP";
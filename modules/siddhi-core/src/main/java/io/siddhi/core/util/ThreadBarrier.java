@@ -18,32 +18,99 @@
 
 package io.siddhi.core.util;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Thread Barrier used to avoid concurrency issues during event processing
+ * <p>
+ * Each processing thread keeps its own {@link Epoch} recording how deep it currently is within the barrier, hence
+ * {@link #enter()} and {@link #exit()} only write to thread local state and only read the shared lock state. Threads
+ * taking the barrier {@link #lock()} scan the registered epochs to find out whether the system is quiescent.
  */
 public class ThreadBarrier {
 
-    private ReentrantLock lock = new ReentrantLock();
-    private AtomicInteger counter = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Object quiescenceMonitor = new Object();
+    private final Queue<Epoch> epochs = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Epoch> threadEpoch = ThreadLocal.withInitial(this::registerEpoch);
 
     public void enter() {
-        if (lock.isLocked()) {
+        Epoch epoch = threadEpoch.get();
+        if (epoch.depth > 0) {
+            epoch.depth++;
+            return;
+        }
+        while (true) {
+            epoch.depth = 1;
+            if (!lock.isLocked() || lock.isHeldByCurrentThread()) {
+                return;
+            }
+            epoch.depth = 0;
+            notifyQuiescence();
             lock.lock();
             lock.unlock();
         }
-        counter.incrementAndGet();
     }
 
-
     public void exit() {
-        counter.decrementAndGet();
+        Epoch epoch = threadEpoch.get();
+        int depth = epoch.depth - 1;
+        epoch.depth = depth;
+        if (depth == 0 && lock.isLocked()) {
+            notifyQuiescence();
+        }
     }
 
     public int getActiveThreads() {
-        return counter.get();
+        int activeThreads = 0;
+        for (Iterator<Epoch> iterator = epochs.iterator(); iterator.hasNext(); ) {
+            Epoch epoch = iterator.next();
+            if (epoch.depth > 0) {
+                activeThreads++;
+            } else if (!epoch.owner.isAlive()) {
+                iterator.remove();
+            }
+        }
+        return activeThreads;
+    }
+
+    /**
+     * Returns the number of threads whose epochs are registered with the barrier. Epochs of the threads no longer
+     * alive are only pruned by {@link #getActiveThreads()}.
+     *
+     * @return the number of registered threads
+     */
+    public int getRegisteredThreads() {
+        return epochs.size();
+    }
+
+    /**
+     * Waits until no thread is active within the barrier. Expected to be called while holding the barrier
+     * {@link #lock()}, such that no new threads can enter while waiting.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return the number of threads still active within the barrier, zero when quiescent
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public int awaitQuiescence(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (quiescenceMonitor) {
+            int activeThreads = getActiveThreads();
+            while (activeThreads != 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                TimeUnit.NANOSECONDS.timedWait(quiescenceMonitor, remaining);
+                activeThreads = getActiveThreads();
+            }
+            return activeThreads;
+        }
     }
 
     public void lock() {
@@ -54,4 +121,28 @@ public class ThreadBarrier {
         lock.unlock();
     }
 
+    private void notifyQuiescence() {
+        synchronized (quiescenceMonitor) {
+            quiescenceMonitor.notifyAll();
+        }
+    }
+
+    private Epoch registerEpoch() {
+        Epoch epoch = new Epoch(Thread.currentThread());
+        epochs.add(epoch);
+        return epoch;
+    }
+
+    /**
+     * Per thread entry state of the barrier, only written by the owning thread. Epochs are allocated by their
+     * owning threads, hence usually do not share cache lines with each other.
+     */
+    private static final class Epoch {
+        private final Thread owner;
+        private volatile int depth;
+
+        private Epoch(Thread owner) {
+            this.owner = owner;
+        }
+    }
 }
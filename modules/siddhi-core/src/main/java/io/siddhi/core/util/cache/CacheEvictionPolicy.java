@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.cache;
+
+import io.siddhi.core.event.stream.StreamEvent;
+
+import java.util.Map;
+
+/**
+ * Keeps the primary keys of a cache table in the order they should be evicted, so that the next entry to evict can
+ * be found without scanning the table.
+ */
+public interface CacheEvictionPolicy {
+
+    /**
+     * Called when an entry is added to the cache, or when an existing entry is overwritten.
+     *
+     * @param key primary key of the entry
+     */
+    void onAdd(Object key);
+
+    /**
+     * Called when an entry of the cache is read or updated.
+     *
+     * @param key primary key of the entry
+     */
+    void onAccess(Object key);
+
+    /**
+     * Called when an entry is removed from the cache.
+     *
+     * @param key primary key of the entry
+     */
+    void onRemove(Object key);
+
+    /**
+     * Removes and returns the key of the entry that should be evicted next. The returned key might belong to an
+     * entry that is no longer in the cache, in which case the caller should skip it.
+     *
+     * @return primary key of the entry to evict, or null when no entries are tracked
+     */
+    Object pollEvictionCandidate();
+
+    /**
+     * Rebuilds the eviction order from the cache policy attribute of the given entries, used after the cache
+     * contents are restored from a snapshot.
+     *
+     * @param entries entries of the cache keyed by their primary keys
+     */
+    void rebuild(Map<Object, StreamEvent> entries);
+
+    /**
+     * Drops the keys that are not in the given entries.
+     *
+     * @param entries entries of the cache keyed by their primary keys
+     */
+    void retainAll(Map<Object, StreamEvent> entries);
+
+    void clear();
+
+    int size();
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.cache;
+
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import org.apache.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coordinates the loads of a store table cache from the store. Concurrent loads of the same key share a single store
+ * lookup, keys recently found to be missing in the store are remembered for the negative retention period, and hot
+ * keys can be reloaded in the background before they expire.
+ * <p>
+ * Every write to the table should call {@link #invalidate()}, so that loads which raced with the write are neither
+ * cached nor remembered as missing.
+ */
+public class CacheLoadCoordinator {
+    private static final Logger log = Logger.getLogger(CacheLoadCoordinator.class);
+
+    private final Map<Object, FutureTask<Boolean>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Map<Object, Long> missingKeys = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong coalescedLoadCount = new AtomicLong();
+    private final AtomicLong negativeHitCount = new AtomicLong();
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final long negativeRetentionPeriod;
+    private final int maxMissingKeys;
+
+    /**
+     * @param negativeRetentionPeriod time in milliseconds for which missing keys are remembered, or 0 to disable
+     * @param maxMissingKeys          maximum number of missing keys remembered at a time
+     */
+    public CacheLoadCoordinator(long negativeRetentionPeriod, int maxMissingKeys) {
+        this.negativeRetentionPeriod = negativeRetentionPeriod;
+        this.maxMissingKeys = maxMissingKeys;
+    }
+
+    /**
+     * Loads the key using the loader, or waits for the load of the same key already in progress and returns its
+     * result.
+     *
+     * @param key    key identifying the store lookup
+     * @param loader loads the records of the key from the store into the cache, returning whether any were found
+     * @return whether any records were found in the store
+     * @throws ConnectionUnavailableException if the store is not reachable
+     */
+    public boolean load(Object key, Callable<Boolean> loader) throws ConnectionUnavailableException {
+        FutureTask<Boolean> loadTask = new FutureTask<>(loader);
+        FutureTask<Boolean> existingLoadTask = inFlightLoads.putIfAbsent(key, loadTask);
+        if (existingLoadTask != null) {
+            coalescedLoadCount.incrementAndGet();
+            return getResult(existingLoadTask);
+        }
+        try {
+            loadTask.run();
+        } finally {
+            inFlightLoads.remove(key, loadTask);
+        }
+        return getResult(loadTask);
+    }
+
+    /**
+     * Reloads the key in the background, unless a load of the key is already in progress. Loads of the same key
+     * requested while the reload is in progress wait for it.
+     *
+     * @param key             key identifying the store lookup
+     * @param loader          loads the records of the key from the store into the cache
+     * @param executorService executor to run the reload on
+     */
+    public void refresh(Object key, Callable<Boolean> loader, ExecutorService executorService) {
+        FutureTask<Boolean> refreshTask = new FutureTask<>(loader);
+        if (inFlightLoads.putIfAbsent(key, refreshTask) != null) {
+            return;
+        }
+        try {
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        refreshTask.run();
+                    } finally {
+                        inFlightLoads.remove(key, refreshTask);
+                    }
+                    try {
+                        refreshTask.get();
+                        refreshCount.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException e) {
+                        log.error("Error while refreshing cache entry '" + key + "' from store, the entry will be " +
+                                "loaded again when it expires.", e.getCause());
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightLoads.remove(key, refreshTask);
+        }
+    }
+
+    private boolean getResult(FutureTask<Boolean> loadTask) throws ConnectionUnavailableException {
+        try {
+            return loadTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SiddhiAppRuntimeException("Interrupted while waiting for the cache to be loaded from store", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectionUnavailableException) {
+                throw (ConnectionUnavailableException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SiddhiAppRuntimeException("Error while loading the cache from store", cause);
+        }
+    }
+
+    /**
+     * @param key         key identifying the store lookup
+     * @param currentTime current time in milliseconds
+     * @return true if the key was found to be missing in the store within the negative retention period
+     */
+    public boolean isKnownMissing(Object key, long currentTime) {
+        if (negativeRetentionPeriod <= 0) {
+            return false;
+        }
+        Long missingSince = missingKeys.get(key);
+        if (missingSince == null) {
+            return false;
+        }
+        if (currentTime - missingSince >= negativeRetentionPeriod) {
+            missingKeys.remove(key, missingSince);
+            return false;
+        }
+        negativeHitCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Remembers that the key is missing in the store, unless the table was written after the lookup started.
+     * Should be called while holding the lock that guards the writes to the table.
+     *
+     * @param key         key identifying the store lookup
+     * @param currentTime current time in milliseconds
+     * @param loadVersion version of the table when the lookup started
+     */
+    public void recordMissing(Object key, long currentTime, long loadVersion) {
+        if (negativeRetentionPeriod <= 0 || version.get() != loadVersion) {
+            return;
+        }
+        if (missingKeys.size() >= maxMissingKeys) {
+            Iterator<Long> iterator = missingKeys.values().iterator();
+            while (iterator.hasNext()) {
+                if (currentTime - iterator.next() >= negativeRetentionPeriod) {
+                    iterator.remove();
+                }
+            }
+            if (missingKeys.size() >= maxMissingKeys) {
+                return;
+            }
+        }
+        missingKeys.put(key, currentTime);
+    }
+
+    /**
+     * @return version of the table, changed on every write
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Marks the table as written, forgetting the missing keys as they might have been added.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        if (!missingKeys.isEmpty()) {
+            missingKeys.clear();
+        }
+    }
+
+    public long getCoalescedLoadCount() {
+        return coalescedLoadCount.get();
+    }
+
+    public long getNegativeHitCount() {
+        return negativeHitCount.get();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+}
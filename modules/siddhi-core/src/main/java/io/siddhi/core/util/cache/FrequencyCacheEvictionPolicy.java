@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.cache;
+
+import io.siddhi.core.event.stream.StreamEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CacheEvictionPolicy} for LFU caches. Entries are kept in a list of frequency buckets ordered by access
+ * count, and each bucket keeps its entries in the order they reached that count. An access moves the entry to the
+ * next bucket and the entry to evict is the oldest entry of the first bucket, so all operations are O(1).
+ */
+public class FrequencyCacheEvictionPolicy implements CacheEvictionPolicy {
+
+    private final Map<Object, Node> nodes = new HashMap<>();
+    private final int cachePolicyAttributePosition;
+    private Bucket head;
+
+    /**
+     * @param cachePolicyAttributePosition position of the access count of the entries, used to rebuild the buckets
+     *                                     after restoring
+     */
+    public FrequencyCacheEvictionPolicy(int cachePolicyAttributePosition) {
+        this.cachePolicyAttributePosition = cachePolicyAttributePosition;
+    }
+
+    @Override
+    public void onAdd(Object key) {
+        // added and overwritten entries start again with an access count of one
+        onRemove(key);
+        add(key, 1);
+    }
+
+    @Override
+    public void onAccess(Object key) {
+        Node node = nodes.get(key);
+        if (node == null) {
+            return;
+        }
+        Bucket bucket = node.bucket;
+        Bucket nextBucket = bucket.next;
+        if (nextBucket == null || nextBucket.frequency != bucket.frequency + 1) {
+            nextBucket = insertBucketAfter(bucket, bucket.frequency + 1);
+        }
+        bucket.unlink(node);
+        nextBucket.append(node);
+        if (bucket.isEmpty()) {
+            removeBucket(bucket);
+        }
+    }
+
+    @Override
+    public void onRemove(Object key) {
+        Node node = nodes.remove(key);
+        if (node != null) {
+            Bucket bucket = node.bucket;
+            bucket.unlink(node);
+            if (bucket.isEmpty()) {
+                removeBucket(bucket);
+            }
+        }
+    }
+
+    @Override
+    public Object pollEvictionCandidate() {
+        if (head == null) {
+            return null;
+        }
+        Object key = head.first.key;
+        onRemove(key);
+        return key;
+    }
+
+    @Override
+    public void rebuild(Map<Object, StreamEvent> entries) {
+        clear();
+        List<Map.Entry<Object, StreamEvent>> sortedEntries = new ArrayList<>(entries.entrySet());
+        sortedEntries.sort((entry1, entry2) -> Integer.compare(
+                (Integer) entry1.getValue().getOutputData()[cachePolicyAttributePosition],
+                (Integer) entry2.getValue().getOutputData()[cachePolicyAttributePosition]));
+        Bucket tail = null;
+        for (Map.Entry<Object, StreamEvent> entry : sortedEntries) {
+            long frequency = (Integer) entry.getValue().getOutputData()[cachePolicyAttributePosition];
+            if (tail == null || tail.frequency != frequency) {
+                tail = tail == null ? insertFirstBucket(frequency) : insertBucketAfter(tail, frequency);
+            }
+            Node node = new Node(entry.getKey());
+            tail.append(node);
+            nodes.put(entry.getKey(), node);
+        }
+    }
+
+    @Override
+    public void retainAll(Map<Object, StreamEvent> entries) {
+        List<Object> staleKeys = new ArrayList<>();
+        for (Object key : nodes.keySet()) {
+            if (!entries.containsKey(key)) {
+                staleKeys.add(key);
+            }
+        }
+        for (Object key : staleKeys) {
+            onRemove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        nodes.clear();
+        head = null;
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    private void add(Object key, long frequency) {
+        Bucket bucket = head;
+        if (bucket == null || bucket.frequency != frequency) {
+            bucket = insertFirstBucket(frequency);
+        }
+        Node node = new Node(key);
+        bucket.append(node);
+        nodes.put(key, node);
+    }
+
+    private Bucket insertFirstBucket(long frequency) {
+        Bucket bucket = new Bucket(frequency);
+        bucket.next = head;
+        if (head != null) {
+            head.previous = bucket;
+        }
+        head = bucket;
+        return bucket;
+    }
+
+    private Bucket insertBucketAfter(Bucket bucket, long frequency) {
+        Bucket newBucket = new Bucket(frequency);
+        newBucket.previous = bucket;
+        newBucket.next = bucket.next;
+        if (bucket.next != null) {
+            bucket.next.previous = newBucket;
+        }
+        bucket.next = newBucket;
+        return newBucket;
+    }
+
+    private void removeBucket(Bucket bucket) {
+        if (bucket.previous != null) {
+            bucket.previous.next = bucket.next;
+        } else {
+            head = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.previous = bucket.previous;
+        }
+    }
+
+    private static class Bucket {
+        private final long frequency;
+        private Bucket previous;
+        private Bucket next;
+        private Node first;
+        private Node last;
+
+        private Bucket(long frequency) {
+            this.frequency = frequency;
+        }
+
+        private void append(Node node) {
+            node.bucket = this;
+            node.previous = last;
+            node.next = null;
+            if (last != null) {
+                last.next = node;
+            } else {
+                first = node;
+            }
+            last = node;
+        }
+
+        private void unlink(Node node) {
+            if (node.previous != null) {
+                node.previous.next = node.next;
+            } else {
+                first = node.next;
+            }
+            if (node.next != null) {
+                node.next.previous = node.previous;
+            } else {
+                last = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        private boolean isEmpty() {
+            return first == null;
+        }
+    }
+
+    private static class Node {
+        private final Object key;
+        private Bucket bucket;
+        private Node previous;
+        private Node next;
+
+        private Node(Object key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.cache;
+
+import io.siddhi.core.event.stream.StreamEvent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CacheEvictionPolicy} backed by a doubly linked list over the primary keys, used for FIFO and LRU caches.
+ * Entries are appended at the tail when added, and for LRU moved to the tail when accessed, so the head is always
+ * the entry to evict.
+ */
+public class LinkedCacheEvictionPolicy implements CacheEvictionPolicy {
+
+    private final LinkedHashMap<Object, Boolean> keys;
+    private final boolean accessOrder;
+    private final int cachePolicyAttributePosition;
+
+    /**
+     * @param accessOrder                  true to move entries to the tail on access (LRU), false to keep them in
+     *                                     insertion order (FIFO)
+     * @param cachePolicyAttributePosition position of the added or last accessed timestamp of the entries, used to
+     *                                     rebuild the order after restoring
+     */
+    public LinkedCacheEvictionPolicy(boolean accessOrder, int cachePolicyAttributePosition) {
+        this.keys = new LinkedHashMap<>(16, 0.75f, accessOrder);
+        this.accessOrder = accessOrder;
+        this.cachePolicyAttributePosition = cachePolicyAttributePosition;
+    }
+
+    @Override
+    public void onAdd(Object key) {
+        if (keys.put(key, Boolean.TRUE) != null && !accessOrder) {
+            keys.remove(key);
+            keys.put(key, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void onAccess(Object key) {
+        if (accessOrder) {
+            keys.get(key);
+        }
+    }
+
+    @Override
+    public void onRemove(Object key) {
+        keys.remove(key);
+    }
+
+    @Override
+    public Object pollEvictionCandidate() {
+        Iterator<Object> iterator = keys.keySet().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Object key = iterator.next();
+        iterator.remove();
+        return key;
+    }
+
+    @Override
+    public void rebuild(Map<Object, StreamEvent> entries) {
+        keys.clear();
+        List<Map.Entry<Object, StreamEvent>> sortedEntries = new ArrayList<>(entries.entrySet());
+        sortedEntries.sort((entry1, entry2) -> Long.compare(
+                (Long) entry1.getValue().getOutputData()[cachePolicyAttributePosition],
+                (Long) entry2.getValue().getOutputData()[cachePolicyAttributePosition]));
+        for (Map.Entry<Object, StreamEvent> entry : sortedEntries) {
+            keys.put(entry.getKey(), Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void retainAll(Map<Object, StreamEvent> entries) {
+        keys.keySet().retainAll(entries.keySet());
+    }
+
+    @Override
+    public void clear() {
+        keys.clear();
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.collection;
+
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.annotation.Element;
+import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
+import io.siddhi.query.api.util.AnnotationHelper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link BloomFilter}s of the table attributes given in the {@code @BloomFilter} annotation, which are maintained on
+ * the table writes and consulted by {@link BloomFilterGuard} before looking up the table.
+ */
+public class AttributeBloomFilters {
+
+    private final Map<String, Integer> attributePositions;
+    private final Map<String, BloomFilter> bloomFilters = new HashMap<>();
+
+    /**
+     * @param attributePositions positions of the filtered attributes in the table events
+     * @param capacity           expected number of table events
+     */
+    public AttributeBloomFilters(Map<String, Integer> attributePositions, int capacity) {
+        this.attributePositions = attributePositions;
+        for (String attribute : attributePositions.keySet()) {
+            bloomFilters.put(attribute, new BloomFilter(capacity));
+        }
+    }
+
+    /**
+     * Parses the {@code @BloomFilter} annotation of the table.
+     *
+     * @param tableDefinition definition of the table
+     * @return positions of the filtered attributes by their names, or null if the table has no such annotation
+     */
+    public static Map<String, Integer> parseFilteredAttributes(AbstractDefinition tableDefinition) {
+        Annotation bloomFilterAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_BLOOM_FILTER,
+                tableDefinition.getAnnotations());
+        if (bloomFilterAnnotation == null) {
+            return null;
+        }
+        if (bloomFilterAnnotation.getElements().isEmpty()) {
+            throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_BLOOM_FILTER + " annotation " +
+                    "contains no attributes, at '" + tableDefinition.getId() + "'",
+                    bloomFilterAnnotation.getQueryContextStartIndex(), bloomFilterAnnotation.getQueryContextEndIndex());
+        }
+        Map<String, Integer> attributePositions = new LinkedHashMap<>();
+        for (Element element : bloomFilterAnnotation.getElements()) {
+            String attribute = element.getValue().trim();
+            if (!Arrays.asList(tableDefinition.getAttributeNameArray()).contains(attribute)) {
+                throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_BLOOM_FILTER + " annotation " +
+                        "contains attribute '" + attribute + "', which is not defined in '" +
+                        tableDefinition.getId() + "'", bloomFilterAnnotation.getQueryContextStartIndex(),
+                        bloomFilterAnnotation.getQueryContextEndIndex());
+            }
+            attributePositions.put(attribute, tableDefinition.getAttributePosition(attribute));
+        }
+        return attributePositions;
+    }
+
+    public void add(Object[] data) {
+        for (Map.Entry<String, Integer> entry : attributePositions.entrySet()) {
+            bloomFilters.get(entry.getKey()).add(data[entry.getValue()]);
+        }
+    }
+
+    public boolean mightContain(String attribute, Object value) {
+        return bloomFilters.get(attribute).mightContain(value);
+    }
+
+    /**
+     * @return true if the filters should be rebuilt as more values were added than they were sized for
+     */
+    public boolean isSaturated() {
+        for (BloomFilter bloomFilter : bloomFilters.values()) {
+            if (bloomFilter.isSaturated()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getInsertionCount() {
+        int insertionCount = 0;
+        for (BloomFilter bloomFilter : bloomFilters.values()) {
+            insertionCount = Math.max(insertionCount, bloomFilter.getInsertionCount());
+        }
+        return insertionCount;
+    }
+
+    public BloomFilter getBloomFilter(String attribute) {
+        return bloomFilters.get(attribute);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.collection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over the values of a table attribute, used to skip lookups of values that are definitely not in the
+ * table. Values only can be added, hence it has to be rebuilt from the table content when the number of insertions
+ * exceeds its capacity, which also drops the values of the deleted events.
+ * <p>
+ * Numeric values are compared by their double value, as Siddhi compares numbers of different types that way.
+ * Adding and checking values is thread safe.
+ */
+public class BloomFilter {
+    public static final int MIN_CAPACITY = 1024;
+    private static final int BITS_PER_VALUE = 10;
+    private static final int HASH_COUNT = 7;
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int capacity;
+    private final AtomicInteger insertionCount = new AtomicInteger();
+
+    /**
+     * @param capacity number of values that can be added keeping the false positive rate at about one percent
+     */
+    public BloomFilter(int capacity) {
+        this.capacity = Math.max(capacity, MIN_CAPACITY);
+        long requiredBits = (long) this.capacity * BITS_PER_VALUE;
+        int words = (int) Math.min((requiredBits + 63) / 64, Integer.MAX_VALUE / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64;
+    }
+
+    public void add(Object value) {
+        long hash = hash(value);
+        int hash1 = (int) (hash >>> 32);
+        int hash2 = (int) hash;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bitIndex = ((hash1 + i * hash2) & Integer.MAX_VALUE) % bitCount;
+            long mask = 1L << bitIndex;
+            int wordIndex = bitIndex >>> 6;
+            long word = bits.get(wordIndex);
+            while ((word & mask) == 0 && !bits.compareAndSet(wordIndex, word, word | mask)) {
+                word = bits.get(wordIndex);
+            }
+        }
+        insertionCount.incrementAndGet();
+    }
+
+    /**
+     * @param value value to check
+     * @return false if the value was never added, true if it might have been added
+     */
+    public boolean mightContain(Object value) {
+        long hash = hash(value);
+        int hash1 = (int) (hash >>> 32);
+        int hash2 = (int) hash;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bitIndex = ((hash1 + i * hash2) & Integer.MAX_VALUE) % bitCount;
+            if ((bits.get(bitIndex >>> 6) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if more values were added than the capacity, so that the filter should be rebuilt
+     */
+    public boolean isSaturated() {
+        return insertionCount.get() > capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getInsertionCount() {
+        return insertionCount.get();
+    }
+
+    private static long hash(Object value) {
+        int hashCode;
+        if (value instanceof Number) {
+            double doubleValue = ((Number) value).doubleValue();
+            // -0.0 and 0.0 are equal when compared
+            hashCode = doubleValue == 0 ? 0 : Double.hashCode(doubleValue);
+        } else {
+            hashCode = value == null ? 0 : value.hashCode();
+        }
+        // murmur3 finalizer to spread the bits of the hash code
+        long hash = hashCode * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
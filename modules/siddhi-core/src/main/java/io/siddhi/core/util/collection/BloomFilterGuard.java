@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.collection;
+
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.MetaStreamEvent;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.VariableExpressionExecutor;
+import io.siddhi.core.query.processor.ProcessingMode;
+import io.siddhi.core.table.Table;
+import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
+import io.siddhi.core.util.parser.ExpressionParser;
+import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.condition.And;
+import io.siddhi.query.api.expression.condition.Compare;
+import io.siddhi.query.api.expression.constant.Constant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Guard of a table lookup condition, which uses the {@link AttributeBloomFilters} of the table to decide that no
+ * table event can match, without performing the lookup.
+ * <p>
+ * The guard is built from the equality comparisons of the filtered table attributes with constants or attributes of
+ * the matching event, that are combined with 'and' at the top level of the condition.
+ */
+public class BloomFilterGuard {
+    private final String[] attributes;
+    private final ExpressionExecutor[] valueExecutors;
+
+    private BloomFilterGuard(String[] attributes, ExpressionExecutor[] valueExecutors) {
+        this.attributes = attributes;
+        this.valueExecutors = valueExecutors;
+    }
+
+    /**
+     * Builds the guard of the condition.
+     *
+     * @param condition                   lookup condition
+     * @param filteredAttributes          positions of the filtered table attributes by their names
+     * @param matchingMetaInfoHolder      meta info of the matching event and the table
+     * @param variableExpressionExecutors list to which the variable executors of the guard are added
+     * @param tableMap                    map of tables
+     * @param siddhiQueryContext          query context
+     * @return the guard, or null if the condition has no comparisons that can be checked with the filters
+     */
+    public static BloomFilterGuard parse(Expression condition, Map<String, Integer> filteredAttributes,
+                                         MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                         List<VariableExpressionExecutor> variableExpressionExecutors,
+                                         Map<String, Table> tableMap, SiddhiQueryContext siddhiQueryContext) {
+        if (filteredAttributes == null) {
+            return null;
+        }
+        List<Compare> comparisons = new ArrayList<>();
+        collectEqualComparisons(condition, comparisons);
+        List<String> attributes = new ArrayList<>();
+        List<ExpressionExecutor> valueExecutors = new ArrayList<>();
+        for (Compare compare : comparisons) {
+            Expression storeExpression = compare.getLeftExpression();
+            Expression valueExpression = compare.getRightExpression();
+            if (!isStoreVariable(storeExpression, matchingMetaInfoHolder)) {
+                storeExpression = compare.getRightExpression();
+                valueExpression = compare.getLeftExpression();
+            }
+            if (!isStoreVariable(storeExpression, matchingMetaInfoHolder) ||
+                    !(valueExpression instanceof Constant || (valueExpression instanceof Variable &&
+                            !isStoreVariable(valueExpression, matchingMetaInfoHolder)))) {
+                continue;
+            }
+            String attribute = ((Variable) storeExpression).getAttributeName();
+            if (!filteredAttributes.containsKey(attribute)) {
+                continue;
+            }
+            ExpressionExecutor valueExecutor = ExpressionParser.parseExpression(valueExpression,
+                    matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                    variableExpressionExecutors, false, 0, ProcessingMode.BATCH, false,
+                    siddhiQueryContext);
+            if (isComparableByValue(matchingMetaInfoHolder.getStoreDefinition().getAttributeType(attribute),
+                    valueExecutor.getReturnType())) {
+                attributes.add(attribute);
+                valueExecutors.add(valueExecutor);
+            }
+        }
+        if (attributes.isEmpty()) {
+            return null;
+        }
+        return new BloomFilterGuard(attributes.toArray(new String[0]),
+                valueExecutors.toArray(new ExpressionExecutor[0]));
+    }
+
+    private static void collectEqualComparisons(Expression condition, List<Compare> comparisons) {
+        if (condition instanceof And) {
+            collectEqualComparisons(((And) condition).getLeftExpression(), comparisons);
+            collectEqualComparisons(((And) condition).getRightExpression(), comparisons);
+        } else if (condition instanceof Compare && ((Compare) condition).getOperator() == Compare.Operator.EQUAL) {
+            comparisons.add((Compare) condition);
+        }
+    }
+
+    private static boolean isStoreVariable(Expression expression, MatchingMetaInfoHolder matchingMetaInfoHolder) {
+        if (!(expression instanceof Variable)) {
+            return false;
+        }
+        Variable variable = (Variable) expression;
+        MetaStreamEvent storeMetaStreamEvent = matchingMetaInfoHolder.getMetaStateEvent().getMetaStreamEvent(
+                matchingMetaInfoHolder.getStoreEventIndex());
+        if (variable.getStreamId() != null) {
+            return variable.getStreamId().equals(storeMetaStreamEvent.getInputReferenceId()) ||
+                    variable.getStreamId().equals(matchingMetaInfoHolder.getStoreDefinition().getId());
+        }
+        AbstractDefinition matchingStreamDefinition = matchingMetaInfoHolder.getMatchingStreamDefinition();
+        return matchingStreamDefinition == null || matchingMetaInfoHolder.getMetaStateEvent().
+                getMetaStreamEvents().length == 1 || !Arrays.asList(matchingStreamDefinition.
+                getAttributeNameArray()).contains(variable.getAttributeName());
+    }
+
+    /**
+     * Float values are compared with the other numeric types at float precision, where values of different double
+     * values can be equal, hence those comparisons cannot be checked with the filters.
+     */
+    private static boolean isComparableByValue(Attribute.Type storeType, Attribute.Type valueType) {
+        if (storeType == valueType) {
+            return true;
+        }
+        return isNumeric(storeType) && isNumeric(valueType) &&
+                storeType != Attribute.Type.FLOAT && valueType != Attribute.Type.FLOAT;
+    }
+
+    private static boolean isNumeric(Attribute.Type type) {
+        return type == Attribute.Type.INT || type == Attribute.Type.LONG || type == Attribute.Type.FLOAT ||
+                type == Attribute.Type.DOUBLE;
+    }
+
+    /**
+     * @param matchingEvent         event to be matched with the table
+     * @param attributeBloomFilters filters of the table
+     * @return false if no table event can match the event, true if some might
+     */
+    public boolean mightMatch(StateEvent matchingEvent, AttributeBloomFilters attributeBloomFilters) {
+        for (int i = 0; i < attributes.length; i++) {
+            Object value = valueExecutors[i].execute(matchingEvent);
+            if (value != null && !attributeBloomFilters.mightContain(attributes[i], value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
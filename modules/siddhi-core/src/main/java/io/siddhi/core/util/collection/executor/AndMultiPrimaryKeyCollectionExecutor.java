@@ -91,6 +91,11 @@ public class AndMultiPrimaryKeyCollectionExecutor implements CollectionExecutor
                 constructPrimaryKeyValue(deletingEvent, multiPrimaryKeyExpressionExecutors));
     }
 
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        return Math.min(1, indexedEventHolder.size());
+    }
+
     @Override
     public Cost getDefaultCost() {
         return Cost.SINGLE_RETURN_INDEX_MATCHING;
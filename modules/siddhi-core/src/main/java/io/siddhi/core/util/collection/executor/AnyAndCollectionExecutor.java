@@ -29,26 +29,34 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Implementation of {@link CollectionExecutor}
+ * Implementation of {@link CollectionExecutor} which handles and condition where both sides can be served by the
+ * indexes. The side that is estimated to return fewer events is used to drive the lookup, and the order is
+ * re-evaluated when the size of the table drifts significantly from the size at which it was chosen.
  */
 public class AnyAndCollectionExecutor implements CollectionExecutor {
 
 
-    private final CollectionExecutor highCostCollectionExecutor;
-    private final CollectionExecutor lowCollectionExecutor;
+    private final CollectionExecutor leftCollectionExecutor;
+    private final CollectionExecutor rightCollectionExecutor;
+    private final CollectionExecutor defaultLowCostCollectionExecutor;
     private ExhaustiveCollectionExecutor exhaustiveCollectionExecutor;
+    private volatile CollectionExecutor[] plannedCollectionExecutors;
+    private volatile int plannedSize = -1;
 
     public AnyAndCollectionExecutor(CollectionExecutor leftCollectionExecutor, CollectionExecutor
             rightCostCollectionExecutor,
                                     ExhaustiveCollectionExecutor exhaustiveCollectionExecutor) {
+        this.leftCollectionExecutor = leftCollectionExecutor;
+        this.rightCollectionExecutor = rightCostCollectionExecutor;
         if (leftCollectionExecutor.getDefaultCost().getWeight() <= rightCostCollectionExecutor.getDefaultCost()
                 .getWeight()) {
-            this.lowCollectionExecutor = leftCollectionExecutor;
-            this.highCostCollectionExecutor = rightCostCollectionExecutor;
+            this.plannedCollectionExecutors = new CollectionExecutor[]{leftCollectionExecutor,
+                    rightCostCollectionExecutor};
         } else {
-            this.lowCollectionExecutor = rightCostCollectionExecutor;
-            this.highCostCollectionExecutor = leftCollectionExecutor;
+            this.plannedCollectionExecutors = new CollectionExecutor[]{rightCostCollectionExecutor,
+                    leftCollectionExecutor};
         }
+        this.defaultLowCostCollectionExecutor = plannedCollectionExecutors[0];
         this.exhaustiveCollectionExecutor = exhaustiveCollectionExecutor;
     }
 
@@ -73,40 +81,45 @@ public class AnyAndCollectionExecutor implements CollectionExecutor {
     }
 
     public Collection<StreamEvent> findEvents(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder) {
-        //limit for 10 is a magic number identified via performance test
-        Collection<StreamEvent> lowCostStreamEvents = lowCollectionExecutor.findEvents(matchingEvent,
+        CollectionExecutor[] collectionExecutors = plan(indexedEventHolder);
+        CollectionExecutor lowCostCollectionExecutor = collectionExecutors[0];
+        CollectionExecutor highCostCollectionExecutor = collectionExecutors[1];
+        Collection<StreamEvent> lowCostStreamEvents = lowCostCollectionExecutor.findEvents(matchingEvent,
                 indexedEventHolder);
         if (lowCostStreamEvents == null) {
-            return null;
+            Collection<StreamEvent> highCostStreamEvents = highCostCollectionExecutor.findEvents(matchingEvent,
+                    indexedEventHolder);
+            if (highCostStreamEvents == null || highCostStreamEvents.size() == 0) {
+                return highCostStreamEvents;
+            }
+            return exhaustiveCollectionExecutor.findEvents(matchingEvent, highCostStreamEvents);
         } else if (lowCostStreamEvents.size() > 0) {
-            if (lowCostStreamEvents.size() <= 10) {
+            if (lowCostStreamEvents.size() <= CollectionCostModel.MIN_INTERSECTION_SIZE ||
+                    lowCostStreamEvents.size() <= highCostCollectionExecutor.estimateSize(indexedEventHolder)) {
+                // filtering the events already found is cheaper than looking up and intersecting the other side
                 return exhaustiveCollectionExecutor.findEvents(matchingEvent, lowCostStreamEvents);
             } else {
                 Collection<StreamEvent> highCostStreamEvents = highCostCollectionExecutor.findEvents(
                         matchingEvent, indexedEventHolder);
 
                 if (highCostStreamEvents == null) {
-                    return null;
+                    return exhaustiveCollectionExecutor.findEvents(matchingEvent, lowCostStreamEvents);
                 } else if (highCostStreamEvents.size() > 0) {
-                    if (lowCostStreamEvents.size() <= 10) {
-                        return exhaustiveCollectionExecutor.findEvents(matchingEvent, highCostStreamEvents);
-                    } else {
-                        Set<StreamEvent> returnSet = new HashSet<StreamEvent>();
-                        if (highCostStreamEvents.size() > lowCostStreamEvents.size()) {
-                            for (StreamEvent aStreamEvent : lowCostStreamEvents) {
-                                if (highCostStreamEvents.contains(aStreamEvent)) {
-                                    returnSet.add(aStreamEvent);
-                                }
+                    Set<StreamEvent> returnSet = new HashSet<StreamEvent>();
+                    if (highCostStreamEvents.size() > lowCostStreamEvents.size()) {
+                        for (StreamEvent aStreamEvent : lowCostStreamEvents) {
+                            if (highCostStreamEvents.contains(aStreamEvent)) {
+                                returnSet.add(aStreamEvent);
                             }
-                        } else {
-                            for (StreamEvent aStreamEvent : highCostStreamEvents) {
-                                if (lowCostStreamEvents.contains(aStreamEvent)) {
-                                    returnSet.add(aStreamEvent);
-                                }
+                        }
+                    } else {
+                        for (StreamEvent aStreamEvent : highCostStreamEvents) {
+                            if (lowCostStreamEvents.contains(aStreamEvent)) {
+                                returnSet.add(aStreamEvent);
                             }
                         }
-                        return returnSet;
                     }
+                    return returnSet;
                 } else {
                     return highCostStreamEvents;
                 }
@@ -116,6 +129,25 @@ public class AnyAndCollectionExecutor implements CollectionExecutor {
         }
     }
 
+    private CollectionExecutor[] plan(IndexedEventHolder indexedEventHolder) {
+        int size = indexedEventHolder.size();
+        if (!CollectionCostModel.hasDrifted(plannedSize, size)) {
+            return plannedCollectionExecutors;
+        }
+        double leftEstimatedSize = leftCollectionExecutor.estimateSize(indexedEventHolder);
+        double rightEstimatedSize = rightCollectionExecutor.estimateSize(indexedEventHolder);
+        CollectionExecutor[] collectionExecutors;
+        if (leftEstimatedSize < rightEstimatedSize || (leftEstimatedSize == rightEstimatedSize &&
+                defaultLowCostCollectionExecutor == leftCollectionExecutor)) {
+            collectionExecutors = new CollectionExecutor[]{leftCollectionExecutor, rightCollectionExecutor};
+        } else {
+            collectionExecutors = new CollectionExecutor[]{rightCollectionExecutor, leftCollectionExecutor};
+        }
+        plannedCollectionExecutors = collectionExecutors;
+        plannedSize = size;
+        return collectionExecutors;
+    }
+
     @Override
     public boolean contains(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder) {
         Collection<StreamEvent> resultEventSet = findEvents(matchingEvent, indexedEventHolder);
@@ -136,9 +168,19 @@ public class AnyAndCollectionExecutor implements CollectionExecutor {
         }
     }
 
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        int size = indexedEventHolder.size();
+        if (size == 0) {
+            return 0;
+        }
+        return leftCollectionExecutor.estimateSize(indexedEventHolder) *
+                rightCollectionExecutor.estimateSize(indexedEventHolder) / size;
+    }
+
     @Override
     public Cost getDefaultCost() {
-        return lowCollectionExecutor.getDefaultCost();
+        return defaultLowCostCollectionExecutor.getDefaultCost();
     }
 
 }
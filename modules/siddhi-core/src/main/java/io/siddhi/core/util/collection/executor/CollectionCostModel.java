@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.collection.executor;
+
+import io.siddhi.core.table.holder.IndexedEventHolder;
+import io.siddhi.query.api.expression.condition.Compare;
+
+/**
+ * Cost model used by {@link CollectionExecutor}s to estimate the number of events matched by a condition, based on
+ * the row count and the distinct value counts maintained by the {@link IndexedEventHolder}.
+ * <p>
+ * Equality conditions are estimated assuming a uniform distribution of the indexed values, and range conditions use
+ * fixed selectivities as no value distribution is maintained for the indexes.
+ */
+public final class CollectionCostModel {
+
+    public static final double RANGE_SELECTIVITY = 1.0 / 3;
+    public static final double BOUNDED_RANGE_SELECTIVITY = 1.0 / 4;
+    public static final double DEFAULT_EQUALITY_SELECTIVITY = 1.0 / 10;
+    //number of events below which filtering them is always cheaper than an index intersection
+    public static final int MIN_INTERSECTION_SIZE = 10;
+    private static final int DRIFT_FACTOR = 2;
+    private static final int MIN_DRIFT_SIZE = 64;
+
+    private CollectionCostModel() {
+
+    }
+
+    public static double equalitySelectivity(IndexedEventHolder indexedEventHolder, String attribute) {
+        long distinctValueCount = indexedEventHolder.getDistinctValueCount(attribute);
+        if (distinctValueCount > 0) {
+            return 1.0 / distinctValueCount;
+        } else if (distinctValueCount == 0) {
+            return 0;
+        }
+        return DEFAULT_EQUALITY_SELECTIVITY;
+    }
+
+    public static double compareSelectivity(IndexedEventHolder indexedEventHolder, String attribute,
+                                            Compare.Operator operator) {
+        switch (operator) {
+            case EQUAL:
+                return equalitySelectivity(indexedEventHolder, attribute);
+            case NOT_EQUAL:
+                return 1 - equalitySelectivity(indexedEventHolder, attribute);
+            default:
+                return RANGE_SELECTIVITY;
+        }
+    }
+
+    /**
+     * Checks whether the table size has changed significantly since a plan was chosen, such that the plan has to be
+     * re-evaluated.
+     *
+     * @param plannedSize size of the table when the plan was chosen, or -1 if no plan is chosen yet
+     * @param size        current size of the table
+     * @return true if the plan has to be chosen again
+     */
+    public static boolean hasDrifted(int plannedSize, int size) {
+        if (plannedSize < 0) {
+            return true;
+        }
+        return Math.abs(size - plannedSize) >= MIN_DRIFT_SIZE &&
+                (size > plannedSize * DRIFT_FACTOR || size * DRIFT_FACTOR < plannedSize);
+    }
+}
@@ -69,6 +69,14 @@ public interface CollectionExecutor {
      */
     void delete(StateEvent deletingEvent, IndexedEventHolder indexedEventHolder);
 
+    /**
+     * Estimate the number of events matching to the condition based on the statistics of the indexedEventHolder
+     *
+     * @param indexedEventHolder indexed EventHolder containing data
+     * @return estimated number of matching events
+     */
+    double estimateSize(IndexedEventHolder indexedEventHolder);
+
     Cost getDefaultCost();
 
     /**
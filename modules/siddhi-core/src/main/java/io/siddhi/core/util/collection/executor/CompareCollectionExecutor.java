@@ -110,6 +110,12 @@ public class CompareCollectionExecutor implements CollectionExecutor {
         indexedEventHolder.delete(attribute, operator, valueExpressionExecutor.execute(deletingEvent));
     }
 
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        return indexedEventHolder.size() *
+                CollectionCostModel.compareSelectivity(indexedEventHolder, attribute, operator);
+    }
+
     @Override
     public Cost getDefaultCost() {
         if (operator == Compare.Operator.EQUAL) {
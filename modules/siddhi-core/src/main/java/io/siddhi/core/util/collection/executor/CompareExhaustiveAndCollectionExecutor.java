@@ -96,6 +96,15 @@ public class CompareExhaustiveAndCollectionExecutor implements CollectionExecuto
         }
     }
 
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        if (exhaustiveCollectionExecutor != null) {
+            return compareCollectionExecutor.estimateSize(indexedEventHolder);
+        } else {
+            return indexedEventHolder.size();
+        }
+    }
+
     @Override
     public Cost getDefaultCost() {
         if (exhaustiveCollectionExecutor != null) {
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.collection.executor;
+
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.table.CacheTable;
+import io.siddhi.core.table.holder.IndexedEventHolder;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.util.Collection;
+
+/**
+ * Implementation of {@link CollectionExecutor} which handle equality conditions on a leading prefix of a composite
+ * index together with an optional range on the next attribute (e.g. tenant == 'x' and ts &gt; 1000) with a single
+ * ordered index lookup. Remaining conditions are evaluated only on the events returned by the index.
+ */
+public class CompositeIndexCollectionExecutor implements CollectionExecutor {
+    private final String compositeIndex;
+    private final ExpressionExecutor[] prefixValueExpressionExecutors;
+    private final Compare.Operator lowerOperator;
+    private final ExpressionExecutor lowerValueExpressionExecutor;
+    private final Compare.Operator upperOperator;
+    private final ExpressionExecutor upperValueExpressionExecutor;
+    private final ExhaustiveCollectionExecutor residualCollectionExecutor;
+    private CacheTable cacheTable;
+
+    public CompositeIndexCollectionExecutor(String compositeIndex, ExpressionExecutor[] prefixValueExpressionExecutors,
+                                            Compare.Operator lowerOperator,
+                                            ExpressionExecutor lowerValueExpressionExecutor,
+                                            Compare.Operator upperOperator,
+                                            ExpressionExecutor upperValueExpressionExecutor,
+                                            ExhaustiveCollectionExecutor residualCollectionExecutor,
+                                            CacheTable cacheTable) {
+        this.compositeIndex = compositeIndex;
+        this.prefixValueExpressionExecutors = prefixValueExpressionExecutors;
+        this.lowerOperator = lowerOperator;
+        this.lowerValueExpressionExecutor = lowerValueExpressionExecutor;
+        this.upperOperator = upperOperator;
+        this.upperValueExpressionExecutor = upperValueExpressionExecutor;
+        this.residualCollectionExecutor = residualCollectionExecutor;
+        this.cacheTable = cacheTable;
+    }
+
+    public StreamEvent find(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder, StreamEventCloner
+            storeEventCloner) {
+        ComplexEventChunk<StreamEvent> returnEventChunk = new ComplexEventChunk<StreamEvent>();
+        for (StreamEvent storeEvent : findEvents(matchingEvent, indexedEventHolder)) {
+            if (cacheTable != null) {
+                cacheTable.updateCachePolicyAttribute(storeEvent);
+            }
+            if (storeEventCloner != null) {
+                returnEventChunk.add(storeEventCloner.copyStreamEvent(storeEvent));
+            } else {
+                returnEventChunk.add(storeEvent);
+            }
+        }
+        return returnEventChunk.getFirst();
+    }
+
+    public Collection<StreamEvent> findEvents(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder) {
+        Object[] prefixValues = new Object[prefixValueExpressionExecutors.length];
+        for (int i = 0; i < prefixValueExpressionExecutors.length; i++) {
+            prefixValues[i] = prefixValueExpressionExecutors[i].execute(matchingEvent);
+        }
+        Collection<StreamEvent> storeEvents = indexedEventHolder.findEventsInCompositeIndex(compositeIndex,
+                prefixValues,
+                lowerOperator, lowerOperator != null ? lowerValueExpressionExecutor.execute(matchingEvent) : null,
+                upperOperator, upperOperator != null ? upperValueExpressionExecutor.execute(matchingEvent) : null);
+        if (residualCollectionExecutor != null && storeEvents.size() > 0) {
+            return residualCollectionExecutor.findEvents(matchingEvent, storeEvents);
+        }
+        return storeEvents;
+    }
+
+    @Override
+    public boolean contains(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder) {
+        return findEvents(matchingEvent, indexedEventHolder).size() > 0;
+    }
+
+    @Override
+    public void delete(StateEvent deletingEvent, IndexedEventHolder indexedEventHolder) {
+        Collection<StreamEvent> resultEventSet = findEvents(deletingEvent, indexedEventHolder);
+        if (resultEventSet.size() > 0) {
+            indexedEventHolder.deleteAll(resultEventSet);
+        }
+    }
+
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        double estimatedSize = indexedEventHolder.size();
+        if (prefixValueExpressionExecutors.length > 0) {
+            int attributeCount = indexedEventHolder.getCompositeIndexes().get(compositeIndex).length;
+            double prefixSelectivity = CollectionCostModel.equalitySelectivity(indexedEventHolder, compositeIndex);
+            estimatedSize *= Math.pow(prefixSelectivity, (double) prefixValueExpressionExecutors.length /
+                    attributeCount);
+        }
+        if (lowerOperator != null && upperOperator != null) {
+            estimatedSize *= CollectionCostModel.BOUNDED_RANGE_SELECTIVITY;
+        } else if (lowerOperator != null || upperOperator != null) {
+            estimatedSize *= CollectionCostModel.RANGE_SELECTIVITY;
+        }
+        return estimatedSize;
+    }
+
+    @Override
+    public Cost getDefaultCost() {
+        return Cost.MULTI_RETURN_INDEX_MATCHING;
+    }
+
+    public String getCompositeIndex() {
+        return compositeIndex;
+    }
+}
@@ -109,6 +109,11 @@ public class ExhaustiveCollectionExecutor implements CollectionExecutor {
         indexedEventHolder.deleteAll(toDeleteEvents);
     }
 
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        return indexedEventHolder.size();
+    }
+
     @Override
     public Cost getDefaultCost() {
         return Cost.EXHAUSTIVE;
@@ -85,6 +85,15 @@ public class NonAndCollectionExecutor implements CollectionExecutor {
         }
     }
 
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        if (collectionScope == CollectionExpression.CollectionScope.EXHAUSTIVE) {
+            return indexedEventHolder.size();
+        } else {
+            return collectionExecutor.estimateSize(indexedEventHolder);
+        }
+    }
+
     @Override
     public Cost getDefaultCost() {
         if (collectionScope == CollectionExpression.CollectionScope.EXHAUSTIVE) {
@@ -81,6 +81,11 @@ public class NonCollectionExecutor implements CollectionExecutor {
         }
     }
 
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        return indexedEventHolder.size();
+    }
+
     @Override
     public Cost getDefaultCost() {
         return Cost.MULTI_RETURN_INDEX_MATCHING;
@@ -126,6 +126,11 @@ public class NotCollectionExecutor implements CollectionExecutor {
         }
     }
 
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        return Math.max(0, indexedEventHolder.size() - notCollectionExecutor.estimateSize(indexedEventHolder));
+    }
+
     @Override
     public Cost getDefaultCost() {
         if (notCollectionExecutor.getDefaultCost() == Cost.EXHAUSTIVE) {
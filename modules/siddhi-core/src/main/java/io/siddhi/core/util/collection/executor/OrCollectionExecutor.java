@@ -100,14 +100,23 @@ public class OrCollectionExecutor implements CollectionExecutor {
 
     @Override
     public boolean contains(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder) {
-        Collection<StreamEvent> leftStreamEvents = leftCollectionExecutor.findEvents(matchingEvent, indexedEventHolder);
-        if (leftStreamEvents != null && leftStreamEvents.size() > 0) {
+        CollectionExecutor firstCollectionExecutor = leftCollectionExecutor;
+        CollectionExecutor secondCollectionExecutor = rightCollectionExecutor;
+        if (rightCollectionExecutor.estimateSize(indexedEventHolder) >
+                leftCollectionExecutor.estimateSize(indexedEventHolder)) {
+            // the side expected to match more events is more likely to satisfy the condition on its own
+            firstCollectionExecutor = rightCollectionExecutor;
+            secondCollectionExecutor = leftCollectionExecutor;
+        }
+        Collection<StreamEvent> firstStreamEvents = firstCollectionExecutor.findEvents(matchingEvent,
+                indexedEventHolder);
+        if (firstStreamEvents != null && firstStreamEvents.size() > 0) {
             return true;
         }
 
-        Collection<StreamEvent> rightStreamEvents = rightCollectionExecutor.findEvents(matchingEvent,
+        Collection<StreamEvent> secondStreamEvents = secondCollectionExecutor.findEvents(matchingEvent,
                 indexedEventHolder);
-        if (rightStreamEvents != null && rightStreamEvents.size() > 0) {
+        if (secondStreamEvents != null && secondStreamEvents.size() > 0) {
             return true;
         }
 
@@ -131,6 +140,12 @@ public class OrCollectionExecutor implements CollectionExecutor {
         }
     }
 
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        return Math.min(indexedEventHolder.size(), leftCollectionExecutor.estimateSize(indexedEventHolder) +
+                rightCollectionExecutor.estimateSize(indexedEventHolder));
+    }
+
     @Override
     public Cost getDefaultCost() {
         Cost leftCost = leftCollectionExecutor.getDefaultCost();
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.collection.executor;
+
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.table.CacheTable;
+import io.siddhi.core.table.holder.IndexedEventHolder;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.util.Collection;
+
+/**
+ * Implementation of {@link CollectionExecutor} which handle a range condition (e.g. start &lt;= attr and
+ * attr &lt; end) on an indexed attribute with a single index lookup.
+ */
+public class RangeCollectionExecutor implements CollectionExecutor {
+    private final String attribute;
+    private final Compare.Operator lowerOperator;
+    private final ExpressionExecutor lowerValueExpressionExecutor;
+    private final Compare.Operator upperOperator;
+    private final ExpressionExecutor upperValueExpressionExecutor;
+    private CacheTable cacheTable;
+
+    public RangeCollectionExecutor(String attribute, Compare.Operator lowerOperator,
+                                   ExpressionExecutor lowerValueExpressionExecutor, Compare.Operator upperOperator,
+                                   ExpressionExecutor upperValueExpressionExecutor, CacheTable cacheTable) {
+        this.attribute = attribute;
+        this.lowerOperator = lowerOperator;
+        this.lowerValueExpressionExecutor = lowerValueExpressionExecutor;
+        this.upperOperator = upperOperator;
+        this.upperValueExpressionExecutor = upperValueExpressionExecutor;
+        this.cacheTable = cacheTable;
+    }
+
+    public StreamEvent find(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder, StreamEventCloner
+            storeEventCloner) {
+        ComplexEventChunk<StreamEvent> returnEventChunk = new ComplexEventChunk<StreamEvent>();
+        for (StreamEvent storeEvent : findEvents(matchingEvent, indexedEventHolder)) {
+            if (cacheTable != null) {
+                cacheTable.updateCachePolicyAttribute(storeEvent);
+            }
+            if (storeEventCloner != null) {
+                returnEventChunk.add(storeEventCloner.copyStreamEvent(storeEvent));
+            } else {
+                returnEventChunk.add(storeEvent);
+            }
+        }
+        return returnEventChunk.getFirst();
+    }
+
+    public Collection<StreamEvent> findEvents(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder) {
+        return indexedEventHolder.findEventsInRange(attribute,
+                lowerOperator, lowerValueExpressionExecutor.execute(matchingEvent),
+                upperOperator, upperValueExpressionExecutor.execute(matchingEvent));
+    }
+
+    @Override
+    public boolean contains(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder) {
+        return findEvents(matchingEvent, indexedEventHolder).size() > 0;
+    }
+
+    @Override
+    public void delete(StateEvent deletingEvent, IndexedEventHolder indexedEventHolder) {
+        Collection<StreamEvent> resultEventSet = findEvents(deletingEvent, indexedEventHolder);
+        if (resultEventSet.size() > 0) {
+            indexedEventHolder.deleteAll(resultEventSet);
+        }
+    }
+
+    @Override
+    public double estimateSize(IndexedEventHolder indexedEventHolder) {
+        return indexedEventHolder.size() * CollectionCostModel.BOUNDED_RANGE_SELECTIVITY;
+    }
+
+    @Override
+    public Cost getDefaultCost() {
+        return Cost.MULTI_RETURN_INDEX_MATCHING;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+}
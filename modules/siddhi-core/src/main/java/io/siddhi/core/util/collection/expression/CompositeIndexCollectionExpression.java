@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.collection.expression;
+
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of {@link CollectionExpression} which represent equality conditions on a leading prefix of the
+ * attributes of a composite index, optionally followed by a lower and/or an upper bound on the next attribute. The
+ * remaining conditions of the expression are kept as the residual expression.
+ */
+public class CompositeIndexCollectionExpression implements CollectionExpression {
+
+    private final Expression expression;
+    private final CollectionScope collectionScope;
+    private final String compositeIndex;
+    private final List<Expression> prefixValueExpressions;
+    private final Compare.Operator lowerOperator;
+    private final Expression lowerValueExpression;
+    private final Compare.Operator upperOperator;
+    private final Expression upperValueExpression;
+    private final Expression residualExpression;
+    private final int matchedConditionCount;
+    private final HashSet<String> multiPrimaryKeys = new HashSet<>();
+
+    public CompositeIndexCollectionExpression(Expression expression, CollectionScope collectionScope,
+                                              String compositeIndex, List<Expression> prefixValueExpressions,
+                                              Compare.Operator lowerOperator, Expression lowerValueExpression,
+                                              Compare.Operator upperOperator, Expression upperValueExpression,
+                                              Expression residualExpression, int matchedConditionCount) {
+        this.expression = expression;
+        this.collectionScope = collectionScope;
+        this.compositeIndex = compositeIndex;
+        this.prefixValueExpressions = prefixValueExpressions;
+        this.lowerOperator = lowerOperator;
+        this.lowerValueExpression = lowerValueExpression;
+        this.upperOperator = upperOperator;
+        this.upperValueExpression = upperValueExpression;
+        this.residualExpression = residualExpression;
+        this.matchedConditionCount = matchedConditionCount;
+    }
+
+    public String getCompositeIndex() {
+        return compositeIndex;
+    }
+
+    public List<Expression> getPrefixValueExpressions() {
+        return prefixValueExpressions;
+    }
+
+    public Compare.Operator getLowerOperator() {
+        return lowerOperator;
+    }
+
+    public Expression getLowerValueExpression() {
+        return lowerValueExpression;
+    }
+
+    public Compare.Operator getUpperOperator() {
+        return upperOperator;
+    }
+
+    public Expression getUpperValueExpression() {
+        return upperValueExpression;
+    }
+
+    public Expression getResidualExpression() {
+        return residualExpression;
+    }
+
+    public int getMatchedConditionCount() {
+        return matchedConditionCount;
+    }
+
+    public Expression getExpression() {
+        return expression;
+    }
+
+    @Override
+    public CollectionScope getCollectionScope() {
+        return collectionScope;
+    }
+
+    @Override
+    public Set<String> getMultiPrimaryKeys() {
+        return multiPrimaryKeys;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.collection.expression;
+
+import io.siddhi.query.api.expression.Expression;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Implementation of {@link CollectionExpression} which represent a lower and an upper bound {@link
+ * CompareCollectionExpression} applied on the same indexed attribute.
+ */
+public class RangeCollectionExpression implements CollectionExpression {
+
+    private final Expression expression;
+    private final CollectionScope collectionScope;
+    private final String attribute;
+    private final CompareCollectionExpression lowerCollectionExpression;
+    private final CompareCollectionExpression upperCollectionExpression;
+    private final HashSet<String> multiPrimaryKeys = new HashSet<>();
+
+    public RangeCollectionExpression(Expression expression, CollectionScope collectionScope, String attribute,
+                                     CompareCollectionExpression lowerCollectionExpression,
+                                     CompareCollectionExpression upperCollectionExpression) {
+        this.expression = expression;
+        this.collectionScope = collectionScope;
+        this.attribute = attribute;
+        this.lowerCollectionExpression = lowerCollectionExpression;
+        this.upperCollectionExpression = upperCollectionExpression;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public CompareCollectionExpression getLowerCollectionExpression() {
+        return lowerCollectionExpression;
+    }
+
+    public CompareCollectionExpression getUpperCollectionExpression() {
+        return upperCollectionExpression;
+    }
+
+    public Expression getExpression() {
+        return expression;
+    }
+
+    @Override
+    public CollectionScope getCollectionScope() {
+        return collectionScope;
+    }
+
+    @Override
+    public Set<String> getMultiPrimaryKeys() {
+        return multiPrimaryKeys;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.collection.operator;
+
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.event.stream.holder.TimeBucketedStreamEventQueue;
+import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.table.InMemoryCompiledUpdateSet;
+import io.siddhi.core.util.collection.AddingStreamEventExtractor;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Operator which is related to find operations on windows storing events in a
+ * {@link TimeBucketedStreamEventQueue}, where only the buckets that overlap with the timestamp range derived from
+ * the bounds of the condition are scanned.
+ */
+public class TimeBucketedEventQueueOperator implements Operator {
+    private final ExpressionExecutor expressionExecutor;
+    private final int storeEventPosition;
+    private final List<ExpressionExecutor> lowerBoundExecutors;
+    private final List<ExpressionExecutor> upperBoundExecutors;
+
+    /**
+     * @param expressionExecutor  executor of the whole condition
+     * @param storeEventPosition  position of the store event in the matching event
+     * @param lowerBoundExecutors executors of the values the event timestamps should be greater than or equal to
+     * @param upperBoundExecutors executors of the values the event timestamps should be less than or equal to
+     */
+    public TimeBucketedEventQueueOperator(ExpressionExecutor expressionExecutor, int storeEventPosition,
+                                          List<ExpressionExecutor> lowerBoundExecutors,
+                                          List<ExpressionExecutor> upperBoundExecutors) {
+        this.expressionExecutor = expressionExecutor;
+        this.storeEventPosition = storeEventPosition;
+        this.lowerBoundExecutors = lowerBoundExecutors;
+        this.upperBoundExecutors = upperBoundExecutors;
+    }
+
+    public ExpressionExecutor getExpressionExecutor() {
+        return expressionExecutor;
+    }
+
+    public int getStoreEventPosition() {
+        return storeEventPosition;
+    }
+
+    @Override
+    public StreamEvent find(StateEvent matchingEvent, Object storeEvents, StreamEventCloner storeEventCloner) {
+        ComplexEventChunk<StreamEvent> returnEventChunk = new ComplexEventChunk<>();
+        Iterator<StreamEvent> iterator = iterator(matchingEvent, (TimeBucketedStreamEventQueue) storeEvents);
+        if (iterator == null) {
+            return null;
+        }
+        try {
+            while (iterator.hasNext()) {
+                StreamEvent storeEvent = iterator.next();
+                matchingEvent.setEvent(storeEventPosition, storeEvent);
+                if ((Boolean) expressionExecutor.execute(matchingEvent)) {
+                    returnEventChunk.add(storeEventCloner.copyStreamEvent(storeEvent));
+                }
+            }
+        } finally {
+            matchingEvent.setEvent(storeEventPosition, null);
+        }
+        return returnEventChunk.getFirst();
+    }
+
+    @Override
+    public boolean contains(StateEvent matchingEvent, Object storeEvents) {
+        Iterator<StreamEvent> iterator = iterator(matchingEvent, (TimeBucketedStreamEventQueue) storeEvents);
+        if (iterator == null) {
+            return false;
+        }
+        try {
+            while (iterator.hasNext()) {
+                matchingEvent.setEvent(storeEventPosition, iterator.next());
+                if ((Boolean) expressionExecutor.execute(matchingEvent)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            matchingEvent.setEvent(storeEventPosition, null);
+        }
+    }
+
+    /**
+     * Computes the timestamp range matching the bounds of the condition for the given matching event.
+     *
+     * @return iterator of the events of the buckets overlapping with the range, or null if no event can match
+     */
+    private Iterator<StreamEvent> iterator(StateEvent matchingEvent, TimeBucketedStreamEventQueue storeEventQueue) {
+        long minTimestamp = Long.MIN_VALUE;
+        long maxTimestamp = Long.MAX_VALUE;
+        for (ExpressionExecutor lowerBoundExecutor : lowerBoundExecutors) {
+            Object value = lowerBoundExecutor.execute(matchingEvent);
+            if (value == null) {
+                return null;
+            }
+            minTimestamp = Math.max(minTimestamp, (long) Math.ceil(((Number) value).doubleValue()));
+        }
+        for (ExpressionExecutor upperBoundExecutor : upperBoundExecutors) {
+            Object value = upperBoundExecutor.execute(matchingEvent);
+            if (value == null) {
+                return null;
+            }
+            maxTimestamp = Math.min(maxTimestamp, (long) Math.floor(((Number) value).doubleValue()));
+        }
+        if (minTimestamp > maxTimestamp) {
+            return null;
+        }
+        return storeEventQueue.iterator(minTimestamp, maxTimestamp);
+    }
+
+    @Override
+    public void delete(ComplexEventChunk<StateEvent> deletingEventChunk, Object storeEvents) {
+        throw new OperationNotSupportedException(TimeBucketedStreamEventQueue.class.getSimpleName() +
+                " does not support delete operations");
+    }
+
+    @Override
+    public void update(ComplexEventChunk<StateEvent> updatingEventChunk, Object storeEvents,
+                       InMemoryCompiledUpdateSet compiledUpdateSet) {
+        throw new OperationNotSupportedException(TimeBucketedStreamEventQueue.class.getSimpleName() +
+                " does not support update operations");
+    }
+
+    @Override
+    public ComplexEventChunk<StateEvent> tryUpdate(ComplexEventChunk<StateEvent> updatingOrAddingEventChunk,
+                                                   Object storeEvents,
+                                                   InMemoryCompiledUpdateSet compiledUpdateSet,
+                                                   AddingStreamEventExtractor addingStreamEventExtractor) {
+        throw new OperationNotSupportedException(TimeBucketedStreamEventQueue.class.getSimpleName() +
+                " does not support update or add operations");
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.event.handler;
+
+/**
+ * Hook to bind the dedicated worker threads of asynchronous streams to CPUs, when they are configured via
+ * {@code @async(cpu.affinity='...')}. The hook is called by each worker thread before it starts consuming events.
+ */
+public interface CpuAffinityHook {
+
+    /**
+     * Binds the calling thread to the given CPU.
+     *
+     * @param threadName name of the calling thread
+     * @param cpu        id of the CPU the thread should be bound to
+     * @return whether the thread is bound to the CPU
+     */
+    boolean bind(String threadName, int cpu);
+}
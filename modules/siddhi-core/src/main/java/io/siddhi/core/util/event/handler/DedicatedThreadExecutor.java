@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.event.handler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor that runs each task on a new, named thread, such that the consumers of an asynchronous stream do not
+ * share the pooled threads of the Siddhi App. When CPUs are given, the n<sup>th</sup> thread binds itself to the
+ * n<sup>th</sup> CPU (wrapping around) via the {@link CpuAffinityHook} before running its task.
+ */
+public class DedicatedThreadExecutor implements Executor {
+
+    private final String threadNamePrefix;
+    private final int[] cpus;
+    private final CpuAffinityHook cpuAffinityHook;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    public DedicatedThreadExecutor(String threadNamePrefix, int[] cpus, CpuAffinityHook cpuAffinityHook) {
+        this.threadNamePrefix = threadNamePrefix;
+        this.cpus = cpus;
+        this.cpuAffinityHook = cpuAffinityHook;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        int threadIndex = threadCount.getAndIncrement();
+        String threadName = threadNamePrefix + threadIndex;
+        Thread thread = new Thread(() -> {
+            if (cpus != null && cpus.length > 0 && cpuAffinityHook != null) {
+                cpuAffinityHook.bind(threadName, cpus[threadIndex % cpus.length]);
+            }
+            command.run();
+        }, threadName);
+        thread.start();
+    }
+}
@@ -42,6 +42,12 @@ public class StreamHandler implements EventHandler<EventExchangeHolder> {
     private int batchSize;
     private List<Event> eventBuffer = new LinkedList<>();
 
+    private int workerIndex;
+    private StreamWorkerGroup workerGroup;
+    private int activeWorkers;
+    private StreamJunction streamJunction;
+    private int handlerIndex;
+
     public StreamHandler(List<StreamJunction.Receiver> receivers, int batchSize,
                          String streamName, String siddhiAppName, StreamJunction faultStreamJunction,
                          StreamJunction.OnErrorAction onErrorAction, ExceptionListener exceptionListener) {
@@ -54,33 +60,76 @@ public class StreamHandler implements EventHandler<EventExchangeHolder> {
         this.exceptionListener = exceptionListener;
     }
 
+    public StreamHandler(List<StreamJunction.Receiver> receivers, int batchSize,
+                         String streamName, String siddhiAppName, StreamJunction faultStreamJunction,
+                         StreamJunction.OnErrorAction onErrorAction, ExceptionListener exceptionListener,
+                         int workerIndex, StreamWorkerGroup workerGroup) {
+        this(receivers, batchSize, streamName, siddhiAppName, faultStreamJunction, onErrorAction,
+                exceptionListener);
+        this.workerIndex = workerIndex;
+        this.workerGroup = workerGroup;
+        this.activeWorkers = workerGroup.getActiveWorkers();
+    }
+
+    /**
+     * Sets the Stream Junction to notify on consumed events, for its backpressure and overflow handling.
+     *
+     * @param streamJunction the Stream Junction the events are consumed from
+     * @param handlerIndex   index of this handler among the handlers of the Stream Junction
+     */
+    public void setStreamJunction(StreamJunction streamJunction, int handlerIndex) {
+        this.streamJunction = streamJunction;
+        this.handlerIndex = handlerIndex;
+    }
+
     public void onEvent(EventExchangeHolder eventExchangeHolder, long sequence, boolean endOfBatch) {
-        boolean isProcessed = eventExchangeHolder.getAndSetIsProcessed(true);
-        if (!isProcessed) {
+        boolean isProcessed;
+        if (workerGroup == null) {
+            isProcessed = eventExchangeHolder.getAndSetIsProcessed(true);
+        } else {
+            int eventActiveWorkers = eventExchangeHolder.getActiveWorkers();
+            if (eventActiveWorkers != activeWorkers) {
+                if (workerGroup.isKeyed()) {
+                    flush();
+                    workerGroup.awaitWorkers(workerIndex, sequence);
+                }
+                activeWorkers = eventActiveWorkers;
+            }
+            if (workerGroup.isKeyed()) {
+                isProcessed = workerGroup.getWorker(eventExchangeHolder.getEvent(), activeWorkers) != workerIndex;
+            } else {
+                isProcessed = workerIndex >= activeWorkers || eventExchangeHolder.getAndSetIsProcessed(true);
+            }
+        }
+        if (!isProcessed && (streamJunction == null || !streamJunction.isDropped(sequence))) {
             eventBuffer.add(eventExchangeHolder.getEvent());
             if (eventBuffer.size() == batchSize || endOfBatch) {
-                for (StreamJunction.Receiver receiver : receivers) {
-                    try {
-                        receiver.receive(eventBuffer);
-                    } catch (Exception e) {
-                        onError(eventBuffer, e);
-                    }
-                }
-                eventBuffer.clear();
+                flush();
             }
         } else if (endOfBatch) {
-            if (eventBuffer.size() != 0) {
-                for (StreamJunction.Receiver receiver : receivers) {
-                    try {
-                        receiver.receive(eventBuffer);
-                    } catch (Exception e) {
-                        onError(eventBuffer, e);
-                    }
+            flush();
+        }
+        if (streamJunction != null) {
+            streamJunction.onEventConsumed(handlerIndex, sequence, endOfBatch);
+        }
+
+    }
+
+    private void flush() {
+        if (eventBuffer.size() != 0) {
+            long startTime = workerGroup != null ? System.nanoTime() : 0;
+            for (StreamJunction.Receiver receiver : receivers) {
+                try {
+                    receiver.receive(eventBuffer);
+                } catch (Exception e) {
+                    onError(eventBuffer, e);
                 }
-                eventBuffer.clear();
+            }
+            eventBuffer.clear();
+            if (workerGroup != null) {
+                workerGroup.addBusyTime(System.nanoTime() - startTime);
             }
         }
-
     }
 
     private void onError(List<Event> eventBuffer, Exception e) {
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.event.handler;
+
+import io.siddhi.core.event.Event;
+import io.siddhi.core.util.statistics.EventBufferHolder;
+import io.siddhi.core.util.statistics.ThroughputTracker;
+import org.apache.log4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coordinates the {@link StreamHandler}s of an asynchronous stream when its events are assigned to the workers by a
+ * partition key, or when the number of active workers is scaled at runtime.
+ * <p>
+ * All the workers are started upfront and each event is stamped with the number of workers that were active when it
+ * was published, such that only one of those workers consumes it. When scaling, the workers are scaled up when the
+ * buffer fills up, and scaled down when the buffer is nearly empty and the time spent by the workers on processing
+ * events can be handled by one worker less.
+ */
+public class StreamWorkerGroup implements Runnable {
+
+    static final double SCALE_UP_OCCUPANCY = 0.5;
+    static final double SCALE_DOWN_OCCUPANCY = 0.1;
+    static final double SCALE_DOWN_UTILIZATION = 0.7;
+    private static final Logger log = Logger.getLogger(StreamWorkerGroup.class);
+    private static final long WAIT_NANOS = 10000;
+
+    private final String streamName;
+    private final String siddhiAppName;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private final int keyPosition;
+    private final int bufferSize;
+    private final EventBufferHolder eventBufferHolder;
+    private final ThroughputTracker scaleUpTracker;
+    private final ThroughputTracker scaleDownTracker;
+    private final AtomicLongArray progress;
+    private final LongAdder busyTime = new LongAdder();
+    private volatile int activeWorkers;
+    private final AtomicLong scaleUpCount = new AtomicLong();
+    private final AtomicLong scaleDownCount = new AtomicLong();
+    private double lastOccupancy = 0;
+    private long lastScalingTime = System.nanoTime();
+
+    public StreamWorkerGroup(String streamName, String siddhiAppName, int minWorkers, int maxWorkers,
+                             int keyPosition, int bufferSize, EventBufferHolder eventBufferHolder,
+                             ThroughputTracker scaleUpTracker, ThroughputTracker scaleDownTracker) {
+        this.streamName = streamName;
+        this.siddhiAppName = siddhiAppName;
+        this.minWorkers = minWorkers;
+        this.maxWorkers = maxWorkers;
+        this.keyPosition = keyPosition;
+        this.bufferSize = bufferSize;
+        this.eventBufferHolder = eventBufferHolder;
+        this.scaleUpTracker = scaleUpTracker;
+        this.scaleDownTracker = scaleDownTracker;
+        this.activeWorkers = minWorkers;
+        this.progress = new AtomicLongArray(maxWorkers);
+        for (int i = 0; i < maxWorkers; i++) {
+            progress.set(i, -1);
+        }
+    }
+
+    public int getActiveWorkers() {
+        return activeWorkers;
+    }
+
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    public boolean isKeyed() {
+        return keyPosition >= 0;
+    }
+
+    public boolean isAdaptive() {
+        return minWorkers < maxWorkers;
+    }
+
+    public long getScaleUpCount() {
+        return scaleUpCount.get();
+    }
+
+    public long getScaleDownCount() {
+        return scaleDownCount.get();
+    }
+
+    /**
+     * Finds the worker that owns the given event, based on the hash of its partition key.
+     *
+     * @param event         the event
+     * @param activeWorkers number of workers active when the event was published
+     * @return the index of the owning worker
+     */
+    int getWorker(Event event, int activeWorkers) {
+        Object key = event.getData(keyPosition);
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return (hash & Integer.MAX_VALUE) % activeWorkers;
+    }
+
+    /**
+     * Blocks the worker till all the other workers have consumed the events published before the given sequence,
+     * such that the events of the same key are processed in order when they are moved to another worker.
+     *
+     * @param workerIndex index of the waiting worker
+     * @param sequence    sequence of the first event published with the new number of active workers
+     */
+    void awaitWorkers(int workerIndex, long sequence) {
+        progress.set(workerIndex, sequence - 1);
+        for (int i = 0; i < maxWorkers; i++) {
+            while (progress.get(i) < sequence - 1) {
+                LockSupport.parkNanos(WAIT_NANOS);
+            }
+        }
+    }
+
+    void addBusyTime(long nanos) {
+        busyTime.add(nanos);
+    }
+
+    /**
+     * Re-evaluates the number of active workers based on the buffer occupancy and on the time the workers spent
+     * on processing events since the last evaluation.
+     */
+    @Override
+    public void run() {
+        try {
+            long currentTime = System.nanoTime();
+            long elapsedTime = currentTime - lastScalingTime;
+            lastScalingTime = currentTime;
+            double occupancy = (double) eventBufferHolder.getBufferedEvents() / bufferSize;
+            double busyWorkers = elapsedTime > 0 ? (double) busyTime.sumThenReset() / elapsedTime : 0;
+            int workers = activeWorkers;
+            if (workers < maxWorkers && (occupancy >= SCALE_UP_OCCUPANCY ||
+                    (occupancy >= SCALE_DOWN_OCCUPANCY && occupancy > lastOccupancy))) {
+                activeWorkers = workers + 1;
+                scaleUpCount.incrementAndGet();
+                if (scaleUpTracker != null) {
+                    scaleUpTracker.eventIn();
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Scaled up workers of stream '" + streamName + "' in Siddhi App '" + siddhiAppName +
+                            "' to " + activeWorkers + ", as the buffer occupancy is " + occupancy + ".");
+                }
+            } else if (workers > minWorkers && occupancy < SCALE_DOWN_OCCUPANCY &&
+                    busyWorkers < (workers - 1) * SCALE_DOWN_UTILIZATION) {
+                activeWorkers = workers - 1;
+                scaleDownCount.incrementAndGet();
+                if (scaleDownTracker != null) {
+                    scaleDownTracker.eventIn();
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Scaled down workers of stream '" + streamName + "' in Siddhi App '" + siddhiAppName +
+                            "' to " + activeWorkers + ", as the workers are only " + busyWorkers + " busy.");
+                }
+            }
+            lastOccupancy = occupancy;
+        } catch (Throwable t) {
+            log.error("Error while scaling workers of stream '" + streamName + "' in Siddhi App '" +
+                    siddhiAppName + "', " + t.getMessage(), t);
+        }
+    }
+}
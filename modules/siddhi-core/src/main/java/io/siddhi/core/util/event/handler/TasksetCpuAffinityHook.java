@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.event.handler;
+
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Default {@link CpuAffinityHook} that binds the calling thread using the {@code taskset} command on Linux. The id of
+ * the native thread is resolved via {@code /proc/thread-self}, hence no native libraries are needed.
+ */
+public class TasksetCpuAffinityHook implements CpuAffinityHook {
+
+    private static final Logger log = Logger.getLogger(TasksetCpuAffinityHook.class);
+    private static final Path THREAD_SELF = Paths.get("/proc/thread-self");
+    private static final File DEV_NULL = new File("/dev/null");
+
+    @Override
+    public boolean bind(String threadName, int cpu) {
+        try {
+            // resolves to '<pid>/task/<tid>'
+            String threadId = Files.readSymbolicLink(THREAD_SELF).getFileName().toString();
+            Process process = new ProcessBuilder("taskset", "-p", "-c", String.valueOf(cpu), threadId)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.to(DEV_NULL))
+                    .start();
+            if (process.waitFor() == 0) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Thread '" + threadName + "' is bound to CPU " + cpu + ".");
+                }
+                return true;
+            }
+            log.warn("Cannot bind thread '" + threadName + "' to CPU " + cpu + ", as 'taskset' exited with " +
+                    process.exitValue() + ".");
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("Cannot bind thread '" + threadName + "' to CPU " + cpu + ", as 'taskset' or " +
+                    THREAD_SELF + " is not available, " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+}
@@ -79,6 +79,15 @@ public class LockWrapper {
         }
     }
 
+    /**
+     * Acquires the lock only if it is not held by another thread.
+     *
+     * @return whether the lock was acquired
+     */
+    public boolean tryLock() {
+        return this.lock == null || this.lock.tryLock();
+    }
+
     /**
      * Release the lock.
      */
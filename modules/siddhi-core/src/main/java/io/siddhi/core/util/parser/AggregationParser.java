@@ -37,6 +37,8 @@ import io.siddhi.core.query.input.stream.StreamRuntime;
 import io.siddhi.core.query.input.stream.single.EntryValveExecutor;
 import io.siddhi.core.query.input.stream.single.SingleStreamRuntime;
 import io.siddhi.core.query.processor.ProcessingMode;
+import io.siddhi.core.query.processor.Processor;
+import io.siddhi.core.query.processor.filter.FilterProcessor;
 import io.siddhi.core.query.processor.stream.window.QueryableProcessor;
 import io.siddhi.core.query.selector.GroupByKeyGenerator;
 import io.siddhi.core.query.selector.attribute.aggregator.incremental.IncrementalAttributeAggregator;
@@ -245,6 +247,18 @@ public class AggregationParser {
 
                     });
 
+            // Additional executors for the root duration, used when the group by keys are sharded across
+            // multiple value stores
+            int shardCount = getShardCount(aggregationDefinition, isGroupBy);
+            List<List<ExpressionExecutor>> rootShardExpressionExecutors = new ArrayList<>();
+            for (int i = 1; i < shardCount; i++) {
+                rootShardExpressionExecutors.add(constructProcessExpressionExecutors(
+                        siddhiQueryContext, tableMap, baseAggregatorBeginIndex, finalBaseExpressions,
+                        incomingOutputStreamDefinition, processedMetaStreamEvent,
+                        processVariableExpressionExecutors, isProcessingOnExternalTime,
+                        incrementalDurations.get(0), isDistributed, shardId, isLatestEventColAdded));
+            }
+
             ExpressionExecutor shouldUpdateTimestamp = null;
             if (isLatestEventColAdded) {
                 Expression shouldUpdateTimestampExp = new Variable(AGG_LAST_TIMESTAMP_COL);
@@ -338,7 +352,8 @@ public class AggregationParser {
 
             Map<TimePeriod.Duration, IncrementalExecutor> incrementalExecutorMap = buildIncrementalExecutors(
                     processedMetaStreamEvent, processExpressionExecutorsMap, groupByKeyGeneratorMap, incrementalDurations,
-                    aggregationTables, siddhiQueryContext, aggregatorName, shouldUpdateTimestamp);
+                    aggregationTables, siddhiQueryContext, aggregatorName, shouldUpdateTimestamp,
+                    rootShardExpressionExecutors);
 
             isOptimisedLookup = isOptimisedLookup &&
                                 aggregationTables.get(incrementalDurations.get(0)) instanceof QueryableProcessor;
@@ -368,7 +383,14 @@ public class AggregationParser {
             // Connect entry valve to root incremental executor
             entryValveExecutor.setNextExecutor(rootIncrementalExecutor);
 
-            QueryParserHelper.initStreamRuntime(streamRuntime, incomingMetaStreamEvent, lockWrapper, aggregatorName);
+            // Sharded root executors synchronise their own processing, hence a stateless input stream is not
+            // locked, letting events of different shards be aggregated concurrently
+            LockWrapper inputLockWrapper = lockWrapper;
+            if (shardCount > 1 && isStatelessInput((SingleStreamRuntime) streamRuntime)) {
+                inputLockWrapper = null;
+            }
+            QueryParserHelper.initStreamRuntime(streamRuntime, incomingMetaStreamEvent, inputLockWrapper,
+                    aggregatorName);
 
             LatencyTracker latencyTrackerFind = null;
             LatencyTracker latencyTrackerInsert = null;
@@ -416,7 +438,8 @@ public class AggregationParser {
             List<TimePeriod.Duration> incrementalDurations,
             Map<TimePeriod.Duration, Table> aggregationTables,
             SiddhiQueryContext siddhiQueryContext,
-            String aggregatorName, ExpressionExecutor shouldUpdateTimestamp) {
+            String aggregatorName, ExpressionExecutor shouldUpdateTimestamp,
+            List<List<ExpressionExecutor>> rootShardExpressionExecutors) {
 
         Map<TimePeriod.Duration, IncrementalExecutor> incrementalExecutorMap = new HashMap<>();
         // Create incremental executors
@@ -434,7 +457,8 @@ public class AggregationParser {
             IncrementalExecutor incrementalExecutor = new IncrementalExecutor(aggregatorName, duration,
                     processExpressionExecutorsMap.get(duration), shouldUpdateTimestamp,
                     groupByKeyGeneratorList.get(duration), isRoot, aggregationTables.get(duration),
-                    child, siddhiQueryContext, processedMetaStreamEvent);
+                    child, siddhiQueryContext, processedMetaStreamEvent,
+                    isRoot ? rootShardExpressionExecutors : null);
 
             incrementalExecutorMap.put(duration, incrementalExecutor);
             root = incrementalExecutor;
@@ -442,6 +466,44 @@ public class AggregationParser {
         return incrementalExecutorMap;
     }
 
+    private static boolean isStatelessInput(SingleStreamRuntime singleStreamRuntime) {
+        for (Processor processor = singleStreamRuntime.getProcessorChain(); processor != null;
+             processor = processor.getNextProcessor()) {
+            if (!(processor instanceof FilterProcessor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getShardCount(AggregationDefinition aggregationDefinition, boolean isGroupBy) {
+        Annotation shardsAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_SHARDS,
+                aggregationDefinition.getAnnotations());
+        if (shardsAnnotation == null) {
+            return 1;
+        }
+        String countElement = shardsAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_COUNT);
+        int shardCount;
+        try {
+            shardCount = countElement == null ? -1 : Integer.parseInt(countElement.trim());
+        } catch (NumberFormatException e) {
+            shardCount = -1;
+        }
+        if (shardCount < 1) {
+            throw new SiddhiAppCreationException("Invalid value for '" + SiddhiConstants.ANNOTATION_ELEMENT_COUNT +
+                    "' of @" + SiddhiConstants.ANNOTATION_SHARDS + " annotation: '" + countElement + "'. Value " +
+                    "should be a positive integer.", shardsAnnotation.getQueryContextStartIndex(),
+                    shardsAnnotation.getQueryContextEndIndex());
+        }
+        if (shardCount > 1 && !isGroupBy) {
+            throw new SiddhiAppCreationException("@" + SiddhiConstants.ANNOTATION_SHARDS + " annotation of " +
+                    "aggregation '" + aggregationDefinition.getId() + "' requires a group by clause, as the " +
+                    "group by keys are used to distribute the events across the shards.",
+                    shardsAnnotation.getQueryContextStartIndex(), shardsAnnotation.getQueryContextEndIndex());
+        }
+        return shardCount;
+    }
+
     private static List<ExpressionExecutor> constructProcessExpressionExecutors(
             SiddhiQueryContext siddhiQueryContext, Map<String, Table> tableMap, int baseAggregatorBeginIndex,
             List<Expression> finalBaseExpressions, StreamDefinition incomingOutputStreamDefinition,
@@ -884,6 +946,8 @@ public class AggregationParser {
             primaryKeyAnnotation.element(null, groupByVariable.getAttributeName());
         }
         annotations.add(primaryKeyAnnotation);
+        boolean isInMemoryStore = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_STORE,
+                annotations) == null;
         for (TimePeriod.Duration duration : durations) {
             String tableId = aggregatorName + "_" + duration.toString();
             TableDefinition tableDefinition = TableDefinition.id(tableId);
@@ -891,12 +955,37 @@ public class AggregationParser {
                 tableDefinition.attribute(attribute.getName(), attribute.getType());
             }
             annotations.forEach(tableDefinition::annotation);
+            if (isInMemoryStore) {
+                // Partition in-memory aggregates by time, such that purging and within lookups work on whole segments
+                tableDefinition.annotation(Annotation.annotation(SiddhiConstants.ANNOTATION_TIME_PARTITION)
+                        .element(SiddhiConstants.ANNOTATION_ELEMENT_ATTRIBUTE, isProcessingOnExternalTime ?
+                                AGG_EXTERNAL_TIMESTAMP_COL : AGG_START_TIMESTAMP_COL)
+                        .element(SiddhiConstants.ANNOTATION_ELEMENT_SEGMENT_SIZE,
+                                String.valueOf(getTimePartitionSegmentSize(duration))));
+            }
             siddhiAppRuntimeBuilder.defineTable(tableDefinition);
             aggregationTableMap.put(duration, siddhiAppRuntimeBuilder.getTableMap().get(tableId));
         }
         return aggregationTableMap;
     }
 
+    private static long getTimePartitionSegmentSize(TimePeriod.Duration duration) {
+        switch (duration) {
+            case SECONDS:
+                return Expression.Time.minute(1).value();
+            case MINUTES:
+                return Expression.Time.hour(1).value();
+            case HOURS:
+                return Expression.Time.day(1).value();
+            case DAYS:
+                return Expression.Time.day(30).value();
+            case MONTHS:
+                return Expression.Time.day(365).value();
+            default:
+                return Expression.Time.day(3650).value();
+        }
+    }
+
     public static StreamEvent createRestEvent(MetaStreamEvent metaStreamEvent, StreamEvent streamEvent) {
         streamEvent.setTimestamp(0);
         streamEvent.setType(ComplexEvent.Type.RESET);
@@ -33,20 +33,24 @@ import io.siddhi.core.util.collection.executor.AnyAndCollectionExecutor;
 import io.siddhi.core.util.collection.executor.CollectionExecutor;
 import io.siddhi.core.util.collection.executor.CompareCollectionExecutor;
 import io.siddhi.core.util.collection.executor.CompareExhaustiveAndCollectionExecutor;
+import io.siddhi.core.util.collection.executor.CompositeIndexCollectionExecutor;
 import io.siddhi.core.util.collection.executor.ExhaustiveCollectionExecutor;
 import io.siddhi.core.util.collection.executor.NonAndCollectionExecutor;
 import io.siddhi.core.util.collection.executor.NonCollectionExecutor;
 import io.siddhi.core.util.collection.executor.NotCollectionExecutor;
 import io.siddhi.core.util.collection.executor.OrCollectionExecutor;
+import io.siddhi.core.util.collection.executor.RangeCollectionExecutor;
 import io.siddhi.core.util.collection.expression.AndCollectionExpression;
 import io.siddhi.core.util.collection.expression.AndMultiPrimaryKeyCollectionExpression;
 import io.siddhi.core.util.collection.expression.AttributeCollectionExpression;
 import io.siddhi.core.util.collection.expression.BasicCollectionExpression;
 import io.siddhi.core.util.collection.expression.CollectionExpression;
 import io.siddhi.core.util.collection.expression.CompareCollectionExpression;
+import io.siddhi.core.util.collection.expression.CompositeIndexCollectionExpression;
 import io.siddhi.core.util.collection.expression.NotCollectionExpression;
 import io.siddhi.core.util.collection.expression.NullCollectionExpression;
 import io.siddhi.core.util.collection.expression.OrCollectionExpression;
+import io.siddhi.core.util.collection.expression.RangeCollectionExpression;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.expression.AttributeFunction;
@@ -72,6 +76,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Class to parse Expressions and create Expression executors.
@@ -90,6 +95,25 @@ public class CollectionExpressionParser {
             matchingMetaInfoHolder, IndexedEventHolder indexedEventHolder) {
         CollectionExpression collectionExpression = parseInternalCollectionExpression(expression,
                 matchingMetaInfoHolder, indexedEventHolder);
+        CompositeIndexCollectionExpression compositeIndexCollectionExpression =
+                parseCompositeIndexCollectionExpression(expression, collectionExpression, matchingMetaInfoHolder,
+                        indexedEventHolder);
+        if (compositeIndexCollectionExpression != null) {
+            switch (collectionExpression.getCollectionScope()) {
+                case PARTIAL_PRIMARY_KEY_ATTRIBUTE:
+                case PARTIAL_PRIMARY_KEY_RESULT_SET:
+                case EXHAUSTIVE:
+                    return compositeIndexCollectionExpression;
+                case INDEXED_RESULT_SET:
+                case OPTIMISED_PRIMARY_KEY_OR_INDEXED_RESULT_SET:
+                    // both plans are applicable, the one driving the lookup is chosen based on the table statistics
+                    return new AndCollectionExpression(expression,
+                            CollectionExpression.CollectionScope.OPTIMISED_PRIMARY_KEY_OR_INDEXED_RESULT_SET,
+                            compositeIndexCollectionExpression, collectionExpression);
+                default:
+                    break;
+            }
+        }
         if (collectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.PARTIAL_PRIMARY_KEY_RESULT_SET
                 || collectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.PARTIAL_PRIMARY_KEY_ATTRIBUTE) {
             return new BasicCollectionExpression(collectionExpression.getExpression(), CollectionExpression.CollectionScope.EXHAUSTIVE);
@@ -119,6 +143,12 @@ public class CollectionExpressionParser {
             if (leftCollectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.NON &&
                     rightCollectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.NON) {
                 return new BasicCollectionExpression(expression, CollectionExpression.CollectionScope.NON);
+            } else if (isRangeCollectionExpression(leftCollectionExpression, rightCollectionExpression)) {
+                return buildRangeCollectionExpression(expression, (CompareCollectionExpression) leftCollectionExpression,
+                        (CompareCollectionExpression) rightCollectionExpression);
+            } else if (isRangeCollectionExpression(rightCollectionExpression, leftCollectionExpression)) {
+                return buildRangeCollectionExpression(expression, (CompareCollectionExpression) rightCollectionExpression,
+                        (CompareCollectionExpression) leftCollectionExpression);
             } else if ((leftCollectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.PRIMARY_KEY_ATTRIBUTE
                     || leftCollectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.PARTIAL_PRIMARY_KEY_ATTRIBUTE
                     || leftCollectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.PRIMARY_KEY_RESULT_SET
@@ -381,6 +411,159 @@ public class CollectionExpressionParser {
     }
 
 
+    /**
+     * Plans the conditions of the top level conjunction against the composite indexes of the holder. The composite
+     * index matching the most conditions with equality on its leading attributes, followed by an optional range on
+     * the next attribute, is used when the expression cannot be served otherwise, or in addition to the other indexes
+     * when they can also serve the expression.
+     *
+     * @param expression             Expression to be parsed
+     * @param collectionExpression   collection expression planned without the composite indexes
+     * @param matchingMetaInfoHolder matchingMetaInfoHolder
+     * @param indexedEventHolder     indexed event holder
+     * @return CompositeIndexCollectionExpression or null if no composite index is applicable
+     */
+    private static CompositeIndexCollectionExpression parseCompositeIndexCollectionExpression(
+            Expression expression, CollectionExpression collectionExpression,
+            MatchingMetaInfoHolder matchingMetaInfoHolder, IndexedEventHolder indexedEventHolder) {
+        Map<String, String[]> compositeIndexes = indexedEventHolder.getCompositeIndexes();
+        if (compositeIndexes == null || compositeIndexes.isEmpty() ||
+                collectionExpression.getCollectionScope() == CollectionExpression.CollectionScope.NON ||
+                collectionExpression.getCollectionScope() == CollectionExpression.CollectionScope
+                        .PRIMARY_KEY_RESULT_SET) {
+            return null;
+        }
+        List<Expression> conditions = new ArrayList<>();
+        collectAndConditions(expression, conditions);
+        List<IndexCondition> indexConditions = new ArrayList<>(conditions.size());
+        for (Expression condition : conditions) {
+            indexConditions.add(parseIndexCondition(condition, matchingMetaInfoHolder, indexedEventHolder));
+        }
+
+        CompositeIndexCollectionExpression bestCollectionExpression = null;
+        for (Map.Entry<String, String[]> compositeIndex : new TreeMap<>(compositeIndexes).entrySet()) {
+            String[] attributes = compositeIndex.getValue();
+            boolean[] matched = new boolean[conditions.size()];
+            int matchedConditionCount = 0;
+            List<Expression> prefixValueExpressions = new ArrayList<>();
+            int position = 0;
+            for (; position < attributes.length; position++) {
+                int index = findIndexCondition(indexConditions, matched, attributes[position],
+                        Compare.Operator.EQUAL, Compare.Operator.EQUAL);
+                if (index < 0) {
+                    break;
+                }
+                matched[index] = true;
+                matchedConditionCount++;
+                prefixValueExpressions.add(indexConditions.get(index).valueExpression);
+            }
+            IndexCondition lowerCondition = null;
+            IndexCondition upperCondition = null;
+            if (position < attributes.length) {
+                int index = findIndexCondition(indexConditions, matched, attributes[position],
+                        Compare.Operator.GREATER_THAN, Compare.Operator.GREATER_THAN_EQUAL);
+                if (index >= 0) {
+                    matched[index] = true;
+                    matchedConditionCount++;
+                    lowerCondition = indexConditions.get(index);
+                }
+                index = findIndexCondition(indexConditions, matched, attributes[position],
+                        Compare.Operator.LESS_THAN, Compare.Operator.LESS_THAN_EQUAL);
+                if (index >= 0) {
+                    matched[index] = true;
+                    matchedConditionCount++;
+                    upperCondition = indexConditions.get(index);
+                }
+            }
+            if (matchedConditionCount == 0 || (bestCollectionExpression != null &&
+                    bestCollectionExpression.getMatchedConditionCount() >= matchedConditionCount)) {
+                continue;
+            }
+            Expression residualExpression = null;
+            for (int i = 0; i < conditions.size(); i++) {
+                if (!matched[i]) {
+                    residualExpression = residualExpression == null ? conditions.get(i) :
+                            Expression.and(residualExpression, conditions.get(i));
+                }
+            }
+            bestCollectionExpression = new CompositeIndexCollectionExpression(expression,
+                    CollectionExpression.CollectionScope.INDEXED_RESULT_SET, compositeIndex.getKey(),
+                    prefixValueExpressions,
+                    lowerCondition != null ? lowerCondition.operator : null,
+                    lowerCondition != null ? lowerCondition.valueExpression : null,
+                    upperCondition != null ? upperCondition.operator : null,
+                    upperCondition != null ? upperCondition.valueExpression : null,
+                    residualExpression, matchedConditionCount);
+        }
+        return bestCollectionExpression;
+    }
+
+    private static void collectAndConditions(Expression expression, List<Expression> conditions) {
+        if (expression instanceof And) {
+            collectAndConditions(((And) expression).getLeftExpression(), conditions);
+            collectAndConditions(((And) expression).getRightExpression(), conditions);
+        } else {
+            conditions.add(expression);
+        }
+    }
+
+    /**
+     * Parse a condition of the form attribute (operator) value, where the attribute belongs to the collection and
+     * the value is independent of it.
+     */
+    private static IndexCondition parseIndexCondition(Expression condition,
+                                                      MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                                      IndexedEventHolder indexedEventHolder) {
+        if (!(condition instanceof Compare)) {
+            return null;
+        }
+        Compare compare = (Compare) condition;
+        if (compare.getLeftExpression() instanceof Variable &&
+                isCollectionVariable(matchingMetaInfoHolder, (Variable) compare.getLeftExpression()) &&
+                parseInternalCollectionExpression(compare.getRightExpression(), matchingMetaInfoHolder,
+                        indexedEventHolder).getCollectionScope() == CollectionExpression.CollectionScope.NON) {
+            return new IndexCondition(((Variable) compare.getLeftExpression()).getAttributeName(),
+                    compare.getOperator(), compare.getRightExpression());
+        } else if (compare.getRightExpression() instanceof Variable &&
+                isCollectionVariable(matchingMetaInfoHolder, (Variable) compare.getRightExpression()) &&
+                parseInternalCollectionExpression(compare.getLeftExpression(), matchingMetaInfoHolder,
+                        indexedEventHolder).getCollectionScope() == CollectionExpression.CollectionScope.NON) {
+            Compare.Operator operator = compare.getOperator();
+            //moving let to right
+            switch (operator) {
+                case LESS_THAN:
+                    operator = Compare.Operator.GREATER_THAN;
+                    break;
+                case GREATER_THAN:
+                    operator = Compare.Operator.LESS_THAN;
+                    break;
+                case LESS_THAN_EQUAL:
+                    operator = Compare.Operator.GREATER_THAN_EQUAL;
+                    break;
+                case GREATER_THAN_EQUAL:
+                    operator = Compare.Operator.LESS_THAN_EQUAL;
+                    break;
+                default:
+                    break;
+            }
+            return new IndexCondition(((Variable) compare.getRightExpression()).getAttributeName(), operator,
+                    compare.getLeftExpression());
+        }
+        return null;
+    }
+
+    private static int findIndexCondition(List<IndexCondition> indexConditions, boolean[] matched, String attribute,
+                                          Compare.Operator operator, Compare.Operator alternativeOperator) {
+        for (int i = 0; i < indexConditions.size(); i++) {
+            IndexCondition indexCondition = indexConditions.get(i);
+            if (!matched[i] && indexCondition != null && indexCondition.attribute.equals(attribute) &&
+                    (indexCondition.operator == operator || indexCondition.operator == alternativeOperator)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     private static boolean isCollectionVariable(MatchingMetaInfoHolder matchingMetaInfoHolder, Variable variable) {
         if (variable.getStreamId() != null) {
             MetaStreamEvent collectionStreamEvent = matchingMetaInfoHolder.getMetaStateEvent().getMetaStreamEvent
@@ -476,6 +659,67 @@ public class CollectionExpressionParser {
                         (NullCollectionExpression) collectionExpression).getAttribute(),
                         Compare.Operator.EQUAL, new ConstantExpressionExecutor(null, Attribute.Type.OBJECT), null);
             }
+        } else if (collectionExpression instanceof RangeCollectionExpression) {
+            RangeCollectionExpression rangeCollectionExpression = (RangeCollectionExpression) collectionExpression;
+            ExpressionExecutor lowerValueExpressionExecutor = ExpressionParser.parseExpression(
+                    rangeCollectionExpression.getLowerCollectionExpression().getValueCollectionExpression()
+                            .getExpression(),
+                    matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                    variableExpressionExecutors, false, 0,
+                    processingMode, outputExpectsExpiredEvents, siddhiQueryContext);
+            ExpressionExecutor upperValueExpressionExecutor = ExpressionParser.parseExpression(
+                    rangeCollectionExpression.getUpperCollectionExpression().getValueCollectionExpression()
+                            .getExpression(),
+                    matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                    variableExpressionExecutors, false, 0,
+                    processingMode, outputExpectsExpiredEvents, siddhiQueryContext);
+            return new RangeCollectionExecutor(rangeCollectionExpression.getAttribute(),
+                    rangeCollectionExpression.getLowerCollectionExpression().getOperator(),
+                    lowerValueExpressionExecutor,
+                    rangeCollectionExpression.getUpperCollectionExpression().getOperator(),
+                    upperValueExpressionExecutor, isCache ? cacheTable : null);
+        } else if (collectionExpression instanceof CompositeIndexCollectionExpression) {
+            CompositeIndexCollectionExpression compositeIndexCollectionExpression =
+                    (CompositeIndexCollectionExpression) collectionExpression;
+            List<Expression> prefixValueExpressions = compositeIndexCollectionExpression.getPrefixValueExpressions();
+            ExpressionExecutor[] prefixValueExpressionExecutors = new ExpressionExecutor[prefixValueExpressions
+                    .size()];
+            for (int i = 0; i < prefixValueExpressionExecutors.length; i++) {
+                prefixValueExpressionExecutors[i] = ExpressionParser.parseExpression(prefixValueExpressions.get(i),
+                        matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(),
+                        tableMap, variableExpressionExecutors, false, 0,
+                        processingMode, outputExpectsExpiredEvents, siddhiQueryContext);
+            }
+            ExpressionExecutor lowerValueExpressionExecutor = null;
+            if (compositeIndexCollectionExpression.getLowerValueExpression() != null) {
+                lowerValueExpressionExecutor = ExpressionParser.parseExpression(
+                        compositeIndexCollectionExpression.getLowerValueExpression(),
+                        matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(),
+                        tableMap, variableExpressionExecutors, false, 0,
+                        processingMode, outputExpectsExpiredEvents, siddhiQueryContext);
+            }
+            ExpressionExecutor upperValueExpressionExecutor = null;
+            if (compositeIndexCollectionExpression.getUpperValueExpression() != null) {
+                upperValueExpressionExecutor = ExpressionParser.parseExpression(
+                        compositeIndexCollectionExpression.getUpperValueExpression(),
+                        matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(),
+                        tableMap, variableExpressionExecutors, false, 0,
+                        processingMode, outputExpectsExpiredEvents, siddhiQueryContext);
+            }
+            ExhaustiveCollectionExecutor residualCollectionExecutor = null;
+            if (compositeIndexCollectionExpression.getResidualExpression() != null) {
+                residualCollectionExecutor = new ExhaustiveCollectionExecutor(ExpressionParser.parseExpression(
+                        compositeIndexCollectionExpression.getResidualExpression(),
+                        matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(),
+                        tableMap, variableExpressionExecutors, false, 0,
+                        processingMode, outputExpectsExpiredEvents, siddhiQueryContext),
+                        matchingMetaInfoHolder.getStoreEventIndex());
+            }
+            return new CompositeIndexCollectionExecutor(compositeIndexCollectionExpression.getCompositeIndex(),
+                    prefixValueExpressionExecutors,
+                    compositeIndexCollectionExpression.getLowerOperator(), lowerValueExpressionExecutor,
+                    compositeIndexCollectionExpression.getUpperOperator(), upperValueExpressionExecutor,
+                    residualCollectionExecutor, isCache ? cacheTable : null);
         } else if (collectionExpression instanceof AndMultiPrimaryKeyCollectionExpression) {
             Map<String, ExpressionExecutor> multiPrimaryKeyExpressionExecutors =
                     buildMultiPrimaryKeyExpressionExecutors(collectionExpression,
@@ -839,6 +1083,45 @@ public class CollectionExpressionParser {
         throw new UnsupportedOperationException(collectionExpression.getClass().getName() + " not supported!");
     }
 
+    /**
+     * Checks whether the given compare expressions form a lower and an upper bound on the same indexed attribute,
+     * such that they can be served by a single range lookup instead of intersecting two result sets.
+     */
+    private static boolean isRangeCollectionExpression(CollectionExpression lowerCollectionExpression,
+                                                       CollectionExpression upperCollectionExpression) {
+        if (!(lowerCollectionExpression instanceof CompareCollectionExpression) ||
+                !(upperCollectionExpression instanceof CompareCollectionExpression) ||
+                lowerCollectionExpression.getCollectionScope() !=
+                        CollectionExpression.CollectionScope.INDEXED_RESULT_SET ||
+                upperCollectionExpression.getCollectionScope() !=
+                        CollectionExpression.CollectionScope.INDEXED_RESULT_SET) {
+            return false;
+        }
+        Compare.Operator lowerOperator = ((CompareCollectionExpression) lowerCollectionExpression).getOperator();
+        Compare.Operator upperOperator = ((CompareCollectionExpression) upperCollectionExpression).getOperator();
+        if ((lowerOperator != Compare.Operator.GREATER_THAN && lowerOperator != Compare.Operator.GREATER_THAN_EQUAL)
+                || (upperOperator != Compare.Operator.LESS_THAN &&
+                upperOperator != Compare.Operator.LESS_THAN_EQUAL)) {
+            return false;
+        }
+        CollectionExpression lowerAttribute = ((CompareCollectionExpression) lowerCollectionExpression)
+                .getAttributeCollectionExpression();
+        CollectionExpression upperAttribute = ((CompareCollectionExpression) upperCollectionExpression)
+                .getAttributeCollectionExpression();
+        return lowerAttribute instanceof AttributeCollectionExpression &&
+                upperAttribute instanceof AttributeCollectionExpression &&
+                ((AttributeCollectionExpression) lowerAttribute).getAttribute().equals(
+                        ((AttributeCollectionExpression) upperAttribute).getAttribute());
+    }
+
+    private static RangeCollectionExpression buildRangeCollectionExpression(
+            Expression expression, CompareCollectionExpression lowerCollectionExpression,
+            CompareCollectionExpression upperCollectionExpression) {
+        return new RangeCollectionExpression(expression, CollectionExpression.CollectionScope.INDEXED_RESULT_SET,
+                ((AttributeCollectionExpression) lowerCollectionExpression.getAttributeCollectionExpression())
+                        .getAttribute(), lowerCollectionExpression, upperCollectionExpression);
+    }
+
     private static Map<String, ExpressionExecutor> buildMultiPrimaryKeyExpressionExecutors(
             CollectionExpression collectionExpression, MatchingMetaInfoHolder matchingMetaInfoHolder,
             List<VariableExpressionExecutor> variableExpressionExecutors, Map<String, Table> tableMap,
@@ -910,4 +1193,18 @@ public class CollectionExpressionParser {
 
     }
 
+    /**
+     * Condition comparing a collection attribute with a value that is independent of the collection.
+     */
+    private static final class IndexCondition {
+        private final String attribute;
+        private final Compare.Operator operator;
+        private final Expression valueExpression;
+
+        private IndexCondition(String attribute, Compare.Operator operator, Expression valueExpression) {
+            this.attribute = attribute;
+            this.operator = operator;
+            this.valueExpression = valueExpression;
+        }
+    }
 }
@@ -30,6 +30,7 @@ import io.siddhi.core.table.holder.IndexEventHolder;
 import io.siddhi.core.table.holder.IndexEventHolderForCache;
 import io.siddhi.core.table.holder.ListEventHolder;
 import io.siddhi.core.table.holder.PrimaryKeyReferenceHolder;
+import io.siddhi.core.table.holder.TimePartitionedEventHolder;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.query.api.annotation.Annotation;
 import io.siddhi.query.api.annotation.Element;
@@ -40,7 +41,9 @@ import io.siddhi.query.api.util.AnnotationHelper;
 import org.apache.log4j.Logger;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Class to parse {@link EventHolder}
@@ -55,6 +58,7 @@ public class EventHolderPasser {
         PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders = null;
 
         Map<String, Integer> indexMetaData = new HashMap<String, Integer>();
+        Map<String, String[]> compositeIndexMetaData = new HashMap<String, String[]>();
 
         // primaryKey.
         Annotation primaryKeyAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_PRIMARY_KEY,
@@ -80,13 +84,27 @@ public class EventHolderPasser {
                         indexAnnotation.getQueryContextStartIndex(),
                         indexAnnotation.getQueryContextEndIndex());
             } else if (indexAnnotation.getElements().size() > 1) {
-                throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_INDEX + " annotation of the " +
-                        "in-memory table should only contain one index element but found "
-                        + indexAnnotation.getElements().size() + " elements. To use multiple indexes, " +
-                        "define multiple '@index(<index key>)' annotations with one index element " +
-                        "per each index key",
-                        indexAnnotation.getQueryContextStartIndex(),
-                        indexAnnotation.getQueryContextEndIndex());
+                // composite index ordered by the given attributes.
+                String[] attributes = new String[indexAnnotation.getElements().size()];
+                StringBuilder compositeIndexBuilder = new StringBuilder();
+                Set<String> attributeSet = new HashSet<String>();
+                for (int i = 0; i < attributes.length; i++) {
+                    attributes[i] = indexAnnotation.getElements().get(i).getValue().trim();
+                    if (!attributeSet.add(attributes[i])) {
+                        throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_INDEX + " annotation " +
+                                "contains attribute '" + attributes[i] + "' more than once, at '" +
+                                tableDefinition.getId() + "'", indexAnnotation.getQueryContextStartIndex(),
+                                indexAnnotation.getQueryContextEndIndex());
+                    }
+                    compositeIndexBuilder.append(attributes[i]).append(SiddhiConstants.KEY_DELIMITER);
+                }
+                if (compositeIndexMetaData.put(compositeIndexBuilder.toString(), attributes) != null) {
+                    throw new SiddhiAppValidationException("Multiple " + SiddhiConstants.ANNOTATION_INDEX + " " +
+                            "annotations defined with same attributes '" + String.join(", ", attributes) +
+                            "', at '" + tableDefinition.getId() + "'", indexAnnotation.getQueryContextStartIndex(),
+                            indexAnnotation.getQueryContextEndIndex());
+                }
+                continue;
             }
             for (Element element : indexAnnotation.getElements()) {
                 Integer previousValue = indexMetaData.put(element.getValue().trim(), tableDefinition
@@ -109,7 +127,7 @@ public class EventHolderPasser {
                     " at '" + tableDefinition.getId() + "'");
         }
 
-        if (primaryKeyReferenceHolders != null || indexMetaData.size() > 0) {
+        if (primaryKeyReferenceHolders != null || indexMetaData.size() > 0 || compositeIndexMetaData.size() > 0) {
             boolean isNumeric = false;
             if (primaryKeyReferenceHolders != null) {
                 if (primaryKeyReferenceHolders.length == 1) {
@@ -122,12 +140,19 @@ public class EventHolderPasser {
                 }
 
             }
+            Annotation timePartitionAnnotation = AnnotationHelper.getAnnotation(
+                    SiddhiConstants.ANNOTATION_TIME_PARTITION, tableDefinition.getAnnotations());
+            if (timePartitionAnnotation != null && !isCacheTable) {
+                return parseTimePartitionedEventHolder(timePartitionAnnotation, tableDefinition,
+                        tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders, indexMetaData,
+                        compositeIndexMetaData, siddhiAppContext);
+            }
             if (isCacheTable) {
                 return new IndexEventHolderForCache(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders, isNumeric,
-                        indexMetaData, tableDefinition, siddhiAppContext);
+                        indexMetaData, compositeIndexMetaData, tableDefinition, siddhiAppContext);
             } else {
                 return new IndexEventHolder(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders, isNumeric,
-                        indexMetaData, tableDefinition, siddhiAppContext);
+                        indexMetaData, compositeIndexMetaData, tableDefinition, siddhiAppContext);
             }
         } else {
             MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
@@ -140,5 +165,60 @@ public class EventHolderPasser {
         }
     }
 
-
+    private static TimePartitionedEventHolder parseTimePartitionedEventHolder(
+            Annotation timePartitionAnnotation, AbstractDefinition tableDefinition,
+            StreamEventFactory tableStreamEventFactory, ZeroStreamEventConverter eventConverter,
+            PrimaryKeyReferenceHolder[] primaryKeyReferenceHolders, Map<String, Integer> indexMetaData,
+            Map<String, String[]> compositeIndexMetaData, SiddhiAppContext siddhiAppContext) {
+        String timeAttribute = timePartitionAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_ATTRIBUTE);
+        String segmentSize = timePartitionAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_SEGMENT_SIZE);
+        if (timeAttribute == null || segmentSize == null) {
+            throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_TIME_PARTITION + " annotation " +
+                    "should contain both '" + SiddhiConstants.ANNOTATION_ELEMENT_ATTRIBUTE + "' and '" +
+                    SiddhiConstants.ANNOTATION_ELEMENT_SEGMENT_SIZE + "' elements, at '" +
+                    tableDefinition.getId() + "'", timePartitionAnnotation.getQueryContextStartIndex(),
+                    timePartitionAnnotation.getQueryContextEndIndex());
+        }
+        timeAttribute = timeAttribute.trim();
+        if (primaryKeyReferenceHolders == null) {
+            throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_TIME_PARTITION + " annotation " +
+                    "requires a " + SiddhiConstants.ANNOTATION_PRIMARY_KEY + " annotation, at '" +
+                    tableDefinition.getId() + "'", timePartitionAnnotation.getQueryContextStartIndex(),
+                    timePartitionAnnotation.getQueryContextEndIndex());
+        }
+        if (tableDefinition.getAttributeType(timeAttribute) != Attribute.Type.LONG) {
+            throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_TIME_PARTITION + " attribute '" +
+                    timeAttribute + "' should be of type LONG, at '" + tableDefinition.getId() + "'",
+                    timePartitionAnnotation.getQueryContextStartIndex(),
+                    timePartitionAnnotation.getQueryContextEndIndex());
+        }
+        boolean isTimeAttributeInPrimaryKey = false;
+        for (PrimaryKeyReferenceHolder primaryKeyReferenceHolder : primaryKeyReferenceHolders) {
+            if (primaryKeyReferenceHolder.getPrimaryKeyAttribute().equals(timeAttribute)) {
+                isTimeAttributeInPrimaryKey = true;
+            }
+        }
+        if (!isTimeAttributeInPrimaryKey) {
+            throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_TIME_PARTITION + " attribute '" +
+                    timeAttribute + "' should be part of the " + SiddhiConstants.ANNOTATION_PRIMARY_KEY + ", at '" +
+                    tableDefinition.getId() + "'", timePartitionAnnotation.getQueryContextStartIndex(),
+                    timePartitionAnnotation.getQueryContextEndIndex());
+        }
+        long segmentSizeInMillis;
+        try {
+            segmentSizeInMillis = Long.parseLong(segmentSize.trim());
+        } catch (NumberFormatException e) {
+            segmentSizeInMillis = -1;
+        }
+        if (segmentSizeInMillis <= 0) {
+            throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_ELEMENT_SEGMENT_SIZE + " of " +
+                    SiddhiConstants.ANNOTATION_TIME_PARTITION + " annotation should be a positive number of " +
+                    "milliseconds, but found '" + segmentSize + "', at '" + tableDefinition.getId() + "'",
+                    timePartitionAnnotation.getQueryContextStartIndex(),
+                    timePartitionAnnotation.getQueryContextEndIndex());
+        }
+        return new TimePartitionedEventHolder(tableStreamEventFactory, eventConverter, primaryKeyReferenceHolders,
+                indexMetaData, compositeIndexMetaData, timeAttribute, segmentSizeInMillis, tableDefinition,
+                siddhiAppContext);
+    }
 }
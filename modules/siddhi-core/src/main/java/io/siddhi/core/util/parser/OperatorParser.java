@@ -22,6 +22,7 @@ import io.siddhi.core.config.SiddhiQueryContext;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
+import io.siddhi.core.event.stream.holder.TimeBucketedStreamEventQueue;
 import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
@@ -44,10 +45,21 @@ import io.siddhi.core.util.collection.operator.Operator;
 import io.siddhi.core.util.collection.operator.OverwriteTableIndexOperator;
 import io.siddhi.core.util.collection.operator.OverwriteTableIndexOperatorForCache;
 import io.siddhi.core.util.collection.operator.SnapshotableEventQueueOperator;
+import io.siddhi.core.util.collection.operator.TimeBucketedEventQueueOperator;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.expression.AttributeFunction;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.condition.And;
 import io.siddhi.query.api.expression.condition.Compare;
+import io.siddhi.query.api.expression.constant.Constant;
+import io.siddhi.query.api.expression.math.Add;
+import io.siddhi.query.api.expression.math.Divide;
+import io.siddhi.query.api.expression.math.Mod;
+import io.siddhi.query.api.expression.math.Multiply;
+import io.siddhi.query.api.expression.math.Subtract;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -100,6 +112,19 @@ public class OperatorParser {
                     variableExpressionExecutors, false, 0,
                     ProcessingMode.BATCH, false, siddhiQueryContext);
             return new SnapshotableEventQueueOperator(expressionExecutor, matchingMetaInfoHolder.getStoreEventIndex());
+        } else if (storeEvents instanceof TimeBucketedStreamEventQueue) {
+            ExpressionExecutor expressionExecutor = ExpressionParser.parseExpression(expression,
+                    matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                    variableExpressionExecutors, false, 0,
+                    ProcessingMode.BATCH, false, siddhiQueryContext);
+            List<Expression> lowerBounds = new ArrayList<>();
+            List<Expression> upperBounds = new ArrayList<>();
+            collectTimestampBounds(expression, matchingMetaInfoHolder, lowerBounds, upperBounds);
+            return new TimeBucketedEventQueueOperator(expressionExecutor, matchingMetaInfoHolder.getStoreEventIndex(),
+                    parseTimestampBounds(lowerBounds, matchingMetaInfoHolder, variableExpressionExecutors, tableMap,
+                            siddhiQueryContext),
+                    parseTimestampBounds(upperBounds, matchingMetaInfoHolder, variableExpressionExecutors, tableMap,
+                            siddhiQueryContext));
         } else if (storeEvents instanceof Map) {
             ExpressionExecutor expressionExecutor = ExpressionParser.parseExpression(expression,
                     matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
@@ -153,6 +178,160 @@ public class OperatorParser {
                 tableMap, siddhiQueryContext);
     }
 
+    /**
+     * Collects the values the timestamps of the store events are compared against in the top level conjuncts of
+     * the condition, such as {@code eventTimestamp(w) >= e.timestamp - 1000}.
+     */
+    private static void collectTimestampBounds(Expression expression, MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                               List<Expression> lowerBounds, List<Expression> upperBounds) {
+        if (expression instanceof And) {
+            collectTimestampBounds(((And) expression).getLeftExpression(), matchingMetaInfoHolder,
+                    lowerBounds, upperBounds);
+            collectTimestampBounds(((And) expression).getRightExpression(), matchingMetaInfoHolder,
+                    lowerBounds, upperBounds);
+        } else if (expression instanceof Compare) {
+            Compare compare = (Compare) expression;
+            Compare.Operator operator = compare.getOperator();
+            Expression bound;
+            if (isStoreEventTimestamp(compare.getLeftExpression(), matchingMetaInfoHolder)) {
+                bound = compare.getRightExpression();
+            } else if (isStoreEventTimestamp(compare.getRightExpression(), matchingMetaInfoHolder)) {
+                bound = compare.getLeftExpression();
+                switch (operator) {
+                    case LESS_THAN:
+                        operator = Compare.Operator.GREATER_THAN;
+                        break;
+                    case GREATER_THAN:
+                        operator = Compare.Operator.LESS_THAN;
+                        break;
+                    case LESS_THAN_EQUAL:
+                        operator = Compare.Operator.GREATER_THAN_EQUAL;
+                        break;
+                    case GREATER_THAN_EQUAL:
+                        operator = Compare.Operator.LESS_THAN_EQUAL;
+                        break;
+                    default:
+                        break;
+                }
+            } else {
+                return;
+            }
+            if (!isIndependentOfStore(bound, matchingMetaInfoHolder)) {
+                return;
+            }
+            switch (operator) {
+                case GREATER_THAN:
+                case GREATER_THAN_EQUAL:
+                    lowerBounds.add(bound);
+                    break;
+                case LESS_THAN:
+                case LESS_THAN_EQUAL:
+                    upperBounds.add(bound);
+                    break;
+                case EQUAL:
+                    lowerBounds.add(bound);
+                    upperBounds.add(bound);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static List<ExpressionExecutor> parseTimestampBounds(
+            List<Expression> bounds, MatchingMetaInfoHolder matchingMetaInfoHolder,
+            List<VariableExpressionExecutor> variableExpressionExecutors, Map<String, Table> tableMap,
+            SiddhiQueryContext siddhiQueryContext) {
+        List<ExpressionExecutor> boundExecutors = new ArrayList<>(bounds.size());
+        for (Expression bound : bounds) {
+            ExpressionExecutor boundExecutor = ExpressionParser.parseExpression(bound,
+                    matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                    variableExpressionExecutors, false, 0,
+                    ProcessingMode.BATCH, false, siddhiQueryContext);
+            switch (boundExecutor.getReturnType()) {
+                case INT:
+                case LONG:
+                case FLOAT:
+                case DOUBLE:
+                    boundExecutors.add(boundExecutor);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return boundExecutors;
+    }
+
+    private static boolean isStoreEventTimestamp(Expression expression,
+                                                 MatchingMetaInfoHolder matchingMetaInfoHolder) {
+        if (expression instanceof AttributeFunction) {
+            AttributeFunction function = (AttributeFunction) expression;
+            if ((function.getNamespace() == null || function.getNamespace().isEmpty()) &&
+                    "eventTimestamp".equals(function.getName()) && function.getParameters() != null &&
+                    function.getParameters().length == 1 && function.getParameters()[0] instanceof Variable) {
+                Variable variable = (Variable) function.getParameters()[0];
+                MetaStreamEvent storeStreamEvent = matchingMetaInfoHolder.getMetaStateEvent().getMetaStreamEvent(
+                        matchingMetaInfoHolder.getStoreEventIndex());
+                String storeReference = storeStreamEvent.getInputReferenceId() != null ?
+                        storeStreamEvent.getInputReferenceId() : storeStreamEvent.getLastInputDefinition().getId();
+                return variable.getStreamId() == null && storeReference.equals(variable.getAttributeName());
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIndependentOfStore(Expression expression,
+                                                MatchingMetaInfoHolder matchingMetaInfoHolder) {
+        if (expression instanceof Constant) {
+            return true;
+        } else if (expression instanceof Variable) {
+            Variable variable = (Variable) expression;
+            MetaStreamEvent storeStreamEvent = matchingMetaInfoHolder.getMetaStateEvent().getMetaStreamEvent(
+                    matchingMetaInfoHolder.getStoreEventIndex());
+            String storeId = storeStreamEvent.getLastInputDefinition().getId();
+            String storeReferenceId = storeStreamEvent.getInputReferenceId();
+            if (variable.getStreamId() != null) {
+                return !variable.getStreamId().equals(storeId) && !variable.getStreamId().equals(storeReferenceId);
+            }
+            String attributeName = variable.getAttributeName();
+            if (attributeName.equals(storeId) || attributeName.equals(storeReferenceId)) {
+                return false;
+            }
+            for (Attribute attribute : storeStreamEvent.getLastInputDefinition().getAttributeList()) {
+                if (attribute.getName().equals(attributeName)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (expression instanceof AttributeFunction) {
+            Expression[] parameters = ((AttributeFunction) expression).getParameters();
+            if (parameters != null) {
+                for (Expression parameter : parameters) {
+                    if (!isIndependentOfStore(parameter, matchingMetaInfoHolder)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } else if (expression instanceof Add) {
+            return isIndependentOfStore(((Add) expression).getLeftValue(), matchingMetaInfoHolder) &&
+                    isIndependentOfStore(((Add) expression).getRightValue(), matchingMetaInfoHolder);
+        } else if (expression instanceof Subtract) {
+            return isIndependentOfStore(((Subtract) expression).getLeftValue(), matchingMetaInfoHolder) &&
+                    isIndependentOfStore(((Subtract) expression).getRightValue(), matchingMetaInfoHolder);
+        } else if (expression instanceof Multiply) {
+            return isIndependentOfStore(((Multiply) expression).getLeftValue(), matchingMetaInfoHolder) &&
+                    isIndependentOfStore(((Multiply) expression).getRightValue(), matchingMetaInfoHolder);
+        } else if (expression instanceof Divide) {
+            return isIndependentOfStore(((Divide) expression).getLeftValue(), matchingMetaInfoHolder) &&
+                    isIndependentOfStore(((Divide) expression).getRightValue(), matchingMetaInfoHolder);
+        } else if (expression instanceof Mod) {
+            return isIndependentOfStore(((Mod) expression).getLeftValue(), matchingMetaInfoHolder) &&
+                    isIndependentOfStore(((Mod) expression).getRightValue(), matchingMetaInfoHolder);
+        }
+        return false;
+    }
+
     private static boolean isTableIndexVariable(MatchingMetaInfoHolder matchingMetaInfoHolder, Expression expression,
                                                 String indexAttribute) {
         if (expression instanceof Variable) {
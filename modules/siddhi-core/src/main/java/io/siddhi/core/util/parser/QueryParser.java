@@ -25,6 +25,8 @@ import io.siddhi.core.event.state.MetaStateEvent;
 import io.siddhi.core.event.state.populater.StateEventPopulatorFactory;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.MetaStreamEvent.EventType;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.QueryRuntime;
@@ -37,6 +39,10 @@ import io.siddhi.core.query.output.callback.OutputCallback;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
 import io.siddhi.core.query.output.ratelimit.snapshot.WrappedSnapshotOutputRateLimiter;
 import io.siddhi.core.query.processor.Processor;
+import io.siddhi.core.query.processor.stream.AbstractStreamProcessor;
+import io.siddhi.core.query.processor.stream.window.LengthWindowProcessor;
+import io.siddhi.core.query.processor.stream.window.TimeWindowProcessor;
+import io.siddhi.core.query.processor.stream.window.WindowProcessor;
 import io.siddhi.core.query.selector.QuerySelector;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.table.record.AbstractQueryableRecordTable;
@@ -48,6 +54,7 @@ import io.siddhi.core.util.lock.LockWrapper;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.window.Window;
+import io.siddhi.query.api.annotation.Annotation;
 import io.siddhi.query.api.annotation.Element;
 import io.siddhi.query.api.definition.AbstractDefinition;
 import io.siddhi.query.api.exception.DuplicateDefinitionException;
@@ -58,6 +65,7 @@ import io.siddhi.query.api.execution.query.input.stream.SingleInputStream;
 import io.siddhi.query.api.execution.query.output.ratelimit.SnapshotOutputRate;
 import io.siddhi.query.api.execution.query.output.stream.OutputStream;
 import io.siddhi.query.api.util.AnnotationHelper;
+import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -69,6 +77,8 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class QueryParser {
 
+    private static final Logger log = Logger.getLogger(QueryParser.class);
+
     /**
      * Parse a query and return corresponding QueryRuntime.
      *
@@ -175,8 +185,10 @@ public class QueryParser {
                         MetaStateEvent metaStateEvent = (MetaStateEvent) streamRuntime.getMetaComplexEvent();
                         MetaStreamEvent[] metaStreamEvents = metaStateEvent.getMetaStreamEvents();
 
-                        if (metaStreamEvents[0].getEventType() == EventType.WINDOW &&
-                                metaStreamEvents[1].getEventType() == EventType.WINDOW) {
+                        // Windows with snapshot reads do not share their lock with the reading queries.
+                        boolean leftWindowLock = isWindowLockShared(metaStreamEvents[0], windowMap);
+                        boolean rightWindowLock = isWindowLockShared(metaStreamEvents[1], windowMap);
+                        if (leftWindowLock && rightWindowLock) {
                             LockWrapper leftLockWrapper = windowMap.get(metaStreamEvents[0]
                                     .getLastInputDefinition().getId()).getLock();
                             LockWrapper rightLockWrapper = windowMap.get(metaStreamEvents[1]
@@ -191,11 +203,11 @@ public class QueryParser {
                             // If either of their lock is updated later, the other lock also will be update by the
                             // LockSynchronizer.
                             lockWrapper = leftLockWrapper;
-                        } else if (metaStreamEvents[0].getEventType() == EventType.WINDOW) {
+                        } else if (leftWindowLock) {
                             // Share the same wrapper as the query lock wrapper
                             lockWrapper = windowMap.get(metaStreamEvents[0].getLastInputDefinition().getId())
                                     .getLock();
-                        } else if (metaStreamEvents[1].getEventType() == EventType.WINDOW) {
+                        } else if (rightWindowLock) {
                             // Share the same wrapper as the query lock wrapper
                             lockWrapper = windowMap.get(metaStreamEvents[1].getLastInputDefinition().getId())
                                     .getLock();
@@ -233,6 +245,7 @@ public class QueryParser {
             QueryParserHelper.updateVariablePosition(streamRuntime.getMetaComplexEvent(), executors);
             QueryParserHelper.initStreamRuntime(streamRuntime, streamRuntime.getMetaComplexEvent(), lockWrapper,
                     siddhiQueryContext.getName());
+            initEventPool(query, streamRuntime, selector, outputEventType, siddhiQueryContext);
 
             // Update cache compile selection variable expression executors
             if (streamRuntime instanceof JoinStreamRuntime) {
@@ -280,4 +293,69 @@ public class QueryParser {
         }
         return queryRuntime;
     }
+
+    /**
+     * Enables recycling of the expired events of the query window when the query is annotated with
+     * {@code @EventPool}. Only single stream queries with a length or time window that do not output expired events
+     * are supported, as only then the expired events are fully consumed by the query selector.
+     */
+    private static void initEventPool(Query query, StreamRuntime streamRuntime, QuerySelector selector,
+                                      OutputStream.OutputEventType outputEventType,
+                                      SiddhiQueryContext siddhiQueryContext) {
+        Annotation eventPoolAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_EVENT_POOL,
+                query.getAnnotations());
+        if (eventPoolAnnotation == null) {
+            return;
+        }
+        int size = SiddhiConstants.DEFAULT_EVENT_BUFFER_SIZE;
+        String sizeString = eventPoolAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_SIZE);
+        if (sizeString != null) {
+            size = Integer.parseInt(sizeString);
+            if (size <= 0) {
+                throw new SiddhiAppCreationException("Annotation element '" +
+                        SiddhiConstants.ANNOTATION_ELEMENT_SIZE + "' of @" + SiddhiConstants.ANNOTATION_EVENT_POOL +
+                        " in query '" + siddhiQueryContext.getName() + "' should be positive, but found '" +
+                        sizeString + "'", eventPoolAnnotation.getQueryContextStartIndex(),
+                        eventPoolAnnotation.getQueryContextEndIndex());
+            }
+        }
+        boolean debug = SiddhiConstants.TRUE.equalsIgnoreCase(
+                eventPoolAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_DEBUG));
+        if (!(streamRuntime instanceof SingleStreamRuntime) ||
+                outputEventType != OutputStream.OutputEventType.CURRENT_EVENTS) {
+            log.warn("Ignoring @" + SiddhiConstants.ANNOTATION_EVENT_POOL + " of query '" +
+                    siddhiQueryContext.getName() + "', as events can only be recycled in single stream queries " +
+                    "that do not output expired events.");
+            return;
+        }
+        AbstractStreamProcessor windowProcessor = null;
+        Processor processor = ((SingleStreamRuntime) streamRuntime).getProcessorChain();
+        while (processor != null) {
+            if (processor instanceof WindowProcessor) {
+                if (windowProcessor != null || (processor.getClass() != LengthWindowProcessor.class &&
+                        processor.getClass() != TimeWindowProcessor.class)) {
+                    windowProcessor = null;
+                    break;
+                }
+                windowProcessor = (AbstractStreamProcessor) processor;
+            }
+            processor = processor.getNextProcessor();
+        }
+        if (windowProcessor == null) {
+            log.warn("Ignoring @" + SiddhiConstants.ANNOTATION_EVENT_POOL + " of query '" +
+                    siddhiQueryContext.getName() + "', as events can only be recycled in queries having a single " +
+                    "length or time window.");
+            return;
+        }
+        MetaStreamEvent metaStreamEvent = (MetaStreamEvent) streamRuntime.getMetaComplexEvent();
+        StreamEventPool streamEventPool = new StreamEventPool(siddhiQueryContext.getName(), metaStreamEvent, size,
+                debug);
+        windowProcessor.setStreamEventCloner(new StreamEventCloner(metaStreamEvent, streamEventPool));
+        selector.setStreamEventPool(streamEventPool);
+    }
+
+    private static boolean isWindowLockShared(MetaStreamEvent metaStreamEvent, Map<String, Window> windowMap) {
+        return metaStreamEvent.getEventType() == EventType.WINDOW &&
+                !windowMap.get(metaStreamEvent.getLastInputDefinition().getId()).isSnapshotReads();
+    }
 }
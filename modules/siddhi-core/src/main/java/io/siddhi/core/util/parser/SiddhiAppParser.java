@@ -31,6 +31,7 @@ import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.ThreadBarrier;
 import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.util.statistics.metrics.Level;
+import io.siddhi.core.util.timestamp.TimerService;
 import io.siddhi.core.util.timestamp.TimestampGenerator;
 import io.siddhi.core.util.timestamp.TimestampGeneratorImpl;
 import io.siddhi.core.window.Window;
@@ -81,11 +82,29 @@ public class SiddhiAppParser {
      */
     public static SiddhiAppRuntimeBuilder parse(SiddhiApp siddhiApp, String siddhiAppString,
                                                 SiddhiContext siddhiContext) {
+        return parse(siddhiApp, siddhiAppString, siddhiContext, -1);
+    }
+
+    /**
+     * Parse an SiddhiApp returning SiddhiAppRuntime, recording the time taken to compile it as its first startup phase
+     *
+     * @param siddhiApp       plan to be parsed
+     * @param siddhiAppString content of Siddhi application as string
+     * @param siddhiContext   SiddhiContext
+     * @param compilationTime time taken to compile the Siddhi application in nanoseconds, or -1 when not compiled
+     * @return SiddhiAppRuntimeBuilder
+     */
+    public static SiddhiAppRuntimeBuilder parse(SiddhiApp siddhiApp, String siddhiAppString,
+                                                SiddhiContext siddhiContext, long compilationTime) {
 
+        long phaseStartTime = System.nanoTime();
         SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
         siddhiAppContext.setSiddhiContext(siddhiContext);
         siddhiAppContext.setSiddhiAppString(siddhiAppString);
         siddhiAppContext.setSiddhiApp(siddhiApp);
+        if (compilationTime >= 0) {
+            siddhiAppContext.addStartupPhaseTime("compilation", compilationTime);
+        }
 
         try {
             Element element = AnnotationHelper.getAnnotationElement(SiddhiConstants.ANNOTATION_NAME, null,
@@ -216,6 +235,7 @@ public class SiddhiAppParser {
             } else {
                 siddhiAppContext.setTimestampGenerator(new TimestampGeneratorImpl(siddhiAppContext));
             }
+            siddhiAppContext.setTimerService(new TimerService(siddhiAppContext));
             siddhiAppContext.setSnapshotService(new SnapshotService(siddhiAppContext));
             siddhiAppContext.setIdGenerator(new IdGenerator());
 
@@ -226,13 +246,19 @@ public class SiddhiAppParser {
         }
 
         SiddhiAppRuntimeBuilder siddhiAppRuntimeBuilder = new SiddhiAppRuntimeBuilder(siddhiAppContext);
+        phaseStartTime = recordStartupPhase(siddhiAppContext, "context", phaseStartTime);
 
         defineStreamDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getStreamDefinitionMap(), siddhiAppContext);
+        phaseStartTime = recordStartupPhase(siddhiAppContext, "streams", phaseStartTime);
         defineTableDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getTableDefinitionMap(), siddhiAppContext);
+        phaseStartTime = recordStartupPhase(siddhiAppContext, "tables", phaseStartTime);
         defineWindowDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getWindowDefinitionMap(), siddhiAppContext);
+        phaseStartTime = recordStartupPhase(siddhiAppContext, "windows", phaseStartTime);
         defineFunctionDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getFunctionDefinitionMap(), siddhiAppContext);
+        phaseStartTime = recordStartupPhase(siddhiAppContext, "functions", phaseStartTime);
         defineAggregationDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getAggregationDefinitionMap(),
                 siddhiAppContext);
+        phaseStartTime = recordStartupPhase(siddhiAppContext, "aggregations", phaseStartTime);
         //todo fix for query API usecase
         List<String> findExecutedElements = getFindExecutedElements(siddhiApp);
         for (Window window : siddhiAppRuntimeBuilder.getWindowMap().values()) {
@@ -246,6 +272,7 @@ public class SiddhiAppParser {
                 throw t;
             }
         }
+        phaseStartTime = recordStartupPhase(siddhiAppContext, "window.init", phaseStartTime);
         int queryIndex = 1;
         int partitionIndex = 1;
         for (ExecutionElement executionElement : siddhiApp.getExecutionElementList()) {
@@ -281,11 +308,19 @@ public class SiddhiAppParser {
                 }
             }
         }
+        phaseStartTime = recordStartupPhase(siddhiAppContext, "queries", phaseStartTime);
         //Done last as they have to be started last
         defineTriggerDefinitions(siddhiAppRuntimeBuilder, siddhiApp.getTriggerDefinitionMap(), siddhiAppContext);
+        recordStartupPhase(siddhiAppContext, "triggers", phaseStartTime);
         return siddhiAppRuntimeBuilder;
     }
 
+    private static long recordStartupPhase(SiddhiAppContext siddhiAppContext, String phase, long phaseStartTime) {
+        long currentTime = System.nanoTime();
+        siddhiAppContext.addStartupPhaseTime(phase, currentTime - phaseStartTime);
+        return currentTime;
+    }
+
     private static List<String> getFindExecutedElements(SiddhiApp siddhiApp) {
         List<String> findExecutedElements = new ArrayList<>();
         for (ExecutionElement executionElement : siddhiApp.getExecutionElementList()) {
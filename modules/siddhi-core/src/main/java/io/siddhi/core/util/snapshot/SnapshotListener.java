@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.snapshot;
+
+/**
+ * Listener notified by the {@link SnapshotService} before the state of the Siddhi App is captured, so that elements
+ * holding data outside of the snapshotted state (e.g. pending writes to external stores) can bring it to a
+ * consistent point.
+ */
+public interface SnapshotListener {
+
+    /**
+     * Called after the Siddhi App is quiesced for the snapshot and before any state is captured.
+     */
+    void beforeSnapshot();
+}
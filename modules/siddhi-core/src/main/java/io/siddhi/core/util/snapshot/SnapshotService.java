@@ -42,6 +42,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service level implementation to take/restore snapshots of processing elements.
@@ -50,9 +52,11 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class SnapshotService {
     private static final Logger log = Logger.getLogger(SnapshotService.class);
+    private static final long STABILIZATION_TIMEOUT_SECONDS = 100;
     private static final ThreadLocal<Boolean> skipStateStorageThreadLocal = new ThreadLocal<Boolean>();
     private final ThreadBarrier threadBarrier;
     private ConcurrentHashMap<String, PartitionIdStateHolder> partitionIdStates;
+    private List<SnapshotListener> snapshotListeners = new CopyOnWriteArrayList<>();
     private SiddhiAppContext siddhiAppContext;
 
     public SnapshotService(SiddhiAppContext siddhiAppContext) {
@@ -69,6 +73,14 @@ public class SnapshotService {
         return partitionIdStates;
     }
 
+    public void addSnapshotListener(SnapshotListener snapshotListener) {
+        snapshotListeners.add(snapshotListener);
+    }
+
+    public void removeSnapshotListener(SnapshotListener snapshotListener) {
+        snapshotListeners.remove(snapshotListener);
+    }
+
     public Map<String, StateHolder> getStateHolderMap(String partitionId, String queryName) {
         Boolean skipSnapshotable = skipStateStorageThreadLocal.get();
         if (skipSnapshotable == null || !skipSnapshotable) {
@@ -98,6 +110,7 @@ public class SnapshotService {
             try {
                 threadBarrier.lock();
                 waitForSystemStabilization();
+                notifyBeforeSnapshot();
                 for (Map.Entry<String, PartitionIdStateHolder> partitionIdState : partitionIdStates.entrySet()) {
                     for (Map.Entry<String, ElementStateHolder> queryState :
                             partitionIdState.getValue().queryStateHolderMap.entrySet()) {
@@ -198,6 +211,7 @@ public class SnapshotService {
             try {
                 threadBarrier.lock();
                 waitForSystemStabilization();
+                notifyBeforeSnapshot();
                 for (Map.Entry<String, PartitionIdStateHolder> partitionIdState : partitionIdStates.entrySet()) {
                     for (Map.Entry<String, ElementStateHolder> queryState :
                             partitionIdState.getValue().queryStateHolderMap.entrySet()) {
@@ -751,20 +765,22 @@ public class SnapshotService {
         }
     }
 
+    private void notifyBeforeSnapshot() {
+        for (SnapshotListener snapshotListener : snapshotListeners) {
+            snapshotListener.beforeSnapshot();
+        }
+    }
+
     private void waitForSystemStabilization() {
-        int retryCount = 100;
-        int activeThreads = siddhiAppContext.getThreadBarrier().getActiveThreads();
-        while (activeThreads != 0 && retryCount > 0) {
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                throw new SiddhiAppRuntimeException("Stabilization of Siddhi App " + siddhiAppContext.getName() +
-                        " for snapshot/restore interrupted. " + e.getMessage(), e);
-            }
-            activeThreads = siddhiAppContext.getThreadBarrier().getActiveThreads();
-            retryCount--;
+        int activeThreads;
+        try {
+            activeThreads = threadBarrier.awaitQuiescence(STABILIZATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SiddhiAppRuntimeException("Stabilization of Siddhi App " + siddhiAppContext.getName() +
+                    " for snapshot/restore interrupted. " + e.getMessage(), e);
         }
-        if (retryCount == 0) {
+        if (activeThreads != 0) {
             throw new SiddhiAppRuntimeException("Siddhi App " + siddhiAppContext.getName() +
                     " not stabilized for snapshot/restore, Active thread count is " +
                     activeThreads);
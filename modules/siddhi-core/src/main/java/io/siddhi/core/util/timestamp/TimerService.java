@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.timestamp;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.util.ExceptionUtil;
+import org.apache.log4j.Logger;
+import org.quartz.CronExpression;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time service shared by the triggers and cron windows of a Siddhi App. All their timers are kept in a single queue
+ * ordered by their next fire time, which is precomputed when a timer is scheduled or fired, and the due timers are
+ * collected together in one pass of a single task on the {@link ScheduledExecutorService} of the app. Their listeners
+ * are then run on the {@link ExecutorService} of the app, so that a slow listener does not delay the other timers,
+ * while the fires of the same timer are still run one after the other in order. Periodic timers are aligned to a
+ * common epoch, so that the timers of the same period fire together. In playback mode the timers follow the event
+ * time of the {@link TimestampGenerator} instead of the system time, and their listeners are run before the event
+ * that passes them.
+ */
+public class TimerService implements TimestampGeneratorImpl.TimeChangeListener {
+
+    private static final Logger log = Logger.getLogger(TimerService.class);
+    private static final int MAX_TIMERS_PER_PASS = 1024;
+    private final SiddhiAppContext siddhiAppContext;
+    private final PriorityQueue<Timer> timerQueue = new PriorityQueue<>();
+    private final List<Timer> unanchoredTimers = new ArrayList<>();
+    private final Object fireLock = new Object();
+    private long timerSequence = 0;
+    private ScheduledFuture scheduledFuture;
+    private long scheduledTime = Long.MAX_VALUE;
+    private long epoch = -1;
+
+    public TimerService(SiddhiAppContext siddhiAppContext) {
+        this.siddhiAppContext = siddhiAppContext;
+        siddhiAppContext.getTimestampGenerator().addTimeChangeListener(this);
+    }
+
+    /**
+     * Schedules a timer firing periodically at the multiples of the period from the epoch of the service, which is
+     * the time the first timer is anchored at, so that the timers of the same period fire together. Hence the first
+     * fire can be less than a period after the current time.
+     *
+     * @param period        period in milliseconds
+     * @param timerListener listener to be notified when the timer fires
+     * @return the scheduled timer
+     */
+    public Timer scheduleAtEvery(long period, TimerListener timerListener) {
+        return schedule(new Timer(period, null, timerListener));
+    }
+
+    /**
+     * Schedules a timer firing at the times matching the cron expression.
+     *
+     * @param cronExpression cron expression
+     * @param timerListener  listener to be notified when the timer fires
+     * @return the scheduled timer
+     */
+    public Timer scheduleCron(CronExpression cronExpression, TimerListener timerListener) {
+        return schedule(new Timer(-1, cronExpression, timerListener));
+    }
+
+    private synchronized Timer schedule(Timer timer) {
+        timer.sequence = timerSequence++;
+        long currentTime = siddhiAppContext.getTimestampGenerator().currentTime();
+        if (siddhiAppContext.isPlayback() && currentTime <= 0) {
+            // anchored at the time of the first event
+            unanchoredTimers.add(timer);
+        } else {
+            anchor(timer, currentTime);
+            scheduleNext();
+        }
+        return timer;
+    }
+
+    private synchronized void cancel(Timer timer) {
+        timer.cancelled = true;
+        timerQueue.remove(timer);
+        unanchoredTimers.remove(timer);
+    }
+
+    private void anchor(Timer timer, long currentTime) {
+        if (epoch < 0) {
+            epoch = currentTime;
+        }
+        timer.nextFireTime = timer.getNextFireTimeAfter(currentTime);
+        if (timer.nextFireTime >= 0) {
+            timerQueue.add(timer);
+        }
+    }
+
+    private void scheduleNext() {
+        ScheduledExecutorService scheduledExecutorService = siddhiAppContext.getScheduledExecutorService();
+        if (siddhiAppContext.isPlayback() || timerQueue.isEmpty() || scheduledExecutorService.isShutdown()) {
+            return;
+        }
+        long nextFireTime = timerQueue.peek().nextFireTime;
+        if (nextFireTime >= scheduledTime) {
+            return;
+        }
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+        }
+        scheduledTime = nextFireTime;
+        scheduledFuture = scheduledExecutorService.schedule(this::onSchedule,
+                Math.max(0, nextFireTime - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private void onSchedule() {
+        synchronized (this) {
+            scheduledTime = Long.MAX_VALUE;
+            scheduledFuture = null;
+        }
+        fireTimers(System.currentTimeMillis(), true);
+    }
+
+    @Override
+    public void onTimeChange(long currentTimestamp) {
+        if (!siddhiAppContext.isPlayback()) {
+            return;
+        }
+        synchronized (this) {
+            for (Timer timer : unanchoredTimers) {
+                anchor(timer, currentTimestamp);
+            }
+            unanchoredTimers.clear();
+        }
+        fireTimers(currentTimestamp, false);
+    }
+
+    private void fireTimers(long currentTime, boolean dispatch) {
+        synchronized (fireLock) {
+            Timer[] dueTimers = new Timer[MAX_TIMERS_PER_PASS];
+            long[] fireTimes = new long[MAX_TIMERS_PER_PASS];
+            int dueTimerCount;
+            do {
+                dueTimerCount = 0;
+                synchronized (this) {
+                    while (dueTimerCount < MAX_TIMERS_PER_PASS && !timerQueue.isEmpty() &&
+                            timerQueue.peek().nextFireTime <= currentTime) {
+                        Timer timer = timerQueue.poll();
+                        dueTimers[dueTimerCount] = timer;
+                        fireTimes[dueTimerCount++] = timer.nextFireTime;
+                        timer.nextFireTime = timer.getNextFireTimeAfter(timer.nextFireTime);
+                        if (timer.nextFireTime >= 0) {
+                            timerQueue.add(timer);
+                        }
+                    }
+                }
+                for (int i = 0; i < dueTimerCount; i++) {
+                    if (dispatch) {
+                        dueTimers[i].dispatch(fireTimes[i]);
+                    } else {
+                        dueTimers[i].fire(fireTimes[i]);
+                    }
+                    dueTimers[i] = null;
+                }
+            } while (dueTimerCount == MAX_TIMERS_PER_PASS);
+            synchronized (this) {
+                scheduleNext();
+            }
+        }
+    }
+
+    /**
+     * Stops following the system time, and anchors the timers at the time of the next event.
+     */
+    public synchronized void switchToPlayBackMode() {
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+            scheduledFuture = null;
+        }
+        scheduledTime = Long.MAX_VALUE;
+        epoch = -1;
+        unanchoredTimers.addAll(timerQueue);
+        timerQueue.clear();
+    }
+
+    /**
+     * Anchors the timers at the current system time, and follows it from there on.
+     */
+    public synchronized void switchToLiveMode() {
+        List<Timer> timers = new ArrayList<>(timerQueue);
+        timers.addAll(unanchoredTimers);
+        timerQueue.clear();
+        unanchoredTimers.clear();
+        long currentTime = System.currentTimeMillis();
+        epoch = -1;
+        for (Timer timer : timers) {
+            anchor(timer, currentTime);
+        }
+        scheduleNext();
+    }
+
+    /**
+     * Listener notified when a timer of the {@link TimerService} fires.
+     */
+    public interface TimerListener {
+
+        /**
+         * @param timestamp the time the timer is scheduled to fire at
+         */
+        void onTimer(long timestamp);
+    }
+
+    /**
+     * Timer scheduled in the {@link TimerService}.
+     */
+    public class Timer implements Comparable<Timer> {
+        private final long period;
+        private final CronExpression cronExpression;
+        private final TimerListener timerListener;
+        private final Queue<Long> pendingFireTimes = new ArrayDeque<>();
+        private long sequence;
+        private long nextFireTime = -1;
+        private volatile boolean cancelled = false;
+        private boolean dispatched = false;
+
+        private Timer(long period, CronExpression cronExpression, TimerListener timerListener) {
+            this.period = period;
+            this.cronExpression = cronExpression;
+            this.timerListener = timerListener;
+        }
+
+        private long getNextFireTimeAfter(long time) {
+            if (cronExpression == null) {
+                return time < epoch ? epoch : epoch + ((time - epoch) / period + 1) * period;
+            }
+            Date nextFireDate = cronExpression.getNextValidTimeAfter(new Date(time));
+            return nextFireDate != null ? nextFireDate.getTime() : -1;
+        }
+
+        private void fire(long fireTime) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                timerListener.onTimer(fireTime);
+            } catch (Throwable t) {
+                log.error(ExceptionUtil.getMessageWithContext(t, siddhiAppContext) +
+                        " Error while firing timer at '" + fireTime + "'.", t);
+            }
+        }
+
+        /**
+         * Runs the listener on the executor of the app. Fires arriving while an earlier fire is still running are
+         * queued, and run by the same task once it completes.
+         */
+        private void dispatch(long fireTime) {
+            synchronized (pendingFireTimes) {
+                pendingFireTimes.add(fireTime);
+                if (dispatched) {
+                    return;
+                }
+                dispatched = true;
+            }
+            try {
+                siddhiAppContext.getExecutorService().execute(this::firePending);
+            } catch (RejectedExecutionException e) {
+                // the app is shutting down
+                synchronized (pendingFireTimes) {
+                    pendingFireTimes.clear();
+                    dispatched = false;
+                }
+            }
+        }
+
+        private void firePending() {
+            while (true) {
+                Long fireTime;
+                synchronized (pendingFireTimes) {
+                    fireTime = pendingFireTimes.poll();
+                    if (fireTime == null) {
+                        dispatched = false;
+                        return;
+                    }
+                }
+                fire(fireTime);
+            }
+        }
+
+        public void cancel() {
+            TimerService.this.cancel(this);
+        }
+
+        @Override
+        public int compareTo(Timer timer) {
+            if (nextFireTime != timer.nextFireTime) {
+                return Long.compare(nextFireTime, timer.nextFireTime);
+            }
+            return Long.compare(sequence, timer.sequence);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c)  2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.transport;
+
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.StreamDefinition;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes and decodes batches of {@link Event}s of a given {@link StreamDefinition} to and from a binary wire format.
+ * <p>
+ * A batch is laid out as a header (layout id, event count), followed by one fixed size record per event and finally
+ * a variable section holding the UTF-8 bytes of all string attributes. Each record contains the timestamp, an expired
+ * flag, a null bitmap and the attribute values at fixed offsets, where string attributes are stored as an
+ * (offset, length) entry pointing into the variable section. As all reads use absolute positions the same buffer can
+ * be shared by many consumers without duplication.
+ */
+public class BinaryEventCodec {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int TIMESTAMP_SIZE = 8;
+    private static final int FLAG_SIZE = 1;
+
+    private final Attribute.Type[] types;
+    private final int[] fieldOffsets;
+    private final int nullBitmapSize;
+    private final int recordSize;
+    private final int stringAttributeCount;
+    private final int layoutId;
+
+    public BinaryEventCodec(StreamDefinition streamDefinition) {
+        List<Attribute> attributeList = streamDefinition.getAttributeList();
+        this.types = new Attribute.Type[attributeList.size()];
+        this.fieldOffsets = new int[attributeList.size()];
+        this.nullBitmapSize = (types.length + 7) / 8;
+        int offset = TIMESTAMP_SIZE + FLAG_SIZE + nullBitmapSize;
+        int stringCount = 0;
+        int hash = 1;
+        for (int i = 0; i < attributeList.size(); i++) {
+            Attribute attribute = attributeList.get(i);
+            types[i] = attribute.getType();
+            fieldOffsets[i] = offset;
+            offset += fieldSize(attribute, streamDefinition);
+            if (types[i] == Attribute.Type.STRING) {
+                stringCount++;
+            }
+            hash = 31 * hash + types[i].ordinal();
+        }
+        this.recordSize = offset;
+        this.stringAttributeCount = stringCount;
+        this.layoutId = hash;
+    }
+
+    private static int fieldSize(Attribute attribute, StreamDefinition streamDefinition) {
+        switch (attribute.getType()) {
+            case BOOL:
+                return 1;
+            case INT:
+            case FLOAT:
+                return 4;
+            case LONG:
+            case DOUBLE:
+                return 8;
+            case STRING:
+                return 8;
+            default:
+                throw new SiddhiAppCreationException("Attribute '" + attribute.getName() + "' of stream '" +
+                        streamDefinition.getId() + "' is of type '" + attribute.getType() + "', which is not " +
+                        "supported by the binary event format.");
+        }
+    }
+
+    public ByteBuffer encode(Event[] events) {
+        byte[][] stringBytes = null;
+        int variableSize = 0;
+        if (stringAttributeCount > 0) {
+            stringBytes = new byte[events.length * types.length][];
+            for (int e = 0; e < events.length; e++) {
+                Object[] data = events[e].getData();
+                for (int i = 0; i < types.length; i++) {
+                    if (types[i] == Attribute.Type.STRING && data[i] != null) {
+                        byte[] bytes = ((String) data[i]).getBytes(StandardCharsets.UTF_8);
+                        stringBytes[e * types.length + i] = bytes;
+                        variableSize += bytes.length;
+                    }
+                }
+            }
+        }
+        int variableOffset = HEADER_SIZE + events.length * recordSize;
+        ByteBuffer buffer = ByteBuffer.allocate(variableOffset + variableSize);
+        buffer.putInt(0, layoutId);
+        buffer.putInt(4, events.length);
+        for (int e = 0; e < events.length; e++) {
+            Event event = events[e];
+            Object[] data = event.getData();
+            int recordOffset = HEADER_SIZE + e * recordSize;
+            buffer.putLong(recordOffset, event.getTimestamp());
+            buffer.put(recordOffset + TIMESTAMP_SIZE, (byte) (event.isExpired() ? 1 : 0));
+            int bitmapOffset = recordOffset + TIMESTAMP_SIZE + FLAG_SIZE;
+            for (int i = 0; i < types.length; i++) {
+                Object value = data[i];
+                if (value == null) {
+                    int byteOffset = bitmapOffset + (i >>> 3);
+                    buffer.put(byteOffset, (byte) (buffer.get(byteOffset) | (1 << (i & 7))));
+                    continue;
+                }
+                int fieldOffset = recordOffset + fieldOffsets[i];
+                switch (types[i]) {
+                    case BOOL:
+                        buffer.put(fieldOffset, (byte) ((Boolean) value ? 1 : 0));
+                        break;
+                    case INT:
+                        buffer.putInt(fieldOffset, (Integer) value);
+                        break;
+                    case LONG:
+                        buffer.putLong(fieldOffset, (Long) value);
+                        break;
+                    case FLOAT:
+                        buffer.putFloat(fieldOffset, (Float) value);
+                        break;
+                    case DOUBLE:
+                        buffer.putDouble(fieldOffset, (Double) value);
+                        break;
+                    case STRING:
+                        byte[] bytes = stringBytes[e * types.length + i];
+                        buffer.putInt(fieldOffset, variableOffset);
+                        buffer.putInt(fieldOffset + 4, bytes.length);
+                        System.arraycopy(bytes, 0, buffer.array(), variableOffset, bytes.length);
+                        variableOffset += bytes.length;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return buffer;
+    }
+
+    public Event[] decode(ByteBuffer buffer) {
+        return decode(buffer, null);
+    }
+
+    /**
+     * Decodes the batch into the given events when they are as many as the events of the batch, overwriting their
+     * timestamps and data, and into new events otherwise. The given events hence should not be referred to by anyone
+     * else, such as the consumers of the previously decoded batch.
+     *
+     * @param buffer         buffer holding the encoded batch
+     * @param reusableEvents events to decode the batch into, can be null
+     * @return decoded events
+     */
+    public Event[] decode(ByteBuffer buffer, Event[] reusableEvents) {
+        int base = buffer.position();
+        if (buffer.getInt(base) != layoutId) {
+            throw new SiddhiAppRuntimeException("Binary event layout does not match the stream definition, " +
+                    "expected layout id '" + layoutId + "' but found '" + buffer.getInt(base) + "'");
+        }
+        int eventCount = buffer.getInt(base + 4);
+        boolean reuseEvents = reusableEvents != null && reusableEvents.length == eventCount;
+        Event[] events = reuseEvents ? reusableEvents : new Event[eventCount];
+        for (int e = 0; e < eventCount; e++) {
+            int recordOffset = base + HEADER_SIZE + e * recordSize;
+            Object[] data = reuseEvents ? events[e].getData() : new Object[types.length];
+            int bitmapOffset = recordOffset + TIMESTAMP_SIZE + FLAG_SIZE;
+            for (int i = 0; i < types.length; i++) {
+                if ((buffer.get(bitmapOffset + (i >>> 3)) & (1 << (i & 7))) != 0) {
+                    data[i] = null;
+                    continue;
+                }
+                int fieldOffset = recordOffset + fieldOffsets[i];
+                switch (types[i]) {
+                    case BOOL:
+                        data[i] = buffer.get(fieldOffset) != 0;
+                        break;
+                    case INT:
+                        data[i] = buffer.getInt(fieldOffset);
+                        break;
+                    case LONG:
+                        data[i] = buffer.getLong(fieldOffset);
+                        break;
+                    case FLOAT:
+                        data[i] = buffer.getFloat(fieldOffset);
+                        break;
+                    case DOUBLE:
+                        data[i] = buffer.getDouble(fieldOffset);
+                        break;
+                    case STRING:
+                        data[i] = readString(buffer, base + buffer.getInt(fieldOffset),
+                                buffer.getInt(fieldOffset + 4));
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (reuseEvents) {
+                events[e].setTimestamp(buffer.getLong(recordOffset));
+            } else {
+                events[e] = new Event(buffer.getLong(recordOffset), data);
+            }
+            events[e].setIsExpired(buffer.get(recordOffset + TIMESTAMP_SIZE) != 0);
+        }
+        return events;
+    }
+
+    private static String readString(ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int getLayoutId() {
+        return layoutId;
+    }
+}
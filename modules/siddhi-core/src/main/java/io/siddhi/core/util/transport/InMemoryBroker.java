@@ -19,9 +19,10 @@
 package io.siddhi.core.util.transport;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * In-memory broker to support in-memory transport.
@@ -58,13 +59,17 @@ public class InMemoryBroker {
         String getTopic();
     }
 
+    /**
+     * Broker keeping an immutable subscriber array per topic, such that publishing only reads the current array
+     * without acquiring any locks, while registrations replace the array atomically.
+     */
     private static class MessageBroker implements Broker {
 
-        private final Object mutex = new Object();
-        private Map<String, List<Subscriber>> topicSubscribers;
+        private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+        private final ConcurrentMap<String, Subscriber[]> topicSubscribers;
 
         public MessageBroker() {
-            this.topicSubscribers = new HashMap<>();
+            this.topicSubscribers = new ConcurrentHashMap<>();
         }
 
         @Override
@@ -72,40 +77,37 @@ public class InMemoryBroker {
             if (subscriber == null) {
                 throw new NullPointerException("Subscriber cannot be null.");
             }
-            synchronized (mutex) {
-                if (topicSubscribers.containsKey(subscriber.getTopic())) {
-                    if (!topicSubscribers.get(subscriber.getTopic()).contains(subscriber)) {
-                        List<Subscriber> list = new ArrayList<>(topicSubscribers.get(subscriber.getTopic()));
-                        list.add(subscriber);
-                        topicSubscribers.put(subscriber.getTopic(), list);
+            topicSubscribers.compute(subscriber.getTopic(), (topic, subscribers) -> {
+                if (subscribers == null) {
+                    return new Subscriber[]{subscriber};
+                }
+                for (Subscriber existing : subscribers) {
+                    if (existing.equals(subscriber)) {
+                        return subscribers;
                     }
-                } else {
-                    topicSubscribers.put(subscriber.getTopic(), new ArrayList<Subscriber>() {
-                        {
-                            add(subscriber);
-                        }
-                    });
                 }
-            }
+                Subscriber[] updated = Arrays.copyOf(subscribers, subscribers.length + 1);
+                updated[subscribers.length] = subscriber;
+                return updated;
+            });
         }
 
         @Override
         public void unregister(Subscriber subscriber) {
-            synchronized (mutex) {
-                try {
-                    List<Subscriber> list = new ArrayList<>(topicSubscribers.get(subscriber.getTopic()));
-                    list.remove(subscriber);
-                    topicSubscribers.put(subscriber.getTopic(), list);
-                } catch (Exception ignored) {
-                }
+            if (subscriber == null || subscriber.getTopic() == null) {
+                return;
             }
+            topicSubscribers.computeIfPresent(subscriber.getTopic(), (topic, subscribers) -> {
+                List<Subscriber> list = new ArrayList<>(Arrays.asList(subscribers));
+                list.remove(subscriber);
+                return list.toArray(NO_SUBSCRIBERS);
+            });
         }
 
         @Override
         public void broadcast(String topic, Object msg) throws SubscriberUnAvailableException {
-            List<Subscriber> subscribers;
-            if (this.topicSubscribers.containsKey(topic) && !this.topicSubscribers.get(topic).isEmpty()) {
-                subscribers = this.topicSubscribers.get(topic);
+            Subscriber[] subscribers = topic == null ? null : this.topicSubscribers.get(topic);
+            if (subscribers != null && subscribers.length > 0) {
                 for (Subscriber subscriber : subscribers) {
                     subscriber.onMessage(msg);
                 }
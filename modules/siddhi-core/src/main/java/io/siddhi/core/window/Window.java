@@ -20,6 +20,7 @@ import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.config.SiddhiQueryContext;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.state.MetaStateEvent;
 import io.siddhi.core.event.state.StateEvent;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
@@ -27,6 +28,7 @@ import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.event.stream.converter.ZeroStreamEventConverter;
 import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.input.stream.single.EntryValveProcessor;
 import io.siddhi.core.query.processor.ProcessingMode;
@@ -40,7 +42,9 @@ import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
+import io.siddhi.core.util.collection.operator.Operator;
 import io.siddhi.core.util.lock.LockWrapper;
+import io.siddhi.core.util.parser.OperatorParser;
 import io.siddhi.core.util.parser.SchedulerParser;
 import io.siddhi.core.util.parser.SingleInputStreamParser;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
@@ -48,22 +52,36 @@ import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryCalculable;
 import io.siddhi.core.util.statistics.ThroughputTracker;
 import io.siddhi.core.util.statistics.metrics.Level;
+import io.siddhi.query.api.annotation.Annotation;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.WindowDefinition;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.api.execution.query.output.stream.OutputStream;
 import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.util.AnnotationHelper;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Window implementation of SiddhiQL.
  * It can be seen as a global Window which can be accessed from multiple queries.
+ * <p>
+ * By default the queries reading from the Window share its lock with the writers. When the Window is defined with
+ * {@code @concurrency(read.mode='snapshot')}, readers instead find from an immutable snapshot of the Window. When a
+ * reader finds the snapshot outdated it asks for a new one, which the writer publishes at the end of its current write
+ * while it still holds the Window lock, or the reader builds itself if no write is in progress. Hence the snapshot is
+ * copied at most once per write and only when it is read, and readers do not wait on a writer while the snapshot has
+ * been outdated for less than {@code max.staleness} (100 milliseconds by default).
  */
 public class Window implements FindableProcessor, MemoryCalculable {
 
+    private static final long DEFAULT_MAX_STALENESS = 100;
+
     /**
      * WindowDefinition used to construct this window.
      */
@@ -109,6 +127,41 @@ public class Window implements FindableProcessor, MemoryCalculable {
     private ThroughputTracker throughputTrackerFind;
     private ThroughputTracker throughputTrackerInsert;
 
+    /**
+     * Whether the readers find from the snapshot of the Window instead of sharing the Window lock.
+     */
+    private final boolean snapshotReads;
+    /**
+     * Version of the Window contents, incremented by the writers while holding the Window lock.
+     */
+    private volatile long version;
+    /**
+     * Latest snapshot of the Window contents for the readers.
+     */
+    private volatile ReadSnapshot readSnapshot = new ReadSnapshot(0, Collections.emptyList());
+    /**
+     * Whether a reader has found the snapshot outdated, so that the writer publishes a new one.
+     */
+    private volatile boolean snapshotRequested;
+    /**
+     * Time in nanoseconds at which the latest snapshot became outdated.
+     */
+    private volatile long snapshotOutdatedTime;
+    /**
+     * Maximum time in nanoseconds readers use an outdated snapshot instead of waiting on the writer.
+     */
+    private final long maxStaleness;
+    /**
+     * Whether events are being added to the Window, so that the snapshot is published once at the end of the add.
+     */
+    private boolean adding;
+    /**
+     * Condition matching all the events of the internal window, used to build the read snapshot.
+     */
+    private CompiledCondition allEventsCondition;
+    private StateEvent allEventsMatchingEvent;
+    private StreamEventCloner streamEventCloner;
+
 
     /**
      * Construct a Window object.
@@ -121,6 +174,28 @@ public class Window implements FindableProcessor, MemoryCalculable {
         this.siddhiAppContext = siddhiAppContext;
         this.lockWrapper = new LockWrapper(windowDefinition.getId());
         this.lockWrapper.setLock(new ReentrantLock());
+        Annotation concurrency = AnnotationHelper.getAnnotation(SiddhiConstants.NAMESPACE_CONCURRENCY,
+                windowDefinition.getAnnotations());
+        if (concurrency != null) {
+            String readMode = concurrency.getElement(SiddhiConstants.ANNOTATION_ELEMENT_READ_MODE);
+            if (readMode == null) {
+                throw new SiddhiAppCreationException("Annotation @" + SiddhiConstants.NAMESPACE_CONCURRENCY +
+                        " of window '" + windowDefinition.getId() + "' is missing element '" +
+                        SiddhiConstants.ANNOTATION_ELEMENT_READ_MODE + "'");
+            } else if (!(SiddhiConstants.READ_MODE_LOCK.equalsIgnoreCase(readMode) ||
+                    SiddhiConstants.READ_MODE_SNAPSHOT.equalsIgnoreCase(readMode))) {
+                throw new SiddhiAppCreationException("Invalid value for " +
+                        SiddhiConstants.ANNOTATION_ELEMENT_READ_MODE + " of window '" + windowDefinition.getId() +
+                        "': " + readMode + ". Please use '" + SiddhiConstants.READ_MODE_LOCK + "' or '" +
+                        SiddhiConstants.READ_MODE_SNAPSHOT + "'");
+            }
+            this.snapshotReads = SiddhiConstants.READ_MODE_SNAPSHOT.equalsIgnoreCase(readMode);
+            this.maxStaleness = TimeUnit.MILLISECONDS.toNanos(parseMaxStaleness(
+                    concurrency.getElement(SiddhiConstants.ANNOTATION_ELEMENT_MAX_STALENESS)));
+        } else {
+            this.snapshotReads = false;
+            this.maxStaleness = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_STALENESS);
+        }
         if (siddhiAppContext.getStatisticsManager() != null) {
             latencyTrackerFind = QueryParserHelper.createLatencyTracker(siddhiAppContext, windowDefinition.getId(),
                     SiddhiConstants.METRIC_INFIX_WINDOWS, SiddhiConstants.METRIC_TYPE_FIND);
@@ -187,6 +262,16 @@ public class Window implements FindableProcessor, MemoryCalculable {
         // StreamPublishProcessor must be the last in chain so that it can publish the events to StreamJunction
         this.windowProcessor.setToLast(new StreamPublishProcessor(outputEventType));
         this.internalWindowProcessor = internalWindowProcessor;
+
+        if (snapshotReads && internalWindowProcessor instanceof FindableProcessor) {
+            MetaStateEvent metaStateEvent = new MetaStateEvent(1);
+            metaStateEvent.addEvent(metaStreamEvent);
+            this.allEventsCondition = ((FindableProcessor) internalWindowProcessor).compileCondition(
+                    Expression.value(true), new MatchingMetaInfoHolder(metaStateEvent, -1, 0, windowDefinition,
+                            windowDefinition, 0), new ArrayList<>(), tableMap, siddhiQueryContext);
+            this.allEventsMatchingEvent = new StateEvent(1, 0);
+            this.streamEventCloner = streamEventCloner;
+        }
     }
 
 
@@ -241,7 +326,16 @@ public class Window implements FindableProcessor, MemoryCalculable {
                     latencyTrackerInsert.markIn();
                 }
                 // Send to the window windowProcessor
-                windowProcessor.process(new ComplexEventChunk<>(firstEvent, currentEvent));
+                adding = true;
+                try {
+                    windowProcessor.process(new ComplexEventChunk<>(firstEvent, currentEvent));
+                } finally {
+                    adding = false;
+                }
+                onWindowChanged();
+                if (snapshotRequested && allEventsCondition != null) {
+                    publishReadSnapshot();
+                }
             } finally {
                 if (throughputTrackerInsert != null &&
                         Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
@@ -263,6 +357,9 @@ public class Window implements FindableProcessor, MemoryCalculable {
                 throughputTrackerFind.eventIn();
                 latencyTrackerFind.markIn();
             }
+            if (snapshotReads) {
+                return ((Operator) compiledCondition).find(matchingEvent, acquireReadSnapshot(), streamEventCloner);
+            }
             return ((FindableProcessor) this.internalWindowProcessor).find(matchingEvent, compiledCondition);
         } finally {
             if (throughputTrackerFind != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
@@ -278,7 +375,10 @@ public class Window implements FindableProcessor, MemoryCalculable {
     public CompiledCondition compileCondition(Expression condition, MatchingMetaInfoHolder matchingMetaInfoHolder,
                                               List<VariableExpressionExecutor> variableExpressionExecutors,
                                               Map<String, Table> tableMap, SiddhiQueryContext siddhiQueryContext) {
-        if (this.internalWindowProcessor instanceof FindableProcessor) {
+        if (snapshotReads && this.internalWindowProcessor instanceof FindableProcessor) {
+            return OperatorParser.constructOperator(readSnapshot.events, condition, matchingMetaInfoHolder,
+                    variableExpressionExecutors, tableMap, siddhiQueryContext);
+        } else if (this.internalWindowProcessor instanceof FindableProcessor) {
             return ((FindableProcessor) this.internalWindowProcessor).compileCondition(condition,
                     matchingMetaInfoHolder, variableExpressionExecutors, tableMap, siddhiQueryContext);
         } else {
@@ -288,6 +388,107 @@ public class Window implements FindableProcessor, MemoryCalculable {
 
     }
 
+    /**
+     * Return the snapshot of the Window contents for the readers. If the Window has changed since the snapshot was
+     * taken, a new snapshot is requested from the writer and built right away if no write is in progress. Otherwise
+     * the outdated snapshot is returned, unless it has been outdated for longer than the maximum staleness, in which
+     * case the reader waits for the write to complete.
+     *
+     * @return the events of the Window
+     */
+    private List<StreamEvent> acquireReadSnapshot() {
+        ReadSnapshot snapshot = readSnapshot;
+        if (snapshot.version == version) {
+            return snapshot.events;
+        }
+        snapshotRequested = true;
+        if (!lockWrapper.tryLock()) {
+            if (System.nanoTime() - snapshotOutdatedTime <= maxStaleness) {
+                return snapshot.events;
+            }
+            lockWrapper.lock();
+        }
+        try {
+            snapshot = readSnapshot;
+            if (snapshot.version != version) {
+                snapshot = publishReadSnapshot();
+            }
+            return snapshot.events;
+        } finally {
+            lockWrapper.unlock();
+        }
+    }
+
+    /**
+     * Build and publish the snapshot of the current Window contents. Must be called holding the Window lock.
+     *
+     * @return the published snapshot
+     */
+    private ReadSnapshot publishReadSnapshot() {
+        List<StreamEvent> events = new ArrayList<>();
+        StreamEvent event = ((FindableProcessor) internalWindowProcessor).find(allEventsMatchingEvent,
+                allEventsCondition);
+        while (event != null) {
+            StreamEvent nextEvent = event.getNext();
+            event.setNext(null);
+            events.add(event);
+            event = nextEvent;
+        }
+        snapshotRequested = false;
+        ReadSnapshot snapshot = new ReadSnapshot(version, Collections.unmodifiableList(events));
+        readSnapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Record a change of the Window contents. Must be called holding the Window lock.
+     */
+    private void onWindowChanged() {
+        if (readSnapshot.version == version) {
+            snapshotOutdatedTime = System.nanoTime();
+        }
+        version++;
+    }
+
+    /**
+     * Mark the Window contents as changed outside of the writers, such as when its state is restored.
+     */
+    public void invalidateReadSnapshot() {
+        try {
+            lockWrapper.lock();
+            onWindowChanged();
+        } finally {
+            lockWrapper.unlock();
+        }
+    }
+
+    private long parseMaxStaleness(String maxStaleness) {
+        if (maxStaleness == null) {
+            return DEFAULT_MAX_STALENESS;
+        }
+        long value;
+        try {
+            // plain numbers are considered as milliseconds
+            value = maxStaleness.trim().matches("\\d+") ? Long.parseLong(maxStaleness.trim()) :
+                    Expression.Time.timeToLong(maxStaleness);
+        } catch (SiddhiAppValidationException | NumberFormatException e) {
+            value = -1;
+        }
+        if (value < 0) {
+            throw new SiddhiAppCreationException("Invalid value for " +
+                    SiddhiConstants.ANNOTATION_ELEMENT_MAX_STALENESS + " of window '" + windowDefinition.getId() +
+                    "': " + maxStaleness + ". Please use a time interval or a number of milliseconds");
+        }
+        return value;
+    }
+
+    /**
+     * @return whether the readers find from the snapshot of the Window instead of sharing the Window lock
+     */
+    public boolean isSnapshotReads() {
+        return snapshotReads;
+    }
+
     public LockWrapper getLock() {
         return lockWrapper;
     }
@@ -330,6 +531,10 @@ public class Window implements FindableProcessor, MemoryCalculable {
         }
 
         public void process(ComplexEventChunk complexEventChunk) {
+            // Window contents have changed when triggered by the scheduler, adds are recorded once they complete
+            if (!adding) {
+                onWindowChanged();
+            }
             if (throughputTrackerInsert != null &&
                     Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
                 latencyTrackerInsert.markOut();
@@ -375,4 +580,17 @@ public class Window implements FindableProcessor, MemoryCalculable {
         }
 
     }
+
+    /**
+     * Immutable snapshot of the Window contents.
+     */
+    private static class ReadSnapshot {
+        private final long version;
+        private final List<StreamEvent> events;
+
+        ReadSnapshot(long version, List<StreamEvent> events) {
+            this.version = version;
+            this.events = events;
+        }
+    }
 }
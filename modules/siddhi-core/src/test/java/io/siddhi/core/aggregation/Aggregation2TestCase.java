@@ -19,6 +19,7 @@
 package io.siddhi.core.aggregation;
 
 import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiAppRuntimeImpl;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.UnitTestAppender;
 import io.siddhi.core.event.Event;
@@ -28,8 +29,10 @@ import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.Scheduler;
+import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.SiddhiTestHelper;
 import io.siddhi.core.util.config.InMemoryConfigManager;
+import io.siddhi.query.api.aggregation.TimePeriod;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
@@ -43,6 +46,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Aggregation2TestCase {
 
@@ -626,5 +630,252 @@ public class Aggregation2TestCase {
         logger.removeAppender(appender);
         siddhiAppRuntime.shutdown();
     }
-}
 
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTest57"})
+    public void incrementalStreamProcessorTest58() throws InterruptedException {
+
+        LOG.info("incrementalStreamProcessorTest58 - Sharded aggregation external timestamp second granularity");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String stockStream =
+                "define stream stockStream (symbol string, price float, lastClosingPrice float, volume long , " +
+                        "quantity int, timestamp long);";
+        String query = "@Shards(count='3') " +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...year ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+
+        try {
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            siddhiAppRuntime.start();
+
+            stockStreamInputHandler.send(new Event[]{
+                    new Event(System.currentTimeMillis(), new Object[]{"WSO2", 50f, 60f, 90L, 6, 1496289950000L}),
+                    new Event(System.currentTimeMillis(), new Object[]{"IBM", 900f, null, 200L, 60, 1496289950000L}),
+                    new Event(System.currentTimeMillis(), new Object[]{"ORACLE", 10f, null, 200L, 6, 1496289950000L}),
+                    new Event(System.currentTimeMillis(), new Object[]{"IBM", 100f, null, 200L, 16, 1496289951011L}),
+                    new Event(System.currentTimeMillis(), new Object[]{"WSO2", 500f, null, 200L, 7, 1496289951011L}),
+                    new Event(System.currentTimeMillis(), new Object[]{"ORACLE", 20f, null, 200L, 6, 1496289951011L}),
+                    new Event(System.currentTimeMillis(), new Object[]{"ORACLE", 30f, null, 200L, 6, 1496289951500L})
+            });
+            // Thursday, June 1, 2017 4:05:53 AM
+            stockStreamInputHandler.send(new Object[]{"IBM", 100f, null, 200L, 26, 1496289953000L});
+
+            Thread.sleep(2000);
+
+            Event[] events = siddhiAppRuntime.query("from stockAggregation within 0L, 1543664151000L per " +
+                    "'seconds' select AGG_TIMESTAMP, symbol, totalPrice ");
+
+            Assert.assertNotNull(events);
+            AssertJUnit.assertEquals("Check time windows", 7, events.length);
+
+            List<Object[]> eventsList = new ArrayList<>();
+            for (Event event : events) {
+                eventsList.add(event.getData());
+            }
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{1496289950000L, "WSO2", 50.0},
+                    new Object[]{1496289950000L, "IBM", 900.0},
+                    new Object[]{1496289950000L, "ORACLE", 10.0},
+                    new Object[]{1496289951000L, "IBM", 100.0},
+                    new Object[]{1496289951000L, "WSO2", 500.0},
+                    new Object[]{1496289951000L, "ORACLE", 50.0},
+                    new Object[]{1496289953000L, "IBM", 100.0}
+            );
+
+            AssertJUnit.assertTrue("Data Matched", SiddhiTestHelper.isUnsortedEventsMatch(eventsList, expected));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTest58"}, expectedExceptions =
+            SiddhiAppCreationException.class)
+    public void incrementalStreamProcessorTest59() {
+
+        LOG.info("incrementalStreamProcessorTest59 - Checking @Shards without group by");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String stockStream =
+                "define stream stockStream (symbol string, price float, lastClosingPrice float, volume long , " +
+                        "quantity int);\n";
+        String query = "@Shards(count='2') " +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select avg(price) as avgPrice, sum(price) as totalPrice " +
+                "aggregate every sec...year; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTest59"})
+    public void incrementalStreamProcessorTest60() throws Exception {
+
+        LOG.info("incrementalStreamProcessorTest60 - Sharded aggregation processing events concurrently");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String stockStream =
+                "define stream stockStream (symbol string, price float, timestamp long);";
+        String query = "@Shards(count='2') " +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice, count() as total " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...min ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+        try {
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            siddhiAppRuntime.start();
+            long timestamp = 1496289950000L;
+            stockStreamInputHandler.send(new Object[]{"B0", 1f, timestamp});
+
+            IncrementalExecutor rootExecutor = ((SiddhiAppRuntimeImpl) siddhiAppRuntime).getAggregations()
+                    .iterator().next().getIncrementalExecutorMap().get(TimePeriod.Duration.SECONDS);
+            String[] shardSymbols = new String[2];
+            for (int i = 1; shardSymbols[0] == null || shardSymbols[1] == null; i++) {
+                String symbol = "B" + i;
+                shardSymbols[rootExecutor.getShardIndex(symbol + SiddhiConstants.KEY_DELIMITER)] = symbol;
+            }
+
+            // While an event waits on its shard, an event of the other shard is still processed
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            Thread blockedSender = new Thread(() -> send(stockStreamInputHandler,
+                    new Object[]{shardSymbols[0], 10f, timestamp}, error));
+            Thread sender = new Thread(() -> send(stockStreamInputHandler,
+                    new Object[]{shardSymbols[1], 20f, timestamp}, error));
+            synchronized (rootExecutor.getShardValueStores()[0]) {
+                blockedSender.start();
+                while (blockedSender.getState() != Thread.State.BLOCKED) {
+                    Thread.sleep(10);
+                }
+                sender.start();
+                sender.join(10000);
+                AssertJUnit.assertFalse("Shards are processed concurrently", sender.isAlive());
+                AssertJUnit.assertTrue(blockedSender.isAlive());
+            }
+            blockedSender.join(10000);
+            AssertJUnit.assertFalse(blockedSender.isAlive());
+
+            Thread[] senders = new Thread[4];
+            for (int i = 0; i < senders.length; i++) {
+                senders[i] = new Thread(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        send(stockStreamInputHandler, new Object[]{"S" + (j % 8), 1f, timestamp + j % 900}, error);
+                    }
+                });
+                senders[i].start();
+            }
+            for (Thread thread : senders) {
+                thread.join();
+            }
+            AssertJUnit.assertNull(error.get());
+            // Rolls over the bucket
+            stockStreamInputHandler.send(new Object[]{"B0", 1f, timestamp + 2000});
+
+            List<Object[]> expected = new ArrayList<>();
+            expected.add(new Object[]{timestamp, "B0", 1.0, 1L});
+            expected.add(new Object[]{timestamp, shardSymbols[0], 10.0, 1L});
+            expected.add(new Object[]{timestamp, shardSymbols[1], 20.0, 1L});
+            for (int i = 0; i < 8; i++) {
+                expected.add(new Object[]{timestamp, "S" + i, 500.0, 500L});
+            }
+            expected.add(new Object[]{timestamp + 2000, "B0", 1.0, 1L});
+            List<Object[]> eventsList = new ArrayList<>();
+            for (int i = 0; i < 100 && !SiddhiTestHelper.isUnsortedEventsMatch(eventsList, expected); i++) {
+                Thread.sleep(100);
+                eventsList.clear();
+                Event[] events = siddhiAppRuntime.query("from stockAggregation within 0L, 1543664151000L per " +
+                        "'seconds' select AGG_TIMESTAMP, symbol, totalPrice, total ");
+                if (events != null) {
+                    for (Event event : events) {
+                        eventsList.add(event.getData());
+                    }
+                }
+            }
+            AssertJUnit.assertTrue("Data Matched", SiddhiTestHelper.isUnsortedEventsMatch(eventsList, expected));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTest60"})
+    public void incrementalStreamProcessorTest61() throws InterruptedException {
+
+        LOG.info("incrementalStreamProcessorTest61 - Within lookups across time partitioned aggregation tables");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String stockStream =
+                "define stream stockStream (symbol string, price float, timestamp long);";
+        String query = "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...min ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+        try {
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            siddhiAppRuntime.start();
+            // The seconds table is partitioned into one minute segments, hence these events span three segments
+            // of the table, while the last one is still held by the root executor
+            long timestamp = 1496289900000L;
+            long[] offsets = {10000L, 50000L, 70000L, 130000L, 190000L};
+            for (int i = 0; i < offsets.length; i++) {
+                stockStreamInputHandler.send(new Object[]{"WSO2", (float) (i + 1), timestamp + offsets[i]});
+                stockStreamInputHandler.send(new Object[]{"IBM", 10f * (i + 1), timestamp + offsets[i]});
+            }
+            Thread.sleep(100);
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{timestamp + 50000L, "WSO2", 2.0},
+                    new Object[]{timestamp + 50000L, "IBM", 20.0},
+                    new Object[]{timestamp + 70000L, "WSO2", 3.0},
+                    new Object[]{timestamp + 70000L, "IBM", 30.0},
+                    new Object[]{timestamp + 130000L, "WSO2", 4.0},
+                    new Object[]{timestamp + 130000L, "IBM", 40.0}
+            );
+            AssertJUnit.assertTrue("Range across segments matched", SiddhiTestHelper.isUnsortedEventsMatch(
+                    queryAggregation(siddhiAppRuntime, timestamp + 40000L, timestamp + 140000L), expected));
+
+            expected = Arrays.asList(
+                    new Object[]{timestamp + 70000L, "WSO2", 3.0},
+                    new Object[]{timestamp + 70000L, "IBM", 30.0}
+            );
+            AssertJUnit.assertTrue("Range within a segment matched", SiddhiTestHelper.isUnsortedEventsMatch(
+                    queryAggregation(siddhiAppRuntime, timestamp + 60000L, timestamp + 71000L), expected));
+            AssertJUnit.assertEquals("Upper bound is exclusive", 0,
+                    queryAggregation(siddhiAppRuntime, timestamp + 60000L, timestamp + 70000L).size());
+            AssertJUnit.assertEquals("Range after all segments is empty", 0,
+                    queryAggregation(siddhiAppRuntime, timestamp + 200000L, timestamp + 300000L).size());
+            AssertJUnit.assertEquals("Range over the tables and the root executor", 10,
+                    queryAggregation(siddhiAppRuntime, timestamp, timestamp + 200000L).size());
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    private static List<Object[]> queryAggregation(SiddhiAppRuntime siddhiAppRuntime, long start, long end) {
+        List<Object[]> eventsList = new ArrayList<>();
+        Event[] events = siddhiAppRuntime.query("from stockAggregation within " + start + "L, " + end + "L per " +
+                "'seconds' select AGG_TIMESTAMP, symbol, totalPrice ");
+        if (events != null) {
+            for (Event event : events) {
+                eventsList.add(event.getData());
+            }
+        }
+        return eventsList;
+    }
+
+    private static void send(InputHandler inputHandler, Object[] data, AtomicReference<Throwable> error) {
+        try {
+            inputHandler.send(data);
+        } catch (Throwable t) {
+            error.set(t);
+        }
+    }
+}
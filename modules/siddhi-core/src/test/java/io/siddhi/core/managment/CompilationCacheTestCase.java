@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.managment;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiAppCompilationCache;
+import io.siddhi.query.api.SiddhiApp;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.StreamDefinition;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CompilationCacheTestCase {
+    private static final Logger log = Logger.getLogger(CompilationCacheTestCase.class);
+    private AtomicInteger count;
+
+    @BeforeMethod
+    public void init() {
+        count = new AtomicInteger(0);
+    }
+
+    @Test
+    public void compilationCacheTest1() throws IOException {
+        log.info("compilationCacheTest1 - persisted compiled app is reused by a new cache instance");
+        File directory = Files.createTempDirectory("siddhi-compilation-cache").toFile();
+        directory.deleteOnExit();
+
+        SiddhiApp siddhiApp = SiddhiApp.siddhiApp("cacheTest").defineStream(StreamDefinition.id("StockStream")
+                .attribute("symbol", Attribute.Type.STRING).attribute("price", Attribute.Type.FLOAT));
+        String siddhiAppString = "define stream StockStream (symbol string, price float);";
+
+        SiddhiAppCompilationCache compilationCache = new SiddhiAppCompilationCache(directory.getAbsolutePath());
+        AssertJUnit.assertNull(compilationCache.get(siddhiAppString));
+        compilationCache.put(siddhiAppString, siddhiApp);
+        SiddhiApp cachedSiddhiApp = compilationCache.get(siddhiAppString);
+        AssertJUnit.assertEquals(siddhiApp, cachedSiddhiApp);
+        AssertJUnit.assertTrue(cachedSiddhiApp != compilationCache.get(siddhiAppString));
+
+        SiddhiAppCompilationCache restartedCompilationCache =
+                new SiddhiAppCompilationCache(directory.getAbsolutePath());
+        AssertJUnit.assertEquals(siddhiApp, restartedCompilationCache.get(siddhiAppString));
+        AssertJUnit.assertNull(restartedCompilationCache.get(siddhiAppString + " "));
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    @Test(dependsOnMethods = "compilationCacheTest1")
+    public void compilationCacheTest2() throws InterruptedException {
+        log.info("compilationCacheTest2 - redeploying a cached app");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        AtomicInteger cacheHits = new AtomicInteger(0);
+        AtomicInteger cacheMisses = new AtomicInteger(0);
+        siddhiManager.setSiddhiAppCompilationCache(new SiddhiAppCompilationCache() {
+            @Override
+            public SiddhiApp get(String siddhiAppString) {
+                SiddhiApp siddhiApp = super.get(siddhiAppString);
+                (siddhiApp == null ? cacheMisses : cacheHits).incrementAndGet();
+                return siddhiApp;
+            }
+        });
+
+        String siddhiApp = "" +
+                "@app:name('compilationCacheTest') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream[price > 50] " +
+                "select symbol, price " +
+                "insert into OutputStream;";
+
+        for (int i = 0; i < 2; i++) {
+            SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+                @Override
+                public void receive(Event[] events) {
+                    EventPrinter.print(events);
+                    count.addAndGet(events.length);
+                }
+            });
+            InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            siddhiAppRuntime.start();
+            inputHandler.send(new Object[]{"WSO2", 55.6f, 100L});
+            inputHandler.send(new Object[]{"IBM", 45.6f, 100L});
+
+            // The app is only parsed on the first deployment, and reused from the cache on the second
+            AssertJUnit.assertEquals(1, cacheMisses.get());
+            AssertJUnit.assertEquals(i, cacheHits.get());
+
+            Map<String, Long> startupPhaseTimes = siddhiAppRuntime.getStartupPhaseTimes();
+            AssertJUnit.assertEquals("compilation", startupPhaseTimes.keySet().iterator().next());
+            AssertJUnit.assertTrue(startupPhaseTimes.containsKey("queries"));
+            AssertJUnit.assertTrue(startupPhaseTimes.containsKey("build"));
+            siddhiAppRuntime.shutdown();
+        }
+        AssertJUnit.assertEquals(2, count.get());
+        siddhiManager.shutdown();
+    }
+
+    @Test(dependsOnMethods = "compilationCacheTest2")
+    public void compilationCacheTest3() throws IOException {
+        log.info("compilationCacheTest3 - persisted entries with classes other than the Siddhi app are rejected");
+        File directory = Files.createTempDirectory("siddhi-compilation-cache").toFile();
+        directory.deleteOnExit();
+
+        SiddhiApp siddhiApp = SiddhiApp.siddhiApp("cacheTest").defineStream(StreamDefinition.id("StockStream")
+                .attribute("symbol", Attribute.Type.STRING).attribute("price", Attribute.Type.FLOAT));
+        String siddhiAppString = "define stream StockStream (symbol string, price float);";
+        new SiddhiAppCompilationCache(directory.getAbsolutePath()).put(siddhiAppString, siddhiApp);
+
+        File[] files = directory.listFiles();
+        AssertJUnit.assertNotNull(files);
+        AssertJUnit.assertEquals(1, files.length);
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(new FileOutputStream(files[0]))) {
+            objectOutputStream.writeObject(siddhiAppString);
+            objectOutputStream.writeObject(new UnexpectedEntry());
+        }
+
+        AssertJUnit.assertNull(new SiddhiAppCompilationCache(directory.getAbsolutePath()).get(siddhiAppString));
+        AssertJUnit.assertFalse("Disallowed class is not deserialized", UnexpectedEntry.deserialized);
+        AssertJUnit.assertFalse("Rejected entry is removed", files[0].exists());
+    }
+
+    private static class UnexpectedEntry implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private static volatile boolean deserialized = false;
+
+        private void readObject(ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+            objectInputStream.defaultReadObject();
+            deserialized = true;
+        }
+    }
+}
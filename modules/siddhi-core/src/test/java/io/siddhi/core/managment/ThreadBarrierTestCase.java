@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.managment;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.config.SiddhiContext;
+import io.siddhi.core.util.ThreadBarrier;
+import io.siddhi.core.util.snapshot.SnapshotService;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests the thread barrier used to stabilize Siddhi Apps for snapshots and restores.
+ */
+public class ThreadBarrierTestCase {
+
+    private static final Logger log = Logger.getLogger(ThreadBarrierTestCase.class);
+
+    @Test
+    public void threadBarrierTest1() {
+        log.info("thread barrier test1 - nested enter and exit on the same thread");
+        ThreadBarrier threadBarrier = new ThreadBarrier();
+
+        threadBarrier.enter();
+        threadBarrier.enter();
+        AssertJUnit.assertEquals(1, threadBarrier.getActiveThreads());
+        threadBarrier.exit();
+        AssertJUnit.assertEquals(1, threadBarrier.getActiveThreads());
+        threadBarrier.exit();
+        AssertJUnit.assertEquals(0, threadBarrier.getActiveThreads());
+    }
+
+    @Test
+    public void threadBarrierTest2() throws InterruptedException {
+        log.info("thread barrier test2 - lets the lock owner re-enter while blocking the other threads");
+        ThreadBarrier threadBarrier = new ThreadBarrier();
+        CountDownLatch entered = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            threadBarrier.enter();
+            entered.countDown();
+            threadBarrier.exit();
+        });
+
+        threadBarrier.lock();
+        try {
+            threadBarrier.enter();
+            AssertJUnit.assertEquals(1, threadBarrier.getActiveThreads());
+            threadBarrier.exit();
+
+            thread.start();
+            AssertJUnit.assertEquals(false, entered.await(200, TimeUnit.MILLISECONDS));
+        } finally {
+            threadBarrier.unlock();
+        }
+        AssertJUnit.assertEquals(true, entered.await(10, TimeUnit.SECONDS));
+        thread.join();
+    }
+
+    @Test
+    public void threadBarrierTest3() throws InterruptedException {
+        log.info("thread barrier test3 - wakes up the quiescence wait when the last thread exits");
+        ThreadBarrier threadBarrier = new ThreadBarrier();
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread[] threads = new Thread[2];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                threadBarrier.enter();
+                try {
+                    entered.countDown();
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    threadBarrier.exit();
+                }
+            });
+            threads[i].start();
+        }
+        AssertJUnit.assertEquals(true, entered.await(10, TimeUnit.SECONDS));
+
+        threadBarrier.lock();
+        try {
+            AssertJUnit.assertEquals(2, threadBarrier.getActiveThreads());
+            new Thread(() -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release.countDown();
+            }).start();
+            long start = System.currentTimeMillis();
+            AssertJUnit.assertEquals(0, threadBarrier.awaitQuiescence(60, TimeUnit.SECONDS));
+            AssertJUnit.assertTrue(System.currentTimeMillis() - start < 10000);
+        } finally {
+            threadBarrier.unlock();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test
+    public void threadBarrierTest4() throws InterruptedException {
+        log.info("thread barrier test4 - times out the quiescence wait while a thread stays within the barrier");
+        ThreadBarrier threadBarrier = new ThreadBarrier();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            threadBarrier.enter();
+            try {
+                entered.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                threadBarrier.exit();
+            }
+        });
+        thread.start();
+        AssertJUnit.assertEquals(true, entered.await(10, TimeUnit.SECONDS));
+
+        threadBarrier.lock();
+        try {
+            long start = System.nanoTime();
+            AssertJUnit.assertEquals(1, threadBarrier.awaitQuiescence(200, TimeUnit.MILLISECONDS));
+            AssertJUnit.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+        } finally {
+            threadBarrier.unlock();
+            release.countDown();
+        }
+        thread.join();
+        AssertJUnit.assertEquals(0, threadBarrier.getActiveThreads());
+    }
+
+    @Test
+    public void threadBarrierTest5() throws InterruptedException {
+        log.info("thread barrier test5 - prunes the epochs of terminated threads");
+        ThreadBarrier threadBarrier = new ThreadBarrier();
+        Thread[] threads = new Thread[5];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                threadBarrier.enter();
+                threadBarrier.exit();
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        threadBarrier.enter();
+        threadBarrier.exit();
+        AssertJUnit.assertEquals(6, threadBarrier.getRegisteredThreads());
+
+        AssertJUnit.assertEquals(0, threadBarrier.getActiveThreads());
+        AssertJUnit.assertEquals(1, threadBarrier.getRegisteredThreads());
+    }
+
+    @Test
+    public void threadBarrierTest6() throws InterruptedException {
+        log.info("thread barrier test6 - snapshots wait for the threads within the barrier to exit");
+        ThreadBarrier threadBarrier = new ThreadBarrier();
+        SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
+        siddhiAppContext.setName("ThreadBarrierTest");
+        siddhiAppContext.setSiddhiContext(new SiddhiContext());
+        siddhiAppContext.setThreadBarrier(threadBarrier);
+        SnapshotService snapshotService = new SnapshotService(siddhiAppContext);
+        CountDownLatch entered = new CountDownLatch(1);
+        AtomicLong exitTime = new AtomicLong();
+        Thread thread = new Thread(() -> {
+            threadBarrier.enter();
+            try {
+                entered.countDown();
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exitTime.set(System.nanoTime());
+                threadBarrier.exit();
+            }
+        });
+        thread.start();
+        AssertJUnit.assertEquals(true, entered.await(10, TimeUnit.SECONDS));
+
+        AssertJUnit.assertNotNull(snapshotService.fullSnapshot());
+        long snapshotTime = System.nanoTime();
+        AssertJUnit.assertTrue(exitTime.get() != 0 && exitTime.get() <= snapshotTime);
+        thread.join();
+    }
+}
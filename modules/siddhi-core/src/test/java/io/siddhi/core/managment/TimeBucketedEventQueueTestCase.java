@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.managment;
+
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.holder.TimeBucketedStreamEventQueue;
+import io.siddhi.core.util.snapshot.state.Snapshot;
+import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+public class TimeBucketedEventQueueTestCase {
+
+    private static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data));
+        Object o = ois.readObject();
+        ois.close();
+        return o;
+    }
+
+    private static byte[] serialize(Serializable o) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(o);
+        oos.close();
+        return baos.toByteArray();
+    }
+
+    private static StreamEvent createEvent(long timestamp, int value) {
+        StreamEvent streamEvent = new StreamEvent(0, 0, 1);
+        streamEvent.setOutputData(new Object[]{value});
+        streamEvent.setTimestamp(timestamp);
+        return streamEvent;
+    }
+
+    private static List<Object> values(StreamEvent streamEvent) {
+        List<Object> values = new ArrayList<>();
+        for (; streamEvent != null; streamEvent = streamEvent.getNext()) {
+            values.add(streamEvent.getOutputData()[0]);
+        }
+        return values;
+    }
+
+    private static List<Object> values(Iterator<StreamEvent> iterator) {
+        List<Object> values = new ArrayList<>();
+        while (iterator.hasNext()) {
+            values.add(iterator.next().getOutputData()[0]);
+        }
+        return values;
+    }
+
+    @Test
+    public void timeBucketedEventQueueTest1() {
+        TimeBucketedStreamEventQueue queue = new TimeBucketedStreamEventQueue(10);
+        for (int i = 0; i < 50; i++) {
+            queue.add(createEvent(1000 + i, i));
+        }
+        Assert.assertEquals(queue.size(), 50);
+        Assert.assertEquals(queue.getBucketCount(), 5);
+
+        StreamEvent expiredEvents = queue.pollExpired(1024);
+        Assert.assertEquals(values(expiredEvents).size(), 25);
+        Assert.assertEquals(values(expiredEvents).get(24), 24);
+        Assert.assertEquals(queue.size(), 25);
+        Assert.assertEquals(queue.getBucketCount(), 3);
+        Assert.assertEquals(queue.getFirst().getOutputData()[0], 25);
+
+        Assert.assertNull(queue.pollExpired(1024));
+        Assert.assertEquals(values(queue.pollExpired(2000)).size(), 25);
+        Assert.assertNull(queue.getFirst());
+        Assert.assertEquals(queue.size(), 0);
+        Assert.assertEquals(queue.getBucketCount(), 0);
+
+        queue.add(createEvent(3000, 1));
+        Assert.assertEquals(values(queue.iterator()).size(), 1);
+    }
+
+    @Test
+    public void timeBucketedEventQueueTest2() {
+        TimeBucketedStreamEventQueue queue = new TimeBucketedStreamEventQueue(10);
+        queue.add(createEvent(1005, 0));
+        queue.add(createEvent(1012, 1));
+        queue.add(createEvent(1003, 2));
+        queue.add(createEvent(1015, 3));
+        Assert.assertEquals(queue.getBucketCount(), 2);
+
+        // expiry stops at the first event that has not expired, retaining the arrival order
+        Assert.assertEquals(values(queue.pollExpired(1010)), Collections.singletonList(0));
+        Assert.assertEquals(values(queue.pollExpired(1012)), Arrays.asList(1, 2));
+        Assert.assertEquals(values(queue.iterator()), Collections.singletonList(3));
+    }
+
+    @Test
+    public void timeBucketedEventQueueTest3() {
+        TimeBucketedStreamEventQueue queue = new TimeBucketedStreamEventQueue(10);
+        for (int i = 0; i < 50; i++) {
+            queue.add(createEvent(1000 + i, i));
+        }
+        List<Object> values = values(queue.iterator(1012, 1027));
+        Assert.assertEquals(values.size(), 20);
+        Assert.assertEquals(values.get(0), 10);
+        Assert.assertEquals(values.get(19), 29);
+        Assert.assertEquals(values(queue.iterator(2000, 3000)).size(), 0);
+        Assert.assertEquals(values(queue.iterator(1049, 1049)), Arrays.asList(40, 41, 42, 43, 44, 45,
+                46, 47, 48, 49));
+    }
+
+    @Test
+    public void timeBucketedEventQueueTest4() throws IOException, ClassNotFoundException {
+        TimeBucketedStreamEventQueue queue = new TimeBucketedStreamEventQueue(10);
+        SnapshotStateList snapshotStateList = new SnapshotStateList();
+        long revision = 0;
+        int value = 0;
+        for (int round = 0; round < 6; round++) {
+            for (int i = 0; i < 15; i++, value++) {
+                queue.add(createEvent(1000 + value, value));
+            }
+            queue.pollExpired(1000 + value - 30);
+            Snapshot snapshot = queue.getSnapshot();
+            Assert.assertEquals(snapshot.isIncrementalSnapshot(), round > 0);
+            snapshotStateList.putSnapshotState(revision++, (Snapshot) deserialize(serialize(snapshot)));
+        }
+
+        TimeBucketedStreamEventQueue restoredQueue = new TimeBucketedStreamEventQueue(10);
+        restoredQueue.restore(snapshotStateList);
+        Assert.assertEquals(values(restoredQueue.getFirst()), values(queue.getFirst()));
+        Assert.assertEquals(restoredQueue.size(), queue.size());
+
+        // restored queue continues with incremental snapshots
+        restoredQueue.add(createEvent(2000, value));
+        Snapshot snapshot = restoredQueue.getSnapshot();
+        Assert.assertTrue(snapshot.isIncrementalSnapshot());
+    }
+
+    @Test
+    public void timeBucketedEventQueueTest5() throws IOException, ClassNotFoundException {
+        TimeBucketedStreamEventQueue queue = new TimeBucketedStreamEventQueue(10);
+        SnapshotStateList snapshotStateList = new SnapshotStateList();
+        for (int i = 0; i < 20; i++) {
+            queue.add(createEvent(1000 + i, i));
+        }
+        snapshotStateList.putSnapshotState(0L, (Snapshot) deserialize(serialize(queue.getSnapshot())));
+        for (int i = 20; i < 30; i++) {
+            queue.add(createEvent(1000 + i, i));
+        }
+        queue.pollExpired(2000);
+        queue.add(createEvent(3000, 30));
+        snapshotStateList.putSnapshotState(1L, (Snapshot) deserialize(serialize(queue.getSnapshot())));
+
+        TimeBucketedStreamEventQueue restoredQueue = new TimeBucketedStreamEventQueue(10);
+        restoredQueue.restore(snapshotStateList);
+        Assert.assertEquals(values(restoredQueue.getFirst()), Collections.singletonList(30));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.partition;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PartitionDispatchTestCase {
+    private static final Logger log = Logger.getLogger(PartitionDispatchTestCase.class);
+    private AtomicInteger count = new AtomicInteger(0);
+    private List<Event[]> receivedChunks = new ArrayList<>();
+
+    @BeforeMethod
+    public void init() {
+        count.set(0);
+        receivedChunks.clear();
+    }
+
+    private SiddhiAppRuntime createSiddhiAppRuntime(SiddhiManager siddhiManager, String dispatchAnnotation) {
+        String siddhiApp = "" +
+                "define stream streamA (symbol string, price int);" +
+                "" +
+                dispatchAnnotation +
+                "partition with (symbol of streamA) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from streamA " +
+                "   select symbol, sum(price) as total " +
+                "   insert into StockQuote ;  " +
+                "end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("StockQuote", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                receivedChunks.add(events);
+                count.addAndGet(events.length);
+            }
+        });
+        return siddhiAppRuntime;
+    }
+
+    private static Event[] interleavedEvents() {
+        return new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 10}),
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2", 20}),
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 30}),
+                new Event(System.currentTimeMillis(), new Object[]{"ORACLE", 40}),
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2", 50}),
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 60})
+        };
+    }
+
+    @Test
+    public void testKeyGroupedDispatch1() throws InterruptedException {
+        log.info("Partition key grouped dispatch test 1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager,
+                "@dispatch(group.by.key='true') ");
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("streamA");
+        siddhiAppRuntime.start();
+        inputHandler.send(interleavedEvents());
+
+        AssertJUnit.assertEquals(6, count.get());
+        AssertJUnit.assertEquals(3, receivedChunks.size());
+        Event[] ibmEvents = receivedChunks.get(0);
+        AssertJUnit.assertEquals(3, ibmEvents.length);
+        AssertJUnit.assertEquals("IBM", ibmEvents[2].getData(0));
+        AssertJUnit.assertEquals(10L, ibmEvents[0].getData(1));
+        AssertJUnit.assertEquals(40L, ibmEvents[1].getData(1));
+        AssertJUnit.assertEquals(100L, ibmEvents[2].getData(1));
+        Event[] wso2Events = receivedChunks.get(1);
+        AssertJUnit.assertEquals(2, wso2Events.length);
+        AssertJUnit.assertEquals("WSO2", wso2Events[1].getData(0));
+        AssertJUnit.assertEquals(70L, wso2Events[1].getData(1));
+        AssertJUnit.assertEquals("ORACLE", receivedChunks.get(2)[0].getData(0));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testKeyGroupedDispatch2() throws InterruptedException {
+        log.info("Partition key grouped dispatch test 2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager, "");
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("streamA");
+        siddhiAppRuntime.start();
+        inputHandler.send(interleavedEvents());
+
+        AssertJUnit.assertEquals(6, count.get());
+        AssertJUnit.assertEquals(6, receivedChunks.size());
+        AssertJUnit.assertEquals(100L, receivedChunks.get(5)[0].getData(1));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testKeyGroupedDispatch3() throws InterruptedException {
+        log.info("Partition key grouped dispatch test 3");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream streamA (symbol string, price int);" +
+                "" +
+                "@dispatch(group.by.key='true') " +
+                "partition with (price < 50 as 'low' or price >= 30 as 'high' of streamA) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from streamA " +
+                "   select symbol, count() as eventCount " +
+                "   insert into StockQuote ;  " +
+                "end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("StockQuote", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                receivedChunks.add(events);
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("streamA");
+        siddhiAppRuntime.start();
+        inputHandler.send(interleavedEvents());
+
+        // events priced 30 and 40 fall in both the ranges
+        AssertJUnit.assertEquals(8, count.get());
+        AssertJUnit.assertEquals(2, receivedChunks.size());
+        AssertJUnit.assertEquals(4, receivedChunks.get(0).length);
+        AssertJUnit.assertEquals(4, receivedChunks.get(1).length);
+        AssertJUnit.assertEquals(4L, receivedChunks.get(1)[3].getData(1));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testKeyGroupedDispatch4() {
+        log.info("Partition key grouped dispatch test 4");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        createSiddhiAppRuntime(siddhiManager, "@dispatch(group.by.key='yes') ");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testKeyGroupedDispatch5() {
+        log.info("Partition key grouped dispatch test 5");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        createSiddhiAppRuntime(siddhiManager, "@dispatch(enable='true') ");
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.partition;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RangePartitionIndexTestCase {
+    private static final Logger log = Logger.getLogger(RangePartitionIndexTestCase.class);
+    private AtomicInteger count = new AtomicInteger(0);
+    private List<Object[]> received = new ArrayList<>();
+
+    @BeforeMethod
+    public void init() {
+        count.set(0);
+        received.clear();
+    }
+
+    private SiddhiAppRuntime createSiddhiAppRuntime(String ranges, String priceType) {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price " + priceType + ", volume int);" +
+                "" +
+                "partition with (" + ranges + " of cseEventStream) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from cseEventStream " +
+                "   select symbol, count() as eventCount " +
+                "   insert into OutStockStream ;" +
+                "end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStockStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    count.incrementAndGet();
+                    received.add(event.getData());
+                }
+            }
+        });
+        return siddhiAppRuntime;
+    }
+
+    @Test
+    public void testRangePartitionIndex1() throws InterruptedException {
+        log.info("Range partition index test 1");
+        StringBuilder ranges = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            if (i > 0) {
+                ranges.append(" or ");
+            }
+            ranges.append("price >= ").append(i * 10).append(" and price < ").append((i + 1) * 10)
+                    .append(" as 'range").append(i).append("'");
+        }
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(ranges.toString(), "double");
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 5.0, 100});
+        inputHandler.send(new Object[]{"WSO2", 1995.5, 100});
+        inputHandler.send(new Object[]{"IBM", 9.99, 100});
+        inputHandler.send(new Object[]{"ORACLE", 10.0, 100});
+        inputHandler.send(new Object[]{"ORACLE", 2000.0, 100});
+        inputHandler.send(new Object[]{"ORACLE", -0.5, 100});
+        inputHandler.send(new Object[]{"WSO2", 1990.0, 100});
+
+        AssertJUnit.assertEquals(5, count.get());
+        AssertJUnit.assertEquals(1L, received.get(0)[1]);
+        AssertJUnit.assertEquals(1L, received.get(1)[1]);
+        AssertJUnit.assertEquals(2L, received.get(2)[1]);
+        AssertJUnit.assertEquals(1L, received.get(3)[1]);
+        AssertJUnit.assertEquals(2L, received.get(4)[1]);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testRangePartitionIndex2() throws InterruptedException {
+        log.info("Range partition index test 2");
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime("" +
+                "price < 50 as 'small' or " +
+                "price >= 25 and price < 100 as 'medium' or " +
+                "100 <= price as 'large' or " +
+                "price == 30 as 'thirty' or " +
+                "price != 30 and price < 40 as 'notThirty' or " +
+                "volume > 1000 as 'bulk'", "int");
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        // matches small, medium and thirty
+        inputHandler.send(new Object[]{"IBM", 30, 100});
+        AssertJUnit.assertEquals(3, count.get());
+        // matches small, medium, notThirty and bulk
+        inputHandler.send(new Object[]{"IBM", 35, 2000});
+        AssertJUnit.assertEquals(7, count.get());
+        // matches large
+        inputHandler.send(new Object[]{"IBM", 100, 100});
+        AssertJUnit.assertEquals(8, count.get());
+        // matches no range
+        inputHandler.send(new Object[]{"IBM", null, 100});
+        AssertJUnit.assertEquals(8, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testRangePartitionIndex3() throws InterruptedException {
+        log.info("Range partition index test 3");
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime("" +
+                "price <= 10.5 as 'low' or " +
+                "price > 10.5 and price <= 20.5 as 'mid' or " +
+                "price > 20.5 as 'high'", "float");
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 10.5f, 100});
+        inputHandler.send(new Object[]{"IBM", 10.51f, 100});
+        inputHandler.send(new Object[]{"IBM", 20.5f, 100});
+        inputHandler.send(new Object[]{"IBM", 75f, 100});
+        inputHandler.send(new Object[]{"IBM", -0.0f, 100});
+
+        AssertJUnit.assertEquals(5, count.get());
+        AssertJUnit.assertEquals(1L, received.get(0)[1]);
+        AssertJUnit.assertEquals(1L, received.get(1)[1]);
+        AssertJUnit.assertEquals(2L, received.get(2)[1]);
+        AssertJUnit.assertEquals(1L, received.get(3)[1]);
+        AssertJUnit.assertEquals(2L, received.get(4)[1]);
+        siddhiAppRuntime.shutdown();
+    }
+}
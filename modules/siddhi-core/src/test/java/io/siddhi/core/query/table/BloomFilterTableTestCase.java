@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.table;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.collection.AttributeBloomFilters;
+import io.siddhi.core.util.collection.BloomFilter;
+import io.siddhi.core.util.persistence.InMemoryPersistenceStore;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.TableDefinition;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class BloomFilterTableTestCase {
+    private static final Logger log = Logger.getLogger(BloomFilterTableTestCase.class);
+    private List<Object[]> inEventsList;
+
+    @BeforeMethod
+    public void init() {
+        inEventsList = new ArrayList<>();
+    }
+
+    @Test
+    public void bloomFilterTest1() {
+        log.info("bloomFilterTest1 - filter has no false negatives and few false positives");
+        BloomFilter bloomFilter = new BloomFilter(10000);
+        for (int i = 0; i < 10000; i++) {
+            bloomFilter.add("symbol" + i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            AssertJUnit.assertTrue(bloomFilter.mightContain("symbol" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 10000; i < 20000; i++) {
+            if (bloomFilter.mightContain("symbol" + i)) {
+                falsePositives++;
+            }
+        }
+        AssertJUnit.assertTrue("False positives " + falsePositives, falsePositives < 300);
+        AssertJUnit.assertFalse(bloomFilter.isSaturated());
+        bloomFilter.add("symbol");
+        AssertJUnit.assertTrue(bloomFilter.isSaturated());
+        AssertJUnit.assertEquals(10001, bloomFilter.getInsertionCount());
+    }
+
+    @Test
+    public void bloomFilterTest2() {
+        log.info("bloomFilterTest2 - numeric values match across types as in comparisons");
+        BloomFilter bloomFilter = new BloomFilter(100);
+        AssertJUnit.assertEquals(BloomFilter.MIN_CAPACITY, bloomFilter.getCapacity());
+        bloomFilter.add(100L);
+        bloomFilter.add(0.0);
+        AssertJUnit.assertTrue(bloomFilter.mightContain(100));
+        AssertJUnit.assertTrue(bloomFilter.mightContain(100.0));
+        AssertJUnit.assertTrue(bloomFilter.mightContain(-0.0));
+        AssertJUnit.assertTrue(bloomFilter.mightContain(0));
+        AssertJUnit.assertFalse(bloomFilter.mightContain(101));
+    }
+
+    @Test
+    public void bloomFilterTest3() {
+        log.info("bloomFilterTest3 - filters of annotated attributes");
+        TableDefinition tableDefinition = TableDefinition.id("StockTable")
+                .attribute("symbol", Attribute.Type.STRING)
+                .attribute("price", Attribute.Type.FLOAT)
+                .attribute("volume", Attribute.Type.LONG)
+                .annotation(Annotation.annotation("BloomFilter").element("symbol").element("volume"));
+        Map<String, Integer> attributePositions = AttributeBloomFilters.parseFilteredAttributes(tableDefinition);
+        AssertJUnit.assertEquals(2, attributePositions.size());
+        AssertJUnit.assertEquals(Integer.valueOf(2), attributePositions.get("volume"));
+
+        AttributeBloomFilters bloomFilters = new AttributeBloomFilters(attributePositions, 0);
+        bloomFilters.add(new Object[]{"WSO2", 55.6f, 100L});
+        AssertJUnit.assertTrue(bloomFilters.mightContain("symbol", "WSO2"));
+        AssertJUnit.assertTrue(bloomFilters.mightContain("volume", 100L));
+        AssertJUnit.assertFalse(bloomFilters.mightContain("symbol", "IBM"));
+        AssertJUnit.assertEquals(1, bloomFilters.getInsertionCount());
+
+        AssertJUnit.assertNull(AttributeBloomFilters.parseFilteredAttributes(TableDefinition.id("OtherTable")
+                .attribute("symbol", Attribute.Type.STRING)));
+    }
+
+    @Test(expectedExceptions = SiddhiAppValidationException.class)
+    public void bloomFilterTest4() throws InterruptedException {
+        log.info("bloomFilterTest4 - filter of undefined attribute");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@BloomFilter('name') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = null;
+        try {
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        } finally {
+            if (siddhiAppRuntime != null) {
+                siddhiAppRuntime.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void bloomFilterTest5() throws InterruptedException {
+        log.info("bloomFilterTest5 - in checks of filtered table after delete and update");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string); " +
+                "define stream DeleteStockStream (symbol string); " +
+                "define stream UpdateStockStream (symbol string, newSymbol string); " +
+                "@BloomFilter('symbol') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream[StockTable.symbol == symbol in StockTable] " +
+                "insert into OutStream;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol;" +
+                "" +
+                "@info(name = 'query4') " +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   set StockTable.symbol = newSymbol " +
+                "   on StockTable.symbol == symbol;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            inEventsList.add(event.getData());
+                        }
+                    }
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+            InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            stockStream.send(new Object[]{"IBM", 75.6f, 10L});
+            checkStockStream.send(new Object[]{"WSO2"});
+            checkStockStream.send(new Object[]{"ORACLE"});
+            deleteStockStream.send(new Object[]{"IBM"});
+            checkStockStream.send(new Object[]{"IBM"});
+            updateStockStream.send(new Object[]{"WSO2", "GOOG"});
+            checkStockStream.send(new Object[]{"WSO2"});
+            checkStockStream.send(new Object[]{"GOOG"});
+
+            AssertJUnit.assertEquals(2, inEventsList.size());
+            AssertJUnit.assertEquals("WSO2", inEventsList.get(0)[0]);
+            AssertJUnit.assertEquals("GOOG", inEventsList.get(1)[0]);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void bloomFilterTest6() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("bloomFilterTest6 - outer join with filtered table restored from snapshot");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(new InMemoryPersistenceStore());
+        String siddhiApp = "" +
+                "@app:name('BloomFilterTest') " +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string, volume long); " +
+                "@PrimaryKey('symbol') " +
+                "@BloomFilter('symbol', 'volume') " +
+                "define table StockTable (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream left outer join StockTable " +
+                "   on CheckStockStream.symbol == StockTable.symbol and CheckStockStream.volume == StockTable.volume " +
+                "select CheckStockStream.symbol, StockTable.price " +
+                "insert into OutStream;";
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventsList.add(event.getData());
+                    }
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.getInputHandler("StockStream").send(new Object[]{"WSO2", 55.6f, 100L});
+        siddhiAppRuntime.getInputHandler("StockStream").send(new Object[]{"IBM", 75.6f, 10L});
+        siddhiAppRuntime.persist();
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        try {
+            siddhiAppRuntime.addCallback("query2", queryCallback);
+            siddhiAppRuntime.start();
+            siddhiAppRuntime.restoreLastRevision();
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            checkStockStream.send(new Object[]{"WSO2", 100L});
+            checkStockStream.send(new Object[]{"IBM", 100L});
+            checkStockStream.send(new Object[]{"ORACLE", 10L});
+            checkStockStream.send(new Object[]{"IBM", 10L});
+
+            AssertJUnit.assertEquals(4, inEventsList.size());
+            AssertJUnit.assertEquals(55.6f, inEventsList.get(0)[1]);
+            AssertJUnit.assertNull(inEventsList.get(1)[1]);
+            AssertJUnit.assertNull(inEventsList.get(2)[1]);
+            AssertJUnit.assertEquals(75.6f, inEventsList.get(3)[1]);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void bloomFilterTest7() throws InterruptedException {
+        log.info("bloomFilterTest7 - joins with filtered record table");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string); " +
+                "define stream UpdateStockStream (symbol string, newSymbol string); " +
+                "@Store(type=\"testStoreContainingInMemoryTable\") " +
+                "@BloomFilter('symbol') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream join StockTable " +
+                "   on CheckStockStream.symbol == StockTable.symbol " +
+                "select CheckStockStream.symbol, StockTable.volume " +
+                "insert into OutStream;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   set StockTable.symbol = newSymbol " +
+                "   on StockTable.symbol == symbol;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            inEventsList.add(event.getData());
+                        }
+                    }
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            checkStockStream.send(new Object[]{"WSO2"});
+            checkStockStream.send(new Object[]{"IBM"});
+            // lookups are filtered once the filter is built from the store in the background
+            Thread.sleep(500);
+            stockStream.send(new Object[]{"IBM", 75.6f, 10L});
+            checkStockStream.send(new Object[]{"IBM"});
+            checkStockStream.send(new Object[]{"ORACLE"});
+            updateStockStream.send(new Object[]{"IBM", "GOOG"});
+            checkStockStream.send(new Object[]{"GOOG"});
+
+            AssertJUnit.assertEquals(3, inEventsList.size());
+            AssertJUnit.assertEquals("WSO2", inEventsList.get(0)[0]);
+            AssertJUnit.assertEquals(10L, inEventsList.get(1)[1]);
+            AssertJUnit.assertEquals("GOOG", inEventsList.get(2)[0]);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+}
@@ -20,13 +20,27 @@ package io.siddhi.core.query.table;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.config.SiddhiContext;
+import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.MetaStreamEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.table.holder.CompositeIndex;
+import io.siddhi.core.table.holder.IndexedEventHolder;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.collection.executor.CollectionCostModel;
+import io.siddhi.core.util.parser.EventHolderPasser;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.TableDefinition;
 import io.siddhi.query.api.exception.AttributeNotExistException;
 import io.siddhi.query.api.exception.SiddhiAppValidationException;
+import io.siddhi.query.api.expression.condition.Compare;
 import org.apache.log4j.Logger;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
@@ -2162,7 +2176,7 @@ public class IndexTableTestCase {
         SiddhiManager siddhiManager = new SiddhiManager();
         String streams = "" +
                 "define stream StockStream (symbol string, price float, volume long); " +
-                "@Index('symbol', 'volume') " +
+                "@Index('symbol', 'symbol') " +
                 "define table StockTable (symbol string, price float, volume long); ";
         String query = "" +
                 "@info(name = 'query1') " +
@@ -2234,4 +2248,517 @@ public class IndexTableTestCase {
         }
     }
 
+    @Test
+    public void indexTableTest34() throws InterruptedException {
+        log.info("indexTableTest34");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, timestamp long); " +
+                "define stream CheckStockStream (startTime long, endTime long); " +
+                "define stream PurgeStockStream (timestamp long); " +
+                "@PrimaryKey('timestamp', 'symbol') " +
+                "@TimePartition(attribute='timestamp', segment.size='1000') " +
+                "define table StockTable (symbol string, price float, timestamp long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream join StockTable " +
+                " on CheckStockStream.startTime <= StockTable.timestamp " +
+                "     and StockTable.timestamp < CheckStockStream.endTime " +
+                "select StockTable.symbol, StockTable.timestamp " +
+                "insert into OutStream;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from PurgeStockStream " +
+                "delete StockTable " +
+                "   on StockTable.timestamp < timestamp ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            inEventsList.add(event.getData());
+                            inEventCount.incrementAndGet();
+                        }
+                        eventArrived = true;
+                    }
+                    if (removeEvents != null) {
+                        removeEventCount = removeEventCount + removeEvents.length;
+                    }
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            InputHandler purgeStockStream = siddhiAppRuntime.getInputHandler("PurgeStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 500L});
+            stockStream.send(new Object[]{"IBM", 75.6f, 1500L});
+            stockStream.send(new Object[]{"WSO2", 57.6f, 2500L});
+            stockStream.send(new Object[]{"IBM", 77.6f, 3500L});
+            checkStockStream.send(new Object[]{1000L, 3000L});
+            purgeStockStream.send(new Object[]{2000L});
+            checkStockStream.send(new Object[]{0L, 5000L});
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"IBM", 1500L},
+                    new Object[]{"WSO2", 2500L},
+                    new Object[]{"WSO2", 2500L},
+                    new Object[]{"IBM", 3500L}
+            );
+            SiddhiTestHelper.waitForEvents(100, 4, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true, SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 4, inEventCount.get());
+            AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+            AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppValidationException.class)
+    public void indexTableTest35() throws InterruptedException {
+        log.info("indexTableTest35");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, timestamp long); " +
+                "@PrimaryKey('symbol') " +
+                "@TimePartition(attribute='timestamp', segment.size='1000') " +
+                "define table StockTable (symbol string, price float, timestamp long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = null;
+        try {
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        } finally {
+            if (siddhiAppRuntime != null) {
+                siddhiAppRuntime.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void indexTableTest36() throws InterruptedException {
+        log.info("indexTableTest36");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, timestamp long); " +
+                "define stream CheckStockStream (symbol string, startTime long, endTime long); " +
+                "define stream PurgeStockStream (symbol string, timestamp long); " +
+                "@Index('symbol', 'timestamp') " +
+                "define table StockTable (symbol string, price float, timestamp long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream join StockTable " +
+                " on StockTable.symbol == CheckStockStream.symbol " +
+                "     and StockTable.timestamp >= CheckStockStream.startTime " +
+                "     and CheckStockStream.endTime > StockTable.timestamp " +
+                "     and StockTable.price > 50f " +
+                "select StockTable.symbol, StockTable.timestamp " +
+                "insert into OutStream;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from PurgeStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol and StockTable.timestamp < timestamp ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            inEventsList.add(event.getData());
+                            inEventCount.incrementAndGet();
+                        }
+                        eventArrived = true;
+                    }
+                    if (removeEvents != null) {
+                        removeEventCount = removeEventCount + removeEvents.length;
+                    }
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            InputHandler purgeStockStream = siddhiAppRuntime.getInputHandler("PurgeStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 500L});
+            stockStream.send(new Object[]{"IBM", 75.6f, 1500L});
+            stockStream.send(new Object[]{"WSO2", 57.6f, 1500L});
+            stockStream.send(new Object[]{"WSO2", 45.6f, 2000L});
+            stockStream.send(new Object[]{"WSO2", 58.6f, 2500L});
+            checkStockStream.send(new Object[]{"WSO2", 500L, 2500L});
+            purgeStockStream.send(new Object[]{"WSO2", 1500L});
+            checkStockStream.send(new Object[]{"WSO2", 0L, 5000L});
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"WSO2", 500L},
+                    new Object[]{"WSO2", 1500L},
+                    new Object[]{"WSO2", 1500L},
+                    new Object[]{"WSO2", 2500L}
+            );
+            SiddhiTestHelper.waitForEvents(100, 4, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true, SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 4, inEventCount.get());
+            AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+            AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void indexTableTest37() throws InterruptedException {
+        log.info("indexTableTest37");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string, volume long); " +
+                "define stream UpdateStockStream (symbol string, price float, volume long);" +
+                "@PrimaryKey('symbol') " +
+                "@Index('price', 'volume') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   on StockTable.symbol == symbol ;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from CheckStockStream join StockTable " +
+                " on StockTable.price == 55.6f and StockTable.volume <= CheckStockStream.volume " +
+                "select StockTable.symbol, StockTable.volume " +
+                "insert into OutStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query3", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            inEventsList.add(event.getData());
+                            inEventCount.incrementAndGet();
+                        }
+                        eventArrived = true;
+                    }
+                    if (removeEvents != null) {
+                        removeEventCount = removeEventCount + removeEvents.length;
+                    }
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            stockStream.send(new Object[]{"IBM", 55.6f, 200L});
+            stockStream.send(new Object[]{"GOOG", 75.6f, 100L});
+            updateStockStream.send(new Object[]{"IBM", 55.6f, 50L});
+            updateStockStream.send(new Object[]{"WSO2", 65.6f, 100L});
+            checkStockStream.send(new Object[]{"WSO2", 100L});
+
+            List<Object[]> expected = new ArrayList<Object[]>();
+            expected.add(new Object[]{"IBM", 50L});
+            SiddhiTestHelper.waitForEvents(100, 1, inEventCount, 60000);
+            AssertJUnit.assertEquals("In events matched", true, SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+            AssertJUnit.assertEquals("Number of success events", 1, inEventCount.get());
+            AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+            AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void indexTableTest38() {
+        log.info("indexTableTest38");
+
+        TableDefinition tableDefinition = TableDefinition.id("StockTable")
+                .attribute("symbol", Attribute.Type.STRING)
+                .attribute("price", Attribute.Type.FLOAT)
+                .attribute("timestamp", Attribute.Type.LONG);
+        CompositeIndex compositeIndex = new CompositeIndex(new String[]{"symbol", "timestamp"}, tableDefinition);
+        StreamEvent[] streamEvents = new StreamEvent[5];
+        Object[][] data = {{"WSO2", 55.6f, 500L}, {"IBM", 75.6f, 1500L}, {"WSO2", 57.6f, 1500L},
+                {"WSO2", 58.6f, 2500L}, {null, 10f, 1000L}};
+        for (int i = 0; i < data.length; i++) {
+            streamEvents[i] = new StreamEvent(0, 0, 3);
+            streamEvents[i].setOutputData(data[i]);
+            compositeIndex.add(streamEvents[i]);
+        }
+
+        AssertJUnit.assertEquals(3, compositeIndex.find(new Object[]{"WSO2"}, null, null, null, null).size());
+        AssertJUnit.assertEquals(2, compositeIndex.find(new Object[]{"WSO2"},
+                Compare.Operator.GREATER_THAN_EQUAL, 500, Compare.Operator.LESS_THAN, 2500L).size());
+        AssertJUnit.assertEquals(1, compositeIndex.find(new Object[]{"WSO2"},
+                Compare.Operator.GREATER_THAN, 500L, Compare.Operator.LESS_THAN, 2500L).size());
+        AssertJUnit.assertEquals(2, compositeIndex.find(new Object[]{"WSO2"},
+                Compare.Operator.GREATER_THAN_EQUAL, 1499.5, null, null).size());
+        AssertJUnit.assertEquals(0, compositeIndex.find(new Object[]{"WSO2", 1500.5}, null, null, null, null)
+                .size());
+        AssertJUnit.assertEquals(1, compositeIndex.find(new Object[]{"WSO2", 1500}, null, null, null, null).size());
+        AssertJUnit.assertEquals(0, compositeIndex.find(new Object[]{"WSO2"},
+                Compare.Operator.GREATER_THAN, 2500L, Compare.Operator.LESS_THAN, 500L).size());
+        AssertJUnit.assertEquals(1, compositeIndex.find(new Object[]{},
+                Compare.Operator.GREATER_THAN_EQUAL, "IBM", Compare.Operator.LESS_THAN_EQUAL, "IBM").size());
+        AssertJUnit.assertEquals(3, compositeIndex.find(new Object[]{},
+                Compare.Operator.GREATER_THAN, "IBM", null, null).size());
+
+        compositeIndex.remove(streamEvents[2]);
+        AssertJUnit.assertEquals(2, compositeIndex.find(new Object[]{"WSO2"}, null, null, null, null).size());
+        AssertJUnit.assertEquals(4, compositeIndex.getAllEvents().size());
+    }
+    @Test
+    public void indexTableTest39() throws InterruptedException {
+        log.info("indexTableTest39");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, timestamp long); " +
+                "define stream CheckStockStream (symbol string, startTime long, endTime long); " +
+                "@Index('symbol') " +
+                "@Index('timestamp') " +
+                "@Index('symbol', 'timestamp') " +
+                "define table StockTable (symbol string, price float, timestamp long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream join StockTable " +
+                " on StockTable.symbol == CheckStockStream.symbol " +
+                "     and StockTable.timestamp >= CheckStockStream.startTime " +
+                "     and StockTable.timestamp < CheckStockStream.endTime " +
+                "select StockTable.symbol, StockTable.timestamp " +
+                "insert into OutStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            inEventsList.add(event.getData());
+                            inEventCount.incrementAndGet();
+                        }
+                        eventArrived = true;
+                    }
+                    if (removeEvents != null) {
+                        removeEventCount = removeEventCount + removeEvents.length;
+                    }
+                }
+            });
+
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 500L});
+            stockStream.send(new Object[]{"IBM", 75.6f, 1500L});
+            checkStockStream.send(new Object[]{"WSO2", 0L, 1000L});
+            for (int i = 0; i < 300; i++) {
+                stockStream.send(new Object[]{"IBM", (float) i, (long) i});
+            }
+            stockStream.send(new Object[]{"WSO2", 57.6f, 100L});
+            checkStockStream.send(new Object[]{"WSO2", 0L, 1000L});
+            checkStockStream.send(new Object[]{"IBM", 100L, 120L});
+
+            SiddhiTestHelper.waitForEvents(100, 23, inEventCount, 60000);
+            AssertJUnit.assertEquals("Number of success events", 23, inEventCount.get());
+            AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+            AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void indexTableTest40() {
+        log.info("indexTableTest40");
+
+        TableDefinition tableDefinition = TableDefinition.id("StockTable")
+                .attribute("symbol", Attribute.Type.STRING)
+                .attribute("price", Attribute.Type.FLOAT)
+                .attribute("timestamp", Attribute.Type.LONG)
+                .annotation(Annotation.annotation("Index").element(null, "symbol"))
+                .annotation(Annotation.annotation("Index").element(null, "symbol").element(null, "timestamp"));
+        MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
+        metaStreamEvent.addInputDefinition(tableDefinition);
+        for (Attribute attribute : tableDefinition.getAttributeList()) {
+            metaStreamEvent.addOutputData(attribute);
+        }
+        SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
+        siddhiAppContext.setName("IndexTableTest");
+        siddhiAppContext.setSiddhiContext(new SiddhiContext());
+        IndexedEventHolder indexedEventHolder = (IndexedEventHolder) EventHolderPasser.parse(tableDefinition,
+                new StreamEventFactory(metaStreamEvent), siddhiAppContext, false);
+        String compositeIndex = indexedEventHolder.getCompositeIndexes().keySet().iterator().next();
+
+        Object[][] data = {{"WSO2", 55.6f, 500L}, {"IBM", 75.6f, 1500L}, {"WSO2", 57.6f, 1500L},
+                {"WSO2", 58.6f, 1500L}, {"ORACLE", 10f, 1000L}};
+        ComplexEventChunk<StreamEvent> eventChunk = new ComplexEventChunk<>();
+        for (Object[] aData : data) {
+            StreamEvent streamEvent = new StreamEvent(0, 0, 3);
+            streamEvent.setOutputData(aData);
+            eventChunk.add(streamEvent);
+        }
+        indexedEventHolder.add(eventChunk);
+
+        AssertJUnit.assertEquals(5, indexedEventHolder.size());
+        AssertJUnit.assertEquals(3, indexedEventHolder.getDistinctValueCount("symbol"));
+        AssertJUnit.assertEquals(4, indexedEventHolder.getDistinctValueCount(compositeIndex));
+        AssertJUnit.assertEquals(-1, indexedEventHolder.getDistinctValueCount("price"));
+
+        indexedEventHolder.delete("symbol", Compare.Operator.EQUAL, "WSO2");
+        AssertJUnit.assertEquals(2, indexedEventHolder.size());
+        AssertJUnit.assertEquals(2, indexedEventHolder.getDistinctValueCount("symbol"));
+        AssertJUnit.assertEquals(2, indexedEventHolder.getDistinctValueCount(compositeIndex));
+
+        indexedEventHolder.deleteAll();
+        AssertJUnit.assertEquals(0, indexedEventHolder.size());
+
+        AssertJUnit.assertEquals(true, CollectionCostModel.hasDrifted(-1, 0));
+        AssertJUnit.assertEquals(false, CollectionCostModel.hasDrifted(10, 60));
+        AssertJUnit.assertEquals(true, CollectionCostModel.hasDrifted(10, 100));
+        AssertJUnit.assertEquals(false, CollectionCostModel.hasDrifted(1000, 1500));
+        AssertJUnit.assertEquals(true, CollectionCostModel.hasDrifted(1000, 400));
+    }
+
+    @Test
+    public void indexTableTest41() {
+        log.info("indexTableTest41");
+
+        TableDefinition tableDefinition = TableDefinition.id("StockTable")
+                .attribute("symbol", Attribute.Type.STRING)
+                .attribute("price", Attribute.Type.FLOAT)
+                .attribute("volume", Attribute.Type.LONG)
+                .annotation(Annotation.annotation("PrimaryKey").element(null, "symbol"));
+        MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
+        metaStreamEvent.addInputDefinition(tableDefinition);
+        for (Attribute attribute : tableDefinition.getAttributeList()) {
+            metaStreamEvent.addOutputData(attribute);
+        }
+        SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
+        siddhiAppContext.setName("IndexTableTest");
+        siddhiAppContext.setSiddhiContext(new SiddhiContext());
+        IndexedEventHolder indexedEventHolder = (IndexedEventHolder) EventHolderPasser.parse(tableDefinition,
+                new StreamEventFactory(metaStreamEvent), siddhiAppContext, false);
+
+        Object[][] data = {{"WSO2", 55.6f, 100L}, {"IBM", 75.6f, 200L}, {"ORACLE", 10f, 300L},
+                {"AMZN", 57.6f, 400L}};
+        ComplexEventChunk<StreamEvent> eventChunk = new ComplexEventChunk<>();
+        for (Object[] aData : data) {
+            StreamEvent streamEvent = new StreamEvent(0, 0, 3);
+            streamEvent.setOutputData(aData);
+            eventChunk.add(streamEvent);
+        }
+        indexedEventHolder.add(eventChunk);
+
+        // String primary keys are hashed, hence ranges on them are served by scanning the keys
+        AssertJUnit.assertEquals(2, indexedEventHolder.findEventsInRange("symbol",
+                Compare.Operator.GREATER_THAN_EQUAL, "IBM", Compare.Operator.LESS_THAN, "WSO2").size());
+        AssertJUnit.assertEquals(1, indexedEventHolder.findEventsInRange("symbol",
+                Compare.Operator.GREATER_THAN, "IBM", Compare.Operator.LESS_THAN_EQUAL, "ORACLE").size());
+        AssertJUnit.assertEquals(4, indexedEventHolder.findEventsInRange("symbol",
+                Compare.Operator.GREATER_THAN_EQUAL, "AMZN", Compare.Operator.LESS_THAN_EQUAL, "WSO2").size());
+        AssertJUnit.assertEquals(0, indexedEventHolder.findEventsInRange("symbol",
+                Compare.Operator.GREATER_THAN, "WSO2", Compare.Operator.LESS_THAN, "ZZZ").size());
+    }
+
+    @Test
+    public void indexTableTest42() {
+        log.info("indexTableTest42");
+
+        TableDefinition tableDefinition = TableDefinition.id("StockTable")
+                .attribute("symbol", Attribute.Type.STRING)
+                .attribute("price", Attribute.Type.FLOAT)
+                .attribute("timestamp", Attribute.Type.LONG)
+                .annotation(Annotation.annotation("PrimaryKey").element(null, "timestamp").element(null, "symbol"))
+                .annotation(Annotation.annotation("TimePartition").element("attribute", "timestamp")
+                        .element("segment.size", "1000"));
+        MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
+        metaStreamEvent.addInputDefinition(tableDefinition);
+        for (Attribute attribute : tableDefinition.getAttributeList()) {
+            metaStreamEvent.addOutputData(attribute);
+        }
+        SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
+        siddhiAppContext.setName("IndexTableTest");
+        siddhiAppContext.setSiddhiContext(new SiddhiContext());
+        IndexedEventHolder indexedEventHolder = (IndexedEventHolder) EventHolderPasser.parse(tableDefinition,
+                new StreamEventFactory(metaStreamEvent), siddhiAppContext, false);
+
+        Object[][] data = {{"WSO2", 55.6f, 1500L}, {"IBM", 75.6f, 1500L}, {"ORACLE", 10f, 1500L}};
+        ComplexEventChunk<StreamEvent> eventChunk = new ComplexEventChunk<>();
+        for (Object[] aData : data) {
+            StreamEvent streamEvent = new StreamEvent(0, 0, 3);
+            streamEvent.setOutputData(aData);
+            eventChunk.add(streamEvent);
+        }
+        indexedEventHolder.add(eventChunk);
+
+        // many events sharing the time of the probe
+        AssertJUnit.assertEquals(false, indexedEventHolder.containsEventSet("timestamp",
+                Compare.Operator.NOT_EQUAL, 1500L));
+        AssertJUnit.assertEquals(true, indexedEventHolder.containsEventSet("timestamp",
+                Compare.Operator.NOT_EQUAL, 1600L));
+
+        indexedEventHolder.deleteAll();
+        StreamEvent streamEvent = new StreamEvent(0, 0, 3);
+        streamEvent.setOutputData(new Object[]{"WSO2", 55.6f, 500L});
+        eventChunk = new ComplexEventChunk<>();
+        eventChunk.add(streamEvent);
+        indexedEventHolder.add(eventChunk);
+
+        // a single event differing from the time of the probe
+        AssertJUnit.assertEquals(true, indexedEventHolder.containsEventSet("timestamp",
+                Compare.Operator.NOT_EQUAL, 1500L));
+        AssertJUnit.assertEquals(false, indexedEventHolder.containsEventSet("timestamp",
+                Compare.Operator.NOT_EQUAL, 500L));
+
+        streamEvent = new StreamEvent(0, 0, 3);
+        streamEvent.setOutputData(new Object[]{"IBM", 75.6f, 1500L});
+        eventChunk = new ComplexEventChunk<>();
+        eventChunk.add(streamEvent);
+        indexedEventHolder.add(eventChunk);
+
+        // events of different segments
+        AssertJUnit.assertEquals(true, indexedEventHolder.containsEventSet("timestamp",
+                Compare.Operator.NOT_EQUAL, 500L));
+    }
+
 }
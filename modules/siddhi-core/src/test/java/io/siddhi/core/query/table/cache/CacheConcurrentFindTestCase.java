@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.table.cache;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class CacheConcurrentFindTestCase {
+    private static final Logger log = Logger.getLogger(CacheConcurrentFindTestCase.class);
+    private static final int NUM_SYMBOLS = 40;
+    private static final int NUM_THREADS = 8;
+    private static final int NUM_QUERIES_PER_THREAD = 500;
+
+    @Test
+    public void cacheConcurrentFindTest1() throws Exception {
+        log.info("cacheConcurrentFindTest1 - concurrent finds on a LRU cache");
+        runConcurrentFinds("LRU");
+    }
+
+    @Test
+    public void cacheConcurrentFindTest2() throws Exception {
+        log.info("cacheConcurrentFindTest2 - concurrent finds on a LFU cache");
+        runConcurrentFinds("LFU");
+    }
+
+    @Test
+    public void cacheConcurrentFindTest3() throws Exception {
+        log.info("cacheConcurrentFindTest3 - concurrent finds on a FIFO cache");
+        runConcurrentFinds("FIFO");
+    }
+
+    private void runConcurrentFinds(String cachePolicy) throws Exception {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@Store(type=\"testStoreForCacheMiss\", @Cache(size=\"10\", cache.policy=\"" + cachePolicy + "\"))\n" +
+                "@PrimaryKey('symbol') " +
+                "define table StockTable (symbol string, price float, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < NUM_SYMBOLS; i++) {
+            stockStream.send(new Object[]{"S" + i, 10f, (long) i});
+        }
+
+        // hits update the eviction order under the table read lock while misses load and evict entries
+        ExecutorService executorService = Executors.newFixedThreadPool(NUM_THREADS);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < NUM_THREADS; i++) {
+            futures.add(executorService.submit(() -> {
+                int found = 0;
+                for (int j = 0; j < NUM_QUERIES_PER_THREAD; j++) {
+                    // most finds go to the first few symbols, so that they are served from the cache
+                    int symbol = ThreadLocalRandom.current().nextInt(4) == 0 ?
+                            ThreadLocalRandom.current().nextInt(NUM_SYMBOLS) :
+                            ThreadLocalRandom.current().nextInt(5);
+                    Event[] events = siddhiAppRuntime.query("" +
+                            "from StockTable " +
+                            "on symbol == \"S" + symbol + "\" ");
+                    if (events != null && events.length == 1 && events[0].getData(2).equals((long) symbol)) {
+                        found++;
+                    }
+                }
+                return found;
+            }));
+        }
+        try {
+            for (Future<Integer> future : futures) {
+                AssertJUnit.assertEquals(NUM_QUERIES_PER_THREAD, (int) future.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        for (int i = 0; i < NUM_SYMBOLS; i++) {
+            Event[] events = siddhiAppRuntime.query("" +
+                    "from StockTable " +
+                    "on symbol == \"S" + i + "\" ");
+            AssertJUnit.assertEquals(1, events.length);
+            AssertJUnit.assertEquals((long) i, events[0].getData(2));
+        }
+        siddhiAppRuntime.shutdown();
+    }
+}
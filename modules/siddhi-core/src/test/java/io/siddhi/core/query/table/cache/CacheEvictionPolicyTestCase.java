@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.table.cache;
+
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.util.cache.CacheEvictionPolicy;
+import io.siddhi.core.util.cache.FrequencyCacheEvictionPolicy;
+import io.siddhi.core.util.cache.LinkedCacheEvictionPolicy;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class CacheEvictionPolicyTestCase {
+    private static final Logger log = Logger.getLogger(CacheEvictionPolicyTestCase.class);
+
+    @Test
+    public void cacheEvictionPolicyTest1() {
+        log.info("cacheEvictionPolicyTest1 - FIFO ignores accesses");
+        CacheEvictionPolicy evictionPolicy = new LinkedCacheEvictionPolicy(false, 1);
+        evictionPolicy.onAdd("A");
+        evictionPolicy.onAdd("B");
+        evictionPolicy.onAdd("C");
+        evictionPolicy.onAccess("A");
+        AssertJUnit.assertEquals("A", evictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals("B", evictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals(1, evictionPolicy.size());
+    }
+
+    @Test
+    public void cacheEvictionPolicyTest2() {
+        log.info("cacheEvictionPolicyTest2 - LRU evicts the least recently accessed entry");
+        CacheEvictionPolicy evictionPolicy = new LinkedCacheEvictionPolicy(true, 1);
+        evictionPolicy.onAdd("A");
+        evictionPolicy.onAdd("B");
+        evictionPolicy.onAdd("C");
+        evictionPolicy.onAccess("A");
+        evictionPolicy.onRemove("C");
+        AssertJUnit.assertEquals("B", evictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals("A", evictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertNull(evictionPolicy.pollEvictionCandidate());
+    }
+
+    @Test
+    public void cacheEvictionPolicyTest3() {
+        log.info("cacheEvictionPolicyTest3 - LFU evicts the least frequently accessed entry");
+        CacheEvictionPolicy evictionPolicy = new FrequencyCacheEvictionPolicy(1);
+        evictionPolicy.onAdd("A");
+        evictionPolicy.onAdd("B");
+        evictionPolicy.onAdd("C");
+        evictionPolicy.onAccess("A");
+        evictionPolicy.onAccess("A");
+        evictionPolicy.onAccess("B");
+        evictionPolicy.onAdd("D");
+        AssertJUnit.assertEquals("C", evictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals("D", evictionPolicy.pollEvictionCandidate());
+        evictionPolicy.onAccess("B");
+        evictionPolicy.onAccess("B");
+        AssertJUnit.assertEquals("A", evictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals("B", evictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals(0, evictionPolicy.size());
+    }
+
+    @Test
+    public void cacheEvictionPolicyTest4() {
+        log.info("cacheEvictionPolicyTest4 - rebuilding the eviction order from the cache policy attribute");
+        Map<Object, StreamEvent> entries = new HashMap<>();
+        entries.put("A", createEntry("A", 30L));
+        entries.put("B", createEntry("B", 10L));
+        entries.put("C", createEntry("C", 20L));
+        CacheEvictionPolicy lruEvictionPolicy = new LinkedCacheEvictionPolicy(true, 1);
+        lruEvictionPolicy.rebuild(entries);
+        AssertJUnit.assertEquals("B", lruEvictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals("C", lruEvictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals("A", lruEvictionPolicy.pollEvictionCandidate());
+
+        entries.put("A", createEntry("A", 3));
+        entries.put("B", createEntry("B", 1));
+        entries.put("C", createEntry("C", 2));
+        CacheEvictionPolicy lfuEvictionPolicy = new FrequencyCacheEvictionPolicy(1);
+        lfuEvictionPolicy.rebuild(entries);
+        lfuEvictionPolicy.onAccess("B");
+        lfuEvictionPolicy.onAccess("B");
+        lfuEvictionPolicy.onAccess("B");
+        AssertJUnit.assertEquals("C", lfuEvictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals("A", lfuEvictionPolicy.pollEvictionCandidate());
+        AssertJUnit.assertEquals("B", lfuEvictionPolicy.pollEvictionCandidate());
+
+        lfuEvictionPolicy.rebuild(entries);
+        entries.remove("C");
+        lfuEvictionPolicy.retainAll(entries);
+        AssertJUnit.assertEquals(2, lfuEvictionPolicy.size());
+        AssertJUnit.assertEquals("B", lfuEvictionPolicy.pollEvictionCandidate());
+    }
+
+    private static StreamEvent createEntry(String key, Object cachePolicyValue) {
+        StreamEvent streamEvent = new StreamEvent(0, 0, 2);
+        streamEvent.setOutputData(new Object[]{key, cachePolicyValue});
+        return streamEvent;
+    }
+}
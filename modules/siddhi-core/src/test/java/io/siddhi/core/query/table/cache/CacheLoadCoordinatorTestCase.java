@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.table.cache;
+
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.util.cache.CacheLoadCoordinator;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CacheLoadCoordinatorTestCase {
+    private static final Logger log = Logger.getLogger(CacheLoadCoordinatorTestCase.class);
+
+    @Test
+    public void cacheLoadCoordinatorTest1() throws Exception {
+        log.info("cacheLoadCoordinatorTest1 - concurrent loads of the same key share one store lookup");
+        CacheLoadCoordinator cacheLoadCoordinator = new CacheLoadCoordinator(0, 10);
+        AtomicInteger storeLookups = new AtomicInteger();
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch releaseLookup = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            results.add(executorService.submit(() -> cacheLoadCoordinator.load("WSO2", () -> {
+                storeLookups.incrementAndGet();
+                lookupStarted.countDown();
+                releaseLookup.await();
+                return true;
+            })));
+            lookupStarted.await();
+            for (int i = 0; i < 4; i++) {
+                results.add(executorService.submit(() -> cacheLoadCoordinator.load("WSO2", () -> {
+                    storeLookups.incrementAndGet();
+                    return true;
+                })));
+            }
+            while (cacheLoadCoordinator.getCoalescedLoadCount() < 4) {
+                Thread.sleep(10);
+            }
+            releaseLookup.countDown();
+            for (Future<Boolean> result : results) {
+                AssertJUnit.assertTrue(result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        AssertJUnit.assertEquals(1, storeLookups.get());
+        AssertJUnit.assertEquals(4, cacheLoadCoordinator.getCoalescedLoadCount());
+
+        AssertJUnit.assertTrue(cacheLoadCoordinator.load("WSO2", () -> {
+            storeLookups.incrementAndGet();
+            return true;
+        }));
+        AssertJUnit.assertEquals("Completed loads are not shared", 2, storeLookups.get());
+    }
+
+    @Test
+    public void cacheLoadCoordinatorTest2() {
+        log.info("cacheLoadCoordinatorTest2 - missing keys are remembered until retention or a write");
+        CacheLoadCoordinator cacheLoadCoordinator = new CacheLoadCoordinator(1000, 10);
+        cacheLoadCoordinator.recordMissing("WSO2", 100, cacheLoadCoordinator.getVersion());
+        AssertJUnit.assertTrue(cacheLoadCoordinator.isKnownMissing("WSO2", 500));
+        AssertJUnit.assertFalse(cacheLoadCoordinator.isKnownMissing("IBM", 500));
+        AssertJUnit.assertFalse(cacheLoadCoordinator.isKnownMissing("WSO2", 1100));
+
+        cacheLoadCoordinator.recordMissing("WSO2", 2000, cacheLoadCoordinator.getVersion());
+        cacheLoadCoordinator.invalidate();
+        AssertJUnit.assertFalse(cacheLoadCoordinator.isKnownMissing("WSO2", 2100));
+
+        long loadVersion = cacheLoadCoordinator.getVersion();
+        cacheLoadCoordinator.invalidate();
+        cacheLoadCoordinator.recordMissing("WSO2", 2200, loadVersion);
+        AssertJUnit.assertFalse("Lookups racing with writes are not remembered",
+                cacheLoadCoordinator.isKnownMissing("WSO2", 2300));
+        AssertJUnit.assertEquals(1, cacheLoadCoordinator.getNegativeHitCount());
+    }
+
+    @Test
+    public void cacheLoadCoordinatorTest3() {
+        log.info("cacheLoadCoordinatorTest3 - negative caching is bounded and can be disabled");
+        CacheLoadCoordinator cacheLoadCoordinator = new CacheLoadCoordinator(1000, 2);
+        cacheLoadCoordinator.recordMissing("A", 0, cacheLoadCoordinator.getVersion());
+        cacheLoadCoordinator.recordMissing("B", 500, cacheLoadCoordinator.getVersion());
+        cacheLoadCoordinator.recordMissing("C", 600, cacheLoadCoordinator.getVersion());
+        AssertJUnit.assertFalse(cacheLoadCoordinator.isKnownMissing("C", 700));
+        cacheLoadCoordinator.recordMissing("C", 1200, cacheLoadCoordinator.getVersion());
+        AssertJUnit.assertTrue("Expired keys make room for new ones",
+                cacheLoadCoordinator.isKnownMissing("C", 1300));
+        AssertJUnit.assertTrue(cacheLoadCoordinator.isKnownMissing("B", 1300));
+
+        CacheLoadCoordinator disabledCoordinator = new CacheLoadCoordinator(0, 2);
+        disabledCoordinator.recordMissing("A", 0, disabledCoordinator.getVersion());
+        AssertJUnit.assertFalse(disabledCoordinator.isKnownMissing("A", 1));
+    }
+
+    @Test
+    public void cacheLoadCoordinatorTest4() throws Exception {
+        log.info("cacheLoadCoordinatorTest4 - refreshes run in background and are not duplicated");
+        CacheLoadCoordinator cacheLoadCoordinator = new CacheLoadCoordinator(0, 10);
+        AtomicInteger storeLookups = new AtomicInteger();
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 3; i++) {
+                cacheLoadCoordinator.refresh("WSO2", () -> {
+                    storeLookups.incrementAndGet();
+                    releaseRefresh.await();
+                    return true;
+                }, executorService);
+            }
+            releaseRefresh.countDown();
+            while (cacheLoadCoordinator.getRefreshCount() < 1) {
+                Thread.sleep(10);
+            }
+            AssertJUnit.assertEquals(1, storeLookups.get());
+
+            cacheLoadCoordinator.refresh("WSO2", () -> {
+                throw new ConnectionUnavailableException("store is down");
+            }, executorService);
+            executorService.shutdown();
+            AssertJUnit.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+            AssertJUnit.assertEquals(1, cacheLoadCoordinator.getRefreshCount());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test(expectedExceptions = ConnectionUnavailableException.class)
+    public void cacheLoadCoordinatorTest5() throws ConnectionUnavailableException {
+        log.info("cacheLoadCoordinatorTest5 - store errors are propagated to the loading thread");
+        CacheLoadCoordinator cacheLoadCoordinator = new CacheLoadCoordinator(0, 10);
+        cacheLoadCoordinator.load("WSO2", () -> {
+            throw new ConnectionUnavailableException("store is down");
+        });
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.table.cache;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.query.table.util.TestStoreForCacheLoading;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiTestHelper;
+import org.apache.log4j.Logger;
+import org.testng.Assert;
+import org.testng.AssertJUnit;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class CacheNegativeRetentionAndRefreshAheadTestCase {
+    private static final Logger log = Logger.getLogger(CacheNegativeRetentionAndRefreshAheadTestCase.class);
+    private List<Object[]> outputEvents;
+
+    @BeforeClass
+    public static void startTest() {
+        log.info("== Cache negative retention and refresh ahead tests started ==");
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        log.info("== Cache negative retention and refresh ahead tests completed ==");
+    }
+
+    @BeforeMethod
+    public void init() {
+        outputEvents = new CopyOnWriteArrayList<>();
+        TestStoreForCacheLoading.reset();
+        // the store holds more records than the cache, so that lookups missed by the cache go to the store
+        TestStoreForCacheLoading.INITIAL_RECORDS.add(new Object[]{"WSO2", 55.6f, 100L});
+        TestStoreForCacheLoading.INITIAL_RECORDS.add(new Object[]{"IBM", 75.6f, 200L});
+        TestStoreForCacheLoading.INITIAL_RECORDS.add(new Object[]{"GOOG", 65.6f, 300L});
+    }
+
+    @Test
+    public void cacheNegativeRetentionTest1() throws InterruptedException {
+        log.info("cacheNegativeRetentionTest1 - keys missing in the store are not looked up again");
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(
+                "@Cache(size=\"1\", negative.retention.period=\"10 sec\")");
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+        siddhiAppRuntime.start();
+
+        checkStockStream.send(new Object[]{"ORACLE"});
+        checkStockStream.send(new Object[]{"ORACLE"});
+        checkStockStream.send(new Object[]{"ORACLE"});
+        AssertJUnit.assertEquals(0, outputEvents.size());
+        AssertJUnit.assertEquals("Only the first lookup of the missing key should reach the store",
+                1, TestStoreForCacheLoading.FIND_CALL_COUNT.get());
+
+        // writes to the table forget the keys known to be missing
+        stockStream.send(new Object[]{"ORACLE", 45.6f, 400L});
+        checkStockStream.send(new Object[]{"ORACLE"});
+        AssertJUnit.assertEquals(1, outputEvents.size());
+        Assert.assertEquals(outputEvents.get(0), new Object[]{"ORACLE", 400L});
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void cacheRefreshAheadTest1() throws InterruptedException {
+        log.info("cacheRefreshAheadTest1 - hits on aged entries reload them from the store in the background");
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(
+                "@Cache(size=\"1\", retention.period=\"2 sec\", refresh.ahead.factor=\"0.25\")");
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+        siddhiAppRuntime.start();
+
+        checkStockStream.send(new Object[]{"WSO2"});
+        int findCallCount = TestStoreForCacheLoading.FIND_CALL_COUNT.get();
+        Thread.sleep(700);
+        checkStockStream.send(new Object[]{"WSO2"});
+        SiddhiTestHelper.waitForEvents(10, findCallCount + 1, TestStoreForCacheLoading.FIND_CALL_COUNT, 10000);
+        AssertJUnit.assertEquals("The aged entry should be refreshed from the store",
+                findCallCount + 1, TestStoreForCacheLoading.FIND_CALL_COUNT.get());
+        Thread.sleep(100);
+
+        // the refreshed entry is served from the cache without being refreshed again
+        checkStockStream.send(new Object[]{"WSO2"});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals(findCallCount + 1, TestStoreForCacheLoading.FIND_CALL_COUNT.get());
+        AssertJUnit.assertEquals(3, outputEvents.size());
+        for (Object[] outputEvent : outputEvents) {
+            Assert.assertEquals(outputEvent, new Object[]{"WSO2", 100L});
+        }
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void cacheRefreshAheadTest2() throws InterruptedException {
+        log.info("cacheRefreshAheadTest2 - refreshes remove the entries deleted from the store");
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(
+                "@Cache(size=\"1\", retention.period=\"2 sec\", refresh.ahead.factor=\"0.25\")");
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+        siddhiAppRuntime.start();
+
+        checkStockStream.send(new Object[]{"WSO2"});
+        int findCallCount = TestStoreForCacheLoading.FIND_CALL_COUNT.get();
+        Thread.sleep(700);
+        TestStoreForCacheLoading.EXTERNALLY_DELETED_KEYS.add("WSO2");
+        // the aged entry is still served while it is being refreshed
+        checkStockStream.send(new Object[]{"WSO2"});
+        SiddhiTestHelper.waitForEvents(10, findCallCount + 1, TestStoreForCacheLoading.FIND_CALL_COUNT, 10000);
+        Thread.sleep(100);
+
+        checkStockStream.send(new Object[]{"WSO2"});
+        AssertJUnit.assertEquals("The deleted entry should be looked up from the store after the refresh",
+                findCallCount + 2, TestStoreForCacheLoading.FIND_CALL_COUNT.get());
+        AssertJUnit.assertEquals(2, outputEvents.size());
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    private SiddhiAppRuntime createSiddhiAppRuntime(String cacheAnnotation) {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string); " +
+                "@Store(type=\"testStoreForCacheLoading\", " + cacheAnnotation + ")\n" +
+                "@PrimaryKey('symbol') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        // selecting stream attributes makes the join find the records of the table rather than query the store
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream join StockTable " +
+                "   on CheckStockStream.symbol == StockTable.symbol " +
+                "select CheckStockStream.symbol, StockTable.volume " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        outputEvents.add(event.getData());
+                    }
+                }
+            }
+        });
+        return siddhiAppRuntime;
+    }
+}
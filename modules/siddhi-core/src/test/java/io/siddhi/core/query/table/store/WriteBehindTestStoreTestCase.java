@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.table.store;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.query.table.util.TestStoreForWriteBehind;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiTestHelper;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class WriteBehindTestStoreTestCase {
+    private static final Logger log = Logger.getLogger(WriteBehindTestStoreTestCase.class);
+
+    @BeforeClass
+    public static void startTest() {
+        log.info("== Test Store write-behind tests started ==");
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        log.info("== Test Store write-behind tests completed ==");
+    }
+
+    @BeforeMethod
+    public void init() {
+        TestStoreForWriteBehind.resetCounts();
+    }
+
+    @Test
+    public void writeBehindTest1() throws InterruptedException {
+        log.info("writeBehindTest1 - inserts are batched until the table is read");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@Store(type=\"testStoreForWriteBehind\", " +
+                "@WriteBehind(batch.size='100', flush.interval='1 hour'))\n" +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 10; i++) {
+            stockStream.send(new Object[]{"WSO2" + i, 55.6f, (long) i});
+        }
+        AssertJUnit.assertEquals("Store writes before read", 0, TestStoreForWriteBehind.ADD_CALL_COUNT.get());
+
+        Event[] events = siddhiAppRuntime.query("" +
+                "from StockTable ");
+        EventPrinter.print(events);
+        AssertJUnit.assertEquals(10, events.length);
+        AssertJUnit.assertEquals("Store writes after read", 1, TestStoreForWriteBehind.ADD_CALL_COUNT.get());
+        AssertJUnit.assertEquals(10, TestStoreForWriteBehind.ADDED_RECORD_COUNT.get());
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void writeBehindTest2() throws InterruptedException {
+        log.info("writeBehindTest2 - updates to the same key are coalesced");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream UpdateStockStream (symbol string, price float, volume long); " +
+                "@Store(type=\"testStoreForWriteBehind\", " +
+                "@WriteBehind(batch.size='100', flush.interval='1 hour'))\n" +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   set StockTable.price = price " +
+                "   on StockTable.symbol == symbol ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 100L});
+        updateStockStream.send(new Object[]{"WSO2", 56.6f, 100L});
+        updateStockStream.send(new Object[]{"WSO2", 57.6f, 100L});
+        updateStockStream.send(new Object[]{"IBM", 76.6f, 100L});
+        updateStockStream.send(new Object[]{"WSO2", 58.6f, 100L});
+
+        Event[] events = siddhiAppRuntime.query("" +
+                "from StockTable " +
+                "on symbol == 'WSO2' ");
+        EventPrinter.print(events);
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals(58.6f, events[0].getData(1));
+        AssertJUnit.assertEquals(1, TestStoreForWriteBehind.UPDATE_CALL_COUNT.get());
+        AssertJUnit.assertEquals(2, TestStoreForWriteBehind.UPDATED_RECORD_COUNT.get());
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void writeBehindTest3() throws InterruptedException {
+        log.info("writeBehindTest3 - pending writes are flushed periodically");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@Store(type=\"testStoreForWriteBehind\", " +
+                "@WriteBehind(batch.size='100', flush.interval='100 millisec'))\n" +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 100L});
+        SiddhiTestHelper.waitForEvents(10, 2, TestStoreForWriteBehind.ADDED_RECORD_COUNT, 10000);
+
+        AssertJUnit.assertEquals(2, TestStoreForWriteBehind.ADDED_RECORD_COUNT.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void writeBehindTest4() throws InterruptedException {
+        log.info("writeBehindTest4 - pending writes are flushed before a snapshot");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@Store(type=\"testStoreForWriteBehind\", " +
+                "@WriteBehind(batch.size='100', flush.interval='1 hour'))\n" +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 100L});
+        AssertJUnit.assertEquals(0, TestStoreForWriteBehind.ADD_CALL_COUNT.get());
+
+        siddhiAppRuntime.snapshot();
+        AssertJUnit.assertEquals(1, TestStoreForWriteBehind.ADD_CALL_COUNT.get());
+        AssertJUnit.assertEquals(2, TestStoreForWriteBehind.ADDED_RECORD_COUNT.get());
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void writeBehindTest5() throws InterruptedException {
+        log.info("writeBehindTest5 - a full queue is flushed by the writer");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@Store(type=\"testStoreForWriteBehind\", " +
+                "@WriteBehind(batch.size='5', queue.size='5', flush.interval='1 hour'))\n" +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 12; i++) {
+            stockStream.send(new Object[]{"WSO2" + i, 55.6f, (long) i});
+        }
+        AssertJUnit.assertTrue("At most the queue size is kept pending",
+                TestStoreForWriteBehind.ADDED_RECORD_COUNT.get() >= 7);
+
+        Event[] events = siddhiAppRuntime.query("" +
+                "from StockTable ");
+        AssertJUnit.assertEquals(12, events.length);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void writeBehindTest6() {
+        log.info("writeBehindTest6 - invalid write-behind configuration");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "@Store(type=\"testStoreForWriteBehind\", @WriteBehind(batch.size='0'))\n" +
+                "define table StockTable (symbol string, price float, volume long); ";
+        siddhiManager.createSiddhiAppRuntime(streams);
+    }
+
+    @Test
+    public void writeBehindTest7() throws InterruptedException {
+        log.info("writeBehindTest7 - pending inserts are read without flushing them to the store");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string); " +
+                "@Store(type=\"testStoreForWriteBehind\", " +
+                "@WriteBehind(batch.size='100', flush.interval='1 hour'))\n" +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream[(StockTable.symbol == symbol) in StockTable] " +
+                "insert into ContainedStockStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        List<Object> containedSymbols = new ArrayList<>();
+        siddhiAppRuntime.addCallback("ContainedStockStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    containedSymbols.add(event.getData(0));
+                }
+            }
+        });
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 200L});
+        checkStockStream.send(new Object[]{"IBM"});
+        checkStockStream.send(new Object[]{"ORACLE"});
+        AssertJUnit.assertEquals(1, containedSymbols.size());
+        AssertJUnit.assertEquals("IBM", containedSymbols.get(0));
+        AssertJUnit.assertEquals("Store writes after read", 0, TestStoreForWriteBehind.ADD_CALL_COUNT.get());
+
+        siddhiAppRuntime.snapshot();
+        AssertJUnit.assertEquals(1, TestStoreForWriteBehind.ADD_CALL_COUNT.get());
+        checkStockStream.send(new Object[]{"WSO2"});
+        checkStockStream.send(new Object[]{"ORACLE"});
+        AssertJUnit.assertEquals(2, containedSymbols.size());
+        AssertJUnit.assertEquals("WSO2", containedSymbols.get(1));
+
+        siddhiAppRuntime.shutdown();
+    }
+}
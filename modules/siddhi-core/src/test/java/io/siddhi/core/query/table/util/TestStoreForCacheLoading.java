@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.table.util;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.table.record.RecordIterator;
+import io.siddhi.core.util.collection.operator.CompiledCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Custom store for testing the loads of the cache of store tables, which counts the find calls received by the store
+ * and allows records to be added to and deleted from the store without going through the table.
+ * <p>
+ * Lookups are served by the first attribute, which should be the primary key, using the values of the condition
+ * parameters. This way they do not depend on the matching event of the table, which is not available to the cache
+ * refreshes running in the background.
+ */
+@Extension(
+        name = "testStoreForCacheLoading",
+        namespace = "store",
+        description = "Using this implementation a testing for cache loads of store extension can be done.",
+        examples = {
+                @Example(
+                        syntax = "@store(type='testStoreForCacheLoading', @cache(size='1', " +
+                                "negative.retention.period='10 sec'))" +
+                                "define table testTable (symbol string, price int, volume float); ",
+                        description = "The above syntax initializes a test type store with a cache."
+                )
+        }
+)
+public class TestStoreForCacheLoading extends TestStoreContainingInMemoryTable {
+    public static final AtomicInteger FIND_CALL_COUNT = new AtomicInteger();
+    // records already in the store when it is connected
+    public static final List<Object[]> INITIAL_RECORDS = new CopyOnWriteArrayList<>();
+    // values of the first attribute of the records deleted from the store by other clients
+    public static final Set<Object> EXTERNALLY_DELETED_KEYS = ConcurrentHashMap.newKeySet();
+    private final Map<Object, Object[]> recordsByKey = new ConcurrentHashMap<>();
+
+    public static void reset() {
+        FIND_CALL_COUNT.set(0);
+        INITIAL_RECORDS.clear();
+        EXTERNALLY_DELETED_KEYS.clear();
+    }
+
+    @Override
+    protected void connect() throws ConnectionUnavailableException {
+        super.connect();
+        if (!INITIAL_RECORDS.isEmpty()) {
+            add(new ArrayList<>(INITIAL_RECORDS));
+        }
+    }
+
+    @Override
+    protected void add(List<Object[]> records) throws ConnectionUnavailableException {
+        for (Object[] record : records) {
+            recordsByKey.put(record[0], record);
+        }
+        super.add(records);
+    }
+
+    @Override
+    protected RecordIterator<Object[]> find(Map<String, Object> findConditionParameterMap,
+                                            CompiledCondition compiledCondition) throws ConnectionUnavailableException {
+        FIND_CALL_COUNT.incrementAndGet();
+        List<Object[]> objects = new ArrayList<>();
+        for (Object key : findConditionParameterMap.values()) {
+            Object[] record = recordsByKey.get(key);
+            if (record != null && !EXTERNALLY_DELETED_KEYS.contains(key)) {
+                objects.add(record);
+            }
+        }
+        return new TestStoreWithCacheIterator(objects.iterator());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.table.util;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.util.collection.operator.CompiledCondition;
+import io.siddhi.core.util.collection.operator.CompiledExpression;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Custom store for testing write-behind of store tables, which counts the write calls received by the store.
+ */
+@Extension(
+        name = "testStoreForWriteBehind",
+        namespace = "store",
+        description = "Using this implementation a testing for write-behind of store extension can be done.",
+        examples = {
+                @Example(
+                        syntax = "@store(type='testStoreForWriteBehind', @WriteBehind(batch.size='100'))" +
+                                "define table testTable (symbol string, price int, volume float); ",
+                        description = "The above syntax initializes a test type store with write-behind."
+                )
+        }
+)
+public class TestStoreForWriteBehind extends TestStoreContainingInMemoryTable {
+    public static final AtomicInteger ADD_CALL_COUNT = new AtomicInteger();
+    public static final AtomicInteger ADDED_RECORD_COUNT = new AtomicInteger();
+    public static final AtomicInteger UPDATE_CALL_COUNT = new AtomicInteger();
+    public static final AtomicInteger UPDATED_RECORD_COUNT = new AtomicInteger();
+    public static final AtomicInteger DELETE_CALL_COUNT = new AtomicInteger();
+
+    public static void resetCounts() {
+        ADD_CALL_COUNT.set(0);
+        ADDED_RECORD_COUNT.set(0);
+        UPDATE_CALL_COUNT.set(0);
+        UPDATED_RECORD_COUNT.set(0);
+        DELETE_CALL_COUNT.set(0);
+    }
+
+    @Override
+    protected void add(List<Object[]> records) throws ConnectionUnavailableException {
+        ADD_CALL_COUNT.incrementAndGet();
+        ADDED_RECORD_COUNT.addAndGet(records.size());
+        super.add(records);
+    }
+
+    @Override
+    protected void delete(List<Map<String, Object>> deleteConditionParameterMaps,
+                          CompiledCondition compiledCondition) throws ConnectionUnavailableException {
+        DELETE_CALL_COUNT.incrementAndGet();
+        super.delete(deleteConditionParameterMaps, compiledCondition);
+    }
+
+    @Override
+    protected void update(CompiledCondition updateCondition, List<Map<String, Object>> updateConditionParameterMaps,
+                          Map<String, CompiledExpression> updateSetExpressions,
+                          List<Map<String, Object>> updateSetParameterMaps) throws ConnectionUnavailableException {
+        UPDATE_CALL_COUNT.incrementAndGet();
+        UPDATED_RECORD_COUNT.addAndGet(updateConditionParameterMaps.size());
+        super.update(updateCondition, updateConditionParameterMaps, updateSetExpressions, updateSetParameterMaps);
+    }
+}
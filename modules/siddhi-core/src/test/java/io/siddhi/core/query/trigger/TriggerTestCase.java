@@ -21,6 +21,7 @@ package io.siddhi.core.query.trigger;
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.query.api.SiddhiApp;
@@ -33,6 +34,11 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class TriggerTestCase {
     private static final Logger log = Logger.getLogger(TriggerTestCase.class);
     private volatile int count;
@@ -210,4 +216,150 @@ public class TriggerTestCase {
 
     }
 
+    @Test(dependsOnMethods = "testQuery7")
+    public void testQuery8() throws InterruptedException {
+        log.info("testTrigger8 - periodic trigger in playback mode");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String plan = "" +
+                "@app:playback " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "define trigger triggerStream at every 1 sec ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(plan);
+        List<Long> timestamps = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("triggerStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    AssertJUnit.assertEquals(event.getTimestamp(), event.getData(0));
+                    timestamps.add(event.getTimestamp());
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (long timestamp = 100500; timestamp <= 104000; timestamp += 700) {
+            inputHandler.send(timestamp, new Object[]{"WSO2", 55.6f, 100L});
+        }
+        AssertJUnit.assertEquals(Arrays.asList(101500L, 102500L, 103500L), timestamps);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(dependsOnMethods = "testQuery8")
+    public void testQuery9() throws InterruptedException {
+        log.info("testTrigger9 - cron trigger in playback mode");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String plan = "" +
+                "@app:playback " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "define trigger triggerStream at '*/2 * * * * ?' ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(plan);
+        List<Long> timestamps = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("triggerStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    timestamps.add(event.getTimestamp());
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (long timestamp = 100500; timestamp <= 105600; timestamp += 700) {
+            inputHandler.send(timestamp, new Object[]{"WSO2", 55.6f, 100L});
+        }
+        AssertJUnit.assertEquals(Arrays.asList(102000L, 104000L), timestamps);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(dependsOnMethods = "testQuery9")
+    public void testQuery10() throws InterruptedException {
+        log.info("testTrigger10 - co-scheduled triggers fire together");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        StringBuilder plan = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            plan.append("define trigger triggerStream").append(i).append(" at every 200 milliseconds ;");
+        }
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(plan.toString());
+        List<Long> timestamps = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 100; i++) {
+            siddhiAppRuntime.addCallback("triggerStream" + i, new StreamCallback() {
+
+                @Override
+                public void receive(Event[] events) {
+                    for (Event event : events) {
+                        timestamps.add(event.getTimestamp());
+                    }
+                }
+            });
+        }
+
+        siddhiAppRuntime.start();
+        Thread.sleep(500);
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(200, timestamps.size());
+        AssertJUnit.assertEquals(2, timestamps.stream().distinct().count());
+    }
+
+    @Test(dependsOnMethods = "testQuery10")
+    public void testQuery11() throws InterruptedException {
+        log.info("testTrigger11 - slow trigger listeners do not delay other triggers");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String plan = "" +
+                "define trigger fastTriggerStream at every 100 milliseconds ;" +
+                "define trigger slowTriggerStream at every 100 milliseconds ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(plan);
+        List<Long> fastTimestamps = Collections.synchronizedList(new ArrayList<>());
+        List<Long> slowTimestamps = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("fastTriggerStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    fastTimestamps.add(event.getTimestamp());
+                }
+            }
+        });
+        siddhiAppRuntime.addCallback("slowTriggerStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    slowTimestamps.add(event.getTimestamp());
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        siddhiAppRuntime.start();
+        Thread.sleep(1550);
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertTrue("Fast trigger was delayed by the slow trigger, fired " + fastTimestamps.size() +
+                " times", fastTimestamps.size() >= 10);
+        // the fires of the slow trigger are run one after the other, in order
+        AssertJUnit.assertTrue(slowTimestamps.size() >= 1 && slowTimestamps.size() <= 2);
+        for (int i = 1; i < slowTimestamps.size(); i++) {
+            AssertJUnit.assertTrue(slowTimestamps.get(i - 1) < slowTimestamps.get(i));
+        }
+    }
+
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.store;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.OnDemandQueryCursor;
+import io.siddhi.core.stream.input.InputHandler;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+public class OnDemandQueryCursorTestCase {
+
+    private static final Logger log = Logger.getLogger(OnDemandQueryCursorTestCase.class);
+
+    private static Event[] events(int from, int to) {
+        Event[] events = new Event[to - from];
+        for (int i = from; i < to; i++) {
+            events[i - from] = new Event(i, new Object[]{i});
+        }
+        return events;
+    }
+
+    @Test
+    public void onDemandQueryCursorTest1() {
+        log.info("onDemandQueryCursorTest1 - batches are fetched lazily and the cursor closes on exhaustion");
+
+        final boolean[] resourceClosed = new boolean[1];
+        final int[] closeActions = new int[1];
+        final int[] fetchedBatches = new int[1];
+        Iterator<Event[]> batches = Arrays.asList(events(0, 3), new Event[0], events(3, 5)).iterator();
+        OnDemandQueryCursor cursor = new OnDemandQueryCursor(new Iterator<Event[]>() {
+            @Override
+            public boolean hasNext() {
+                return batches.hasNext();
+            }
+
+            @Override
+            public Event[] next() {
+                fetchedBatches[0]++;
+                return batches.next();
+            }
+        }, () -> resourceClosed[0] = true, -1);
+
+        AssertJUnit.assertEquals(0, fetchedBatches[0]);
+        AssertJUnit.assertEquals(0, cursor.next().getData(0));
+        AssertJUnit.assertEquals(1, fetchedBatches[0]);
+        int count = 1;
+        while (cursor.hasNext()) {
+            AssertJUnit.assertEquals(count, cursor.next().getData(0));
+            count++;
+        }
+        AssertJUnit.assertEquals(5, count);
+        AssertJUnit.assertTrue(cursor.isClosed());
+        AssertJUnit.assertTrue(resourceClosed[0]);
+        cursor.close();
+    }
+
+    @Test
+    public void onDemandQueryCursorTest2() {
+        log.info("onDemandQueryCursorTest2 - limit is applied across batches");
+
+        final boolean[] resourceClosed = new boolean[1];
+        OnDemandQueryCursor cursor = new OnDemandQueryCursor(Arrays.asList(events(0, 3), events(3, 6),
+                events(6, 9)).iterator(), () -> resourceClosed[0] = true, 4);
+        int count = 0;
+        while (cursor.hasNext()) {
+            cursor.next();
+            count++;
+        }
+        AssertJUnit.assertEquals(4, count);
+        AssertJUnit.assertTrue(resourceClosed[0]);
+
+        cursor = OnDemandQueryCursor.of(null);
+        AssertJUnit.assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void onDemandQueryCursorTest3() throws InterruptedException {
+        log.info("onDemandQueryCursorTest3 - cursor over a store table");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String app = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@store(type='testStoreContainingInMemoryTable') " +
+                "define table StockTable (symbol string, price float, volume long); " +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(app);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (long i = 0; i < 25; i++) {
+            stockStream.send(new Object[]{i % 2 == 0 ? "WSO2" : "IBM", 50f + i, i});
+        }
+
+        int count = 0;
+        try (OnDemandQueryCursor cursor = siddhiAppRuntime.queryCursor("" +
+                "from StockTable " +
+                "on volume > 4 " +
+                "select symbol, volume ", 4)) {
+            while (cursor.hasNext()) {
+                Event event = cursor.next();
+                AssertJUnit.assertTrue((Long) event.getData(1) > 4);
+                count++;
+            }
+        }
+        AssertJUnit.assertEquals(20, count);
+
+        count = 0;
+        try (OnDemandQueryCursor cursor = siddhiAppRuntime.queryCursor("" +
+                "from StockTable " +
+                "on symbol == param('symbol') " +
+                "select symbol, volume " +
+                "limit 5 ", Collections.singletonMap("symbol", "IBM"), 2)) {
+            while (cursor.hasNext()) {
+                AssertJUnit.assertEquals("IBM", cursor.next().getData(0));
+                count++;
+            }
+        }
+        AssertJUnit.assertEquals(5, count);
+
+        Event[] events = siddhiAppRuntime.query("" +
+                "from StockTable " +
+                "select sum(volume) as totalVolume ");
+        AssertJUnit.assertEquals(300L, events[0].getData(0));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void onDemandQueryCursorTest4() throws InterruptedException {
+        log.info("onDemandQueryCursorTest4 - cursor over an in-memory table with aggregation");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String app = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define table StockTable (symbol string, price float, volume long); " +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(app);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (long i = 0; i < 10; i++) {
+            stockStream.send(new Object[]{i % 2 == 0 ? "WSO2" : "IBM", 50f + i, i});
+        }
+
+        int count = 0;
+        try (OnDemandQueryCursor cursor = siddhiAppRuntime.queryCursor("" +
+                "from StockTable " +
+                "select symbol, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "order by symbol ", 1)) {
+            while (cursor.hasNext()) {
+                Event event = cursor.next();
+                AssertJUnit.assertEquals(count == 0 ? "IBM" : "WSO2", event.getData(0));
+                AssertJUnit.assertEquals(count == 0 ? 25L : 20L, event.getData(1));
+                count++;
+            }
+        }
+        AssertJUnit.assertEquals(2, count);
+        siddhiAppRuntime.shutdown();
+    }
+}
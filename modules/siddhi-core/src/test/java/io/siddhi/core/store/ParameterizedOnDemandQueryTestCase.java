@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.store;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.OnDemandQueryCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ParameterizedOnDemandQueryTestCase {
+
+    private static final Logger log = Logger.getLogger(ParameterizedOnDemandQueryTestCase.class);
+
+    private SiddhiAppRuntime createRuntime(SiddhiManager siddhiManager) throws InterruptedException {
+        String app = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define table StockTable (symbol string, price float, volume long); " +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(app);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 200L});
+        stockStream.send(new Object[]{"WSO2", 57.6f, 300L});
+        return siddhiAppRuntime;
+    }
+
+    @Test
+    public void parameterizedQueryTest1() throws InterruptedException {
+        log.info("parameterizedQueryTest1 - bind different values to the same query");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = createRuntime(siddhiManager);
+        String onDemandQuery = "" +
+                "from StockTable " +
+                "on symbol == param('symbol') and volume > param('volume') " +
+                "select symbol, volume ";
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("symbol", "WSO2");
+        parameters.put("volume", 0L);
+        Event[] events = siddhiAppRuntime.query(onDemandQuery, parameters);
+        AssertJUnit.assertEquals(2, events.length);
+
+        parameters.put("volume", 150L);
+        events = siddhiAppRuntime.query(onDemandQuery, parameters);
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals(300L, events[0].getData(1));
+
+        parameters.put("symbol", "IBM");
+        events = siddhiAppRuntime.query("from StockTable   on symbol == param('symbol') " +
+                "and volume > param('volume')\nselect symbol, volume", parameters);
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals("IBM", events[0].getData(0));
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void parameterizedQueryTest2() throws Exception {
+        log.info("parameterizedQueryTest2 - execute the same query plan concurrently");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = createRuntime(siddhiManager);
+        String onDemandQuery = "" +
+                "from StockTable " +
+                "on symbol == param('symbol') " +
+                "select symbol, volume ";
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                final String symbol = i % 2 == 0 ? "WSO2" : "IBM";
+                futures.add(executorService.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        Event[] events = siddhiAppRuntime.query(onDemandQuery,
+                                Collections.singletonMap("symbol", symbol));
+                        for (Event event : events) {
+                            AssertJUnit.assertEquals(symbol, event.getData(0));
+                        }
+                        return events.length;
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                AssertJUnit.assertEquals(i % 2 == 0 ? 2 : 1, (int) futures.get(i).get());
+            }
+        } finally {
+            executorService.shutdown();
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = OnDemandQueryCreationException.class)
+    public void parameterizedQueryTest3() throws InterruptedException {
+        log.info("parameterizedQueryTest3 - parameter without a bound value");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = createRuntime(siddhiManager);
+        try {
+            siddhiAppRuntime.query("" +
+                    "from StockTable " +
+                    "on symbol == param('symbol') " +
+                    "select symbol, volume ");
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.SiddhiTestHelper;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the wait strategies and the dedicated worker threads of asynchronous streams.
+ */
+public class AsyncWaitStrategyTestCase {
+
+    private static final Logger log = Logger.getLogger(AsyncWaitStrategyTestCase.class);
+    private AtomicInteger count;
+    private Set<String> threadNames;
+
+    @BeforeMethod
+    public void init() {
+        count = new AtomicInteger();
+        threadNames = ConcurrentHashMap.newKeySet();
+    }
+
+    @Test
+    public void asyncWaitStrategyTest1() throws InterruptedException {
+        log.info("async wait strategy test1");
+        for (String waitStrategy : new String[]{"blocking", "lite.blocking", "sleeping", "yielding", "busy.spin",
+                "phased.backoff"}) {
+            init();
+            SiddhiManager siddhiManager = new SiddhiManager();
+
+            String siddhiApp = "" +
+                    "@async(buffer.size='16', wait.strategy='" + waitStrategy + "') " +
+                    "define stream StockStream (symbol string, price float, volume long);" +
+                    "" +
+                    "@info(name = 'query1') " +
+                    "from StockStream " +
+                    "select * " +
+                    "insert into OutputStream ;";
+
+            SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            siddhiAppRuntime.addCallback("OutputStream", new CountingCallback());
+
+            InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            siddhiAppRuntime.start();
+            for (int i = 0; i < 100; i++) {
+                inputHandler.send(new Object[]{"WSO2", 55.6f, (long) i});
+            }
+            SiddhiTestHelper.waitForEvents(10, 100, count, 10000);
+            AssertJUnit.assertEquals("Events lost with wait strategy '" + waitStrategy + "'", 100, count.get());
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void asyncDedicatedThreadsTest1() throws InterruptedException {
+        log.info("async dedicated threads test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:name('DedicatedThreadsApp') " +
+                "@async(buffer.size='16', workers='2', wait.strategy='yielding', dedicated.threads='true') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new CountingCallback());
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 100; i++) {
+            inputHandler.send(new Object[]{"WSO2", 55.6f, (long) i});
+        }
+        SiddhiTestHelper.waitForEvents(10, 100, count, 10000);
+        AssertJUnit.assertEquals(100, count.get());
+        for (String threadName : threadNames) {
+            AssertJUnit.assertTrue(threadName,
+                    threadName.startsWith("Siddhi-DedicatedThreadsApp-StockStream-worker-thread-"));
+        }
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void asyncCpuAffinityTest1() throws InterruptedException {
+        log.info("async cpu affinity test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        Map<String, Integer> boundThreads = new ConcurrentHashMap<>();
+        siddhiManager.setCpuAffinityHook((threadName, cpu) -> {
+            boundThreads.put(threadName, cpu);
+            return true;
+        });
+
+        String siddhiApp = "" +
+                "@app:name('CpuAffinityApp') " +
+                "@async(buffer.size='16', workers='2', wait.strategy='busy.spin', cpu.affinity='1,3') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new CountingCallback());
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 100; i++) {
+            inputHandler.send(new Object[]{"WSO2", 55.6f, (long) i});
+        }
+        SiddhiTestHelper.waitForEvents(10, 100, count, 10000);
+        AssertJUnit.assertEquals(100, count.get());
+        AssertJUnit.assertEquals(2, boundThreads.size());
+        AssertJUnit.assertTrue(boundThreads.containsValue(1));
+        AssertJUnit.assertTrue(boundThreads.containsValue(3));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncWaitStrategyTest2() {
+        log.info("async wait strategy test2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(wait.strategy='spinning') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncCpuAffinityTest2() {
+        log.info("async cpu affinity test2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(cpu.affinity='3-1') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncCpuAffinityTest3() {
+        log.info("async cpu affinity test3");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(dedicated.threads='false', cpu.affinity='1') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    private class CountingCallback extends StreamCallback {
+
+        @Override
+        public void receive(Event[] events) {
+            threadNames.add(Thread.currentThread().getName());
+            count.addAndGet(events.length);
+        }
+    }
+}
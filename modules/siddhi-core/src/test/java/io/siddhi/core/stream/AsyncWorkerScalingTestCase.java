@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.event.handler.StreamWorkerGroup;
+import io.siddhi.core.util.statistics.EventBufferHolder;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests asynchronous streams whose events are partitioned among the workers, and whose workers are scaled at runtime.
+ */
+public class AsyncWorkerScalingTestCase {
+
+    private static final Logger log = Logger.getLogger(AsyncWorkerScalingTestCase.class);
+    private AtomicInteger count;
+    private Map<Object, List<Long>> receivedSequences;
+    private boolean inOrder;
+
+    @BeforeMethod
+    public void init() {
+        count = new AtomicInteger();
+        receivedSequences = new ConcurrentHashMap<>();
+        inOrder = true;
+    }
+
+    @Test
+    public void asyncPartitionByTest1() throws InterruptedException {
+        log.info("async partition by test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='64', workers='4', partition.by='symbol') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new OrderValidatingCallback());
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (long i = 0; i < 10000; i++) {
+            inputHandler.send(new Object[]{"SYMBOL" + (i % 10), i});
+        }
+        SiddhiTestHelper.waitForEvents(10, 10000, count, 10000);
+        AssertJUnit.assertEquals(10000, count.get());
+        AssertJUnit.assertEquals(10, receivedSequences.size());
+        AssertJUnit.assertTrue(inOrder);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void asyncWorkerScalingTest1() throws InterruptedException {
+        log.info("async worker scaling test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='64', workers='1', workers.max='4', partition.by='symbol', " +
+                "       scaling.interval='1 sec') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        Set<Thread> workerThreads = ConcurrentHashMap.newKeySet();
+        siddhiAppRuntime.addCallback("OutputStream", new OrderValidatingCallback() {
+            @Override
+            public void receive(Event[] events) {
+                workerThreads.add(Thread.currentThread());
+                super.receive(events);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        long sequence = 0;
+        long startTime = System.currentTimeMillis();
+        while (System.currentTimeMillis() - startTime < 2500) {
+            inputHandler.send(new Object[]{"SYMBOL" + (sequence % 10), sequence++});
+        }
+        SiddhiTestHelper.waitForEvents(10, (int) sequence, count, 60000);
+        AssertJUnit.assertEquals(sequence, count.get());
+        AssertJUnit.assertTrue(inOrder);
+        // each worker consumes on its own thread, and only the active workers receive events
+        AssertJUnit.assertTrue("Workers were not scaled up, events were consumed by " + workerThreads.size() +
+                " worker", workerThreads.size() > 1);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void workerGroupScalingTest() {
+        log.info("worker group scaling test");
+        TestEventBufferHolder eventBufferHolder = new TestEventBufferHolder();
+        StreamWorkerGroup workerGroup = new StreamWorkerGroup("StockStream", "TestApp", 1, 3, -1, 100,
+                eventBufferHolder, null, null);
+        AssertJUnit.assertTrue(workerGroup.isAdaptive());
+        AssertJUnit.assertFalse(workerGroup.isKeyed());
+        AssertJUnit.assertEquals(1, workerGroup.getActiveWorkers());
+
+        eventBufferHolder.bufferedEvents = 80;
+        workerGroup.run();
+        workerGroup.run();
+        workerGroup.run();
+        AssertJUnit.assertEquals(3, workerGroup.getActiveWorkers());
+        AssertJUnit.assertEquals(2, workerGroup.getScaleUpCount());
+
+        eventBufferHolder.bufferedEvents = 20;
+        workerGroup.run();
+        AssertJUnit.assertEquals(3, workerGroup.getActiveWorkers());
+
+        eventBufferHolder.bufferedEvents = 0;
+        workerGroup.run();
+        workerGroup.run();
+        workerGroup.run();
+        AssertJUnit.assertEquals(1, workerGroup.getActiveWorkers());
+        AssertJUnit.assertEquals(2, workerGroup.getScaleDownCount());
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncWorkerScalingTest2() {
+        log.info("async worker scaling test2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(workers='4', workers.max='2') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncPartitionByTest2() {
+        log.info("async partition by test2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(workers='2', partition.by='company') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncWorkerScalingTest3() {
+        log.info("async worker scaling test3");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(workers.max='2', scaling.interval='often') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncWorkerScalingTest4() {
+        log.info("async worker scaling test4");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(workers='1', workers.max='4', wait.strategy='busy.spin') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    private class OrderValidatingCallback extends StreamCallback {
+
+        @Override
+        public void receive(Event[] events) {
+            for (Event event : events) {
+                List<Long> sequences = receivedSequences.computeIfAbsent(event.getData(0),
+                        k -> new ArrayList<>());
+                synchronized (sequences) {
+                    long sequence = (Long) event.getData(1);
+                    if (!sequences.isEmpty() && sequences.get(sequences.size() - 1) >= sequence) {
+                        inOrder = false;
+                    }
+                    sequences.add(sequence);
+                }
+                count.incrementAndGet();
+            }
+        }
+    }
+
+    private static class TestEventBufferHolder implements EventBufferHolder {
+
+        private long bufferedEvents;
+
+        @Override
+        public long getBufferedEvents() {
+            return bufferedEvents;
+        }
+
+        @Override
+        public boolean containsBufferedEvents() {
+            return true;
+        }
+    }
+}
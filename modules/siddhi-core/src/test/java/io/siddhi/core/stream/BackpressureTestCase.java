@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.transport.TestPausingInMemorySource;
+import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.transport.InMemoryBroker;
+import io.siddhi.core.util.transport.SubscriberUnAvailableException;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the overflow policies and the backpressure of asynchronous streams.
+ */
+public class BackpressureTestCase {
+
+    private static final Logger log = Logger.getLogger(BackpressureTestCase.class);
+    private AtomicInteger count;
+    private AtomicInteger faultCount;
+    private CountDownLatch latch;
+
+    @BeforeMethod
+    public void init() {
+        count = new AtomicInteger();
+        faultCount = new AtomicInteger();
+        latch = new CountDownLatch(1);
+    }
+
+    @Test
+    public void overflowPolicyTest1() throws InterruptedException {
+        log.info("overflow policy test1 - drop newest");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='8', overflow.policy='drop.newest') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new BlockingCallback());
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (long i = 0; i < 50; i++) {
+            // does not block, as the events that do not fit the buffer are dropped
+            inputHandler.send(new Object[]{"WSO2", i});
+        }
+        latch.countDown();
+        Thread.sleep(500);
+        AssertJUnit.assertTrue(count.get() > 0);
+        AssertJUnit.assertTrue(count.get() <= 8);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void overflowPolicyTest2() throws InterruptedException {
+        log.info("overflow policy test2 - drop oldest");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='8', overflow.policy='drop.oldest') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (Event event : events) {
+                    sequences.add((Long) event.getData(1));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (long i = 0; i < 200; i++) {
+            inputHandler.send(new Object[]{"WSO2", i});
+        }
+        Thread.sleep(500);
+        AssertJUnit.assertTrue(sequences.size() < 200);
+        AssertJUnit.assertEquals(Long.valueOf(199), sequences.get(sequences.size() - 1));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void overflowPolicyTest3() throws InterruptedException {
+        log.info("overflow policy test3 - fault stream");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@OnError(action='STREAM') " +
+                "@async(buffer.size='8', overflow.policy='fault.stream') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from !StockStream " +
+                "select * " +
+                "insert into FaultStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new BlockingCallback());
+        siddhiAppRuntime.addCallback("FaultStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    AssertJUnit.assertNotNull(event.getData(2));
+                }
+                faultCount.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (long i = 0; i < 50; i++) {
+            inputHandler.send(new Object[]{"WSO2", i});
+        }
+        latch.countDown();
+        Thread.sleep(500);
+        AssertJUnit.assertTrue(faultCount.get() > 0);
+        AssertJUnit.assertEquals(50, count.get() + faultCount.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void backpressureTest1() throws InterruptedException, SubscriberUnAvailableException {
+        log.info("backpressure test1");
+        TestPausingInMemorySource.PAUSE_COUNT.set(0);
+        TestPausingInMemorySource.RESUME_COUNT.set(0);
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@source(type='testPausingInMemory', topic='BackpressureTopic', @map(type='passThrough')) " +
+                "@async(buffer.size='16', backpressure.high='0.75', backpressure.low='0.25') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                count.addAndGet(events.length);
+            }
+        });
+
+        siddhiAppRuntime.start();
+        for (long i = 0; i < 500; i++) {
+            InMemoryBroker.publish("BackpressureTopic", new Event(System.currentTimeMillis(),
+                    new Object[]{"WSO2", i}));
+        }
+        SiddhiTestHelper.waitForEvents(10, 500, count, 10000);
+        AssertJUnit.assertEquals(500, count.get());
+        AssertJUnit.assertTrue(TestPausingInMemorySource.PAUSE_COUNT.get() > 0);
+        AssertJUnit.assertEquals(TestPausingInMemorySource.PAUSE_COUNT.get(),
+                TestPausingInMemorySource.RESUME_COUNT.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void overflowPolicyTest4() {
+        log.info("overflow policy test4");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='8', overflow.policy='fault.stream') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void backpressureTest2() {
+        log.info("backpressure test2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='8', backpressure.high='0.5', backpressure.low='0.8') " +
+                "define stream StockStream (symbol string, sequence long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    private class BlockingCallback extends StreamCallback {
+
+        @Override
+        public void receive(Event[] events) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            count.addAndGet(events.length);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.util.EventPrinter;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests sharing the input data of streams defined with {@code @input(share.data='true')}.
+ */
+public class SharedInputDataTestCase {
+
+    private static final Logger log = Logger.getLogger(SharedInputDataTestCase.class);
+    private List<Object[]> query1Events;
+    private List<Object[]> query2Events;
+
+    @BeforeMethod
+    public void init() {
+        query1Events = new ArrayList<>();
+        query2Events = new ArrayList<>();
+    }
+
+    @Test
+    public void sharedOutputDataTest() {
+        log.info("shared output data test");
+        Object[] data = new Object[]{"IBM", 700f, 100L};
+        StreamEvent streamEvent = new StreamEventFactory(0, 0, 3).newInstance(data);
+        AssertJUnit.assertSame(data, streamEvent.getOutputData());
+
+        streamEvent.setOutputData("IBM", 0);
+        AssertJUnit.assertTrue(streamEvent.isOutputDataShared());
+        AssertJUnit.assertSame(data, streamEvent.getOutputData());
+
+        streamEvent.setOutputData(200L, 2);
+        AssertJUnit.assertFalse(streamEvent.isOutputDataShared());
+        AssertJUnit.assertEquals(100L, data[2]);
+        AssertJUnit.assertEquals(200L, streamEvent.getOutputData()[2]);
+        AssertJUnit.assertEquals(700f, streamEvent.getOutputData()[1]);
+    }
+
+    @Test
+    public void sharedInputDataTest1() throws InterruptedException {
+        log.info("shared input data test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@input(share.data='true') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select symbol, price * 2 as price, volume " +
+                "insert into OutputStream1;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from StockStream[volume > 50] " +
+                "select * " +
+                "insert into OutputStream2;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    query1Events.add(event.getData());
+                }
+            }
+        });
+        siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    query2Events.add(event.getData());
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        Object[] data1 = new Object[]{"IBM", 700f, 100L};
+        Object[] data2 = new Object[]{"WSO2", 60.5f, 20L};
+        inputHandler.send(data1);
+        inputHandler.send(new Event[]{new Event(System.currentTimeMillis(), data2)});
+
+        AssertJUnit.assertEquals(2, query1Events.size());
+        AssertJUnit.assertEquals(1400.0f, query1Events.get(0)[1]);
+        AssertJUnit.assertEquals(121.0f, query1Events.get(1)[1]);
+        AssertJUnit.assertEquals(1, query2Events.size());
+        AssertJUnit.assertEquals(700f, query2Events.get(0)[1]);
+        AssertJUnit.assertEquals(700f, data1[1]);
+        AssertJUnit.assertEquals(60.5f, data2[1]);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void sharedInputDataTest2() throws InterruptedException {
+        log.info("shared input data test2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@input(share.data='true') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(1) " +
+                "select * " +
+                "insert expired events into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : removeEvents) {
+                    query1Events.add(event.getData());
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        Object[] data = new Object[]{"IBM", 700f, 100L};
+        inputHandler.send(data);
+        // the window retains its own copy of the event
+        data[0] = "ORACLE";
+        inputHandler.send(new Object[]{"WSO2", 60.5f, 200L});
+
+        AssertJUnit.assertEquals(1, query1Events.size());
+        AssertJUnit.assertEquals("IBM", query1Events.get(0)[0]);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void sharedInputDataTest3() {
+        log.info("shared input data test3");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@input(share.data='yes') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream;";
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+}
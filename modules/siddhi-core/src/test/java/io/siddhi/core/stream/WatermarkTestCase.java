@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.persistence.InMemoryPersistenceStore;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests the event time ordering of streams declaring their event time via @watermark.
+ */
+public class WatermarkTestCase {
+
+    private static final Logger log = Logger.getLogger(WatermarkTestCase.class);
+
+    @Test
+    public void watermarkTest1() throws InterruptedException {
+        log.info("watermark test1 - reorders events within the slack and drops late events");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@watermark(attribute='eventTime', slack='100') " +
+                "define stream StockStream (symbol string, eventTime long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Long> eventTimes = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    AssertJUnit.assertEquals(event.getData(1), event.getTimestamp());
+                    eventTimes.add((Long) event.getData(1));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"WSO2", 1000L});
+        inputHandler.send(new Object[]{"WSO2", 1050L});
+        inputHandler.send(new Object[]{"WSO2", 980L});
+        inputHandler.send(new Object[]{"WSO2", 1200L});
+        // behind the watermark 1100
+        inputHandler.send(new Object[]{"WSO2", 900L});
+        inputHandler.send(new Object[]{"WSO2", 1150L});
+        inputHandler.send(new Object[]{"WSO2", 1300L});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals(Arrays.asList(980L, 1000L, 1050L, 1150L, 1200L), eventTimes);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void watermarkTest2() throws InterruptedException {
+        log.info("watermark test2 - sends late events to the fault stream");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@OnError(action='STREAM') " +
+                "@watermark(attribute='eventTime', slack='100') " +
+                "define stream StockStream (symbol string, eventTime long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from !StockStream " +
+                "select * " +
+                "insert into FaultStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Long> lateEventTimes = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("FaultStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    AssertJUnit.assertNotNull(event.getData(2));
+                    lateEventTimes.add((Long) event.getData(1));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"WSO2", 1000L});
+        inputHandler.send(new Object[]{"WSO2", 1200L});
+        inputHandler.send(new Object[]{"WSO2", 1099L});
+        inputHandler.send(new Object[]{"WSO2", 1100L});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals(Collections.singletonList(1099L), lateEventTimes);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void watermarkTest3() throws InterruptedException {
+        log.info("watermark test3 - bounds the buffered events and flushes them when idle");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='16') " +
+                "@watermark(attribute='eventTime', slack='1 min', buffer.size='3', idle.period='200') " +
+                "define stream StockStream (symbol string, eventTime long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Long> eventTimes = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    eventTimes.add((Long) event.getData(1));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"WSO2", 3000L});
+        inputHandler.send(new Object[]{"WSO2", 1000L});
+        inputHandler.send(new Object[]{"WSO2", 4000L});
+        inputHandler.send(new Object[]{"WSO2", 2000L});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals(Collections.singletonList(1000L), eventTimes);
+        Thread.sleep(600);
+        AssertJUnit.assertEquals(Arrays.asList(1000L, 2000L, 3000L, 4000L), eventTimes);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void watermarkTest4() {
+        log.info("watermark test4");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@watermark(attribute='symbol') " +
+                "define stream StockStream (symbol string, eventTime long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void watermarkTest5() {
+        log.info("watermark test5");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@watermark(attribute='eventTime', slack='soon') " +
+                "define stream StockStream (symbol string, eventTime long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void watermarkTest6() throws InterruptedException {
+        log.info("watermark test6 - releases the buffered events on shutdown");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@watermark(attribute='eventTime', slack='100') " +
+                "define stream StockStream (symbol string, eventTime long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Long> eventTimes = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    eventTimes.add((Long) event.getData(1));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"WSO2", 1050L});
+        inputHandler.send(new Object[]{"WSO2", 1000L});
+        AssertJUnit.assertEquals(0, eventTimes.size());
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(Arrays.asList(1000L, 1050L), eventTimes);
+    }
+
+    @Test
+    public void watermarkTest7() throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        log.info("watermark test7 - restores the buffered events and the watermark from a snapshot");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(new InMemoryPersistenceStore());
+
+        String siddhiApp = "" +
+                "@app:name('WatermarkTest') " +
+                "@watermark(attribute='eventTime', slack='100') " +
+                "define stream StockStream (symbol string, eventTime long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select * " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.start();
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        inputHandler.send(new Object[]{"WSO2", 1000L});
+        inputHandler.send(new Object[]{"WSO2", 1200L});
+        inputHandler.send(new Object[]{"WSO2", 1150L});
+        siddhiAppRuntime.persist();
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Long> eventTimes = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    eventTimes.add((Long) event.getData(1));
+                }
+            }
+        });
+        try {
+            siddhiAppRuntime.start();
+            siddhiAppRuntime.restoreLastRevision();
+            inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            // behind the restored watermark 1100
+            inputHandler.send(new Object[]{"WSO2", 1050L});
+            inputHandler.send(new Object[]{"WSO2", 1300L});
+            AssertJUnit.assertEquals(Arrays.asList(1150L, 1200L), eventTimes);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void watermarkTest8() throws InterruptedException {
+        log.info("watermark test8 - reorders events of partitioned streams only once");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@watermark(attribute='eventTime', slack='100') " +
+                "define stream StockStream (symbol string, eventTime long);" +
+                "" +
+                "partition with (symbol of StockStream) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from StockStream " +
+                "   select * " +
+                "   insert into OutputStream ;" +
+                "end ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Long> eventTimes = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    eventTimes.add((Long) event.getData(1));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"WSO2", 1000L});
+        inputHandler.send(new Object[]{"IBM", 1050L});
+        inputHandler.send(new Object[]{"WSO2", 980L});
+        inputHandler.send(new Object[]{"WSO2", 1200L});
+        inputHandler.send(new Object[]{"IBM", 1150L});
+        inputHandler.send(new Object[]{"WSO2", 1300L});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals(Arrays.asList(980L, 1000L, 1050L, 1150L, 1200L), eventTimes);
+        siddhiAppRuntime.shutdown();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.stream.event;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.MetaStreamEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventPool;
+import io.siddhi.core.query.QueryRuntime;
+import io.siddhi.core.query.QueryRuntimeImpl;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.query.api.definition.Attribute;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StreamEventPoolTestCase {
+
+    private static final Logger log = Logger.getLogger(StreamEventPoolTestCase.class);
+
+    private StreamEventPool createPool(int size, boolean debug) {
+        MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
+        metaStreamEvent.addOutputData(new Attribute("symbol", Attribute.Type.STRING));
+        metaStreamEvent.addOutputData(new Attribute("price", Attribute.Type.FLOAT));
+        return new StreamEventPool("test", metaStreamEvent, size, debug);
+    }
+
+    @Test
+    public void streamEventPoolTest1() {
+        log.info("streamEventPoolTest1 - returned events are reused");
+
+        StreamEventPool streamEventPool = createPool(2, false);
+        StreamEvent streamEvent1 = streamEventPool.newInstance();
+        StreamEvent streamEvent2 = streamEventPool.newInstance();
+        StreamEvent streamEvent3 = streamEventPool.newInstance();
+        AssertJUnit.assertEquals(2, streamEvent1.getOutputData().length);
+        streamEvent1.setType(StreamEvent.Type.EXPIRED);
+        streamEvent1.setTimestamp(100L);
+
+        streamEventPool.returnEvent(streamEvent1);
+        streamEventPool.returnEvent(streamEvent2);
+        streamEventPool.returnEvent(streamEvent3);
+        AssertJUnit.assertEquals(2, streamEventPool.getIdleCount());
+
+        StreamEvent reused1 = streamEventPool.newInstance();
+        StreamEvent reused2 = streamEventPool.newInstance();
+        AssertJUnit.assertTrue(reused1 == streamEvent2);
+        AssertJUnit.assertTrue(reused2 == streamEvent1);
+        AssertJUnit.assertEquals(StreamEvent.Type.CURRENT, reused2.getType());
+        AssertJUnit.assertEquals(-1L, reused2.getTimestamp());
+        AssertJUnit.assertEquals(5, streamEventPool.getBorrowCount());
+        AssertJUnit.assertEquals(2, streamEventPool.getReuseCount());
+    }
+
+    @Test
+    public void streamEventPoolTest2() {
+        log.info("streamEventPoolTest2 - double return is detected in debug mode");
+
+        StreamEventPool streamEventPool = createPool(4, true);
+        StreamEvent streamEvent = streamEventPool.newInstance();
+        streamEventPool.returnEvent(streamEvent);
+        streamEventPool.returnEvent(streamEvent);
+        AssertJUnit.assertEquals(1, streamEventPool.getDoubleReturnCount());
+        AssertJUnit.assertEquals(1, streamEventPool.getIdleCount());
+
+        streamEventPool.returnEvent(new StreamEvent(0, 0, 2));
+        AssertJUnit.assertEquals(2, streamEventPool.getDoubleReturnCount());
+        AssertJUnit.assertEquals(1, streamEventPool.getIdleCount());
+    }
+
+    @Test
+    public void streamEventPoolTest3() {
+        log.info("streamEventPoolTest3 - borrowed events are tracked until returned in debug mode");
+
+        StreamEventPool streamEventPool = createPool(4, true);
+        List<StreamEvent> borrowedEvents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            borrowedEvents.add(streamEventPool.newInstance());
+        }
+        AssertJUnit.assertEquals(10, streamEventPool.getOutstandingCount());
+
+        for (int i = 0; i < 4; i++) {
+            streamEventPool.returnEvent(borrowedEvents.get(i));
+        }
+        // the events not returned are still referred here, hence they cannot be reported as leaked
+        AssertJUnit.assertEquals(6, streamEventPool.getOutstandingCount());
+        AssertJUnit.assertEquals(0, streamEventPool.getLeakCount());
+
+        StreamEvent reused = streamEventPool.newInstance();
+        AssertJUnit.assertTrue(reused == borrowedEvents.get(3));
+        AssertJUnit.assertEquals(1, streamEventPool.getReuseCount());
+        AssertJUnit.assertEquals(7, streamEventPool.getOutstandingCount());
+        AssertJUnit.assertEquals(3, streamEventPool.getIdleCount());
+        AssertJUnit.assertEquals(0, streamEventPool.getDoubleReturnCount());
+    }
+
+    @Test
+    public void streamEventPoolTest4() throws InterruptedException {
+        log.info("streamEventPoolTest4 - length window query with event pool");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume int); " +
+                "@info(name = 'query1') @EventPool(size='10', debug='true') " +
+                "from StockStream#window.length(4) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final long[] lastTotal = new long[1];
+        final int[] count = new int[1];
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                AssertJUnit.assertNull(removeEvents);
+                count[0] += inEvents.length;
+                lastTotal[0] = (Long) inEvents[inEvents.length - 1].getData(1);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        for (int i = 1; i <= 100; i++) {
+            inputHandler.send(new Object[]{"WSO2", 10f, i});
+        }
+        AssertJUnit.assertEquals(100, count[0]);
+        AssertJUnit.assertEquals(97L + 98L + 99L + 100L, lastTotal[0]);
+
+        StreamEventPool streamEventPool = null;
+        for (QueryRuntime queryRuntime : siddhiAppRuntime.getQueries()) {
+            if ("query1".equals(queryRuntime.getQueryId())) {
+                streamEventPool = ((QueryRuntimeImpl) queryRuntime).getSelector().getStreamEventPool();
+            }
+        }
+        AssertJUnit.assertNotNull(streamEventPool);
+        AssertJUnit.assertEquals(100, streamEventPool.getBorrowCount());
+        // each event expired from the window is reused by the event arriving after it
+        AssertJUnit.assertEquals(95, streamEventPool.getReuseCount());
+        AssertJUnit.assertEquals(4, streamEventPool.getOutstandingCount());
+        AssertJUnit.assertEquals(0, streamEventPool.getDoubleReturnCount());
+        AssertJUnit.assertEquals(0, streamEventPool.getLeakCount());
+        siddhiAppRuntime.shutdown();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream.output;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventView;
+import io.siddhi.core.query.output.callback.QueryViewCallback;
+import io.siddhi.core.stream.input.InputHandler;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests delivering output events through {@link EventView}s.
+ */
+public class EventViewCallbackTestCase {
+
+    private static final Logger log = Logger.getLogger(EventViewCallbackTestCase.class);
+    private int currentCount;
+    private int expiredCount;
+    private EventView retainedView;
+    private List<Event> retainedEvents;
+
+    @BeforeMethod
+    public void init() {
+        currentCount = 0;
+        expiredCount = 0;
+        retainedView = null;
+        retainedEvents = new ArrayList<>();
+    }
+
+    @Test
+    public void streamViewCallbackTest1() throws InterruptedException {
+        log.info("stream view callback test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long, active bool);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select symbol, price, volume, active, price * 2.0 as doublePrice " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new StreamViewCallback() {
+            @Override
+            public void receive(EventView events) {
+                while (events.next()) {
+                    currentCount++;
+                    AssertJUnit.assertFalse(events.isExpired());
+                    AssertJUnit.assertEquals(5, events.getAttributeCount());
+                    AssertJUnit.assertEquals(events.get(0), events.get("symbol"));
+                    AssertJUnit.assertEquals(3, events.getAttributePosition("active"));
+                    if (currentCount == 1) {
+                        AssertJUnit.assertEquals("IBM", events.getString(0));
+                        AssertJUnit.assertEquals(700f, events.getFloat(1));
+                        AssertJUnit.assertEquals(100L, events.getLong(2));
+                        AssertJUnit.assertTrue(events.getBool(3));
+                        AssertJUnit.assertEquals(1400.0, events.getDouble(4));
+                    } else {
+                        AssertJUnit.assertEquals("WSO2", events.getString(0));
+                        AssertJUnit.assertTrue(events.isNull(1));
+                        AssertJUnit.assertFalse(events.getBool(3));
+                    }
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 700f, 100L, true});
+        inputHandler.send(new Object[]{"WSO2", null, 200L, false});
+        AssertJUnit.assertEquals(2, currentCount);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void streamViewCallbackTest2() throws InterruptedException {
+        log.info("stream view callback test2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream[price > 50] " +
+                "select symbol, volume " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new StreamViewCallback() {
+            @Override
+            public void receive(EventView events) {
+                retainedView = events;
+                currentCount += events.size();
+                for (Event event : events.copyAll()) {
+                    retainedEvents.add(event);
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Event[]{
+                new Event(1, new Object[]{"IBM", 70f, 100L}),
+                new Event(2, new Object[]{"WSO2", 40f, 200L}),
+                new Event(3, new Object[]{"ORACLE", 90f, 300L})});
+        AssertJUnit.assertEquals(2, currentCount);
+        AssertJUnit.assertEquals(2, retainedEvents.size());
+        AssertJUnit.assertEquals(1, retainedEvents.get(0).getTimestamp());
+        AssertJUnit.assertEquals("IBM", retainedEvents.get(0).getData(0));
+        AssertJUnit.assertEquals(300L, retainedEvents.get(1).getData(1));
+        AssertJUnit.assertFalse(retainedView.isInUse());
+        try {
+            retainedView.next();
+            AssertJUnit.fail("EventView should not be accessible after the callback returns");
+        } catch (IllegalStateException e) {
+            log.info("EventView accessed after the callback returned: " + e.getMessage());
+        }
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void queryViewCallbackTest1() throws InterruptedException {
+        log.info("query view callback test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(2) " +
+                "select symbol, price " +
+                "insert all events into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new QueryViewCallback() {
+            @Override
+            public void receive(long timestamp, EventView currentEvents, EventView expiredEvents) {
+                if (currentEvents != null) {
+                    while (currentEvents.next()) {
+                        currentCount++;
+                        AssertJUnit.assertFalse(currentEvents.isExpired());
+                        AssertJUnit.assertEquals(timestamp, currentEvents.getTimestamp());
+                    }
+                }
+                if (expiredEvents != null) {
+                    while (expiredEvents.next()) {
+                        expiredCount++;
+                        AssertJUnit.assertTrue(expiredEvents.isExpired());
+                        retainedEvents.add(expiredEvents.copy());
+                    }
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Event(1, new Object[]{"IBM", 70f, 100L}));
+        inputHandler.send(new Event(2, new Object[]{"WSO2", 40f, 200L}));
+        inputHandler.send(new Event(3, new Object[]{"ORACLE", 90f, 300L}));
+        AssertJUnit.assertEquals(3, currentCount);
+        AssertJUnit.assertEquals(1, expiredCount);
+        AssertJUnit.assertEquals("IBM", retainedEvents.get(0).getData(0));
+        AssertJUnit.assertEquals(70f, retainedEvents.get(0).getData(1));
+        siddhiAppRuntime.shutdown();
+    }
+
+}
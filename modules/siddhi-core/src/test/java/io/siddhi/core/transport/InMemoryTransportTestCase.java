@@ -37,7 +37,10 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -1621,4 +1624,120 @@ public class InMemoryTransportTestCase {
         Assert.assertEquals(wso2Count.get(), 3);
         siddhiManager.shutdown();
     }
+
+    @Test(dependsOnMethods = {"inMemoryTestCase22"})
+    public void inMemoryBinaryPassThroughTestCase() throws InterruptedException {
+        log.info("Test inMemory binaryPassThrough mapping");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String publisherApp = "" +
+                "define stream CheckStockStream (symbol string, price float, volume long, active bool, " +
+                "count int, total double); " +
+                "@sink(type='inMemory', topic='BinaryStream', @map(type='binaryPassThrough')) " +
+                "define stream OutputStream (symbol string, price float, volume long, active bool, " +
+                "count int, total double); " +
+                "" +
+                "from CheckStockStream " +
+                "select * " +
+                "insert into OutputStream; ";
+
+        String consumerApp = "" +
+                "@source(type='inMemory', topic='BinaryStream', @map(type='binaryPassThrough')) " +
+                "define stream InputStream (symbol string, price float, volume long, active bool, " +
+                "count int, total double); ";
+
+        SiddhiAppRuntime publisherRuntime = siddhiManager.createSiddhiAppRuntime(publisherApp);
+        SiddhiAppRuntime consumerRuntime = siddhiManager.createSiddhiAppRuntime(consumerApp);
+
+        List<Event> received = new ArrayList<>();
+        consumerRuntime.addCallback("InputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                received.addAll(Arrays.asList(events));
+            }
+        });
+        InputHandler stockStream = publisherRuntime.getInputHandler("CheckStockStream");
+
+        publisherRuntime.start();
+        consumerRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 50.5f, 100L, true, 2, 12.5});
+        stockStream.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 70.5f, 200L, false, 3, null}),
+                new Event(System.currentTimeMillis(), new Object[]{null, 90.5f, 300L, true, 4, 15.5})});
+        Thread.sleep(100);
+
+        AssertJUnit.assertEquals("Number of events", 3, received.size());
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 50.5f, 100L, true, 2, 12.5}, received.get(0).getData());
+        AssertJUnit.assertArrayEquals(new Object[]{"IBM", 70.5f, 200L, false, 3, null}, received.get(1).getData());
+        AssertJUnit.assertArrayEquals(new Object[]{null, 90.5f, 300L, true, 4, 15.5}, received.get(2).getData());
+        siddhiManager.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class,
+            dependsOnMethods = {"inMemoryBinaryPassThroughTestCase"})
+    public void inMemoryBinaryPassThroughObjectAttributeTestCase() {
+        log.info("Test inMemory binaryPassThrough mapping with object attributes");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String publisherApp = "" +
+                "@sink(type='inMemory', topic='BinaryStream', @map(type='binaryPassThrough')) " +
+                "define stream OutputStream (symbol string, payload object); ";
+        try {
+            siddhiManager.createSiddhiAppRuntime(publisherApp);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"inMemoryBinaryPassThroughObjectAttributeTestCase"})
+    public void inMemoryBinaryPassThroughReuseEventsTestCase() throws InterruptedException {
+        log.info("Test inMemory binaryPassThrough mapping reusing the events");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String publisherApp = "" +
+                "define stream CheckStockStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='BinaryStream', @map(type='binaryPassThrough')) " +
+                "define stream OutputStream (symbol string, price float, volume long); " +
+                "" +
+                "from CheckStockStream " +
+                "select * " +
+                "insert into OutputStream; ";
+
+        String consumerApp = "" +
+                "@source(type='inMemory', topic='BinaryStream', " +
+                "@map(type='binaryPassThrough', reuse.events='true')) " +
+                "define stream InputStream (symbol string, price float, volume long); ";
+
+        SiddhiAppRuntime publisherRuntime = siddhiManager.createSiddhiAppRuntime(publisherApp);
+        SiddhiAppRuntime consumerRuntime = siddhiManager.createSiddhiAppRuntime(consumerApp);
+
+        List<Event> receivedEvents = new ArrayList<>();
+        List<Object[]> receivedData = new ArrayList<>();
+        consumerRuntime.addCallback("InputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    receivedEvents.add(event);
+                    receivedData.add(event.getData().clone());
+                }
+            }
+        });
+        InputHandler stockStream = publisherRuntime.getInputHandler("CheckStockStream");
+
+        publisherRuntime.start();
+        consumerRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 50.5f, 100L});
+        stockStream.send(new Object[]{null, 70.5f, 200L});
+        Thread.sleep(100);
+
+        AssertJUnit.assertEquals("Number of events", 2, receivedData.size());
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 50.5f, 100L}, receivedData.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{null, 70.5f, 200L}, receivedData.get(1));
+        AssertJUnit.assertTrue("Event reused", receivedEvents.get(0) == receivedEvents.get(1));
+        siddhiManager.shutdown();
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.transport;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.stream.input.source.InMemorySource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of Source to receive events through in-memory transport, while counting how often it is paused.
+ */
+@Extension(
+        name = "testPausingInMemory",
+        namespace = "source",
+        description = "In-memory source for testing pausing and resuming of event consumption",
+        parameters = @Parameter(name = "topic", type = DataType.STRING, description = "Subscribes to sent on the "
+                + "given topic."),
+        examples = @Example(
+                syntax = "@source(type='testPausingInMemory', @map(type='passThrough'),\n" +
+                        "define stream BarStream (symbol string, price float, volume long)",
+                description = "In this example BarStream uses inMemory transport which passes the received event " +
+                        "internally without using external transport."
+        )
+)
+public class TestPausingInMemorySource extends InMemorySource {
+    public static final AtomicInteger PAUSE_COUNT = new AtomicInteger();
+    public static final AtomicInteger RESUME_COUNT = new AtomicInteger();
+
+    @Override
+    public void pause() {
+        PAUSE_COUNT.incrementAndGet();
+        super.pause();
+    }
+
+    @Override
+    public void resume() {
+        RESUME_COUNT.incrementAndGet();
+        super.resume();
+    }
+}
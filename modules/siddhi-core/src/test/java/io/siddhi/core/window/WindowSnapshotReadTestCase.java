@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.window;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiAppRuntimeImpl;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.lock.LockWrapper;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests reading from a window defined with {@code @concurrency(read.mode='snapshot')}.
+ */
+public class WindowSnapshotReadTestCase {
+    private static final Logger log = Logger.getLogger(WindowSnapshotReadTestCase.class);
+    private int inEventCount;
+    private List<Object[]> inEvents;
+    private long queryTime;
+
+    @BeforeMethod
+    public void init() {
+        inEventCount = 0;
+        inEvents = new ArrayList<>();
+    }
+
+    @Test
+    public void testSnapshotReadJoin() throws InterruptedException {
+        log.info("Test join with a snapshot read window");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string); " +
+                "@concurrency(read.mode='snapshot') " +
+                "define window StockWindow (symbol string, price float, volume long) length(2); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockWindow ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream join StockWindow " +
+                " on CheckStockStream.symbol == StockWindow.symbol " +
+                "select CheckStockStream.symbol as symbol, StockWindow.volume as volume " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventCount++;
+                        WindowSnapshotReadTestCase.this.inEvents.add(event.getData());
+                    }
+                }
+            }
+        });
+
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 10L});
+        checkStockStream.send(new Object[]{"WSO2"});
+        stockStream.send(new Object[]{"ORACLE", 45.6f, 20L});
+        checkStockStream.send(new Object[]{"WSO2"});
+        checkStockStream.send(new Object[]{"ORACLE"});
+
+        AssertJUnit.assertEquals("Number of success events", 2, inEventCount);
+        AssertJUnit.assertEquals("WSO2", inEvents.get(0)[0]);
+        AssertJUnit.assertEquals(100L, inEvents.get(0)[1]);
+        AssertJUnit.assertEquals("ORACLE", inEvents.get(1)[0]);
+        AssertJUnit.assertEquals(20L, inEvents.get(1)[1]);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testSnapshotReadOnDemandQuery() throws InterruptedException {
+        log.info("Test on-demand query on a snapshot read window");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@concurrency(read.mode='snapshot') " +
+                "define window StockWindow (symbol string, price float, volume long) length(3); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockWindow ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        Event[] events = siddhiAppRuntime.query("from StockWindow select symbol, volume ");
+        AssertJUnit.assertNull(events);
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 10L});
+        events = siddhiAppRuntime.query("from StockWindow on volume > 50 select symbol, volume ");
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals("WSO2", events[0].getData(0));
+
+        stockStream.send(new Object[]{"ORACLE", 45.6f, 20L});
+        stockStream.send(new Object[]{"GOOG", 85.6f, 30L});
+        events = siddhiAppRuntime.query("from StockWindow select symbol, volume ");
+        AssertJUnit.assertEquals(3, events.length);
+        AssertJUnit.assertEquals("IBM", events[0].getData(0));
+        AssertJUnit.assertEquals("GOOG", events[2].getData(0));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testSnapshotReadConcurrentReaders() throws Exception {
+        log.info("Test concurrent readers of a snapshot read window");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@concurrency(read.mode='snapshot') " +
+                "define window StockWindow (symbol string, price float, volume long) length(10); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockWindow ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(executorService.submit(() -> {
+                long lastVolume = -1;
+                for (int j = 0; j < 1000; j++) {
+                    Event[] events = siddhiAppRuntime.query("from StockWindow select volume ");
+                    if (events != null) {
+                        AssertJUnit.assertTrue(events.length <= 10);
+                        for (int k = 1; k < events.length; k++) {
+                            AssertJUnit.assertEquals((long) events[k - 1].getData(0) + 1, events[k].getData(0));
+                        }
+                        long volume = (long) events[events.length - 1].getData(0);
+                        AssertJUnit.assertTrue(volume >= lastVolume);
+                        lastVolume = volume;
+                    }
+                }
+                return null;
+            }));
+        }
+        for (long i = 0; i < 10000; i++) {
+            stockStream.send(new Object[]{"WSO2", 55.6f, i});
+        }
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executorService.shutdown();
+        AssertJUnit.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        Event[] events = siddhiAppRuntime.query("from StockWindow select volume ");
+        AssertJUnit.assertEquals(10, events.length);
+        AssertJUnit.assertEquals(9999L, events[9].getData(0));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testSnapshotReadStaleness() throws Exception {
+        log.info("Test readers use an outdated snapshot only within the maximum staleness");
+
+        Event[] events = queryWhileWriterHoldsLock("1 min", 1000);
+        AssertJUnit.assertTrue(queryTime < 1000);
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals("WSO2", events[0].getData(0));
+
+        events = queryWhileWriterHoldsLock("0", 500);
+        AssertJUnit.assertTrue(queryTime >= 400);
+        AssertJUnit.assertEquals(2, events.length);
+        AssertJUnit.assertEquals("IBM", events[1].getData(0));
+    }
+
+    private Event[] queryWhileWriterHoldsLock(String maxStaleness, long lockDuration) throws Exception {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "@concurrency(read.mode='snapshot', max.staleness='" + maxStaleness + "') " +
+                "define window StockWindow (symbol string, price float, volume long) length(10); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockWindow ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        try {
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            AssertJUnit.assertEquals(1, siddhiAppRuntime.query("from StockWindow select symbol ").length);
+            stockStream.send(new Object[]{"IBM", 75.6f, 10L});
+
+            // a long running write holds the window lock after the snapshot has become outdated
+            LockWrapper lockWrapper = ((SiddhiAppRuntimeImpl) siddhiAppRuntime).getWindows().iterator().next()
+                    .getLock();
+            CountDownLatch locked = new CountDownLatch(1);
+            Thread writer = new Thread(() -> {
+                lockWrapper.lock();
+                try {
+                    locked.countDown();
+                    Thread.sleep(lockDuration);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    lockWrapper.unlock();
+                }
+            });
+            writer.start();
+            locked.await();
+            long startTime = System.currentTimeMillis();
+            Event[] events = siddhiAppRuntime.query("from StockWindow select symbol ");
+            queryTime = System.currentTimeMillis() - startTime;
+            writer.join();
+            return events;
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidMaxStaleness() {
+        log.info("Test invalid maximum staleness of a snapshot read window");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@concurrency(read.mode='snapshot', max.staleness='often') " +
+                "define window StockWindow (symbol string, price float, volume long) length(10); ";
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testInvalidReadMode() {
+        log.info("Test invalid read mode of a window");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@concurrency(read.mode='optimistic') " +
+                "define window StockWindow (symbol string, price float, volume long) length(10); ";
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+}
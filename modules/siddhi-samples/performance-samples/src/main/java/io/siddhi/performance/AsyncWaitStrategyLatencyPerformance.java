@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.performance;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the latency distribution of an asynchronous stream for each wait strategy
+ * ({@code @async(wait.strategy='...')}), when events are sent at a steady rate. The CPUs to bind the worker thread
+ * to can be passed as the first argument, such as '2' or '2-3'.
+ */
+public class AsyncWaitStrategyLatencyPerformance {
+    private static final String[] WAIT_STRATEGIES = {"blocking", "lite.blocking", "phased.backoff", "sleeping",
+            "yielding", "busy.spin"};
+    private static final int WARMUP_EVENTS = 200000;
+    private static final int MEASURED_EVENTS = 500000;
+    private static final long SEND_INTERVAL_NANOS = 20000;
+
+    public static void main(String[] args) throws InterruptedException {
+        String cpuAffinity = args.length > 0 ? ", cpu.affinity='" + args[0] + "'" : "";
+        for (String waitStrategy : WAIT_STRATEGIES) {
+            runBenchmark(waitStrategy, cpuAffinity);
+        }
+    }
+
+    private static void runBenchmark(String waitStrategy, String cpuAffinity) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='1024', wait.strategy='" + waitStrategy + "', dedicated.threads='true'" +
+                cpuAffinity + ") " +
+                "define stream cseEventStream (symbol string, price float, sendTime long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[700 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        int totalEvents = WARMUP_EVENTS + MEASURED_EVENTS;
+        long[] latencies = new long[totalEvents];
+        AtomicInteger receivedCount = new AtomicInteger();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                long receiveTime = System.nanoTime();
+                for (Event event : events) {
+                    latencies[receivedCount.getAndIncrement()] = receiveTime - (Long) event.getData(2);
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        long nextSendTime = System.nanoTime();
+        for (int i = 0; i < totalEvents; i++) {
+            while (System.nanoTime() < nextSendTime) {
+                // pace the events, such that the latency is measured instead of the throughput
+            }
+            nextSendTime += SEND_INTERVAL_NANOS;
+            inputHandler.send(new Object[]{"WSO2", 55.6f, System.nanoTime()});
+        }
+        while (receivedCount.get() < totalEvents) {
+            Thread.sleep(10);
+        }
+
+        long[] measured = Arrays.copyOfRange(latencies, WARMUP_EVENTS, totalEvents);
+        Arrays.sort(measured);
+        System.out.println("Wait strategy '" + waitStrategy + "' latency (us) : p50 " + percentile(measured, 50) +
+                ", p90 " + percentile(measured, 90) + ", p99 " + percentile(measured, 99) +
+                ", p99.9 " + percentile(measured, 99.9) + ", max " + measured[measured.length - 1] / 1000.0);
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1000.0;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.performance;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the throughput of the default partition dispatch against the key grouped dispatch
+ * ({@code @dispatch(group.by.key='true')}), when the partition receives chunks with interleaved partition keys.
+ */
+public class PartitionKeyGroupedDispatchPerformance {
+    private static final int KEY_COUNT = 100;
+    private static final int CHUNK_SIZE = 1000;
+    private static final int WARMUP_CHUNKS = 20000;
+    private static final int MEASURED_CHUNKS = 50000;
+
+    public static void main(String[] args) throws InterruptedException {
+        runBenchmark("");
+        runBenchmark("@dispatch(group.by.key='true') ");
+    }
+
+    private static void runBenchmark(String dispatchAnnotation) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                dispatchAnnotation +
+                "partition with (symbol of cseEventStream) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from cseEventStream[700 > price]#window.length(50) " +
+                "   select symbol, avg(price) as avgPrice, sum(volume) as totalVolume " +
+                "   insert into outputStream ;" +
+                "end;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        AtomicLong outputCount = new AtomicLong();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                outputCount.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        Event[][] chunks = new Event[2][CHUNK_SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            for (int j = 0; j < CHUNK_SIZE; j++) {
+                // consecutive events always belong to different partition keys
+                chunks[i][j] = new Event(System.currentTimeMillis(),
+                        new Object[]{"WSO2" + (j % KEY_COUNT), 55.6f + i, 100L});
+            }
+        }
+
+        for (int i = 0; i < WARMUP_CHUNKS; i++) {
+            inputHandler.send(chunks[i % 2]);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < MEASURED_CHUNKS; i++) {
+            inputHandler.send(chunks[i % 2]);
+        }
+        long timeSpent = System.nanoTime() - startTime;
+        System.out.println((dispatchAnnotation.isEmpty() ? "Sequential dispatch" : "Key grouped dispatch") +
+                " throughput : " + (MEASURED_CHUNKS * (long) CHUNK_SIZE * 1000000000L / timeSpent) +
+                " events/sec, output events : " + outputCount.get());
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+    }
+}